@@ -17,11 +17,14 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.XMLConstants;
 import javax.xml.stream.XMLInputFactory;
@@ -110,6 +113,9 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     protected static Map<String, BaseBpmnXMLConverter> convertersToBpmnMap = new HashMap<String, BaseBpmnXMLConverter>();
     protected static Map<Class<? extends BaseElement>, BaseBpmnXMLConverter> convertersToXMLMap = new HashMap<Class<? extends BaseElement>, BaseBpmnXMLConverter>();
 
+    protected static ConcurrentMap<String, Schema> schemas = new ConcurrentHashMap<String, Schema>();
+    protected static volatile XMLInputFactory xmlInputFactory;
+
     protected ClassLoader classloader;
     protected List<String> userTaskFormTypes;
     protected List<String> startEventFormTypes;
@@ -209,78 +215,119 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     }
 
     public void validateModel(InputStreamProvider inputStreamProvider) throws Exception {
-        Schema schema = createSchema();
+        Schema schema = getSchema();
 
         Validator validator = schema.newValidator();
         validator.validate(new StreamSource(inputStreamProvider.getInputStream()));
     }
 
     public void validateModel(XMLStreamReader xmlStreamReader) throws Exception {
-        Schema schema = createSchema();
+        Schema schema = getSchema();
 
         Validator validator = schema.newValidator();
         validator.validate(new StAXSource(xmlStreamReader));
     }
 
-    protected Schema createSchema() throws SAXException {
-        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Schema schema = null;
+    /**
+     * Returns the compiled BPMN XSD. Compiling the XSD is expensive, so the schema is compiled once per XSD location and shared, a {@link Schema} is thread safe.
+     */
+    protected Schema getSchema() throws SAXException {
+        URL schemaLocation = getSchemaLocation();
+        String key = schemaLocation.toExternalForm();
+        Schema schema = schemas.get(key);
+        if (schema == null) {
+            schema = createSchema(schemaLocation);
+            Schema existingSchema = schemas.putIfAbsent(key, schema);
+            if (existingSchema != null) {
+                schema = existingSchema;
+            }
+        }
+        return schema;
+    }
+
+    protected URL getSchemaLocation() {
+        URL schemaLocation = null;
         if (classloader != null) {
-            schema = factory.newSchema(classloader.getResource(BPMN_XSD));
+            schemaLocation = classloader.getResource(BPMN_XSD);
         }
 
-        if (schema == null) {
-            schema = factory.newSchema(BpmnXMLConverter.class.getClassLoader().getResource(BPMN_XSD));
+        if (schemaLocation == null) {
+            schemaLocation = BpmnXMLConverter.class.getClassLoader().getResource(BPMN_XSD);
         }
 
-        if (schema == null) {
+        if (schemaLocation == null) {
             throw new XMLException("BPMN XSD could not be found");
         }
-        return schema;
+        return schemaLocation;
     }
 
-    public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml) {
-        return convertToBpmnModel(inputStreamProvider, validateSchema, enableSafeBpmnXml, DEFAULT_ENCODING);
+    protected Schema createSchema(URL schemaLocation) throws SAXException {
+        // A schema factory isn't thread safe, but it's only needed to compile the schema once
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        return factory.newSchema(schemaLocation);
     }
 
-    public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml, String encoding) {
-        XMLInputFactory xif = XMLInputFactory.newInstance();
+    protected static XMLInputFactory getXMLInputFactory() {
+        if (xmlInputFactory == null) {
+            XMLInputFactory xif = XMLInputFactory.newInstance();
 
-        if (xif.isPropertySupported(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES)) {
-            xif.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
-        }
+            if (xif.isPropertySupported(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES)) {
+                xif.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+            }
+
+            if (xif.isPropertySupported(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES)) {
+                xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            }
+
+            if (xif.isPropertySupported(XMLInputFactory.SUPPORT_DTD)) {
+                xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            }
 
-        if (xif.isPropertySupported(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES)) {
-            xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            xmlInputFactory = xif;
         }
+        return xmlInputFactory;
+    }
 
-        if (xif.isPropertySupported(XMLInputFactory.SUPPORT_DTD)) {
-            xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    protected XMLStreamReader createXMLStreamReader(InputStreamReader in) throws XMLStreamException {
+        XMLInputFactory xif = getXMLInputFactory();
+        // The factory is configured once and shared, not all StAX implementations guarantee that creating readers concurrently is safe
+        synchronized (xif) {
+            return xif.createXMLStreamReader(in);
         }
+    }
 
-        if (validateSchema) {
-            try (InputStreamReader in = new InputStreamReader(inputStreamProvider.getInputStream(), encoding)) {
-                if (!enableSafeBpmnXml) {
-                    validateModel(inputStreamProvider);
-                } else {
-                    validateModel(xif.createXMLStreamReader(in));
+    public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml) {
+        return convertToBpmnModel(inputStreamProvider, validateSchema, enableSafeBpmnXml, DEFAULT_ENCODING);
+    }
+
+    public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml, String encoding) {
+        // The reader never resolves DTDs and external entities, so the document is always read safely and the schema validation is done in the same pass as the conversion
+        try (InputStreamReader in = new InputStreamReader(inputStreamProvider.getInputStream(), encoding)) {
+            XMLStreamReader xtr = createXMLStreamReader(in);
+            if (!validateSchema) {
+                return convertToBpmnModel(xtr);
+            }
+
+            ValidatingXMLStreamReader validatingXtr = new ValidatingXMLStreamReader(xtr, getSchema());
+            BpmnModel model;
+            try {
+                model = convertToBpmnModel(validatingXtr);
+            } catch (XMLException e) {
+                // An invalid document may fail the conversion, the validation error explains why
+                if (validatingXtr.getValidationException() != null) {
+                    validatingXtr.checkValid();
                 }
-            } catch (UnsupportedEncodingException e) {
-                throw new XMLException("The bpmn 2.0 xml is not properly encoded", e);
-            } catch(XMLStreamException e){
-                throw new XMLException("Error while reading the BPMN 2.0 XML", e);
-            } catch(Exception e){
-                throw new XMLException(e.getMessage(), e);
+                throw e;
             }
-        }
-        // The input stream is closed after schema validation
-        try (InputStreamReader in = new InputStreamReader(inputStreamProvider.getInputStream(), encoding)) {
-            // XML conversion
-            return convertToBpmnModel(xif.createXMLStreamReader(in));
+            validatingXtr.checkValid();
+            return model;
+
         } catch (UnsupportedEncodingException e) {
             throw new XMLException("The bpmn 2.0 xml is not properly encoded", e);
         } catch (XMLStreamException e) {
             throw new XMLException("Error while reading the BPMN 2.0 XML", e);
+        } catch (SAXException e) {
+            throw new XMLException(e.getMessage(), e);
         } catch (IOException e) {
             throw new XMLException(e.getMessage(), e);
         }
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.bpmn.converter;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+
+import org.flowable.bpmn.exceptions.XMLException;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Validates the document against a schema while it is read, so the document doesn't need to be parsed a second time for the schema validation.
+ *
+ * Every event read from the underlying reader is passed to a {@link ValidatorHandler} of the schema. The first validation error stops the reader: {@link #hasNext()} returns false from then on, so
+ * the parsers reading from it finish, and {@link #checkValid()} throws the validation error.
+ */
+public class ValidatingXMLStreamReader extends StreamReaderDelegate {
+
+    protected final ValidatorHandler validatorHandler;
+    protected final AttributesImpl attributes = new AttributesImpl();
+    protected SAXException validationException;
+
+    public ValidatingXMLStreamReader(XMLStreamReader reader, Schema schema) {
+        super(reader);
+        this.validatorHandler = schema.newValidatorHandler();
+        this.validatorHandler.setDocumentLocator(new ReaderLocator());
+        try {
+            validatorHandler.startDocument();
+        } catch (SAXException e) {
+            validationException = e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws XMLStreamException {
+        return validationException == null && super.hasNext();
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        int event = super.next();
+        if (validationException == null) {
+            try {
+                validate(event);
+            } catch (SAXException e) {
+                validationException = e;
+                throw new XMLException(e.getMessage(), e);
+            }
+        }
+        return event;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while ((event == XMLStreamConstants.CHARACTERS && isWhiteSpace()) || (event == XMLStreamConstants.CDATA && isWhiteSpace()) || event == XMLStreamConstants.SPACE
+                || event == XMLStreamConstants.PROCESSING_INSTRUCTION || event == XMLStreamConstants.COMMENT) {
+            event = next();
+        }
+        if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("expected start or end tag", getLocation());
+        }
+        return event;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLStreamException("parser must be on START_ELEMENT to read next text", getLocation());
+        }
+
+        // Read through this reader instead of the underlying one, so the text is validated as well
+        StringBuilder content = new StringBuilder();
+        int event = next();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE) {
+                content.append(getText());
+            } else if (event == XMLStreamConstants.END_DOCUMENT) {
+                throw new XMLStreamException("unexpected end of document when reading element text content", getLocation());
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                throw new XMLStreamException("element text content may not contain START_ELEMENT", getLocation());
+            }
+            event = next();
+        }
+        return content.toString();
+    }
+
+    /**
+     * Reads the rest of the document, so the parts the parsers skipped are validated as well, and throws the first validation error.
+     */
+    public void checkValid() {
+        try {
+            while (hasNext()) {
+                next();
+            }
+        } catch (XMLStreamException e) {
+            throw new XMLException("Error reading XML", e);
+        } catch (XMLException e) {
+            // the validation error is thrown below
+        }
+
+        if (validationException != null) {
+            throw new XMLException(validationException.getMessage(), validationException);
+        }
+    }
+
+    public SAXException getValidationException() {
+        return validationException;
+    }
+
+    protected void validate(int event) throws SAXException {
+        switch (event) {
+        case XMLStreamConstants.START_ELEMENT:
+            for (int i = 0; i < getNamespaceCount(); i++) {
+                validatorHandler.startPrefixMapping(nullToEmpty(getNamespacePrefix(i)), nullToEmpty(getNamespaceURI(i)));
+            }
+            attributes.clear();
+            for (int i = 0; i < getAttributeCount(); i++) {
+                String localName = getAttributeLocalName(i);
+                attributes.addAttribute(nullToEmpty(getAttributeNamespace(i)), localName, qualifiedName(getAttributePrefix(i), localName), getAttributeType(i), getAttributeValue(i));
+            }
+            validatorHandler.startElement(nullToEmpty(getNamespaceURI()), getLocalName(), qualifiedName(getPrefix(), getLocalName()), attributes);
+            break;
+
+        case XMLStreamConstants.END_ELEMENT:
+            validatorHandler.endElement(nullToEmpty(getNamespaceURI()), getLocalName(), qualifiedName(getPrefix(), getLocalName()));
+            for (int i = 0; i < getNamespaceCount(); i++) {
+                validatorHandler.endPrefixMapping(nullToEmpty(getNamespacePrefix(i)));
+            }
+            break;
+
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+            validatorHandler.characters(getTextCharacters(), getTextStart(), getTextLength());
+            break;
+
+        case XMLStreamConstants.END_DOCUMENT:
+            validatorHandler.endDocument();
+            break;
+
+        default:
+            // comments, processing instructions, entity references and the DTD are not relevant for the schema validation
+        }
+    }
+
+    protected String qualifiedName(String prefix, String localName) {
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    protected String nullToEmpty(String value) {
+        return value != null ? value : XMLConstants.NULL_NS_URI;
+    }
+
+    protected class ReaderLocator implements Locator {
+
+        @Override
+        public String getPublicId() {
+            Location location = getLocation();
+            return location != null ? location.getPublicId() : null;
+        }
+
+        @Override
+        public String getSystemId() {
+            Location location = getLocation();
+            return location != null ? location.getSystemId() : null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            Location location = getLocation();
+            return location != null ? location.getLineNumber() : -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            Location location = getLocation();
+            return location != null ? location.getColumnNumber() : -1;
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ package org.flowable.bpmn.converter.child;
 
 import javax.xml.stream.XMLStreamReader;
 
+import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.converter.util.BpmnXMLUtil;
 import org.flowable.bpmn.model.Activity;
 import org.flowable.bpmn.model.BaseElement;
@@ -42,6 +43,15 @@ public class MultiInstanceParser extends BaseChildElementParser {
         multiInstanceDef.setElementVariable(BpmnXMLUtil.getAttributeValue(ATTRIBUTE_MULTIINSTANCE_VARIABLE, xtr));
         multiInstanceDef.setElementIndexVariable(BpmnXMLUtil.getAttributeValue(ATTRIBUTE_MULTIINSTANCE_INDEX_VARIABLE, xtr));
 
+        String batchSize = BpmnXMLUtil.getAttributeValue(ATTRIBUTE_MULTIINSTANCE_BATCH_SIZE, xtr);
+        if (StringUtils.isNotEmpty(batchSize)) {
+            try {
+                multiInstanceDef.setBatchSize(Integer.parseInt(batchSize));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid multi instance batch size {}", batchSize);
+            }
+        }
+
         boolean readyWithMultiInstance = false;
         try {
             while (!readyWithMultiInstance && xtr.hasNext()) {
@@ -36,6 +36,9 @@ public class MultiInstanceExport implements BpmnXMLConstants {
                 if (StringUtils.isNotEmpty(multiInstanceObject.getElementVariable())) {
                     BpmnXMLUtil.writeQualifiedAttribute(ATTRIBUTE_MULTIINSTANCE_VARIABLE, multiInstanceObject.getElementVariable(), xtw);
                 }
+                if (multiInstanceObject.getBatchSize() > 0) {
+                    BpmnXMLUtil.writeQualifiedAttribute(ATTRIBUTE_MULTIINSTANCE_BATCH_SIZE, String.valueOf(multiInstanceObject.getBatchSize()), xtw);
+                }
                 if (StringUtils.isNotEmpty(multiInstanceObject.getLoopCardinality())) {
                     xtw.writeStartElement(ELEMENT_MULTIINSTANCE_CARDINALITY);
                     xtw.writeCharacters(multiInstanceObject.getLoopCardinality());
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.editor.language.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.flowable.bpmn.converter.BpmnXMLConverter;
+import org.flowable.bpmn.exceptions.XMLException;
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.engine.common.api.io.InputStreamProvider;
+import org.junit.Test;
+import org.xml.sax.SAXParseException;
+
+public class SchemaValidationConverterTest {
+
+    private static final String VALID_XML = "<?xml version='1.0' encoding='UTF-8'?>"
+            + "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' xmlns:flowable='http://flowable.org/bpmn' targetNamespace='Examples'>"
+            + "  <process id='oneTaskProcess'>"
+            + "    <documentation>One <![CDATA[task]]> process</documentation>"
+            + "    <startEvent id='theStart' />"
+            + "    <sequenceFlow id='flow1' sourceRef='theStart' targetRef='theTask' />"
+            + "    <userTask id='theTask' name='my task' flowable:assignee='kermit' />"
+            + "    <sequenceFlow id='flow2' sourceRef='theTask' targetRef='theEnd' />"
+            + "    <endEvent id='theEnd' />"
+            + "  </process>"
+            + "</definitions>";
+
+    private static final String INVALID_XML = "<?xml version='1.0' encoding='UTF-8'?>"
+            + "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' targetNamespace='Examples'>"
+            + "  <process id='invalidProcess'>"
+            + "    <startEvent id='theStart' />"
+            + "    <unknownElement id='unknown' />"
+            + "    <endEvent id='theEnd' />"
+            + "  </process>"
+            + "</definitions>";
+
+    @Test
+    public void convertValidXML() {
+        BpmnModel bpmnModel = new BpmnXMLConverter().convertToBpmnModel(streamSource(VALID_XML), true, false);
+
+        assertNotNull(bpmnModel.getProcessById("oneTaskProcess"));
+        assertEquals("One task process", bpmnModel.getProcessById("oneTaskProcess").getDocumentation());
+        UserTask userTask = (UserTask) bpmnModel.getProcessById("oneTaskProcess").getFlowElement("theTask");
+        assertEquals("kermit", userTask.getAssignee());
+        assertEquals(1, userTask.getIncomingFlows().size());
+        assertEquals(1, userTask.getOutgoingFlows().size());
+    }
+
+    @Test
+    public void convertInvalidXML() {
+        try {
+            new BpmnXMLConverter().convertToBpmnModel(streamSource(INVALID_XML), true, true);
+            fail("Expected xml exception");
+        } catch (XMLException e) {
+            assertTrue(e.getCause() instanceof SAXParseException);
+            assertTrue(e.getMessage().contains("unknownElement"));
+        }
+    }
+
+    @Test
+    public void convertInvalidXMLWithoutValidation() {
+        BpmnModel bpmnModel = new BpmnXMLConverter().convertToBpmnModel(streamSource(INVALID_XML), false, false);
+        assertNotNull(bpmnModel.getProcessById("invalidProcess").getFlowElement("theEnd"));
+    }
+
+    protected InputStreamProvider streamSource(final String xml) {
+        return new InputStreamProvider() {
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+}
@@ -23,6 +23,7 @@ public class MultiInstanceLoopCharacteristics extends BaseElement {
     protected String elementVariable;
     protected String elementIndexVariable;
     protected boolean sequential;
+    protected int batchSize;
 
     public String getInputDataItem() {
         return inputDataItem;
@@ -72,6 +73,18 @@ public class MultiInstanceLoopCharacteristics extends BaseElement {
         this.sequential = sequential;
     }
 
+    /**
+     * The number of parallel instances that are created in one transaction. When the number of instances is larger than the batch size, the remaining instances are created in batches by async
+     * jobs. 0 (the default) creates all instances at once.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public MultiInstanceLoopCharacteristics clone() {
         MultiInstanceLoopCharacteristics clone = new MultiInstanceLoopCharacteristics();
         clone.setValues(this);
@@ -85,5 +98,6 @@ public class MultiInstanceLoopCharacteristics extends BaseElement {
         setElementVariable(otherLoopCharacteristics.getElementVariable());
         setElementIndexVariable(otherLoopCharacteristics.getElementIndexVariable());
         setSequential(otherLoopCharacteristics.isSequential());
+        setBatchSize(otherLoopCharacteristics.getBatchSize());
     }
 }
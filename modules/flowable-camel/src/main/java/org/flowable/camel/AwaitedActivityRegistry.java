@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.camel;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.delegate.event.FlowableActivityEvent;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.impl.cfg.TransactionContext;
+import org.flowable.engine.impl.cfg.TransactionListener;
+import org.flowable.engine.impl.context.Context;
+import org.flowable.engine.impl.interceptor.CommandContext;
+
+/**
+ * Registry of the activities a {@link FlowableProducer} is waiting for, e.g. a receive task that needs to be triggered by a Camel route.
+ *
+ * The registry is registered as event listener for {@link FlowableEngineEventType#ACTIVITY_STARTED} events. When an execution arrives in an awaited activity, the waiting producers are notified once
+ * the transaction has been committed, so they don't need to poll the database. Executions arriving in an activity on another engine (e.g. another node of a cluster) are not seen by this registry,
+ * the producer still queries the database periodically for those.
+ */
+public class AwaitedActivityRegistry implements FlowableEventListener {
+
+    protected ConcurrentMap<String, Set<AwaitedActivity>> awaitedActivities = new ConcurrentHashMap<String, Set<AwaitedActivity>>();
+
+    public AwaitedActivity register(String processInstanceId, String activityId) {
+        String key = createKey(processInstanceId, activityId);
+        AwaitedActivity awaitedActivity = new AwaitedActivity(key);
+        synchronized (awaitedActivities) {
+            Set<AwaitedActivity> activities = awaitedActivities.get(key);
+            if (activities == null) {
+                activities = Collections.newSetFromMap(new ConcurrentHashMap<AwaitedActivity, Boolean>());
+                awaitedActivities.put(key, activities);
+            }
+            activities.add(awaitedActivity);
+        }
+        return awaitedActivity;
+    }
+
+    public void unregister(AwaitedActivity awaitedActivity) {
+        synchronized (awaitedActivities) {
+            Set<AwaitedActivity> activities = awaitedActivities.get(awaitedActivity.getKey());
+            if (activities != null) {
+                activities.remove(awaitedActivity);
+                if (activities.isEmpty()) {
+                    awaitedActivities.remove(awaitedActivity.getKey());
+                }
+            }
+        }
+    }
+
+    public void onEvent(FlowableEvent event) {
+        if (awaitedActivities.isEmpty() || event.getType() != FlowableEngineEventType.ACTIVITY_STARTED || !(event instanceof FlowableActivityEvent)) {
+            return;
+        }
+
+        FlowableActivityEvent activityEvent = (FlowableActivityEvent) event;
+        final String key = createKey(activityEvent.getProcessInstanceId(), activityEvent.getActivityId());
+        if (!awaitedActivities.containsKey(key)) {
+            return;
+        }
+
+        // The producer can only find and trigger the execution once it has been committed
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+                public void execute(CommandContext commandContext) {
+                    notifyAwaitedActivities(key);
+                }
+            });
+        } else {
+            notifyAwaitedActivities(key);
+        }
+    }
+
+    protected void notifyAwaitedActivities(String key) {
+        Set<AwaitedActivity> activities = awaitedActivities.get(key);
+        if (activities != null) {
+            for (AwaitedActivity awaitedActivity : activities) {
+                awaitedActivity.arrived();
+            }
+        }
+    }
+
+    public boolean isFailOnException() {
+        return false;
+    }
+
+    public int size() {
+        return awaitedActivities.size();
+    }
+
+    protected String createKey(String processInstanceId, String activityId) {
+        return processInstanceId + ":" + activityId;
+    }
+
+    /**
+     * An activity a producer is waiting for. Needs to be unregistered from the registry when the producer stops waiting.
+     */
+    public static class AwaitedActivity {
+
+        protected final String key;
+        protected final CountDownLatch arrival = new CountDownLatch(1);
+
+        public AwaitedActivity(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return true when an execution arrived in the activity, false when the given time elapsed first.
+         */
+        public boolean await(long timeout) throws InterruptedException {
+            return arrival.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        protected void arrived() {
+            arrival.countDown();
+        }
+
+    }
+
+}
@@ -16,6 +16,8 @@ package org.flowable.camel;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
@@ -65,6 +67,7 @@ public abstract class CamelBehavior extends AbstractBpmnActivityBehavior impleme
     protected Expression camelContext;
     protected CamelContext camelContextObj;
     protected List<MapExceptionEntry> mapExceptions;
+    protected transient volatile ConcurrentMap<String, FlowableEndpoint> endpointsByKey;
 
     protected abstract void setPropertTargetVariable(FlowableEndpoint endpoint);
 
@@ -138,12 +141,34 @@ public abstract class CamelBehavior extends AbstractBpmnActivityBehavior impleme
     }
 
     protected FlowableEndpoint getEndpoint(String key) {
+        ConcurrentMap<String, FlowableEndpoint> endpoints = endpointsByKey;
+        if (endpoints == null) {
+            endpoints = new ConcurrentHashMap<String, FlowableEndpoint>();
+            endpointsByKey = endpoints;
+        }
+
+        FlowableEndpoint endpoint = endpoints.get(key);
+        if (endpoint != null && endpoint.getCamelContext() == camelContextObj && !endpoint.isStopped()) {
+            return endpoint;
+        }
+
+        // Not indexed yet, or removed from the context: index all Flowable endpoints of the current context
+        endpoint = null;
         for (Endpoint e : camelContextObj.getEndpoints()) {
-            if (e.getEndpointKey().equals(key) && (e instanceof FlowableEndpoint)) {
-                return (FlowableEndpoint) e;
+            if (e instanceof FlowableEndpoint) {
+                endpoints.put(e.getEndpointKey(), (FlowableEndpoint) e);
+                if (endpoint == null && e.getEndpointKey().equals(key)) {
+                    endpoint = (FlowableEndpoint) e;
+                }
             }
         }
-        throw new FlowableException("Endpoint not defined for " + key);
+
+        if (endpoint == null) {
+            endpoints.remove(key);
+            throw new FlowableException("Endpoint not defined for " + key);
+        }
+        endpoints.put(key, endpoint);
+        return endpoint;
     }
 
     protected Exchange createExchange(DelegateExecution activityExecution, FlowableEndpoint endpoint) {
@@ -21,6 +21,7 @@ import org.apache.camel.util.IntrospectionSupport;
 import org.flowable.engine.IdentityService;
 import org.flowable.engine.RepositoryService;
 import org.flowable.engine.RuntimeService;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
 
 /**
  * This class has been modified to be consistent with the changes to CamelBehavior and its implementations. The set of changes significantly increases the flexibility of our Camel integration, as you
@@ -37,6 +38,8 @@ public class FlowableComponent extends DefaultComponent {
 
     protected RepositoryService repositoryService;
 
+    protected AwaitedActivityRegistry awaitedActivityRegistry = new AwaitedActivityRegistry();
+
     protected boolean copyVariablesToProperties;
 
     protected boolean copyVariablesToBodyAsMap;
@@ -54,6 +57,22 @@ public class FlowableComponent extends DefaultComponent {
         repositoryService = getByType(context, RepositoryService.class);
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (runtimeService != null) {
+            runtimeService.addEventListener(awaitedActivityRegistry, FlowableEngineEventType.ACTIVITY_STARTED);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (runtimeService != null) {
+            runtimeService.removeEventListener(awaitedActivityRegistry);
+        }
+        super.doStop();
+    }
+
     private <T> T getByType(CamelContext ctx, Class<T> kls) {
         Map<String, T> looked = ctx.getRegistry().findByTypeWithName(kls);
         if (looked.isEmpty()) {
@@ -69,6 +88,7 @@ public class FlowableComponent extends DefaultComponent {
         ae.setIdentityService(identityService);
         ae.setRuntimeService(runtimeService);
         ae.setRepositoryService(repositoryService);
+        ae.setAwaitedActivityRegistry(awaitedActivityRegistry);
 
         ae.setCopyVariablesToProperties(this.copyVariablesToProperties);
         ae.setCopyVariablesToBodyAsMap(this.copyVariablesToBodyAsMap);
@@ -82,6 +102,10 @@ public class FlowableComponent extends DefaultComponent {
         return ae;
     }
 
+    public AwaitedActivityRegistry getAwaitedActivityRegistry() {
+        return awaitedActivityRegistry;
+    }
+
     public boolean isCopyVariablesToProperties() {
         return copyVariablesToProperties;
     }
@@ -43,6 +43,8 @@ public class FlowableEndpoint extends DefaultEndpoint {
 
     protected RepositoryService repositoryService;
 
+    protected AwaitedActivityRegistry awaitedActivityRegistry;
+
     protected FlowableConsumer flowableConsumer;
 
     protected boolean copyVariablesToProperties;
@@ -83,6 +85,7 @@ public class FlowableEndpoint extends DefaultEndpoint {
         producer.setRuntimeService(runtimeService);
         producer.setIdentityService(identityService);
         producer.setRepositoryService(repositoryService);
+        producer.setAwaitedActivityRegistry(awaitedActivityRegistry);
         return producer;
     }
 
@@ -117,6 +120,14 @@ public class FlowableEndpoint extends DefaultEndpoint {
         this.repositoryService = repositoryService;
     }
 
+    public AwaitedActivityRegistry getAwaitedActivityRegistry() {
+        return awaitedActivityRegistry;
+    }
+
+    public void setAwaitedActivityRegistry(AwaitedActivityRegistry awaitedActivityRegistry) {
+        this.awaitedActivityRegistry = awaitedActivityRegistry;
+    }
+
     public boolean isCopyVariablesToProperties() {
         return copyVariablesToProperties;
     }
@@ -194,8 +205,16 @@ public class FlowableEndpoint extends DefaultEndpoint {
         return timeout;
     }
 
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
     public int getTimeResolution() {
         return timeResolution;
     }
 
+    public void setTimeResolution(int timeResolution) {
+        this.timeResolution = timeResolution;
+    }
+
 }
@@ -16,6 +16,7 @@ import java.util.Map;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultProducer;
+import org.flowable.camel.AwaitedActivityRegistry.AwaitedActivity;
 import org.flowable.engine.IdentityService;
 import org.flowable.engine.RepositoryService;
 import org.flowable.engine.RuntimeService;
@@ -39,6 +40,8 @@ public class FlowableProducer extends DefaultProducer {
 
     protected RepositoryService repositoryService;
 
+    protected AwaitedActivityRegistry awaitedActivityRegistry;
+
     public static final String PROCESS_KEY_PROPERTY = "PROCESS_KEY_PROPERTY";
 
     public static final String PROCESS_ID_PROPERTY = "PROCESS_ID_PROPERTY";
@@ -106,42 +109,72 @@ public class FlowableProducer extends DefaultProducer {
         String processInstanceId = findProcessInstanceId(exchange);
         String executionId = exchange.getProperty(EXECUTION_ID_PROPERTY, String.class);
 
-        boolean firstTime = true;
-        long initialTime = System.currentTimeMillis();
+        Execution execution = waitForExecution(processInstanceId, executionId);
+        if (execution == null) {
+            throw new FlowableException("Couldn't find activity " + activity + " for processId " + processInstanceId + " in defined timeout.");
+        }
 
-        Execution execution = null;
-        while (firstTime || (timeout > 0 && (System.currentTimeMillis() - initialTime < timeout))) {
-            try {
-                Thread.sleep(timeResolution);
-            } catch (InterruptedException e) {
-                throw new FlowableException("error occurred while waiting for activity=" + activity + " for processInstanceId=" + processInstanceId);
+        runtimeService.setVariables(execution.getId(), ExchangeUtils.prepareVariables(exchange, getFlowableEndpoint()));
+        runtimeService.trigger(execution.getId());
+    }
+
+    /**
+     * Waits until an execution has arrived in the activity of this producer. When an {@link AwaitedActivityRegistry} is available, the engine notifies this producer as soon as the execution has
+     * arrived. The database is queried again after the time resolution has elapsed, doubling the interval after each query, to find executions arriving through another engine.
+     */
+    protected Execution waitForExecution(String processInstanceId, String executionId) {
+        long deadline = System.currentTimeMillis() + Math.max(timeout, timeResolution);
+        long queryInterval = Math.max(timeResolution, 1);
+
+        while (true) {
+            AwaitedActivity awaitedActivity = null;
+            if (awaitedActivityRegistry != null) {
+                // Registered before querying, so an execution arriving in between isn't missed
+                awaitedActivity = awaitedActivityRegistry.register(processInstanceId, activity);
             }
-            firstTime = false;
 
-            if (executionId != null) {
-                execution = runtimeService.createExecutionQuery()
-                        .executionId(executionId)
-                        .activityId(activity)
-                        .singleResult();
+            try {
+                Execution execution = findExecution(processInstanceId, executionId);
+                long remainingTime = deadline - System.currentTimeMillis();
+                if (execution != null || remainingTime <= 0) {
+                    return execution;
+                }
 
-            } else {
-                execution = runtimeService.createExecutionQuery()
-                        .processDefinitionKey(processKey)
-                        .processInstanceId(processInstanceId)
-                        .activityId(activity)
-                        .singleResult();
-            }
+                long waitTime = Math.min(queryInterval, remainingTime);
+                if (awaitedActivity != null) {
+                    if (!awaitedActivity.await(waitTime)) {
+                        queryInterval = queryInterval * 2;
+                    }
+                } else {
+                    Thread.sleep(waitTime);
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlowableException("error occurred while waiting for activity=" + activity + " for processInstanceId=" + processInstanceId);
 
-            if (execution != null) {
-                break;
+            } finally {
+                if (awaitedActivity != null) {
+                    awaitedActivityRegistry.unregister(awaitedActivity);
+                }
             }
         }
-        if (execution == null) {
-            throw new FlowableException("Couldn't find activity " + activity + " for processId " + processInstanceId + " in defined timeout.");
-        }
+    }
 
-        runtimeService.setVariables(execution.getId(), ExchangeUtils.prepareVariables(exchange, getFlowableEndpoint()));
-        runtimeService.trigger(execution.getId());
+    protected Execution findExecution(String processInstanceId, String executionId) {
+        if (executionId != null) {
+            return runtimeService.createExecutionQuery()
+                    .executionId(executionId)
+                    .activityId(activity)
+                    .singleResult();
+
+        } else {
+            return runtimeService.createExecutionQuery()
+                    .processDefinitionKey(processKey)
+                    .processInstanceId(processInstanceId)
+                    .activityId(activity)
+                    .singleResult();
+        }
     }
 
     protected String findProcessInstanceId(Exchange exchange) {
@@ -201,4 +234,8 @@ public class FlowableProducer extends DefaultProducer {
     public void setRepositoryService(RepositoryService repositoryService) {
         this.repositoryService = repositoryService;
     }
+
+    public void setAwaitedActivityRegistry(AwaitedActivityRegistry awaitedActivityRegistry) {
+        this.awaitedActivityRegistry = awaitedActivityRegistry;
+    }
 }
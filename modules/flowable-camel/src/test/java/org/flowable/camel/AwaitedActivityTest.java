@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.camel;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.TaskService;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.spring.impl.test.SpringFlowableTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration("classpath:generic-camel-flowable-context.xml")
+public class AwaitedActivityTest extends SpringFlowableTestCase {
+
+    @Autowired
+    protected CamelContext camelContext;
+
+    @Autowired
+    protected RuntimeService runtimeService;
+
+    @Autowired
+    protected TaskService taskService;
+
+    public void setUp() throws Exception {
+        camelContext.addRoutes(new RouteBuilder() {
+
+            @Override
+            public void configure() throws Exception {
+                // The time resolution is longer than the test waits: the producer needs to be notified by the engine
+                from("direct:receive").to("flowable:awaitedReceiveProcess:receive?timeout=30000&timeResolution=10000");
+            }
+        });
+    }
+
+    public void tearDown() throws Exception {
+        List<Route> routes = camelContext.getRoutes();
+        for (Route r : routes) {
+            camelContext.stopRoute(r.getId());
+            camelContext.removeRoute(r.getId());
+        }
+    }
+
+    @Deployment(resources = { "process/awaitedReceiveTask.bpmn20.xml" })
+    public void testProducerNotifiedWhenActivityIsReached() throws Exception {
+        final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("awaitedReceiveProcess");
+        AwaitedActivityRegistry awaitedActivityRegistry = camelContext.getComponent("flowable", FlowableComponent.class).getAwaitedActivityRegistry();
+
+        Future<Exchange> result = camelContext.createProducerTemplate().asyncSend("direct:receive", new Processor() {
+
+            public void process(Exchange exchange) throws Exception {
+                exchange.setProperty(FlowableProducer.PROCESS_ID_PROPERTY, processInstance.getId());
+            }
+        });
+
+        // Wait until the producer is waiting for the receive task
+        long start = System.currentTimeMillis();
+        while (awaitedActivityRegistry.size() == 0 && System.currentTimeMillis() - start < 5000) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, awaitedActivityRegistry.size());
+
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+
+        Exchange exchange = result.get(5, TimeUnit.SECONDS);
+        assertNull(exchange.getException());
+        assertEquals(0, runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count());
+        assertEquals(0, awaitedActivityRegistry.size());
+    }
+
+}
@@ -27,6 +27,16 @@ public interface ContentService {
 
     InputStream getContentItemData(String contentItemId);
 
+    /**
+     * Returns a part of the data of the content item with the given id.
+     * 
+     * @param offset
+     *            the (zero-based) position of the first byte to return
+     * @param length
+     *            the maximum number of bytes to return. A negative value returns all bytes until the end of the content.
+     */
+    InputStream getContentItemData(String contentItemId, long offset, long length);
+
     void deleteContentItem(String contentItemId);
 
     void deleteContentItemsByProcessInstanceId(String processInstanceId);
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.api;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link ContentObject} that supports reading a part of its content without reading all bytes before the requested offset.
+ */
+public interface RangeContentObject extends ContentObject {
+
+    /**
+     * @param offset
+     *            the (zero-based) position of the first byte to read
+     * @param length
+     *            the maximum number of bytes to read. A negative value reads until the end of the content.
+     * @return a new {@link InputStream} for the requested range. Caller should close the inputstream after usage to prevent resources leaking.
+     */
+    InputStream getContent(long offset, long length);
+
+    /**
+     * Transfers the requested range of the content directly to the given channel, without copying it through a buffer in the heap when the underlying storage supports it.
+     * 
+     * @return the number of bytes that were transferred.
+     */
+    long transferTo(long offset, long length, WritableByteChannel target);
+}
@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.api;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Implemented by content {@link java.io.InputStream}s that can transfer their remaining bytes directly to a channel (e.g. using {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}).
+ */
+public interface TransferableContentStream {
+
+    /**
+     * Transfers all remaining bytes of this stream to the given channel.
+     * 
+     * @return the number of bytes that were transferred.
+     */
+    long transferTo(WritableByteChannel target) throws IOException;
+}
@@ -100,7 +100,7 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration {
     // /////////////////////////////////////////////////////////////////
 
     protected ContentManagementService contentManagementService = new ContentManagementServiceImpl();
-    protected ContentService contentService = new ContentServiceImpl();
+    protected ContentService contentService = new ContentServiceImpl(this);
 
     // DATA MANAGERS ///////////////////////////////////////////////////
 
@@ -112,6 +112,12 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration {
     protected String contentRootFolder;
     protected boolean createContentRootFolder = true;
 
+    /**
+     * When true, content passed to the {@link ContentService} is written to the {@link ContentStorage} before the transaction that saves the content item is started, so the database transaction is
+     * not kept open while the content is copied. The content is removed again when saving the content item fails.
+     */
+    protected boolean writeContentOutsideTransaction;
+
     // ENTITY MANAGERS /////////////////////////////////////////////////
     protected ContentItemEntityManager contentItemEntityManager;
     protected TableDataManager tableDataManager;
@@ -642,6 +648,15 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isWriteContentOutsideTransaction() {
+        return writeContentOutsideTransaction;
+    }
+
+    public ContentEngineConfiguration setWriteContentOutsideTransaction(boolean writeContentOutsideTransaction) {
+        this.writeContentOutsideTransaction = writeContentOutsideTransaction;
+        return this;
+    }
+
     public CommandContextFactory getCommandContextFactory() {
         return commandContextFactory;
     }
@@ -16,7 +16,10 @@ import java.io.InputStream;
 
 import org.flowable.content.api.ContentItem;
 import org.flowable.content.api.ContentItemQuery;
+import org.flowable.content.api.ContentObject;
 import org.flowable.content.api.ContentService;
+import org.flowable.content.api.ContentStorage;
+import org.flowable.content.engine.ContentEngineConfiguration;
 import org.flowable.content.engine.impl.cmd.CreateContentItemCmd;
 import org.flowable.content.engine.impl.cmd.DeleteContentItemCmd;
 import org.flowable.content.engine.impl.cmd.DeleteContentItemsCmd;
@@ -28,6 +31,13 @@ import org.flowable.content.engine.impl.cmd.SaveContentItemCmd;
  */
 public class ContentServiceImpl extends ServiceImpl implements ContentService {
 
+    public ContentServiceImpl() {
+    }
+
+    public ContentServiceImpl(ContentEngineConfiguration engineConfig) {
+        super(engineConfig);
+    }
+
     public ContentItem newContentItem() {
         return commandExecutor.execute(new CreateContentItemCmd());
     }
@@ -37,13 +47,29 @@ public class ContentServiceImpl extends ServiceImpl implements ContentService {
     }
 
     public void saveContentItem(ContentItem contentItem, InputStream inputStream) {
-        commandExecutor.execute(new SaveContentItemCmd(contentItem, inputStream));
+        if (engineConfig == null || !engineConfig.isWriteContentOutsideTransaction() || inputStream == null || contentItem == null) {
+            commandExecutor.execute(new SaveContentItemCmd(contentItem, inputStream));
+            return;
+        }
+
+        ContentStorage contentStorage = engineConfig.getContentStorage();
+        ContentObject contentObject = contentStorage.createContentObject(inputStream, SaveContentItemCmd.createMetaData(contentItem));
+        try {
+            commandExecutor.execute(new SaveContentItemCmd(contentItem, contentObject));
+        } catch (RuntimeException e) {
+            contentStorage.deleteContentObject(contentObject.getId());
+            throw e;
+        }
     }
 
     public InputStream getContentItemData(String contentItemId) {
         return commandExecutor.execute(new GetContentItemStreamCmd(contentItemId));
     }
 
+    public InputStream getContentItemData(String contentItemId, long offset, long length) {
+        return commandExecutor.execute(new GetContentItemStreamCmd(contentItemId, offset, length));
+    }
+
     public void deleteContentItem(String contentItemId) {
         commandExecutor.execute(new DeleteContentItemCmd(contentItemId));
     }
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.cfg;
+
+import org.flowable.content.api.ContentStorage;
+import org.flowable.content.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionListener} that removes a content object from the {@link ContentStorage}. Used to delete content after the deletion of its content item is committed, and to clean up content
+ * that was written for a transaction that got rolled back.
+ */
+public class DeleteContentObjectTransactionListener implements TransactionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeleteContentObjectTransactionListener.class);
+
+    protected ContentStorage contentStorage;
+    protected String contentObjectId;
+
+    public DeleteContentObjectTransactionListener(ContentStorage contentStorage, String contentObjectId) {
+        this.contentStorage = contentStorage;
+        this.contentObjectId = contentObjectId;
+    }
+
+    public void execute(CommandContext commandContext) {
+        try {
+            contentStorage.deleteContentObject(contentObjectId);
+        } catch (Exception e) {
+            // The transaction outcome is final at this point, an orphaned content object is preferred over a failure
+            LOG.warn("Could not delete content object {}", contentObjectId, e);
+        }
+    }
+
+}
@@ -15,11 +15,15 @@ package org.flowable.content.engine.impl.cmd;
 import java.io.Serializable;
 
 import org.flowable.content.api.ContentStorage;
+import org.flowable.content.engine.impl.cfg.DeleteContentObjectTransactionListener;
+import org.flowable.content.engine.impl.cfg.TransactionContext;
+import org.flowable.content.engine.impl.context.Context;
 import org.flowable.content.engine.impl.interceptor.Command;
 import org.flowable.content.engine.impl.interceptor.CommandContext;
 import org.flowable.content.engine.impl.persistence.entity.ContentItemEntity;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
+import org.flowable.engine.common.impl.cfg.TransactionState;
 
 /**
  * @author Tijs Rademakers
@@ -47,7 +51,14 @@ public class DeleteContentItemCmd implements Command<Void>, Serializable {
         if (contentItem.getContentStoreId() != null) {
             ContentStorage contentStorage = commandContext.getContentEngineConfiguration().getContentStorage();
             if (contentItem.isContentAvailable()) {
-                contentStorage.deleteContentObject(contentItem.getContentStoreId());
+                // Only remove the content when the removal of the content item is committed
+                TransactionContext transactionContext = Context.getTransactionContext();
+                if (transactionContext != null) {
+                    transactionContext.addTransactionListener(TransactionState.COMMITTED,
+                            new DeleteContentObjectTransactionListener(contentStorage, contentItem.getContentStoreId()));
+                } else {
+                    contentStorage.deleteContentObject(contentItem.getContentStoreId());
+                }
             }
         }
 
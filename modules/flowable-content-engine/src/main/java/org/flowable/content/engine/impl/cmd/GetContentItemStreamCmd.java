@@ -12,12 +12,17 @@
  */
 package org.flowable.content.engine.impl.cmd;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.flowable.content.api.ContentItem;
 import org.flowable.content.api.ContentObject;
 import org.flowable.content.api.ContentStorage;
+import org.flowable.content.api.ContentStorageException;
+import org.flowable.content.api.RangeContentObject;
 import org.flowable.content.engine.impl.interceptor.Command;
 import org.flowable.content.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
@@ -31,11 +36,19 @@ public class GetContentItemStreamCmd implements Command<InputStream>, Serializab
     private static final long serialVersionUID = 1L;
 
     protected String contentItemId;
+    protected long offset;
+    protected long length = -1L;
 
     public GetContentItemStreamCmd(String contentItemId) {
         this.contentItemId = contentItemId;
     }
 
+    public GetContentItemStreamCmd(String contentItemId, long offset, long length) {
+        this.contentItemId = contentItemId;
+        this.offset = offset;
+        this.length = length;
+    }
+
     public InputStream execute(CommandContext commandContext) {
         if (contentItemId == null) {
             throw new FlowableIllegalArgumentException("contentItemId is null");
@@ -48,7 +61,23 @@ public class GetContentItemStreamCmd implements Command<InputStream>, Serializab
 
         ContentStorage contentStorage = commandContext.getContentEngineConfiguration().getContentStorage();
         ContentObject contentObject = contentStorage.getContentObject(contentItem.getContentStoreId());
-        return contentObject.getContent();
+        if (offset <= 0L && length < 0L) {
+            return contentObject.getContent();
+        }
+
+        if (contentObject instanceof RangeContentObject) {
+            return ((RangeContentObject) contentObject).getContent(offset, length);
+        }
+
+        // Storage doesn't support ranges: skip the bytes before the offset
+        InputStream contentStream = contentObject.getContent();
+        try {
+            IOUtils.skipFully(contentStream, Math.max(offset, 0L));
+        } catch (IOException e) {
+            IOUtils.closeQuietly(contentStream);
+            throw new ContentStorageException("Could not read content of content item " + contentItemId + " from offset " + offset, e);
+        }
+        return length < 0L ? contentStream : new BoundedInputStream(contentStream, length);
     }
 
 }
@@ -22,10 +22,14 @@ import org.flowable.content.api.ContentMetaDataKeys;
 import org.flowable.content.api.ContentObject;
 import org.flowable.content.api.ContentStorage;
 import org.flowable.content.engine.ContentEngineConfiguration;
+import org.flowable.content.engine.impl.cfg.DeleteContentObjectTransactionListener;
+import org.flowable.content.engine.impl.cfg.TransactionContext;
+import org.flowable.content.engine.impl.context.Context;
 import org.flowable.content.engine.impl.interceptor.Command;
 import org.flowable.content.engine.impl.interceptor.CommandContext;
 import org.flowable.content.engine.impl.persistence.entity.ContentItemEntity;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.cfg.TransactionState;
 
 /**
  * @author Tijs Rademakers
@@ -36,6 +40,7 @@ public class SaveContentItemCmd implements Command<Void>, Serializable {
 
     protected ContentItem contentItem;
     protected InputStream inputStream;
+    protected ContentObject contentObject;
 
     public SaveContentItemCmd(ContentItem contentItem) {
         this.contentItem = contentItem;
@@ -46,6 +51,14 @@ public class SaveContentItemCmd implements Command<Void>, Serializable {
         this.inputStream = inputStream;
     }
 
+    /**
+     * Saves the content item with a reference to content that was already written to the content storage, e.g. outside of the transaction.
+     */
+    public SaveContentItemCmd(ContentItem contentItem, ContentObject contentObject) {
+        this.contentItem = contentItem;
+        this.contentObject = contentObject;
+    }
+
     public Void execute(CommandContext commandContext) {
         if (contentItem == null) {
             throw new FlowableIllegalArgumentException("contentItem is null");
@@ -59,26 +72,27 @@ public class SaveContentItemCmd implements Command<Void>, Serializable {
 
         ContentEngineConfiguration contentEngineConfiguration = commandContext.getContentEngineConfiguration();
 
-        if (inputStream != null) {
+        ContentStorage contentStorage = contentEngineConfiguration.getContentStorage();
+        ContentObject storedContentObject = contentObject;
+        if (storedContentObject == null && inputStream != null) {
             // Stream given, write to store and save a reference to the content object
-            Map<String, Object> metaData = new HashMap<String, Object>();
-            if (contentItem.getTaskId() != null) {
-                metaData.put(ContentMetaDataKeys.TASK_ID, contentItem.getTaskId());
-            } else {
-                if (contentItem.getProcessInstanceId() != null) {
-                    metaData.put(ContentMetaDataKeys.PROCESS_INSTANCE_ID, contentItem.getProcessInstanceId());
-                }
+            storedContentObject = contentStorage.createContentObject(inputStream, createMetaData(contentItem));
+
+            // The content is written immediately, so it has to be removed again when the transaction is not committed
+            TransactionContext transactionContext = Context.getTransactionContext();
+            if (transactionContext != null) {
+                transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new DeleteContentObjectTransactionListener(contentStorage, storedContentObject.getId()));
             }
+        }
 
-            ContentStorage contentStorage = contentEngineConfiguration.getContentStorage();
-            ContentObject createContentObject = contentStorage.createContentObject(inputStream, metaData);
-            contentItemEntity.setContentStoreId(createContentObject.getId());
+        if (storedContentObject != null) {
+            contentItemEntity.setContentStoreId(storedContentObject.getId());
             contentItemEntity.setContentStoreName(contentStorage.getContentStoreName());
             contentItemEntity.setContentAvailable(true);
 
             // After storing the stream, store the length to be accessible without having to consult the
             // underlying content storage to get file size
-            contentItemEntity.setContentSize(createContentObject.getContentLength());
+            contentItemEntity.setContentSize(storedContentObject.getContentLength());
         }
 
         if (contentItemEntity.getLastModified() == null) {
@@ -99,4 +113,16 @@ public class SaveContentItemCmd implements Command<Void>, Serializable {
         return null;
     }
 
+    public static Map<String, Object> createMetaData(ContentItem contentItem) {
+        Map<String, Object> metaData = new HashMap<String, Object>();
+        if (contentItem.getTaskId() != null) {
+            metaData.put(ContentMetaDataKeys.TASK_ID, contentItem.getTaskId());
+        } else {
+            if (contentItem.getProcessInstanceId() != null) {
+                metaData.put(ContentMetaDataKeys.PROCESS_INSTANCE_ID, contentItem.getProcessInstanceId());
+            }
+        }
+        return metaData;
+    }
+
 }
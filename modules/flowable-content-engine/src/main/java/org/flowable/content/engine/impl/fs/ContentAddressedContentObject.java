@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.fs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.flowable.content.api.ContentStorageException;
+import org.flowable.content.api.RangeContentObject;
+
+/**
+ * {@link RangeContentObject} backed by a blob file of the {@link ContentAddressedFileSystemContentStorage}. Multiple instances can share the same blob file.
+ */
+public class ContentAddressedContentObject implements RangeContentObject {
+
+    protected File file;
+    protected String id;
+    protected String digest;
+    protected Long length;
+    protected InputStream inputStream;
+
+    public ContentAddressedContentObject(File file, String id, String digest) {
+        this.file = file;
+        this.id = id;
+        this.digest = digest;
+    }
+
+    public ContentAddressedContentObject(File file, String id, String digest, Long length) {
+        this(file, id, digest);
+        this.length = length;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the hex encoded digest of the content, which identifies the shared blob.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    public long getContentLength() {
+        if (length == null) {
+            length = file.length();
+        }
+        return length;
+    }
+
+    public InputStream getContent() {
+        if (inputStream == null) {
+            inputStream = getContent(0L, -1L);
+        }
+        return inputStream;
+    }
+
+    public InputStream getContent(long offset, long length) {
+        try {
+            return new FileChannelRangeInputStream(openChannel(), offset, length);
+        } catch (IOException e) {
+            throw new ContentStorageException("Error while opening file channel for content " + id, e);
+        }
+    }
+
+    public long transferTo(long offset, long length, WritableByteChannel target) {
+        FileChannelRangeInputStream rangeInputStream = (FileChannelRangeInputStream) getContent(offset, length);
+        try {
+            return rangeInputStream.transferTo(target);
+        } catch (IOException e) {
+            throw new ContentStorageException("Error while transferring content " + id, e);
+        } finally {
+            try {
+                rangeInputStream.close();
+            } catch (IOException e) {
+                // nothing to do, the transfer itself already succeeded or failed
+            }
+        }
+    }
+
+    protected FileChannel openChannel() throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+}
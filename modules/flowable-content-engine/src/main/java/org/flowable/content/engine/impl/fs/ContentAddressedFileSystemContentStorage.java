@@ -0,0 +1,262 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.fs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import org.flowable.content.api.ContentNotFoundException;
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.ContentStorage;
+import org.flowable.content.api.ContentStorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.uuid.EthernetAddress;
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedGenerator;
+
+/**
+ * {@link ContentStorage} that stores every distinct content only once, addressed by the digest of its bytes.
+ * 
+ * Under the root folder, the 'blobs' folder contains one file per distinct content, named after its digest. Every created {@link ContentObject} gets its own reference file in the 'references'
+ * folder of that digest, so the id of a content object is the digest followed by a unique reference id. A blob is removed when its last reference is deleted.
+ * 
+ * Uploads are first streamed to the 'staging' folder while the digest is calculated, and only then moved (or discarded when the blob already exists). The returned content objects support range
+ * reads and zero-copy transfers through {@link java.nio.channels.FileChannel}.
+ * 
+ * Note that references of the same digest are only guarded against concurrent modification within the same JVM.
+ */
+public class ContentAddressedFileSystemContentStorage implements ContentStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContentAddressedFileSystemContentStorage.class);
+
+    private static TimeBasedGenerator UUID_GENERATOR = Generators.timeBasedGenerator(EthernetAddress.fromInterface());
+
+    public static final String DEFAULT_DIGEST_ALGORITHM = "SHA-256";
+
+    public static final String BLOBS_FOLDER = "blobs";
+    public static final String REFERENCES_FOLDER = "references";
+    public static final String STAGING_FOLDER = "staging";
+
+    protected static final int LOCK_STRIPES = 64;
+
+    protected File contentFolderRoot;
+    protected File blobsFolder;
+    protected File referencesFolder;
+    protected File stagingFolder;
+    protected String digestAlgorithm;
+
+    protected Object[] locks;
+
+    public ContentAddressedFileSystemContentStorage(File contentFolderRoot) {
+        this(contentFolderRoot, DEFAULT_DIGEST_ALGORITHM);
+    }
+
+    public ContentAddressedFileSystemContentStorage(File contentFolderRoot, String digestAlgorithm) {
+        this.contentFolderRoot = contentFolderRoot;
+        this.digestAlgorithm = digestAlgorithm;
+
+        // Fail early when the algorithm is not available
+        createMessageDigest();
+
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        blobsFolder = validateOrCreateFolder(contentFolderRoot, BLOBS_FOLDER);
+        referencesFolder = validateOrCreateFolder(contentFolderRoot, REFERENCES_FOLDER);
+        stagingFolder = validateOrCreateFolder(contentFolderRoot, STAGING_FOLDER);
+    }
+
+    protected File validateOrCreateFolder(File parentFolder, String folderName) {
+        File folder = new File(parentFolder, folderName);
+        if (!folder.exists()) {
+            if (folder.mkdirs()) {
+                LOG.info("Created content folder in {}", folder.getAbsolutePath());
+            } else {
+                LOG.warn("Could not create content folder {}. This might impact the storage of related content", folder.getAbsolutePath());
+            }
+        }
+        return folder;
+    }
+
+    @Override
+    public ContentObject createContentObject(InputStream contentStream, Map<String, Object> metaData) {
+        String referenceId = UUID_GENERATOR.generate().toString();
+        File stagingFile = new File(stagingFolder, referenceId);
+
+        try {
+            MessageDigest messageDigest = createMessageDigest();
+            long length = Files.copy(new DigestInputStream(contentStream, messageDigest), stagingFile.toPath());
+            String digest = toHex(messageDigest.digest());
+
+            File blobFile = getBlobFile(digest);
+            synchronized (getLock(digest)) {
+                File referenceFolder = new File(referencesFolder, digest);
+                if (!referenceFolder.exists() && !referenceFolder.mkdirs()) {
+                    throw new ContentStorageException("Could not create reference folder " + referenceFolder.getAbsolutePath());
+                }
+                Files.createFile(new File(referenceFolder, referenceId).toPath());
+
+                if (blobFile.exists()) {
+                    LOG.debug("Content with digest {} already stored, only adding reference {}", digest, referenceId);
+                } else {
+                    moveToBlob(stagingFile, blobFile);
+                }
+            }
+
+            return new ContentAddressedContentObject(blobFile, digest + "." + referenceId, digest, length);
+
+        } catch (IOException e) {
+            throw new ContentStorageException("Could not write content to " + contentFolderRoot.getAbsolutePath(), e);
+
+        } finally {
+            if (stagingFile.exists()) {
+                stagingFile.delete();
+            }
+        }
+    }
+
+    protected void moveToBlob(File stagingFile, File blobFile) throws IOException {
+        File blobParentFolder = blobFile.getParentFile();
+        if (!blobParentFolder.exists()) {
+            blobParentFolder.mkdirs();
+        }
+
+        try {
+            Files.move(stagingFile.toPath(), blobFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(stagingFile.toPath(), blobFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (FileAlreadyExistsException e) {
+            // Written by another node in the meantime: the content is the same
+        }
+    }
+
+    /**
+     * As the id of a content object is derived from its content, updating content results in a content object with a new id. The reference of the given id is removed.
+     */
+    @Override
+    public ContentObject updateContentObject(String id, InputStream contentStream, Map<String, Object> metaData) {
+        // Validate the id before storing anything
+        getReferenceFile(id);
+
+        ContentObject contentObject = createContentObject(contentStream, metaData);
+        deleteContentObject(id);
+        return contentObject;
+    }
+
+    @Override
+    public ContentObject getContentObject(String id) {
+        File referenceFile = getReferenceFile(id);
+        if (!referenceFile.exists()) {
+            throw new ContentNotFoundException("No content found for id " + id);
+        }
+
+        String digest = getDigest(id);
+        return new ContentAddressedContentObject(getBlobFile(digest), id, digest);
+    }
+
+    @Override
+    public Map<String, Object> getMetaData() {
+        // Currently not yet supported
+        return null;
+    }
+
+    @Override
+    public void deleteContentObject(String id) {
+        File referenceFile = getReferenceFile(id);
+        String digest = getDigest(id);
+
+        synchronized (getLock(digest)) {
+            if (!referenceFile.exists()) {
+                throw new ContentNotFoundException("No content found for id " + id);
+            }
+
+            try {
+                Files.delete(referenceFile.toPath());
+
+                File referenceFolder = referenceFile.getParentFile();
+                String[] remainingReferences = referenceFolder.list();
+                if (remainingReferences == null || remainingReferences.length == 0) {
+                    Files.deleteIfExists(getBlobFile(digest).toPath());
+                    referenceFolder.delete();
+                }
+
+            } catch (IOException e) {
+                throw new ContentStorageException("Error while deleting content " + id, e);
+            }
+        }
+    }
+
+    @Override
+    public String getContentStoreName() {
+        return "content-addressed-file";
+    }
+
+    /**
+     * @return the number of content objects that reference the blob with the given digest.
+     */
+    public int getReferenceCount(String digest) {
+        String[] references = new File(referencesFolder, digest).list();
+        return references != null ? references.length : 0;
+    }
+
+    protected File getBlobFile(String digest) {
+        return new File(new File(blobsFolder, digest.substring(0, 2)), digest);
+    }
+
+    protected File getReferenceFile(String id) {
+        String[] ids = id.split("\\.");
+        if (ids.length != 2 || ids[0].length() < 2) {
+            throw new ContentNotFoundException("No content found for id " + id);
+        }
+        return new File(new File(referencesFolder, ids[0]), ids[1]);
+    }
+
+    protected String getDigest(String id) {
+        return id.substring(0, id.indexOf('.'));
+    }
+
+    protected Object getLock(String digest) {
+        return locks[(digest.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    protected MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ContentStorageException("Digest algorithm " + digestAlgorithm + " is not available", e);
+        }
+    }
+
+    protected String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+            hex.append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+}
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.fs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.flowable.content.api.TransferableContentStream;
+
+/**
+ * {@link InputStream} reading a range of a file through a {@link FileChannel}. The remaining bytes can be handed to another channel using {@link #transferTo(WritableByteChannel)}, which
+ * allows the operating system to copy the data without passing it through the heap.
+ */
+public class FileChannelRangeInputStream extends InputStream implements TransferableContentStream {
+
+    protected FileChannel channel;
+    protected long position;
+    protected long end;
+    protected long mark;
+
+    public FileChannelRangeInputStream(FileChannel channel, long offset, long length) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        this.position = Math.min(Math.max(offset, 0L), size);
+        this.end = length < 0 ? size : Math.min(size, position + length);
+        this.mark = position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        long remaining = end - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, remaining));
+        int read = channel.read(buffer, position);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = Math.max(0L, Math.min(n, end - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, end - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        mark = position;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        position = mark;
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel target) throws IOException {
+        long transferred = 0L;
+        while (position < end) {
+            long count = channel.transferTo(position, end - position, target);
+            if (count <= 0) {
+                break;
+            }
+            position += count;
+            transferred += count;
+        }
+        return transferred;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
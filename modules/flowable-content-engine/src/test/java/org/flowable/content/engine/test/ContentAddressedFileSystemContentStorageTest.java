@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.flowable.content.api.ContentNotFoundException;
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.RangeContentObject;
+import org.flowable.content.engine.impl.fs.ContentAddressedContentObject;
+import org.flowable.content.engine.impl.fs.ContentAddressedFileSystemContentStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContentAddressedFileSystemContentStorageTest {
+
+    protected File rootFolder;
+    protected ContentAddressedFileSystemContentStorage contentStorage;
+
+    @Before
+    public void createStorage() throws Exception {
+        rootFolder = File.createTempFile("flowable-content", "");
+        rootFolder.delete();
+        rootFolder.mkdirs();
+        contentStorage = new ContentAddressedFileSystemContentStorage(rootFolder);
+    }
+
+    @After
+    public void deleteStorage() throws Exception {
+        FileUtils.deleteDirectory(rootFolder);
+    }
+
+    @Test
+    public void duplicateContentIsStoredOnce() throws Exception {
+        ContentObject first = contentStorage.createContentObject(stream("hello world"), new HashMap<String, Object>());
+        ContentObject second = contentStorage.createContentObject(stream("hello world"), new HashMap<String, Object>());
+        ContentObject other = contentStorage.createContentObject(stream("something else"), new HashMap<String, Object>());
+
+        assertNotEquals(first.getId(), second.getId());
+        String digest = ((ContentAddressedContentObject) first).getDigest();
+        assertEquals(digest, ((ContentAddressedContentObject) second).getDigest());
+        assertNotEquals(digest, ((ContentAddressedContentObject) other).getDigest());
+        assertEquals(2, contentStorage.getReferenceCount(digest));
+        assertEquals(11L, first.getContentLength());
+
+        contentStorage.deleteContentObject(first.getId());
+        assertEquals(1, contentStorage.getReferenceCount(digest));
+        assertEquals("hello world", read(contentStorage.getContentObject(second.getId()).getContent()));
+
+        contentStorage.deleteContentObject(second.getId());
+        assertEquals(0, contentStorage.getReferenceCount(digest));
+        assertFalse(new File(new File(new File(rootFolder, "blobs"), digest.substring(0, 2)), digest).exists());
+
+        try {
+            contentStorage.getContentObject(second.getId());
+            fail("Expected content not found exception");
+        } catch (ContentNotFoundException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void readRanges() throws Exception {
+        ContentObject contentObject = contentStorage.createContentObject(stream("0123456789"), new HashMap<String, Object>());
+        RangeContentObject rangeContentObject = (RangeContentObject) contentStorage.getContentObject(contentObject.getId());
+
+        assertEquals("345", read(rangeContentObject.getContent(3, 3)));
+        assertEquals("789", read(rangeContentObject.getContent(7, -1)));
+        assertEquals("89", read(rangeContentObject.getContent(8, 100)));
+        assertEquals("", read(rangeContentObject.getContent(20, 5)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long transferred = rangeContentObject.transferTo(2, 4, Channels.newChannel(outputStream));
+        assertEquals(4L, transferred);
+        assertEquals("2345", outputStream.toString("UTF-8"));
+    }
+
+    @Test
+    public void updateContentReplacesReference() throws Exception {
+        ContentObject contentObject = contentStorage.createContentObject(stream("first"), new HashMap<String, Object>());
+        ContentObject updatedContentObject = contentStorage.updateContentObject(contentObject.getId(), stream("second"), new HashMap<String, Object>());
+
+        assertEquals("second", read(contentStorage.getContentObject(updatedContentObject.getId()).getContent()));
+        assertEquals(0, contentStorage.getReferenceCount(((ContentAddressedContentObject) contentObject).getDigest()));
+        assertTrue(new File(rootFolder, "staging").list().length == 0);
+    }
+
+    protected InputStream stream(String value) throws Exception {
+        return new ByteArrayInputStream(value.getBytes("UTF-8"));
+    }
+
+    protected String read(InputStream inputStream) throws Exception {
+        try {
+            return IOUtils.toString(inputStream, "UTF-8");
+        } finally {
+            inputStream.close();
+        }
+    }
+
+}
@@ -73,4 +73,26 @@ public class ContentItemTest extends AbstractFlowableContentTest {
             fail("Expected not found exception, not " + e);
         }
     }
+
+    @Test
+    public void getContentItemDataRange() throws Exception {
+        ContentItem contentItem = contentService.newContentItem();
+        contentItem.setName("testItem");
+        contentItem.setMimeType("text/plain");
+        contentItem.setTaskId("123456");
+        contentService.saveContentItem(contentItem, this.getClass().getClassLoader().getResourceAsStream("test.txt"));
+
+        try {
+            InputStream contentStream = contentService.getContentItemData(contentItem.getId(), 1, 3);
+            assertEquals("ell", IOUtils.toString(contentStream));
+            contentStream.close();
+
+            contentStream = contentService.getContentItemData(contentItem.getId(), 2, -1);
+            assertEquals("llo", IOUtils.toString(contentStream));
+            contentStream.close();
+
+        } finally {
+            contentService.deleteContentItem(contentItem.getId());
+        }
+    }
 }
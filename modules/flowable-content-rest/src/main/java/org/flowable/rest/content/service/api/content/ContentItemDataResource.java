@@ -14,6 +14,8 @@
 package org.flowable.rest.content.service.api.content;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -21,6 +23,7 @@ import javax.servlet.http.HttpServletResponse;
 import io.swagger.annotations.Authorization;
 import org.apache.commons.io.IOUtils;
 import org.flowable.content.api.ContentItem;
+import org.flowable.content.api.TransferableContentStream;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
@@ -29,7 +32,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -54,43 +56,129 @@ public class ContentItemDataResource extends ContentItemBaseResource {
     protected ContentRestResponseFactory contentRestResponseFactory;
 
     @ApiOperation(value = "Get the data of a content item", tags = {
-            "Content item" }, notes = "The response body contains the binary content. By default, the content-type of the response is set to application/octet-stream unless the content item type contains a valid mime type.")
+            "Content item" }, notes = "The response body contains the binary content. By default, the content-type of the response is set to application/octet-stream unless the content item type contains a valid mime type. "
+                    + "A single byte range can be requested using the Range header.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Indicates the content item was found and the requested content is returned."),
-            @ApiResponse(code = 404, message = "Indicates the content item was not found or the content item doesn’t have a binary stream available. Status message provides additional information.")
+            @ApiResponse(code = 206, message = "Indicates the content item was found and the requested range of the content is returned."),
+            @ApiResponse(code = 404, message = "Indicates the content item was not found or the content item doesn’t have a binary stream available. Status message provides additional information."),
+            @ApiResponse(code = 416, message = "Indicates the requested range is not satisfiable for the content of the content item.")
     })
     @RequestMapping(value = "/content-service/content-items/{contentItemId}/data", method = RequestMethod.GET)
-    public ResponseEntity<byte[]> getContentItemData(@ApiParam(name = "contentItemId") @PathVariable("contentItemId") String contentItemId, HttpServletResponse response) {
+    public void getContentItemData(@ApiParam(name = "contentItemId") @PathVariable("contentItemId") String contentItemId, HttpServletRequest request, HttpServletResponse response) {
 
         ContentItem contentItem = getContentItemFromRequest(contentItemId);
         if (!contentItem.isContentAvailable()) {
             throw new FlowableException("No data available for content item " + contentItemId);
         }
 
-        InputStream dataStream = contentService.getContentItemData(contentItemId);
-        if (dataStream == null) {
-            throw new FlowableObjectNotFoundException("Content item with id '" + contentItemId + "' doesn't have content associated with it.");
-        }
-
-        HttpHeaders responseHeaders = new HttpHeaders();
-        MediaType mediaType = null;
+        String contentType = null;
         if (contentItem.getMimeType() != null) {
             try {
-                mediaType = MediaType.valueOf(contentItem.getMimeType());
-                responseHeaders.set("Content-Type", contentItem.getMimeType());
+                MediaType.valueOf(contentItem.getMimeType());
+                contentType = contentItem.getMimeType();
             } catch (Exception e) {
                 // ignore if unknown media type
             }
         }
 
-        if (mediaType == null) {
-            responseHeaders.set("Content-Type", "application/octet-stream");
+        if (contentType == null) {
+            contentType = "application/octet-stream";
+        }
+
+        Long contentSize = contentItem.getContentSize();
+        long offset = 0L;
+        long length = contentSize != null ? contentSize : -1L;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (contentSize != null && rangeHeader != null) {
+            long[] range = parseRange(rangeHeader, contentSize);
+            if (range == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + contentSize);
+                return;
+            }
+
+            if (range.length == 2) {
+                offset = range[0];
+                length = range[1] - range[0] + 1;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + contentSize);
+            }
+        }
+
+        InputStream dataStream = offset > 0L || (contentSize != null && length < contentSize)
+                ? contentService.getContentItemData(contentItemId, offset, length)
+                : contentService.getContentItemData(contentItemId);
+        if (dataStream == null) {
+            throw new FlowableObjectNotFoundException("Content item with id '" + contentItemId + "' doesn't have content associated with it.");
+        }
+
+        response.setContentType(contentType);
+        if (contentSize != null) {
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
         }
 
         try {
-            return new ResponseEntity<byte[]>(IOUtils.toByteArray(dataStream), responseHeaders, HttpStatus.OK);
+            OutputStream outputStream = response.getOutputStream();
+            if (dataStream instanceof TransferableContentStream) {
+                ((TransferableContentStream) dataStream).transferTo(Channels.newChannel(outputStream));
+            } else {
+                IOUtils.copyLarge(dataStream, outputStream);
+            }
+            outputStream.flush();
+
         } catch (Exception e) {
             throw new FlowableException("Error getting content item data " + contentItemId, e);
+
+        } finally {
+            IOUtils.closeQuietly(dataStream);
+        }
+    }
+
+    /**
+     * Parses a single byte range. Multiple ranges are not supported, the whole content is returned for those as allowed by RFC 7233.
+     * 
+     * @return the first and last (inclusive) position of the range, an empty array when the whole content should be returned or null when the range cannot be satisfied.
+     */
+    protected long[] parseRange(String rangeHeader, long contentSize) {
+        String rangeValue = rangeHeader.trim();
+        if (!rangeValue.startsWith("bytes=") || rangeValue.indexOf(',') != -1) {
+            return new long[0];
+        }
+
+        rangeValue = rangeValue.substring("bytes=".length()).trim();
+        int dashIndex = rangeValue.indexOf('-');
+        if (dashIndex == -1) {
+            return new long[0];
+        }
+
+        try {
+            String startValue = rangeValue.substring(0, dashIndex).trim();
+            String endValue = rangeValue.substring(dashIndex + 1).trim();
+            long start;
+            long end;
+            if (startValue.isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffixLength = Long.parseLong(endValue);
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                start = Math.max(0L, contentSize - suffixLength);
+                end = contentSize - 1;
+
+            } else {
+                start = Long.parseLong(startValue);
+                end = endValue.isEmpty() ? contentSize - 1 : Math.min(Long.parseLong(endValue), contentSize - 1);
+            }
+
+            if (start < 0 || start >= contentSize || end < start) {
+                return null;
+            }
+            return new long[] { start, end };
+
+        } catch (NumberFormatException e) {
+            return new long[0];
         }
     }
 
@@ -92,6 +92,35 @@ public class ContentItemResourceTest extends BaseSpringContentRestTestCase {
         }
     }
 
+    public void testGetContentItemDataRange() throws Exception {
+        InputStream binaryContent = new ByteArrayInputStream("This is binary content".getBytes());
+        String contentItemId = createContentItem("test.pdf", "application/pdf", null, "12345", null, "test", "test2", binaryContent);
+
+        try {
+            HttpGet httpGet = new HttpGet(SERVER_URL_PREFIX + ContentRestUrls.createRelativeResourceUrl(
+                    ContentRestUrls.URL_CONTENT_ITEM_DATA, contentItemId));
+            httpGet.setHeader("Range", "bytes=8-13");
+            CloseableHttpResponse response = executeRequest(httpGet, HttpStatus.SC_PARTIAL_CONTENT);
+
+            assertEquals("bytes 8-13/22", response.getFirstHeader("Content-Range").getValue());
+            assertEquals("binary", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+
+            httpGet.setHeader("Range", "bytes=-7");
+            response = executeRequest(httpGet, HttpStatus.SC_PARTIAL_CONTENT);
+            assertEquals("content", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+
+            httpGet.setHeader("Range", "bytes=30-");
+            response = executeRequest(httpGet, HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            assertEquals("bytes */22", response.getFirstHeader("Content-Range").getValue());
+            closeResponse(response);
+
+        } finally {
+            contentService.deleteContentItem(contentItemId);
+        }
+    }
+
     public void testUpdateContentItem() throws Exception {
         String contentItemId = createContentItem("test.pdf", "application/pdf", null, "12345", null, "test", "test2");
 
@@ -0,0 +1,192 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.crystalball.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.crystalball.simulator.impl.clock.ThreadLocalClock;
+import org.flowable.engine.HistoryService;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.el.NoExecutionVariableScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.FactoryBean;
+
+/**
+ * Executes independent replications of a simulation (Monte Carlo runs) in parallel and aggregates their results.
+ *
+ * Every replication gets its own {@link SimulationRun} from the factory and is executed on a single thread, so the {@link SimulationRunContext} of a replication isn't shared with the others. The
+ * factory has to create a process engine per simulation run that doesn't share its database with the engines of the other replications, e.g. an in-memory database with a unique name. The engines
+ * need a {@link ThreadLocalClock}, so each replication has its own simulated time.
+ *
+ * The id of the replication is available through {@link SimulationRunContext#getSimulationRunId()} during the replication, e.g. to seed random generators.
+ */
+public class ParallelSimulationRunner {
+
+    private static Logger log = LoggerFactory.getLogger(ParallelSimulationRunner.class);
+
+    protected static final int HISTORY_PAGE_SIZE = 1000;
+
+    protected final FactoryBean<SimulationRun> simulationRunFactory;
+    protected int threadPoolSize = Runtime.getRuntime().availableProcessors();
+    protected String simulationRunIdPrefix = "replication-";
+
+    /**
+     * Creating and closing process engines registers them in the (not thread safe) {@link org.flowable.engine.ProcessEngines}, so this isn't done in parallel.
+     */
+    protected final Object processEngineLock = new Object();
+
+    public ParallelSimulationRunner(FactoryBean<SimulationRun> simulationRunFactory) {
+        this.simulationRunFactory = simulationRunFactory;
+    }
+
+    /**
+     * Executes the given number of replications and waits until all of them are finished. Replications that fail are reported in the results.
+     */
+    public SimulationResults run(int replications) {
+        if (replications <= 0)
+            throw new CrystalballException("The number of replications must be positive, but was " + replications);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(threadPoolSize, replications), new ThreadFactory() {
+
+            protected AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "flowable-simulation-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        try {
+            List<Future<SimulationReplicationResult>> futures = new ArrayList<Future<SimulationReplicationResult>>(replications);
+            for (int i = 0; i < replications; i++) {
+                final int replication = i;
+                futures.add(executorService.submit(new Callable<SimulationReplicationResult>() {
+
+                    @Override
+                    public SimulationReplicationResult call() {
+                        return runReplication(replication);
+                    }
+                }));
+            }
+
+            List<SimulationReplicationResult> results = new ArrayList<SimulationReplicationResult>(replications);
+            for (Future<SimulationReplicationResult> future : futures) {
+                results.add(future.get());
+            }
+            return new SimulationResults(results);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CrystalballException("Interrupted while waiting for the simulation replications", e);
+        } catch (ExecutionException e) {
+            throw new CrystalballException("Unable to execute simulation replication", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    protected SimulationReplicationResult runReplication(int replication) {
+        String simulationRunId = simulationRunIdPrefix + replication;
+        SimulationReplicationResult result = new SimulationReplicationResult(replication, simulationRunId);
+        long executionStart = System.currentTimeMillis();
+
+        SimulationRunContext.setSimulationRunId(simulationRunId);
+        try {
+            SimulationDebugger simulationRun = createSimulationRun();
+            try {
+                // init inside the try, a run that fails half way through its initialization still has to be closed
+                simulationRun.init(new NoExecutionVariableScope());
+                ProcessEngine processEngine = SimulationRunContext.getProcessEngine();
+                if (!(processEngine.getProcessEngineConfiguration().getClock() instanceof ThreadLocalClock) && threadPoolSize > 1) {
+                    log.warn("Simulation run {} doesn't use a thread local clock, the simulated time of parallel replications can interfere", simulationRunId);
+                }
+
+                long simulationStart = SimulationRunContext.getClock().getCurrentTime().getTime();
+                simulationRun.runContinue();
+                result.setSimulatedTimeInMillis(SimulationRunContext.getClock().getCurrentTime().getTime() - simulationStart);
+                collectProcessInstanceDurations(processEngine.getHistoryService(), result);
+
+            } finally {
+                synchronized (processEngineLock) {
+                    simulationRun.close();
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("Simulation replication {} failed", simulationRunId, e);
+            result.setFailure(e);
+
+        } finally {
+            SimulationRunContext.removeSimulationRunId();
+            result.setExecutionTimeInMillis(System.currentTimeMillis() - executionStart);
+        }
+        return result;
+    }
+
+    protected SimulationDebugger createSimulationRun() throws Exception {
+        SimulationRun simulationRun;
+        synchronized (processEngineLock) {
+            simulationRun = simulationRunFactory.getObject();
+        }
+
+        if (!(simulationRun instanceof SimulationDebugger))
+            throw new CrystalballException("Simulation run " + simulationRun + " must implement " + SimulationDebugger.class.getName() + " to be executed by the parallel simulation runner");
+        return (SimulationDebugger) simulationRun;
+    }
+
+    protected void collectProcessInstanceDurations(HistoryService historyService, SimulationReplicationResult result) {
+        long completed = 0;
+        int firstResult = 0;
+        List<HistoricProcessInstance> page;
+        do {
+            page = historyService.createHistoricProcessInstanceQuery().finished().orderByProcessInstanceId().asc().listPage(firstResult, HISTORY_PAGE_SIZE);
+            for (HistoricProcessInstance historicProcessInstance : page) {
+                completed++;
+                if (historicProcessInstance.getDurationInMillis() != null) {
+                    result.getProcessInstanceDurations().add(historicProcessInstance.getDurationInMillis());
+                }
+            }
+            firstResult += page.size();
+        } while (page.size() == HISTORY_PAGE_SIZE);
+
+        result.setCompletedProcessInstanceCount(completed);
+    }
+
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    public void setThreadPoolSize(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    public String getSimulationRunIdPrefix() {
+        return simulationRunIdPrefix;
+    }
+
+    public void setSimulationRunIdPrefix(String simulationRunIdPrefix) {
+        this.simulationRunIdPrefix = simulationRunIdPrefix;
+    }
+}
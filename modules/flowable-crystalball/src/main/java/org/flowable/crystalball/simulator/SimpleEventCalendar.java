@@ -14,8 +14,10 @@ package org.flowable.crystalball.simulator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.runtime.ClockReader;
@@ -23,96 +25,114 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Event calendar backed by a binary heap: adding and removing an event takes logarithmic time. Events that are equal according to the comparator are returned in the order in which they were added.
+ *
  * @author martin.grofcik
  */
 public class SimpleEventCalendar implements EventCalendar {
 
     private static Logger log = LoggerFactory.getLogger(SimpleEventCalendar.class.getName());
 
-    private static final int NULL = -1;
-
-    protected List<SimulationEvent> eventList = new ArrayList<SimulationEvent>();
-    protected int minIndex = NULL;
+    protected PriorityQueue<ScheduledEvent> eventQueue;
+    protected long sequence;
     protected Comparator<SimulationEvent> eventComparator;
     protected final ClockReader clockReader;
 
     public SimpleEventCalendar(ClockReader clockReader, Comparator<SimulationEvent> eventComparator) {
         this.clockReader = clockReader;
         this.eventComparator = eventComparator;
+        this.eventQueue = new PriorityQueue<ScheduledEvent>(11, new ScheduledEventComparator(eventComparator));
     }
 
     @Override
     public boolean isEmpty() {
-        return minIndex == NULL;
+        return eventQueue.isEmpty();
     }
 
     @Override
     public SimulationEvent peekFirstEvent() {
-        if (minIndex == NULL)
+        ScheduledEvent first = eventQueue.peek();
+        if (first == null)
             return null;
 
-        return eventList.get(minIndex);
+        return first.event;
     }
 
     @Override
     public SimulationEvent removeFirstEvent() {
-        if (minIndex == NULL)
+        ScheduledEvent first = eventQueue.poll();
+        if (first == null)
             return null;
 
-        SimulationEvent minEvent = eventList.remove(minIndex);
-
+        SimulationEvent minEvent = first.event;
         if (minEvent.hasSimulationTime() && minEvent.getSimulationTime() < this.clockReader.getCurrentTime().getTime()) {
             throw new FlowableException("Unable to execute event from the past");
         }
-
-        if (eventList.isEmpty()) {
-            minIndex = NULL;
-        } else {
-            minIndex = 0;
-            SimulationEvent event = eventList.get(0);
-            for (int i = 1; i < eventList.size(); i++) {
-                if (eventComparator.compare(eventList.get(i), event) < 0) {
-                    minIndex = i;
-                    event = eventList.get(i);
-                }
-            }
-        }
         return minEvent;
     }
 
+    /**
+     * @return the events of the calendar, in the order in which they will be removed. Changes to the returned list are not reflected in the calendar.
+     */
     @Override
     public List<SimulationEvent> getEvents() {
-        return eventList;
+        List<ScheduledEvent> scheduledEvents = new ArrayList<ScheduledEvent>(eventQueue);
+        Collections.sort(scheduledEvents, eventQueue.comparator());
+        List<SimulationEvent> events = new ArrayList<SimulationEvent>(scheduledEvents.size());
+        for (ScheduledEvent scheduledEvent : scheduledEvents) {
+            events.add(scheduledEvent.event);
+        }
+        return events;
     }
 
     @Override
     public void addEvent(SimulationEvent event) {
         log.debug("Scheduling new event [{}]", event);
-        if (event != null && isMinimal(event))
-            minIndex = eventList.size();
-        eventList.add(event);
+        if (event == null)
+            return;
+
+        eventQueue.add(new ScheduledEvent(event, sequence++));
     }
 
     @Override
     public void clear() {
-        eventList.clear();
-        minIndex = NULL;
+        eventQueue.clear();
+    }
+
+    public void addEvents(Collection<SimulationEvent> simulationEvents) {
+        for (SimulationEvent event : simulationEvents) {
+            addEvent(event);
+        }
     }
 
     /**
-     * is event the first event in the calendar?
-     * 
-     * @param event
-     *            - used in comparison
-     * @return is minimal event decision
+     * Event with the sequence number in which it was added, to keep the order of equal events stable.
      */
-    private boolean isMinimal(SimulationEvent event) {
-        return minIndex == NULL || eventComparator.compare(event, eventList.get(minIndex)) < 0;
+    protected static class ScheduledEvent {
+
+        protected final SimulationEvent event;
+        protected final long sequence;
+
+        public ScheduledEvent(SimulationEvent event, long sequence) {
+            this.event = event;
+            this.sequence = sequence;
+        }
     }
 
-    public void addEvents(Collection<SimulationEvent> simulationEvents) {
-        for (SimulationEvent event : simulationEvents) {
-            addEvent(event);
+    protected static class ScheduledEventComparator implements Comparator<ScheduledEvent> {
+
+        protected final Comparator<SimulationEvent> eventComparator;
+
+        public ScheduledEventComparator(Comparator<SimulationEvent> eventComparator) {
+            this.eventComparator = eventComparator;
+        }
+
+        @Override
+        public int compare(ScheduledEvent o1, ScheduledEvent o2) {
+            int result = eventComparator.compare(o1.event, o2.event);
+            if (result != 0)
+                return result;
+            return o1.sequence < o2.sequence ? -1 : (o1.sequence > o2.sequence ? 1 : 0);
         }
     }
 }
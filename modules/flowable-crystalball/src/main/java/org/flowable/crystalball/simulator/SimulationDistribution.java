@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.crystalball.simulator;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Distribution of the values of a metric measured by the replications of a simulation.
+ */
+public class SimulationDistribution {
+
+    protected final double[] values;
+
+    public SimulationDistribution(Collection<? extends Number> values) {
+        this.values = new double[values.size()];
+        int i = 0;
+        for (Number value : values) {
+            this.values[i++] = value.doubleValue();
+        }
+        Arrays.sort(this.values);
+    }
+
+    public int getCount() {
+        return values.length;
+    }
+
+    public double getMin() {
+        return values.length > 0 ? values[0] : Double.NaN;
+    }
+
+    public double getMax() {
+        return values.length > 0 ? values[values.length - 1] : Double.NaN;
+    }
+
+    public double getMean() {
+        if (values.length == 0)
+            return Double.NaN;
+
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    public double getStandardDeviation() {
+        if (values.length < 2)
+            return values.length == 0 ? Double.NaN : 0;
+
+        double mean = getMean();
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+
+    /**
+     * @param percentile
+     *            between 0 and 100
+     * @return the value below which the given percentage of the values fall (nearest rank)
+     */
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new CrystalballException("Percentile must be between 0 and 100, but was " + percentile);
+        if (values.length == 0)
+            return Double.NaN;
+
+        int rank = (int) Math.ceil(percentile / 100 * values.length);
+        return values[Math.max(rank, 1) - 1];
+    }
+
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", min=" + getMin() + ", mean=" + getMean() + ", p50=" + getMedian() + ", p95=" + getPercentile(95) + ", p99=" + getPercentile(99) + ", max=" + getMax();
+    }
+}
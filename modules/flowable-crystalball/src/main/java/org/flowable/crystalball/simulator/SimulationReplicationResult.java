@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.crystalball.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The metrics measured by one replication of a simulation executed by the {@link ParallelSimulationRunner}. Times are simulated times, except for the execution time.
+ */
+public class SimulationReplicationResult {
+
+    protected final int replication;
+    protected final String simulationRunId;
+    protected long simulatedTimeInMillis;
+    protected long executionTimeInMillis;
+    protected long completedProcessInstanceCount;
+    protected List<Long> processInstanceDurations = new ArrayList<Long>();
+    protected Throwable failure;
+
+    public SimulationReplicationResult(int replication, String simulationRunId) {
+        this.replication = replication;
+        this.simulationRunId = simulationRunId;
+    }
+
+    public int getReplication() {
+        return replication;
+    }
+
+    public String getSimulationRunId() {
+        return simulationRunId;
+    }
+
+    /**
+     * @return the simulated time between the start and the end of the replication.
+     */
+    public long getSimulatedTimeInMillis() {
+        return simulatedTimeInMillis;
+    }
+
+    public void setSimulatedTimeInMillis(long simulatedTimeInMillis) {
+        this.simulatedTimeInMillis = simulatedTimeInMillis;
+    }
+
+    /**
+     * @return the (real) time it took to execute the replication.
+     */
+    public long getExecutionTimeInMillis() {
+        return executionTimeInMillis;
+    }
+
+    public void setExecutionTimeInMillis(long executionTimeInMillis) {
+        this.executionTimeInMillis = executionTimeInMillis;
+    }
+
+    public long getCompletedProcessInstanceCount() {
+        return completedProcessInstanceCount;
+    }
+
+    public void setCompletedProcessInstanceCount(long completedProcessInstanceCount) {
+        this.completedProcessInstanceCount = completedProcessInstanceCount;
+    }
+
+    /**
+     * @return the simulated durations of the completed process instances.
+     */
+    public List<Long> getProcessInstanceDurations() {
+        return processInstanceDurations;
+    }
+
+    /**
+     * @return the number of completed process instances per simulated second, or zero when no simulated time has passed.
+     */
+    public double getThroughput() {
+        if (simulatedTimeInMillis <= 0)
+            return 0;
+        return completedProcessInstanceCount * 1000.0 / simulatedTimeInMillis;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public void setFailure(Throwable failure) {
+        this.failure = failure;
+    }
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.crystalball.simulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated results of the replications executed by the {@link ParallelSimulationRunner}. Failed replications are not part of the distributions.
+ */
+public class SimulationResults {
+
+    protected final List<SimulationReplicationResult> replicationResults;
+
+    public SimulationResults(List<SimulationReplicationResult> replicationResults) {
+        this.replicationResults = Collections.unmodifiableList(new ArrayList<SimulationReplicationResult>(replicationResults));
+    }
+
+    public List<SimulationReplicationResult> getReplicationResults() {
+        return replicationResults;
+    }
+
+    public List<SimulationReplicationResult> getFailedReplicationResults() {
+        List<SimulationReplicationResult> failed = new ArrayList<SimulationReplicationResult>();
+        for (SimulationReplicationResult result : replicationResults) {
+            if (result.isFailed()) {
+                failed.add(result);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * @return the distribution of the number of completed process instances per simulated second over the replications.
+     */
+    public SimulationDistribution getThroughputDistribution() {
+        List<Double> throughputs = new ArrayList<Double>();
+        for (SimulationReplicationResult result : replicationResults) {
+            if (!result.isFailed()) {
+                throughputs.add(result.getThroughput());
+            }
+        }
+        return new SimulationDistribution(throughputs);
+    }
+
+    /**
+     * @return the distribution of the simulated durations of all process instances completed by the replications.
+     */
+    public SimulationDistribution getLatencyDistribution() {
+        List<Long> durations = new ArrayList<Long>();
+        for (SimulationReplicationResult result : replicationResults) {
+            if (!result.isFailed()) {
+                durations.addAll(result.getProcessInstanceDurations());
+            }
+        }
+        return new SimulationDistribution(durations);
+    }
+
+    /**
+     * @return the distribution of the (real) execution times of the replications.
+     */
+    public SimulationDistribution getExecutionTimeDistribution() {
+        List<Long> executionTimes = new ArrayList<Long>();
+        for (SimulationReplicationResult result : replicationResults) {
+            if (!result.isFailed()) {
+                executionTimes.add(result.getExecutionTimeInMillis());
+            }
+        }
+        return new SimulationDistribution(executionTimes);
+    }
+}
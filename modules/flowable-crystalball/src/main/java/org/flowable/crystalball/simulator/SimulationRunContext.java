@@ -101,6 +101,10 @@ public abstract class SimulationRunContext {
         getStack(simulationRunIdThreadLocal).push(simulationRunId);
     }
 
+    public static void removeSimulationRunId() {
+        getStack(simulationRunIdThreadLocal).pop();
+    }
+
     public static void removeEventCalendar() {
         getStack(eventCalendarThreadLocal).pop();
     }
@@ -0,0 +1,188 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.crystalball.simulator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.crystalball.simulator.impl.DeployClasspathResourcesEventHandler;
+import org.flowable.crystalball.simulator.impl.StartProcessByKeyEventHandler;
+import org.flowable.crystalball.simulator.impl.clock.DefaultClockFactory;
+import org.flowable.crystalball.simulator.impl.clock.ThreadLocalClock;
+import org.flowable.engine.ProcessEngines;
+import org.flowable.engine.common.runtime.Clock;
+import org.flowable.engine.impl.ProcessEngineImpl;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.task.Task;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.FactoryBean;
+
+public class ParallelSimulationRunnerTest {
+
+    private static final String DEPLOY_EVENT_TYPE = "DEPLOY";
+    private static final String START_EVENT_TYPE = "START";
+    private static final String COMPLETE_TASKS_EVENT_TYPE = "COMPLETE_TASKS";
+    private static final String RESOURCES_KEY = "resources";
+    private static final String PROCESS_KEY = "processKey";
+
+    private static final String USERTASK_PROCESS = "org/flowable/crystalball/simulator/impl/playback/PlaybackProcessStartTest.testUserTask.bpmn20.xml";
+
+    @After
+    public void destroyProcessEngines() {
+        ProcessEngines.destroy();
+    }
+
+    @Test
+    public void testReplicationsInParallel() {
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(new ReplicationFactory());
+        runner.setThreadPoolSize(4);
+
+        SimulationResults results = runner.run(8);
+
+        assertEquals(8, results.getReplicationResults().size());
+        assertTrue(results.getFailedReplicationResults().isEmpty());
+
+        Set<String> simulationRunIds = new HashSet<String>();
+        for (SimulationReplicationResult result : results.getReplicationResults()) {
+            simulationRunIds.add(result.getSimulationRunId());
+            // each replication has its own database and simulated time
+            assertEquals(3, result.getCompletedProcessInstanceCount());
+            assertEquals(5000, result.getSimulatedTimeInMillis());
+            assertEquals(0.6, result.getThroughput(), 0.0001);
+        }
+        assertEquals(8, simulationRunIds.size());
+
+        SimulationDistribution latency = results.getLatencyDistribution();
+        assertEquals(24, latency.getCount());
+        assertEquals(2000.0, latency.getMin(), 0.0);
+        assertEquals(4000.0, latency.getMax(), 0.0);
+        assertEquals(3000.0, latency.getMean(), 0.0);
+        assertEquals(3000.0, latency.getMedian(), 0.0);
+        assertEquals(0.6, results.getThroughputDistribution().getMean(), 0.0001);
+    }
+
+    @Test
+    public void testFailedReplication() {
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(new ReplicationFactory() {
+
+            @Override
+            protected List<SimulationEvent> createEvents() {
+                List<SimulationEvent> events = super.createEvents();
+                events.add(new SimulationEvent.Builder(START_EVENT_TYPE).simulationTime(4000).properties(Collections.<String, Object> singletonMap(PROCESS_KEY, "nonExistingProcess")).build());
+                return events;
+            }
+        });
+
+        SimulationResults results = runner.run(2);
+
+        assertEquals(2, results.getReplicationResults().size());
+        assertEquals(2, results.getFailedReplicationResults().size());
+        assertEquals(0, results.getLatencyDistribution().getCount());
+    }
+
+    @Test
+    public void testDistribution() {
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 100; i > 0; i--) {
+            values.add(i);
+        }
+        SimulationDistribution distribution = new SimulationDistribution(values);
+
+        assertEquals(100, distribution.getCount());
+        assertEquals(1.0, distribution.getMin(), 0.0);
+        assertEquals(100.0, distribution.getMax(), 0.0);
+        assertEquals(50.5, distribution.getMean(), 0.0);
+        assertEquals(50.0, distribution.getMedian(), 0.0);
+        assertEquals(95.0, distribution.getPercentile(95), 0.0);
+        assertEquals(100.0, distribution.getPercentile(100), 0.0);
+    }
+
+    protected static class ReplicationFactory implements FactoryBean<SimulationRun> {
+
+        protected AtomicInteger replications = new AtomicInteger();
+
+        @Override
+        public SimulationRun getObject() {
+            Clock clock = new ThreadLocalClock(new DefaultClockFactory());
+
+            ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+            configuration.setJdbcUrl("jdbc:h2:mem:" + SimulationRunContext.getSimulationRunId() + ";DB_CLOSE_DELAY=1000");
+            configuration.setEngineName("replicationProcessEngine-" + replications.getAndIncrement());
+            configuration.setHistory("full");
+            configuration.setClock(clock);
+
+            EventCalendar eventCalendar = new SimpleEventCalendar(clock, new SimulationEventComparator());
+            for (SimulationEvent event : createEvents()) {
+                eventCalendar.addEvent(event);
+            }
+
+            return new SimpleSimulationRun.Builder()
+                    .processEngine((ProcessEngineImpl) configuration.buildProcessEngine())
+                    .eventCalendar(eventCalendar)
+                    .eventHandlers(createHandlers())
+                    .build();
+        }
+
+        protected List<SimulationEvent> createEvents() {
+            List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+            events.add(new SimulationEvent.Builder(DEPLOY_EVENT_TYPE).simulationTime(0).properties(Collections.<String, Object> singletonMap(RESOURCES_KEY, Collections.singletonList(USERTASK_PROCESS))).build());
+            for (int i = 1; i <= 3; i++) {
+                events.add(new SimulationEvent.Builder(START_EVENT_TYPE).simulationTime(i * 1000).properties(Collections.<String, Object> singletonMap(PROCESS_KEY, "oneTaskProcess")).build());
+            }
+            events.add(new SimulationEvent.Builder(COMPLETE_TASKS_EVENT_TYPE).simulationTime(5000).build());
+            return events;
+        }
+
+        protected Map<String, SimulationEventHandler> createHandlers() {
+            Map<String, SimulationEventHandler> handlers = new HashMap<String, SimulationEventHandler>();
+            handlers.put(DEPLOY_EVENT_TYPE, new DeployClasspathResourcesEventHandler(RESOURCES_KEY));
+            handlers.put(START_EVENT_TYPE, new StartProcessByKeyEventHandler(PROCESS_KEY, "businessKey", "variables"));
+            handlers.put(COMPLETE_TASKS_EVENT_TYPE, new SimulationEventHandler() {
+
+                @Override
+                public void init() {
+                }
+
+                @Override
+                public void handle(SimulationEvent event) {
+                    for (Task task : SimulationRunContext.getTaskService().createTaskQuery().list()) {
+                        SimulationRunContext.getTaskService().complete(task.getId());
+                    }
+                }
+            });
+            return handlers;
+        }
+
+        @Override
+        public Class<?> getObjectType() {
+            return SimulationRun.class;
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return false;
+        }
+    }
+
+}
@@ -5,8 +5,10 @@ import org.flowable.engine.common.runtime.Clock;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -70,4 +72,22 @@ public class SimpleEventCalendarTest {
         calendar.removeFirstEvent();
         fail("RuntimeException expected");
     }
+
+    @Test
+    public void testEventsWithSameTimeKeepInsertionOrder() throws Exception {
+        EventCalendar calendar = new SimpleEventCalendar(clock, comparator);
+        List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+        for (int i = 0; i < 100; i++) {
+            SimulationEvent event = new SimulationEvent.Builder("type " + i).simulationTime(i % 10).build();
+            events.add(event);
+            calendar.addEvent(event);
+        }
+
+        for (int time = 0; time < 10; time++) {
+            for (int i = time; i < 100; i += 10) {
+                assertSame(events.get(i), calendar.removeFirstEvent());
+            }
+        }
+        assertTrue(calendar.isEmpty());
+    }
 }
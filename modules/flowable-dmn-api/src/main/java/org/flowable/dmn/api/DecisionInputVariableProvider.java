@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Provides the input variables for a decision execution. Only the variables referenced by the expressions of the decision are requested, so the caller doesn't need to collect all its variables
+ * up front.
+ */
+public interface DecisionInputVariableProvider {
+
+    /**
+     * @param variableNames
+     *            the names of the variables referenced by the decision. Not every name needs to match a variable.
+     * @return map with the values of the requested variables that exist
+     */
+    Map<String, Object> getVariables(Collection<String> variableNames);
+
+}
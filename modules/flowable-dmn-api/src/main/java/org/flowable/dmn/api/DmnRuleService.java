@@ -227,6 +227,22 @@ public interface DmnRuleService {
      */
     List<Map<String, Object>> executeDecisionByKeyParentDeploymentIdAndTenantId(String decisionKey, String parentDeploymentId, Map<String, Object> inputVariables, String tenantId);
 
+    /**
+     * Execute a decision identified by it's key, parent deployment id and tenant id.
+     * Only the variables referenced by the decision are requested from the input variable provider.
+     *
+     * @param decisionKey
+     *            the decision key, cannot be null
+     * @param inputVariableProvider
+     *            provider of the input variables
+     * @return List with Maps containing rule outputs for this execution
+     * @throws FlowableObjectNotFoundException
+     *             when the decision with given key does not exist.
+     * @throws FlowableException
+     *             when an error occurs while executing the decision.
+     */
+    List<Map<String, Object>> executeDecisionByKeyParentDeploymentIdAndTenantId(String decisionKey, String parentDeploymentId, DecisionInputVariableProvider inputVariableProvider, String tenantId);
+
     /**
      * Execute a decision identified by it's key, parent deployment id and tenant id. Expecting a single result.
      *
@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.TaskService;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+import org.junit.Test;
+
+public class DecisionTaskTest extends AbstractFlowableDmnEngineConfiguratorTest {
+
+    @Test
+    @Deployment(resources = { "org/flowable/dmn/engine/test/deployment/decisionTaskAfterUserTaskProcess.bpmn20.xml",
+            "org/flowable/dmn/engine/test/deployment/referencedVariables.dmn" })
+    public void executeDecisionTaskWithReferencedVariablesOnly() {
+        RuntimeService runtimeService = cachedProcessEngine.getRuntimeService();
+        TaskService taskService = cachedProcessEngine.getTaskService();
+
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("inputVariable1", 5);
+        variables.put("inputVariable2", "test1");
+        variables.put("limit", 10);
+        // not referenced by the decision, so it should never be deserialized
+        variables.put("unreferencedVariable", new NotDeserializableValue());
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("decisionTaskAfterUserTaskProcess", variables);
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        assertEquals("result1", runtimeService.getVariable(processInstance.getId(), "outputVariable1"));
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+        // the referenced variable of the input entries is passed to the decision too
+        processInstance = runtimeService.startProcessInstanceByKey("decisionTaskAfterUserTaskProcess", variables);
+        runtimeService.setVariable(processInstance.getId(), "limit", 5);
+        task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        assertEquals("result2", runtimeService.getVariable(processInstance.getId(), "outputVariable1"));
+        runtimeService.deleteProcessInstance(processInstance.getId(), null);
+    }
+
+    public static class NotDeserializableValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            throw new IOException("variable should not be deserialized");
+        }
+    }
+
+}
@@ -88,6 +88,7 @@ import org.flowable.engine.common.impl.cfg.BeansConfigurationHelper;
 import org.flowable.engine.common.impl.cfg.TransactionContextFactory;
 import org.flowable.engine.common.impl.interceptor.CommandConfig;
 import org.flowable.engine.common.impl.interceptor.SessionFactory;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
 import org.flowable.engine.common.runtime.Clock;
 import org.mvel2.integration.PropertyHandler;
 import org.slf4j.Logger;
@@ -167,6 +168,17 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration {
     protected int decisionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
 
+    /**
+     * When enabled, the id of the latest decision table version per key, tenant and parent deployment is kept in memory, so executing a decision by key doesn't need to query the latest version.
+     *
+     * The index is only guaranteed to be current with the READ COMMITTED isolation level on a single node. With REPEATABLE READ, a transaction that started before a deployment was committed can
+     * still find and index the previous version, and deployments done by other engines sharing the same database are not seen by the index. The entries therefore expire after
+     * latestDefinitionIndexTimeToLive milliseconds, which bounds how long such an outdated version is used. A zero or negative time to live is only safe with READ COMMITTED on a single node.
+     */
+    protected boolean enableLatestDefinitionIndex;
+    protected long latestDefinitionIndexTimeToLive = LatestDefinitionIndex.DEFAULT_TIME_TO_LIVE;
+    protected LatestDefinitionIndex latestDefinitionIndex;
+
     // CUSTOM EXPRESSION FUNCTIONS
     // ////////////////////////////////////////////////////////////////
     protected CustomExpressionFunctionRegistry customExpressionFunctionRegistry;
@@ -476,8 +488,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration {
             }
         }
 
+        if (latestDefinitionIndex == null && enableLatestDefinitionIndex) {
+            latestDefinitionIndex = new LatestDefinitionIndex(latestDefinitionIndexTimeToLive);
+        }
+
         deploymentManager = new DeploymentManager(decisionCache, this);
         deploymentManager.setDeployers(deployers);
+        deploymentManager.setLatestDefinitionIndex(latestDefinitionIndex);
         deploymentManager.setDeploymentEntityManager(deploymentEntityManager);
         deploymentManager.setDecisionTableEntityManager(decisionTableEntityManager);
     }
@@ -839,6 +856,33 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isEnableLatestDefinitionIndex() {
+        return enableLatestDefinitionIndex;
+    }
+
+    public DmnEngineConfiguration setEnableLatestDefinitionIndex(boolean enableLatestDefinitionIndex) {
+        this.enableLatestDefinitionIndex = enableLatestDefinitionIndex;
+        return this;
+    }
+
+    public long getLatestDefinitionIndexTimeToLive() {
+        return latestDefinitionIndexTimeToLive;
+    }
+
+    public DmnEngineConfiguration setLatestDefinitionIndexTimeToLive(long latestDefinitionIndexTimeToLive) {
+        this.latestDefinitionIndexTimeToLive = latestDefinitionIndexTimeToLive;
+        return this;
+    }
+
+    public LatestDefinitionIndex getLatestDefinitionIndex() {
+        return latestDefinitionIndex;
+    }
+
+    public DmnEngineConfiguration setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+        this.latestDefinitionIndex = latestDefinitionIndex;
+        return this;
+    }
+
     public DmnDeploymentDataManager getDeploymentDataManager() {
         return deploymentDataManager;
     }
@@ -15,6 +15,7 @@ package org.flowable.dmn.engine.impl;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.dmn.api.DecisionInputVariableProvider;
 import org.flowable.dmn.api.DmnRuleService;
 import org.flowable.dmn.api.RuleEngineExecutionResult;
 import org.flowable.dmn.api.RuleEngineExecutionSingleResult;
@@ -94,6 +95,11 @@ public class DmnRuleServiceImpl extends ServiceImpl implements DmnRuleService {
         return commandExecutor.execute(new ExecuteDecisionCmd(decisionKey, parentDeploymentId, inputVariables, tenantId));
     }
 
+    @Override
+    public List<Map<String, Object>> executeDecisionByKeyParentDeploymentIdAndTenantId(String decisionKey, String parentDeploymentId, DecisionInputVariableProvider inputVariableProvider, String tenantId) {
+        return commandExecutor.execute(new ExecuteDecisionCmd(decisionKey, parentDeploymentId, inputVariableProvider, tenantId));
+    }
+
     @Override
     public Map<String, Object> executeDecisionByKeyParentDeploymentIdAndTenantIdSingleResult(String decisionKey, String parentDeploymentId, Map<String, Object> inputVariables, String tenantId) {
         return commandExecutor.execute(new ExecuteDecisionSingleResultCmd(decisionKey, parentDeploymentId, inputVariables, tenantId));
@@ -76,9 +76,14 @@ public abstract class AbstractExecuteDecisionCmd implements Serializable{
             throw new IllegalArgumentException("decisionTable is null");
         }
 
-        DecisionTableCacheEntry decisionTableCacheEntry = deploymentManager.resolveDecisionTable(decisionTable);
-        Decision decision = decisionTableCacheEntry.getDecision();
+        return resolveDecisionTableCacheEntry(deploymentManager, decisionTable).getDecision();
+    }
+
+    protected DecisionTableCacheEntry resolveDecisionTableCacheEntry(DeploymentManager deploymentManager, DmnDecisionTable decisionTable) {
+        if (decisionTable == null) {
+            throw new IllegalArgumentException("decisionTable is null");
+        }
 
-        return decision;
+        return deploymentManager.resolveDecisionTable(decisionTable);
     }
 }
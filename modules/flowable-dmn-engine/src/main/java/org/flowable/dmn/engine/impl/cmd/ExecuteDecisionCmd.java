@@ -12,14 +12,17 @@
  */
 package org.flowable.dmn.engine.impl.cmd;
 
+import org.flowable.dmn.api.DecisionInputVariableProvider;
 import org.flowable.dmn.api.DmnDecisionTable;
 import org.flowable.dmn.api.RuleEngineExecutionResult;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.interceptor.Command;
 import org.flowable.dmn.engine.impl.interceptor.CommandContext;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.flowable.dmn.model.Decision;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +32,8 @@ import java.util.Map;
  */
 public class ExecuteDecisionCmd extends AbstractExecuteDecisionCmd implements Command<List<Map<String, Object>>> {
 
+    protected transient DecisionInputVariableProvider inputVariableProvider;
+
     public ExecuteDecisionCmd(String decisionKey, Map<String, Object> variables) {
         this.decisionKey = decisionKey;
         this.variables = variables;
@@ -44,6 +49,11 @@ public class ExecuteDecisionCmd extends AbstractExecuteDecisionCmd implements Co
         this.tenantId = tenantId;
     }
 
+    public ExecuteDecisionCmd(String decisionKey, String parentDeploymentId, DecisionInputVariableProvider inputVariableProvider, String tenantId) {
+        this(decisionKey, parentDeploymentId, (Map<String, Object>) null, tenantId);
+        this.inputVariableProvider = inputVariableProvider;
+    }
+
     public List<Map<String, Object>> execute(CommandContext commandContext) {
         if (decisionKey == null) {
             throw new FlowableIllegalArgumentException("decisionKey is null");
@@ -51,9 +61,20 @@ public class ExecuteDecisionCmd extends AbstractExecuteDecisionCmd implements Co
 
         DmnEngineConfiguration dmnEngineConfiguration = commandContext.getDmnEngineConfiguration();
         DmnDecisionTable decisionTable = resolveDecisionTable(dmnEngineConfiguration.getDeploymentManager());
-        Decision decision = resolveDecision(dmnEngineConfiguration.getDeploymentManager(), decisionTable);
+        DecisionTableCacheEntry decisionTableCacheEntry = resolveDecisionTableCacheEntry(dmnEngineConfiguration.getDeploymentManager(), decisionTable);
+        Decision decision = decisionTableCacheEntry.getDecision();
+
+        Map<String, Object> inputVariables = variables;
+        if (inputVariableProvider != null) {
+            // only the variables referenced by the decision are requested
+            inputVariables = new HashMap<>();
+            Map<String, Object> providedVariables = inputVariableProvider.getVariables(decisionTableCacheEntry.getInputVariableNames());
+            if (providedVariables != null) {
+                inputVariables.putAll(providedVariables);
+            }
+        }
 
-        RuleEngineExecutionResult executionResult = dmnEngineConfiguration.getRuleEngineExecutor().execute(decision, variables,
+        RuleEngineExecutionResult executionResult = dmnEngineConfiguration.getRuleEngineExecutor().execute(decision, inputVariables,
                 dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getCustomPropertyHandlers());
 
         if (executionResult != null) {
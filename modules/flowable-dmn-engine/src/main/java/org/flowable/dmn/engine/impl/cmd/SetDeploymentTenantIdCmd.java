@@ -50,6 +50,9 @@ public class SetDeploymentTenantIdCmd implements Command<Void>, Serializable {
             throw new FlowableObjectNotFoundException("Could not find deployment with id " + deploymentId);
         }
 
+        // The latest decision tables per tenant change
+        commandContext.getDmnEngineConfiguration().getDeploymentManager().startLatestDefinitionIndexChange();
+
         deployment.setTenantId(newTenantId);
 
         // Doing process instances, executions and tasks with direct SQL updates
@@ -13,8 +13,10 @@
 package org.flowable.dmn.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntity;
+import org.flowable.dmn.engine.impl.util.DecisionInputVariableUtil;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DmnDefinition;
 
@@ -28,6 +30,7 @@ public class DecisionTableCacheEntry implements Serializable {
     protected DecisionTableEntity decisionTableEntity;
     protected DmnDefinition dmnDefinition;
     protected Decision decision;
+    protected volatile Set<String> inputVariableNames;
 
     public DecisionTableCacheEntry(DecisionTableEntity decisionTableEntity, DmnDefinition dmnDefinition, Decision decision) {
         this.decisionTableEntity = decisionTableEntity;
@@ -57,5 +60,18 @@ public class DecisionTableCacheEntry implements Serializable {
 
     public void setDecision(Decision decision) {
         this.decision = decision;
+        this.inputVariableNames = null;
+    }
+
+    /**
+     * @return the names of the variables that can be referenced by the decision, determined once per cached decision.
+     */
+    public Set<String> getInputVariableNames() {
+        Set<String> names = inputVariableNames;
+        if (names == null) {
+            names = DecisionInputVariableUtil.getInputVariableNames(decision);
+            inputVariableNames = names;
+        }
+        return names;
     }
 }
@@ -18,6 +18,10 @@ import java.util.Map;
 import org.flowable.dmn.api.DmnDecisionTable;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.DecisionTableQueryImpl;
+import org.flowable.dmn.engine.impl.cfg.TransactionContext;
+import org.flowable.dmn.engine.impl.cfg.TransactionListener;
+import org.flowable.dmn.engine.impl.context.Context;
+import org.flowable.dmn.engine.impl.interceptor.CommandContext;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntityManager;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntity;
@@ -26,6 +30,9 @@ import org.flowable.dmn.engine.impl.persistence.entity.ResourceEntity;
 import org.flowable.dmn.model.DmnDefinition;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex.DeploymentChange;
 
 /**
  * @author Tijs Rademakers
@@ -35,6 +42,7 @@ public class DeploymentManager {
 
     protected DmnEngineConfiguration engineConfig;
     protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
+    protected LatestDefinitionIndex latestDefinitionIndex;
 
     protected List<Deployer> deployers;
     protected DecisionTableEntityManager decisionTableEntityManager;
@@ -50,6 +58,10 @@ public class DeploymentManager {
     }
 
     public void deploy(DmnDeploymentEntity deployment, Map<String, Object> deploymentSettings) {
+        if (deployment.isNew()) {
+            startLatestDefinitionIndexChange();
+        }
+
         for (Deployer deployer : deployers) {
             deployer.deploy(deployment, deploymentSettings);
         }
@@ -75,26 +87,46 @@ public class DeploymentManager {
     }
 
     public DecisionTableEntity findDeployedLatestDecisionByKey(String decisionKey) {
+        DecisionTableEntity indexedDecisionTable = findIndexedLatestDecisionTable(decisionKey, null, null);
+        if (indexedDecisionTable != null) {
+            return indexedDecisionTable;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         DecisionTableEntity decisionTable = decisionTableEntityManager.findLatestDecisionTableByKey(decisionKey);
 
         if (decisionTable == null) {
             throw new FlowableObjectNotFoundException("no decisions deployed with key '" + decisionKey + "'");
         }
         decisionTable = resolveDecisionTable(decisionTable).getDecisionTableEntity();
+        indexLatestDecisionTable(decisionKey, null, null, decisionTable, indexStamp);
         return decisionTable;
     }
 
     public DecisionTableEntity findDeployedLatestDecisionByKeyAndTenantId(String decisionKey, String tenantId) {
+        DecisionTableEntity indexedDecisionTable = findIndexedLatestDecisionTable(decisionKey, tenantId, null);
+        if (indexedDecisionTable != null) {
+            return indexedDecisionTable;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         DecisionTableEntity decisionTable = decisionTableEntityManager.findLatestDecisionTableByKeyAndTenantId(decisionKey, tenantId);
 
         if (decisionTable == null) {
             throw new FlowableObjectNotFoundException("no decisions deployed with key '" + decisionKey + "' for tenant identifier '" + tenantId + "'");
         }
         decisionTable = resolveDecisionTable(decisionTable).getDecisionTableEntity();
+        indexLatestDecisionTable(decisionKey, tenantId, null, decisionTable, indexStamp);
         return decisionTable;
     }
 
     public DecisionTableEntity findDeployedLatestDecisionByKeyAndParentDeploymentId(String decisionTableKey, String parentDeploymentId) {
+        DecisionTableEntity indexedDecisionTable = findIndexedLatestDecisionTable(decisionTableKey, null, parentDeploymentId);
+        if (indexedDecisionTable != null) {
+            return indexedDecisionTable;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         DecisionTableEntity decisionTable = decisionTableEntityManager.findLatestDecisionTableByKeyAndParentDeploymentId(decisionTableKey, parentDeploymentId);
 
         if (decisionTable == null) {
@@ -102,12 +134,19 @@ public class DeploymentManager {
                     "' for parent deployment id '" + parentDeploymentId + "'");
         }
         decisionTable = resolveDecisionTable(decisionTable).getDecisionTableEntity();
+        indexLatestDecisionTable(decisionTableKey, null, parentDeploymentId, decisionTable, indexStamp);
         return decisionTable;
     }
 
     public DecisionTableEntity findDeployedLatestDecisionByKeyParentDeploymentIdAndTenantId(String decisionTableKey,
             String parentDeploymentId, String tenantId) {
 
+        DecisionTableEntity indexedDecisionTable = findIndexedLatestDecisionTable(decisionTableKey, tenantId, parentDeploymentId);
+        if (indexedDecisionTable != null) {
+            return indexedDecisionTable;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         DecisionTableEntity decisionTable = decisionTableEntityManager.findLatestDecisionTableByKeyParentDeploymentIdAndTenantId(
                 decisionTableKey, parentDeploymentId, tenantId);
 
@@ -116,9 +155,60 @@ public class DeploymentManager {
                     "' for parent deployment id '" + parentDeploymentId + "' and tenant identifier " + tenantId);
         }
         decisionTable = resolveDecisionTable(decisionTable).getDecisionTableEntity();
+        indexLatestDecisionTable(decisionTableKey, tenantId, parentDeploymentId, decisionTable, indexStamp);
         return decisionTable;
     }
 
+    /**
+     * Returns the latest decision table from the {@link LatestDefinitionIndex}, or null if the 'latest version' query needs to be executed. Only decision tables that are still in the decision cache
+     * are returned this way.
+     */
+    protected DecisionTableEntity findIndexedLatestDecisionTable(String decisionTableKey, String tenantId, String parentDeploymentId) {
+        if (latestDefinitionIndex == null) {
+            return null;
+        }
+
+        String decisionTableId = latestDefinitionIndex.getLatestDefinitionId(decisionTableKey, tenantId, parentDeploymentId);
+        if (decisionTableId != null) {
+            DecisionTableCacheEntry cacheEntry = decisionCache.get(decisionTableId);
+            if (cacheEntry != null) {
+                return cacheEntry.getDecisionTableEntity();
+            }
+        }
+        return null;
+    }
+
+    protected void indexLatestDecisionTable(String decisionTableKey, String tenantId, String parentDeploymentId, DecisionTableEntity decisionTable, long indexStamp) {
+        if (latestDefinitionIndex != null) {
+            latestDefinitionIndex.putLatestDefinitionId(decisionTableKey, tenantId, parentDeploymentId, decisionTable.getId(), indexStamp);
+        }
+    }
+
+    /**
+     * Disables the {@link LatestDefinitionIndex} until the current transaction has been committed or rolled back. Needs to be called by any command that deploys or deletes decision tables, or
+     * changes their key, version or tenant id.
+     */
+    public void startLatestDefinitionIndexChange() {
+        if (latestDefinitionIndex == null) {
+            return;
+        }
+
+        final DeploymentChange deploymentChange = latestDefinitionIndex.startDeploymentChange();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            TransactionListener endDeploymentChangeListener = new TransactionListener() {
+                public void execute(CommandContext commandContext) {
+                    deploymentChange.end();
+                }
+            };
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, endDeploymentChangeListener);
+            transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, endDeploymentChangeListener);
+
+        } else {
+            Context.getCommandContext().addCloseListener(deploymentChange);
+        }
+    }
+
     public DecisionTableEntity findDeployedDecisionByKeyAndVersionAndTenantId(String decisionKey, int decisionVersion, String tenantId) {
         DecisionTableEntity decisionTable = decisionTableEntityManager.findDecisionTableByKeyAndVersionAndTenantId(decisionKey, decisionVersion, tenantId);
 
@@ -164,6 +254,8 @@ public class DeploymentManager {
             throw new FlowableObjectNotFoundException("Could not find a deployment with id '" + deploymentId + "'.");
         }
 
+        startLatestDefinitionIndexChange();
+
         // Remove any process definition from the cache
         List<DmnDecisionTable> decisionTables = new DecisionTableQueryImpl().deploymentId(deploymentId).list();
 
@@ -191,6 +283,14 @@ public class DeploymentManager {
         this.decisionCache = decisionCache;
     }
 
+    public LatestDefinitionIndex getLatestDefinitionIndex() {
+        return latestDefinitionIndex;
+    }
+
+    public void setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+        this.latestDefinitionIndex = latestDefinitionIndex;
+    }
+
     public DecisionTableEntityManager getDecisionTableEntityManager() {
         return decisionTableEntityManager;
     }
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.OutputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.flowable.dmn.model.RuleOutputClauseContainer;
+
+/**
+ * Determines which variables can be referenced by the expressions of a decision table.
+ * 
+ * Every identifier used in an input expression, input entry or output entry is considered to be a variable name, except for string literals and for property or method names following a dot.
+ * The resulting names can contain more than the variables actually used, but never less.
+ */
+public class DecisionInputVariableUtil {
+
+    public static Set<String> getInputVariableNames(Decision decision) {
+        if (decision == null || !(decision.getExpression() instanceof DecisionTable)) {
+            return Collections.emptySet();
+        }
+
+        DecisionTable decisionTable = (DecisionTable) decision.getExpression();
+        Set<String> variableNames = new LinkedHashSet<>();
+
+        for (InputClause inputClause : decisionTable.getInputs()) {
+            if (inputClause.getInputExpression() != null) {
+                addIdentifiers(inputClause.getInputExpression().getText(), variableNames);
+            }
+        }
+
+        // output variables that already exist are used as default value
+        for (OutputClause outputClause : decisionTable.getOutputs()) {
+            if (StringUtils.isNotEmpty(outputClause.getName())) {
+                variableNames.add(outputClause.getName());
+            }
+        }
+
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer inputEntry : rule.getInputEntries()) {
+                if (inputEntry.getInputEntry() != null) {
+                    addIdentifiers(inputEntry.getInputEntry().getText(), variableNames);
+                }
+            }
+            for (RuleOutputClauseContainer outputEntry : rule.getOutputEntries()) {
+                if (outputEntry.getOutputEntry() != null) {
+                    addIdentifiers(outputEntry.getOutputEntry().getText(), variableNames);
+                }
+            }
+        }
+
+        return Collections.unmodifiableSet(variableNames);
+    }
+
+    protected static void addIdentifiers(String expression, Set<String> identifiers) {
+        if (StringUtils.isEmpty(expression)) {
+            return;
+        }
+
+        int length = expression.length();
+        int index = 0;
+        while (index < length) {
+            char currentChar = expression.charAt(index);
+            if (currentChar == '\'' || currentChar == '"') {
+                index = skipStringLiteral(expression, index);
+
+            } else if (Character.isDigit(currentChar)) {
+                // numbers, including type suffixes like 10L
+                index = skipIdentifierPart(expression, index + 1);
+
+            } else if (Character.isJavaIdentifierStart(currentChar)) {
+                int end = skipIdentifierPart(expression, index + 1);
+                if (!isMemberName(expression, index)) {
+                    identifiers.add(expression.substring(index, end));
+                }
+                index = end;
+
+            } else {
+                index++;
+            }
+        }
+    }
+
+    protected static int skipStringLiteral(String expression, int start) {
+        char quote = expression.charAt(start);
+        int index = start + 1;
+        while (index < expression.length() && expression.charAt(index) != quote) {
+            if (expression.charAt(index) == '\\') {
+                index++;
+            }
+            index++;
+        }
+        return index + 1;
+    }
+
+    protected static int skipIdentifierPart(String expression, int start) {
+        int index = start;
+        while (index < expression.length() && Character.isJavaIdentifierPart(expression.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    protected static boolean isMemberName(String expression, int start) {
+        int index = start - 1;
+        while (index >= 0 && Character.isWhitespace(expression.charAt(index))) {
+            index--;
+        }
+        return index >= 0 && expression.charAt(index) == '.';
+    }
+}
@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.api.DmnRepositoryService;
+import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.test.DmnDeploymentAnnotation;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Runs decisions with the latest definition index enabled, which is off in the default test configuration.
+ */
+public class LatestDefinitionIndexTest {
+
+    protected static final String ENGINE_CONFIG = "latest-definition-index.flowable.dmn.cfg.xml";
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule(ENGINE_CONFIG);
+
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/flowable/dmn/engine/test/deployment/multiple_conclusions.dmn")
+    public void deploySingleDecisionAndValidateLatestDefinitionIndex() {
+        DmnEngine dmnEngine = flowableDmnRule.getDmnEngine();
+        DmnRepositoryService repositoryService = dmnEngine.getDmnRepositoryService();
+        DmnRuleService ruleService = dmnEngine.getDmnRuleService();
+
+        LatestDefinitionIndex latestDefinitionIndex = dmnEngine.getDmnEngineConfiguration().getLatestDefinitionIndex();
+        assertNotNull(latestDefinitionIndex);
+
+        DmnDecisionTable decision = repositoryService.createDecisionTableQuery()
+                .latestVersion()
+                .decisionTableKey("decision")
+                .singleResult();
+
+        Map<String, Object> inputVariables = new HashMap<String, Object>();
+        inputVariables.put("input1", 11);
+        ruleService.executeDecisionByKey("decision", inputVariables);
+        assertEquals(decision.getId(), latestDefinitionIndex.getLatestDefinitionId("decision", null, null));
+
+        String secondDeploymentId = repositoryService.createDeployment().name("secondDeployment")
+                .addClasspathResource("org/flowable/dmn/engine/test/deployment/multiple_conclusions.dmn")
+                .deploy()
+                .getId();
+        try {
+            assertNull(latestDefinitionIndex.getLatestDefinitionId("decision", null, null));
+
+            decision = repositoryService.createDecisionTableQuery()
+                    .latestVersion()
+                    .decisionTableKey("decision")
+                    .singleResult();
+            assertEquals(2, decision.getVersion());
+
+            ruleService.executeDecisionByKey("decision", inputVariables);
+            assertEquals(decision.getId(), latestDefinitionIndex.getLatestDefinitionId("decision", null, null));
+
+        } finally {
+            repositoryService.deleteDeployment(secondDeploymentId);
+        }
+        assertEquals(0, latestDefinitionIndex.size());
+    }
+
+}
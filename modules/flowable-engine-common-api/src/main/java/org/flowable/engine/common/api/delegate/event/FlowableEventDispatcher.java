@@ -53,6 +53,15 @@ public interface FlowableEventDispatcher {
      */
     void dispatchEvent(FlowableEvent event);
 
+    /**
+     * Allows to check whether an event of the given type would be handled by any listener, before creating the event.
+     * 
+     * @param type
+     *            the type of the event that would be dispatched.
+     * @return true, if the dispatcher is enabled and at least one listener is interested in events of the given type.
+     */
+    boolean hasListeners(FlowableEventType type);
+
     /**
      * @param enabled
      *            true, if event dispatching should be enabled.
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.api.management;
+
+/**
+ * Structure containing the execution count, database time and number of rows of a mapped database statement, since the engine was started or the metrics were last reset.
+ */
+public class StatementMetrics {
+
+    protected String statementId;
+
+    protected long executionCount;
+
+    protected long totalTimeInNanos;
+
+    protected long maxTimeInNanos;
+
+    protected long rowCount;
+
+    public StatementMetrics() {
+
+    }
+
+    public StatementMetrics(String statementId, long executionCount, long totalTimeInNanos, long maxTimeInNanos, long rowCount) {
+        this.statementId = statementId;
+        this.executionCount = executionCount;
+        this.totalTimeInNanos = totalTimeInNanos;
+        this.maxTimeInNanos = maxTimeInNanos;
+        this.rowCount = rowCount;
+    }
+
+    public String getStatementId() {
+        return statementId;
+    }
+
+    public void setStatementId(String statementId) {
+        this.statementId = statementId;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public void setExecutionCount(long executionCount) {
+        this.executionCount = executionCount;
+    }
+
+    public long getTotalTimeInNanos() {
+        return totalTimeInNanos;
+    }
+
+    public void setTotalTimeInNanos(long totalTimeInNanos) {
+        this.totalTimeInNanos = totalTimeInNanos;
+    }
+
+    public long getMaxTimeInNanos() {
+        return maxTimeInNanos;
+    }
+
+    public void setMaxTimeInNanos(long maxTimeInNanos) {
+        this.maxTimeInNanos = maxTimeInNanos;
+    }
+
+    /**
+     * @return the number of rows returned by the statement when it's a select, or the number of rows affected otherwise.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public double getAverageTimeInMillis() {
+        return executionCount > 0 ? totalTimeInNanos / 1000000.0 / executionCount : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementMetrics[statementId=" + statementId + ", executionCount=" + executionCount + ", totalTimeInNanos=" + totalTimeInNanos
+                + ", maxTimeInNanos=" + maxTimeInNanos + ", rowCount=" + rowCount + "]";
+    }
+
+}
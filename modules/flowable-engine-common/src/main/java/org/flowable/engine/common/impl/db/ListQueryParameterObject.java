@@ -23,6 +23,7 @@ public class ListQueryParameterObject {
     protected int firstResult;
     protected Object parameter;
     protected String databaseType;
+    protected boolean readOnly;
 
     public ListQueryParameterObject() {
     }
@@ -85,4 +86,12 @@ public class ListQueryParameterObject {
         return databaseType;
     }
 
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
 }
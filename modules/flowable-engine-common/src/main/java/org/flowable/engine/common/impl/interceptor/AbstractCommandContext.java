@@ -37,6 +37,7 @@ public class AbstractCommandContext {
     protected List<BaseCommandContextCloseListener<AbstractCommandContext>> closeListeners;
     protected Map<String, Object> attributes; // General-purpose storing of anything during the lifetime of a command context
     protected boolean reused;
+    protected boolean readOnly;
 
     public AbstractCommandContext(BaseCommand<?, ? extends AbstractCommandContext> command) {
         this.command = command;
@@ -256,4 +257,11 @@ public class AbstractCommandContext {
         this.reused = reused;
     }
 
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
 }
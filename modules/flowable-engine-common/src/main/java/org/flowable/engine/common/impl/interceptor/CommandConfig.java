@@ -13,6 +13,7 @@ public class CommandConfig {
 
     private boolean contextReusePossible;
     private TransactionPropagation propagation;
+    private boolean readOnly;
 
     public CommandConfig() {
         this.contextReusePossible = true;
@@ -32,6 +33,7 @@ public class CommandConfig {
     protected CommandConfig(CommandConfig commandConfig) {
         this.contextReusePossible = commandConfig.contextReusePossible;
         this.propagation = commandConfig.propagation;
+        this.readOnly = commandConfig.readOnly;
     }
 
     public boolean isContextReusePossible() {
@@ -42,12 +44,26 @@ public class CommandConfig {
         return propagation;
     }
 
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     public CommandConfig setContextReusePossible(boolean contextReusePossible) {
         CommandConfig config = new CommandConfig(this);
         config.contextReusePossible = contextReusePossible;
         return config;
     }
 
+    /**
+     * Returns a configuration for commands that only read data: entities returned by queries executed in a new command context with this configuration are not put in the entity cache and are not
+     * checked for changes when the command context is flushed.
+     */
+    public CommandConfig readOnly() {
+        CommandConfig config = new CommandConfig(this);
+        config.readOnly = true;
+        return config;
+    }
+
     public CommandConfig transactionRequired() {
         CommandConfig config = new CommandConfig(this);
         config.propagation = TransactionPropagation.REQUIRED;
@@ -0,0 +1,222 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.persistence.deploy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.engine.common.impl.interceptor.AbstractCommandContext;
+import org.flowable.engine.common.impl.interceptor.BaseCommandContextCloseListener;
+
+/**
+ * In-memory index from a definition key, tenant id and parent deployment id to the id of the latest version of the definition (process definition, decision table, form definition, ...).
+ *
+ * The index is filled by the lookups themselves: the id found by the 'latest version' query is stored using {@link #putLatestDefinitionId(String, String, String, String, long)}, together with the
+ * stamp that was read before the query was executed. Deploying or deleting a deployment clears the index and changes the stamp: {@link #startDeploymentChange()} must be called before the
+ * definitions are changed and {@link DeploymentChange#end()} once the transaction has been committed or rolled back. While such a change is in progress, the index isn't used.
+ *
+ * The stamp only guards against deployment changes that happen while the query is executed. A transaction that still reads an older snapshot of the database after a deployment has been committed,
+ * e.g. a transaction started before the deployment running with the REPEATABLE READ isolation level, can store the id of the previous version. Deployments done by other engines sharing the same
+ * database are not seen by this index either. Therefore the entries expire after a time to live ({@link #DEFAULT_TIME_TO_LIVE} by default), which bounds how long such an outdated id is used.
+ * Alternatively, call {@link #clear()} when another node deploys.
+ */
+public class LatestDefinitionIndex {
+
+    public static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+    protected ConcurrentMap<IndexKey, IndexEntry> latestDefinitionIds = new ConcurrentHashMap<IndexKey, IndexEntry>();
+    protected AtomicLong stamp = new AtomicLong();
+    protected AtomicInteger deploymentChangesInProgress = new AtomicInteger();
+
+    /**
+     * Time in milliseconds after which an entry is no longer used. Zero or negative means the entries don't expire.
+     */
+    protected long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+    public LatestDefinitionIndex() {
+
+    }
+
+    public LatestDefinitionIndex(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @return the id of the latest definition, or null when it isn't known and the 'latest version' query needs to be executed.
+     */
+    public String getLatestDefinitionId(String key, String tenantId, String parentDeploymentId) {
+        if (deploymentChangesInProgress.get() > 0) {
+            return null;
+        }
+
+        IndexKey indexKey = new IndexKey(key, tenantId, parentDeploymentId);
+        IndexEntry entry = latestDefinitionIds.get(indexKey);
+        if (entry == null) {
+            return null;
+        }
+
+        if (timeToLive > 0 && System.currentTimeMillis() - entry.createTime > timeToLive) {
+            latestDefinitionIds.remove(indexKey, entry);
+            return null;
+        }
+        return entry.definitionId;
+    }
+
+    /**
+     * @return the stamp to pass to {@link #putLatestDefinitionId(String, String, String, String, long)}. Must be read before executing the 'latest version' query.
+     */
+    public long getStamp() {
+        return stamp.get();
+    }
+
+    /**
+     * Stores the id of the latest definition found by a 'latest version' query. Nothing is stored when a deployment change happened since the given stamp was read, as the query result might be
+     * outdated.
+     */
+    public void putLatestDefinitionId(String key, String tenantId, String parentDeploymentId, String definitionId, long stamp) {
+        if (deploymentChangesInProgress.get() > 0 || this.stamp.get() != stamp) {
+            return;
+        }
+
+        IndexKey indexKey = new IndexKey(key, tenantId, parentDeploymentId);
+        IndexEntry entry = new IndexEntry(definitionId, System.currentTimeMillis());
+        latestDefinitionIds.put(indexKey, entry);
+
+        // A deployment change might have cleared the index between the check above and the put
+        if (deploymentChangesInProgress.get() > 0 || this.stamp.get() != stamp) {
+            latestDefinitionIds.remove(indexKey, entry);
+        }
+    }
+
+    /**
+     * Called before definitions are deployed or deleted. Until {@link DeploymentChange#end()} is called on the returned change, the index isn't used.
+     */
+    public DeploymentChange startDeploymentChange() {
+        deploymentChangesInProgress.incrementAndGet();
+        clear();
+        return new DeploymentChange();
+    }
+
+    protected void endDeploymentChange() {
+        clear();
+        deploymentChangesInProgress.decrementAndGet();
+    }
+
+    /**
+     * Removes all entries, e.g. when another engine sharing the same database has deployed new definitions.
+     */
+    public void clear() {
+        stamp.incrementAndGet();
+        latestDefinitionIds.clear();
+    }
+
+    public int size() {
+        return latestDefinitionIds.size();
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * A deployment change in progress. Can be registered as command context close listener when no transaction listener can be used: the change then ends when the command context is closed.
+     */
+    public class DeploymentChange implements BaseCommandContextCloseListener<AbstractCommandContext> {
+
+        protected AtomicBoolean ended = new AtomicBoolean();
+
+        /**
+         * Called after the transaction that deployed or deleted definitions has been committed or rolled back. Calling this method more than once has no effect.
+         */
+        public void end() {
+            if (ended.compareAndSet(false, true)) {
+                endDeploymentChange();
+            }
+        }
+
+        public void closing(AbstractCommandContext commandContext) {
+
+        }
+
+        public void afterSessionsFlush(AbstractCommandContext commandContext) {
+
+        }
+
+        public void closed(AbstractCommandContext commandContext) {
+            end();
+        }
+
+        public void closeFailure(AbstractCommandContext commandContext) {
+            end();
+        }
+
+    }
+
+    protected static class IndexKey {
+
+        protected final String key;
+        protected final String tenantId;
+        protected final String parentDeploymentId;
+
+        public IndexKey(String key, String tenantId, String parentDeploymentId) {
+            this.key = key;
+            this.tenantId = tenantId;
+            this.parentDeploymentId = parentDeploymentId;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = key != null ? key.hashCode() : 0;
+            result = 31 * result + (tenantId != null ? tenantId.hashCode() : 0);
+            result = 31 * result + (parentDeploymentId != null ? parentDeploymentId.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey other = (IndexKey) obj;
+            return equals(key, other.key) && equals(tenantId, other.tenantId) && equals(parentDeploymentId, other.parentDeploymentId);
+        }
+
+        protected static boolean equals(String value, String otherValue) {
+            return value == null ? otherValue == null : value.equals(otherValue);
+        }
+
+    }
+
+    protected static class IndexEntry {
+
+        protected final String definitionId;
+        protected final long createTime;
+
+        public IndexEntry(String definitionId, long createTime) {
+            this.definitionId = definitionId;
+            this.createTime = createTime;
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.persistence.entity;
+
+/**
+ * An {@link Entity} that keeps track of changes to its persistent state itself, typically by raising a flag in the setters of the persisted fields.
+ * 
+ * When such an entity is loaded, the entity cache does not need to keep a copy of the {@link #getPersistentState()} to compare with when flushing: it only needs to check {@link #isDirty()}. Entities
+ * not implementing this interface are still compared using their persistent state.
+ */
+public interface DirtyTrackingEntity extends Entity {
+
+    /**
+     * @return true, if the persistent state has been changed since the last call to {@link #clearDirty()}.
+     */
+    boolean isDirty();
+
+    /**
+     * Marks the current persistent state as the state that is stored in the database.
+     */
+    void clearDirty();
+
+}
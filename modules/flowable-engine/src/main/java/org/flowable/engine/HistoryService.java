@@ -14,6 +14,7 @@
 
 package org.flowable.engine;
 
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.history.HistoricActivityInstance;
@@ -90,6 +91,22 @@ public interface HistoryService {
      */
     void deleteHistoricProcessInstance(String processInstanceId);
 
+    /**
+     * Deletes at most batchSize historic process instances (and their sub process instances) that ended before the given date, together with all their historic data. The data is removed with
+     * set-based delete statements, so no entity delete events are dispatched.
+     * 
+     * @param endedBefore
+     *            only historic process instances that ended before this date are deleted. Required.
+     * @param processDefinitionKey
+     *            when not null, only historic process instances of process definitions with this key are deleted.
+     * @param tenantId
+     *            when not null, only historic process instances of this tenant are deleted.
+     * @param batchSize
+     *            the maximum number of historic process instances to delete, between 1 and 1000.
+     * @return the number of deleted historic process instances, sub process instances not included. When equal to the batch size, more historic process instances might be left.
+     */
+    int deleteHistoricProcessInstancesEndedBefore(Date endedBefore, String processDefinitionKey, String tenantId, int batchSize);
+
     /**
      * creates a native query to search for {@link HistoricProcessInstance}s via SQL
      */
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
+import org.flowable.engine.common.api.management.StatementMetrics;
 import org.flowable.engine.common.api.management.TableMetaData;
 import org.flowable.engine.common.api.management.TablePage;
 import org.flowable.engine.common.api.management.TablePageQuery;
@@ -332,4 +333,15 @@ public interface ManagementService {
      */
     void deleteEventLogEntry(long logNr);
 
+    /**
+     * Returns the execution count, database time and number of rows per mapped database statement id, since the engine was started or the metrics were last reset. Note that the statement metrics
+     * must specifically be enabled in the process engine configuration, otherwise an empty map is returned.
+     */
+    Map<String, StatementMetrics> getStatementMetrics();
+
+    /**
+     * Clears the statement metrics returned by {@link #getStatementMetrics()}.
+     */
+    void resetStatementMetrics();
+
 }
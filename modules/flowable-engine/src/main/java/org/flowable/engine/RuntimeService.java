@@ -338,6 +338,34 @@ public interface RuntimeService {
      */
     void deleteProcessInstance(String processInstanceId, String deleteReason);
 
+    /**
+     * Deletes the given runtime process instances asynchronously, in batches. Async jobs are scheduled that each delete a batch of (at most processInstanceDeletionBatchSize) process instances,
+     * so the batches are deleted in parallel by the async executor. A root process instance is deleted together with its sub process instances using one delete statement per table. The historic
+     * process instances, activities and tasks are ended with the given reason and a PROCESS_CANCELLED event is dispatched for every process instance, but no events are dispatched for the other
+     * deleted entities (like tasks and variables).
+     * 
+     * A failed job is retried like any other async job. Process instances that don't exist (anymore) are ignored.
+     * 
+     * @param processInstanceIds
+     *            ids of the process instances to delete, cannot be null.
+     * @param deleteReason
+     *            reason for deleting, can be null.
+     * @return the number of async jobs that were scheduled.
+     */
+    int deleteProcessInstancesAsync(List<String> processInstanceIds, String deleteReason);
+
+    /**
+     * Deletes all runtime process instances that match the given query asynchronously, in batches (see {@link #deleteProcessInstancesAsync(List, String)}). The ids of the matching process instances
+     * are selected when this method is called.
+     * 
+     * @param processInstanceQuery
+     *            query for the process instances to delete, cannot be null.
+     * @param deleteReason
+     *            reason for deleting, can be null.
+     * @return the number of async jobs that were scheduled.
+     */
+    int deleteProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery, String deleteReason);
+
     /**
      * Finds the activity ids for all executions that are waiting in activities. This is a list because a single activity can be active multiple times.
      * 
@@ -288,7 +288,19 @@ public enum FlowableEngineEventType implements FlowableEventType {
      * All memberships in the related group have been deleted. No individual {@link #MEMBERSHIP_DELETED} events will be dispatched due to possible performance reasons. The event is dispatched before
      * the memberships are deleted, so they can still be accessed in the dispatch method of the listener.
      */
-    MEMBERSHIPS_DELETED;
+    MEMBERSHIPS_DELETED,
+
+    /**
+     * A mail of a mail task has been sent by the asynchronous mail sender, after the transaction that executed the mail task was committed. The entity of the event is the
+     * {@link org.flowable.engine.impl.mail.QueuedMail}.
+     */
+    MAIL_SENT,
+
+    /**
+     * A mail of a mail task could not be sent by the asynchronous mail sender, after all retries. The entity of the event is the {@link org.flowable.engine.impl.mail.QueuedMail}, the cause of the
+     * event is the exception of the last attempt.
+     */
+    MAIL_FAILED;
 
     public static final FlowableEngineEventType[] EMPTY_ARRAY = new FlowableEngineEventType[] {};
 
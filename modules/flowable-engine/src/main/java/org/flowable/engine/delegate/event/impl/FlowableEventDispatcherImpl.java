@@ -12,6 +12,10 @@
  */
 package org.flowable.engine.delegate.event.impl;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.engine.common.api.delegate.event.FlowableEntityEvent;
 import org.flowable.engine.common.api.delegate.event.FlowableEvent;
@@ -35,6 +39,19 @@ public class FlowableEventDispatcherImpl implements FlowableEventDispatcher {
     protected FlowableEventSupport eventSupport;
     protected boolean enabled = true;
 
+    /**
+     * The event supports of the parsed process definitions that have listeners. Weakly referenced, so process definitions that are removed from the cache can be garbage collected: when such a
+     * process definition is parsed again, its event support is registered again.
+     */
+    protected final Set<FlowableEventSupport> processDefinitionEventSupports = Collections.newSetFromMap(new WeakHashMap<FlowableEventSupport, Boolean>());
+
+    /**
+     * The event types the event listeners of the parsed process definitions are interested in. Used to avoid resolving the process definition of an event when none of the process definitions
+     * would be notified. Recalculated whenever the listeners of a process definition change.
+     */
+    protected volatile FlowableEventTypeSet processDefinitionEventTypes = FlowableEventTypeSet.EMPTY;
+    protected volatile boolean processDefinitionGlobalListeners;
+
     public FlowableEventDispatcherImpl() {
         eventSupport = new FlowableEventSupport();
     }
@@ -62,6 +79,39 @@ public class FlowableEventDispatcherImpl implements FlowableEventDispatcher {
         eventSupport.removeEventListener(listenerToRemove);
     }
 
+    @Override
+    public boolean hasListeners(FlowableEventType type) {
+        return enabled && (eventSupport.hasListeners(type) || hasProcessDefinitionListeners(type));
+    }
+
+    protected boolean hasProcessDefinitionListeners(FlowableEventType type) {
+        return processDefinitionGlobalListeners || processDefinitionEventTypes.contains(type);
+    }
+
+    /**
+     * Registers the event support of a parsed process definition, so events of the types its listeners are interested in get dispatched to the process definition. Called again whenever listeners
+     * are added to or removed from the event support.
+     */
+    public synchronized void addProcessDefinitionEventSupport(FlowableEventSupport processDefinitionEventSupport) {
+        boolean hasListeners = processDefinitionEventSupport.hasGlobalListeners() || !processDefinitionEventSupport.getTypesWithListeners().isEmpty();
+        if (hasListeners) {
+            processDefinitionEventSupports.add(processDefinitionEventSupport);
+        } else if (!processDefinitionEventSupports.remove(processDefinitionEventSupport)) {
+            return; // Nothing changed
+        }
+
+        boolean globalListeners = false;
+        FlowableEventTypeSet eventTypes = FlowableEventTypeSet.EMPTY;
+        for (FlowableEventSupport eventSupport : processDefinitionEventSupports) {
+            if (eventSupport.hasGlobalListeners()) {
+                globalListeners = true;
+            }
+            eventTypes = eventTypes.union(eventSupport.getTypesWithListeners());
+        }
+        processDefinitionGlobalListeners = globalListeners;
+        processDefinitionEventTypes = eventTypes;
+    }
+
     @Override
     public void dispatchEvent(FlowableEvent event) {
         if (enabled) {
@@ -76,6 +126,11 @@ public class FlowableEventDispatcherImpl implements FlowableEventDispatcher {
             }
         }
 
+        // No need to look up the process definition when none of the process definitions has a listener for this type of event
+        if (!hasProcessDefinitionListeners(event.getType())) {
+            return;
+        }
+
         // Try getting hold of the Process definition, based on the process definition key, if a context is active
         CommandContext commandContext = Context.getCommandContext();
         if (commandContext != null) {
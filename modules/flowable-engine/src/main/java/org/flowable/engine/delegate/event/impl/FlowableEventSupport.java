@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.delegate.event.impl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,16 @@ public class FlowableEventSupport {
     protected List<FlowableEventListener> eventListeners;
     protected Map<FlowableEventType, List<FlowableEventListener>> typedListeners;
 
+    /**
+     * The types for which at least one typed listener is registered, recalculated whenever listeners are added or removed.
+     */
+    protected volatile FlowableEventTypeSet typesWithListeners = FlowableEventTypeSet.EMPTY;
+
+    /**
+     * Set when this event support belongs to a process definition: the engine dispatcher needs to know which events the process definition listeners are interested in.
+     */
+    protected FlowableEventDispatcherImpl processDefinitionDispatcher;
+
     public FlowableEventSupport() {
         eventListeners = new CopyOnWriteArrayList<FlowableEventListener>();
         typedListeners = new HashMap<FlowableEventType, List<FlowableEventListener>>();
@@ -49,6 +60,7 @@ public class FlowableEventSupport {
         if (!eventListeners.contains(listenerToAdd)) {
             eventListeners.add(listenerToAdd);
         }
+        notifyProcessDefinitionDispatcher();
     }
 
     public synchronized void addEventListener(FlowableEventListener listenerToAdd, FlowableEventType... types) {
@@ -66,12 +78,31 @@ public class FlowableEventSupport {
         }
     }
 
-    public void removeEventListener(FlowableEventListener listenerToRemove) {
+    public synchronized void removeEventListener(FlowableEventListener listenerToRemove) {
         eventListeners.remove(listenerToRemove);
 
         for (List<FlowableEventListener> listeners : typedListeners.values()) {
             listeners.remove(listenerToRemove);
         }
+        updateTypesWithListeners();
+    }
+
+    /**
+     * @return true, if a listener is registered for all events or for events of the given type.
+     */
+    public boolean hasListeners(FlowableEventType type) {
+        return !eventListeners.isEmpty() || typesWithListeners.contains(type);
+    }
+
+    /**
+     * @return true, if a listener is registered that wants to be notified of all events.
+     */
+    public boolean hasGlobalListeners() {
+        return !eventListeners.isEmpty();
+    }
+
+    public FlowableEventTypeSet getTypesWithListeners() {
+        return typesWithListeners;
     }
 
     public void dispatchEvent(FlowableEvent event) {
@@ -124,5 +155,32 @@ public class FlowableEventSupport {
         if (!listeners.contains(listener)) {
             listeners.add(listener);
         }
+        updateTypesWithListeners();
+    }
+
+    protected synchronized void updateTypesWithListeners() {
+        List<FlowableEventType> types = new ArrayList<FlowableEventType>();
+        for (Map.Entry<FlowableEventType, List<FlowableEventListener>> entry : typedListeners.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                types.add(entry.getKey());
+            }
+        }
+        typesWithListeners = FlowableEventTypeSet.of(types);
+        notifyProcessDefinitionDispatcher();
+    }
+
+    protected void notifyProcessDefinitionDispatcher() {
+        if (processDefinitionDispatcher != null) {
+            processDefinitionDispatcher.addProcessDefinitionEventSupport(this);
+        }
+    }
+
+    public FlowableEventDispatcherImpl getProcessDefinitionDispatcher() {
+        return processDefinitionDispatcher;
+    }
+
+    public void setProcessDefinitionDispatcher(FlowableEventDispatcherImpl processDefinitionDispatcher) {
+        this.processDefinitionDispatcher = processDefinitionDispatcher;
+        notifyProcessDefinitionDispatcher();
     }
 }
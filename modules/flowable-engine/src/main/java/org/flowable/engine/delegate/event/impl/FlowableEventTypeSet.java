@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.delegate.event.impl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEventType;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+
+/**
+ * Immutable set of event types. The {@link FlowableEngineEventType}s are kept in a bit set indexed on their ordinal, so checking whether a type is part of the set is a single bit lookup. Other
+ * (custom) event types are kept in a regular set.
+ * 
+ * Being immutable, instances can be read concurrently without locking: changes are made by creating a new set and publishing it through a volatile field.
+ */
+public class FlowableEventTypeSet {
+
+    public static final FlowableEventTypeSet EMPTY = new FlowableEventTypeSet(new BitSet(), Collections.<FlowableEventType> emptySet());
+
+    protected final BitSet engineEventTypes;
+    protected final Set<FlowableEventType> otherEventTypes;
+
+    protected FlowableEventTypeSet(BitSet engineEventTypes, Set<FlowableEventType> otherEventTypes) {
+        this.engineEventTypes = engineEventTypes;
+        this.otherEventTypes = otherEventTypes;
+    }
+
+    public static FlowableEventTypeSet of(Collection<? extends FlowableEventType> types) {
+        BitSet engineEventTypes = new BitSet();
+        Set<FlowableEventType> otherEventTypes = new HashSet<FlowableEventType>();
+        for (FlowableEventType type : types) {
+            if (type instanceof FlowableEngineEventType) {
+                engineEventTypes.set(((FlowableEngineEventType) type).ordinal());
+            } else {
+                otherEventTypes.add(type);
+            }
+        }
+        return new FlowableEventTypeSet(engineEventTypes, otherEventTypes);
+    }
+
+    public boolean contains(FlowableEventType type) {
+        if (type instanceof FlowableEngineEventType) {
+            return engineEventTypes.get(((FlowableEngineEventType) type).ordinal());
+        }
+        return !otherEventTypes.isEmpty() && otherEventTypes.contains(type);
+    }
+
+    public boolean isEmpty() {
+        return engineEventTypes.isEmpty() && otherEventTypes.isEmpty();
+    }
+
+    public FlowableEventTypeSet union(FlowableEventTypeSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        BitSet unionEngineEventTypes = (BitSet) engineEventTypes.clone();
+        unionEngineEventTypes.or(other.engineEventTypes);
+        Set<FlowableEventType> unionOtherEventTypes = new HashSet<FlowableEventType>(otherEventTypes);
+        unionOtherEventTypes.addAll(other.otherEventTypes);
+        return new FlowableEventTypeSet(unionEngineEventTypes, unionOtherEventTypes);
+    }
+
+    public FlowableEventType[] toArray() {
+        List<FlowableEventType> types = new ArrayList<FlowableEventType>(engineEventTypes.cardinality() + otherEventTypes.size());
+        FlowableEngineEventType[] allEngineEventTypes = FlowableEngineEventType.values();
+        for (int i = engineEventTypes.nextSetBit(0); i >= 0; i = engineEventTypes.nextSetBit(i + 1)) {
+            types.add(allEngineEventTypes[i]);
+        }
+        types.addAll(otherEventTypes);
+        return types.toArray(new FlowableEventType[types.size()]);
+    }
+
+}
@@ -80,6 +80,16 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
         return this;
     }
 
+    /**
+     * Executes the query in read-only mode: the resulting entities are not put in the entity cache and are not checked for changes when the command context is flushed. Use this for large listings
+     * of which the results are only read; changes made to the returned entities will not be persisted.
+     */
+    @SuppressWarnings("unchecked")
+    public T readOnly() {
+        this.readOnly = true;
+        return (T) this;
+    }
+
     public T orderBy(QueryProperty property) {
         this.orderProperty = property;
         return (T) this;
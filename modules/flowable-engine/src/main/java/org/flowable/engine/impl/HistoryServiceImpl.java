@@ -14,6 +14,7 @@
 
 package org.flowable.engine.impl;
 
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.HistoryService;
@@ -31,6 +32,7 @@ import org.flowable.engine.history.NativeHistoricVariableInstanceQuery;
 import org.flowable.engine.history.ProcessInstanceHistoryLogQuery;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.flowable.engine.impl.cmd.DeleteHistoricProcessInstancesEndedBeforeCmd;
 import org.flowable.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.flowable.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
 
@@ -87,6 +89,10 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
         commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
     }
 
+    public int deleteHistoricProcessInstancesEndedBefore(Date endedBefore, String processDefinitionKey, String tenantId, int batchSize) {
+        return commandExecutor.execute(new DeleteHistoricProcessInstancesEndedBeforeCmd(endedBefore, processDefinitionKey, tenantId, batchSize));
+    }
+
     public NativeHistoricProcessInstanceQuery createNativeHistoricProcessInstanceQuery() {
         return new NativeHistoricProcessInstanceQueryImpl(commandExecutor);
     }
@@ -19,6 +19,7 @@ import java.util.Map;
 import org.flowable.engine.ManagementService;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.management.StatementMetrics;
 import org.flowable.engine.common.api.management.TableMetaData;
 import org.flowable.engine.common.api.management.TablePageQuery;
 import org.flowable.engine.common.impl.cmd.CustomSqlExecution;
@@ -34,6 +35,7 @@ import org.flowable.engine.impl.cmd.ExecuteJobCmd;
 import org.flowable.engine.impl.cmd.GetEventLogEntriesCmd;
 import org.flowable.engine.impl.cmd.GetJobExceptionStacktraceCmd;
 import org.flowable.engine.impl.cmd.GetPropertiesCmd;
+import org.flowable.engine.impl.cmd.GetStatementMetricsCmd;
 import org.flowable.engine.impl.cmd.GetTableCountCmd;
 import org.flowable.engine.impl.cmd.GetTableMetaDataCmd;
 import org.flowable.engine.impl.cmd.GetTableNameCmd;
@@ -42,6 +44,7 @@ import org.flowable.engine.impl.cmd.MoveDeadLetterJobToExecutableJobCmd;
 import org.flowable.engine.impl.cmd.MoveJobToDeadLetterJobCmd;
 import org.flowable.engine.impl.cmd.MoveTimerToExecutableJobCmd;
 import org.flowable.engine.impl.cmd.RescheduleTimerJobCmd;
+import org.flowable.engine.impl.cmd.ResetStatementMetricsCmd;
 import org.flowable.engine.impl.cmd.SetJobRetriesCmd;
 import org.flowable.engine.impl.cmd.SetTimerJobRetriesCmd;
 import org.flowable.engine.impl.db.DbSqlSession;
@@ -238,4 +241,12 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
         commandExecutor.execute(new DeleteEventLogEntry(logNr));
     }
 
+    public Map<String, StatementMetrics> getStatementMetrics() {
+        return commandExecutor.execute(new GetStatementMetricsCmd());
+    }
+
+    public void resetStatementMetrics() {
+        commandExecutor.execute(new ResetStatementMetricsCmd());
+    }
+
 }
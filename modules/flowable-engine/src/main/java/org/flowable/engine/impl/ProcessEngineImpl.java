@@ -107,6 +107,18 @@ public class ProcessEngineImpl implements ProcessEngine {
             processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineBuilt(this);
         }
 
+        if (processEngineConfiguration.getAsyncEventListenerExecutor() != null) {
+            processEngineConfiguration.getAsyncEventListenerExecutor().start();
+        }
+
+        if (processEngineConfiguration.getAsyncMailSender() != null) {
+            processEngineConfiguration.getAsyncMailSender().start();
+        }
+
+        if (processEngineConfiguration.getAsyncEventLogEntryWriter() != null) {
+            processEngineConfiguration.getAsyncEventLogEntryWriter().start();
+        }
+
         processEngineConfiguration.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CREATED));
 
         if (asyncExecutor != null && asyncExecutor.isAutoActivate()) {
@@ -120,6 +132,19 @@ public class ProcessEngineImpl implements ProcessEngine {
             asyncExecutor.shutdown();
         }
 
+        // The queued events, mails and event log entries are handled before the close runnable, which can drop the schema
+        if (processEngineConfiguration.getAsyncEventListenerExecutor() != null) {
+            processEngineConfiguration.getAsyncEventListenerExecutor().shutdown();
+        }
+
+        if (processEngineConfiguration.getAsyncMailSender() != null) {
+            processEngineConfiguration.getAsyncMailSender().shutdown();
+        }
+
+        if (processEngineConfiguration.getAsyncEventLogEntryWriter() != null) {
+            processEngineConfiguration.getAsyncEventLogEntryWriter().shutdown();
+        }
+
         Runnable closeRunnable = processEngineConfiguration.getProcessEngineCloseRunnable();
         if (closeRunnable != null) {
             closeRunnable.run();
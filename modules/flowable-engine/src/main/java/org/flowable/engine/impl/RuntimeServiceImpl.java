@@ -33,6 +33,7 @@ import org.flowable.engine.impl.cmd.ChangeActivityStateCmd;
 import org.flowable.engine.impl.cmd.CompleteAdhocSubProcessCmd;
 import org.flowable.engine.impl.cmd.DeleteIdentityLinkForProcessInstanceCmd;
 import org.flowable.engine.impl.cmd.DeleteProcessInstanceCmd;
+import org.flowable.engine.impl.cmd.DeleteProcessInstancesAsyncCmd;
 import org.flowable.engine.impl.cmd.DispatchEventCommand;
 import org.flowable.engine.impl.cmd.ExecuteActivityForAdhocSubProcessCmd;
 import org.flowable.engine.impl.cmd.FindActiveActivityIdsCmd;
@@ -146,6 +147,17 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new DeleteProcessInstanceCmd(processInstanceId, deleteReason));
     }
 
+    public int deleteProcessInstancesAsync(List<String> processInstanceIds, String deleteReason) {
+        return commandExecutor.execute(new DeleteProcessInstancesAsyncCmd(processInstanceIds, deleteReason));
+    }
+
+    public int deleteProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery, String deleteReason) {
+        if (processInstanceQuery == null) {
+            throw new FlowableIllegalArgumentException("processInstanceQuery is null");
+        }
+        return commandExecutor.execute(new DeleteProcessInstancesAsyncCmd((ProcessInstanceQueryImpl) processInstanceQuery, deleteReason));
+    }
+
     public ExecutionQuery createExecutionQuery() {
         return new ExecutionQueryImpl(commandExecutor);
     }
@@ -75,7 +75,7 @@ public class ContinueMultiInstanceOperation extends AbstractOperation {
         if (activityBehavior != null) {
             logger.debug("Executing activityBehavior {} on activity '{}' with execution {}", activityBehavior.getClass(), flowNode.getId(), execution.getId());
 
-            if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+            if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_STARTED)) {
                 Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                         FlowableEventBuilder.createActivityEvent(FlowableEngineEventType.ACTIVITY_STARTED, flowNode.getId(), flowNode.getName(), execution.getId(),
                                 execution.getProcessInstanceId(), execution.getProcessDefinitionId(), flowNode));
@@ -33,6 +33,7 @@ import org.flowable.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.JobEntity;
 import org.flowable.engine.impl.util.ProcessDefinitionUtil;
+import org.flowable.engine.impl.util.VariablePrefetchUtil;
 import org.flowable.engine.logging.LogMDC;
 import org.flowable.engine.runtime.Job;
 import org.slf4j.Logger;
@@ -126,6 +127,7 @@ public class ContinueProcessOperation extends AbstractOperation {
     }
 
     protected void executeSynchronous(FlowNode flowNode) {
+        VariablePrefetchUtil.prefetchVariables(commandContext, execution, flowNode);
         commandContext.getHistoryManager().recordActivityStart(execution);
 
         // Execution listener: event 'start'
@@ -187,7 +189,7 @@ public class ContinueProcessOperation extends AbstractOperation {
     protected void executeActivityBehavior(ActivityBehavior activityBehavior, FlowNode flowNode) {
         logger.debug("Executing activityBehavior {} on activity '{}' with execution {}", activityBehavior.getClass(), flowNode.getId(), execution.getId());
 
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_STARTED)) {
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                     FlowableEventBuilder.createActivityEvent(FlowableEngineEventType.ACTIVITY_STARTED, flowNode.getId(), flowNode.getName(), execution.getId(),
                             execution.getProcessInstanceId(), execution.getProcessDefinitionId(), flowNode));
@@ -213,7 +215,7 @@ public class ContinueProcessOperation extends AbstractOperation {
         }
 
         // Firing event that transition is being taken
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.SEQUENCEFLOW_TAKEN)) {
             FlowElement sourceFlowElement = sequenceFlow.getSourceFlowElement();
             FlowElement targetFlowElement = sequenceFlow.getTargetFlowElement();
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
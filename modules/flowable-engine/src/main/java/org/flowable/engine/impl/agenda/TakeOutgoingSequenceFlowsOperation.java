@@ -38,6 +38,7 @@ import org.flowable.engine.impl.el.UelExpressionCondition;
 import org.flowable.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.flowable.engine.impl.util.VariablePrefetchUtil;
 import org.flowable.engine.impl.util.condition.ConditionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -117,6 +118,10 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
 
     protected void leaveFlowNode(FlowNode flowNode) {
 
+        if (evaluateConditions) {
+            VariablePrefetchUtil.prefetchVariables(commandContext, execution, flowNode);
+        }
+
         logger.debug("Leaving flow node {} with id '{}' by following it's {} outgoing sequenceflow",
                 flowNode.getClass(), flowNode.getId(), flowNode.getOutgoingFlows().size());
 
@@ -33,6 +33,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
     protected final AsyncExecutor asyncExecutor;
     protected final JobManager jobManager;
+    protected TimerJobWheel timerJobWheel;
 
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
@@ -54,18 +55,28 @@ public class AcquireTimerJobsRunnable implements Runnable {
         while (!isInterrupted) {
 
             try {
-                final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+                final AcquiredTimerJobEntities acquiredJobs;
+                if (timerJobWheel != null && timerJobWheel.isActive()) {
+                    // Timers due within the horizon are locked until their due date and fired by the wheel
+                    acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, timerJobWheel));
+                    for (TimerJobEntity job : acquiredJobs.getJobs()) {
+                        timerJobWheel.schedule(job);
+                    }
+
+                } else {
+                    acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
 
-                commandExecutor.execute(new Command<Void>() {
+                    commandExecutor.execute(new Command<Void>() {
 
-                    @Override
-                    public Void execute(CommandContext commandContext) {
-                        for (TimerJobEntity job : acquiredJobs.getJobs()) {
-                            jobManager.moveTimerJobToExecutableJob(job);
+                        @Override
+                        public Void execute(CommandContext commandContext) {
+                            for (TimerJobEntity job : acquiredJobs.getJobs()) {
+                                jobManager.moveTimerJobToExecutableJob(job);
+                            }
+                            return null;
                         }
-                        return null;
-                    }
-                });
+                    });
+                }
 
                 // if all jobs were executed
                 millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
@@ -124,6 +135,14 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
     }
 
+    public TimerJobWheel getTimerJobWheel() {
+        return timerJobWheel;
+    }
+
+    public void setTimerJobWheel(TimerJobWheel timerJobWheel) {
+        this.timerJobWheel = timerJobWheel;
+    }
+
     public long getMillisToWait() {
         return millisToWait;
     }
@@ -0,0 +1,248 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.impl.cfg.TransactionContext;
+import org.flowable.engine.impl.cfg.TransactionListener;
+import org.flowable.engine.impl.context.Context;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes items produced by the engine outside of the transaction that produced them, e.g. sending mails or writing event log entries.
+ *
+ * Items are queued in a bounded {@link BatchQueue} once the transaction that produced them is committed: the items of transactions that are rolled back are never processed. Worker threads take the
+ * items from the queue in batches and hand them to {@link #process(List)}. When an item can't be queued within {@link #queueOfferTimeoutInMillis}, because the queue is full or the worker isn't
+ * running, it is passed to {@link #rejected(Object)} on the calling thread.
+ *
+ * Stopping the worker waits until the items that were already queued have been processed.
+ */
+public abstract class AfterCommitWorker<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AfterCommitWorker.class);
+
+    protected String threadName;
+    protected BatchQueue<T> queue;
+
+    protected int queueSize = 1000;
+    protected int batchSize = 100;
+    protected int threadPoolSize = 1;
+    protected long queueOfferTimeoutInMillis = 1000L;
+    protected long pollTimeoutInMillis = 1000L;
+
+    protected List<Thread> workerThreads;
+    protected volatile boolean active;
+
+    public AfterCommitWorker(String threadName) {
+        this.threadName = threadName;
+    }
+
+    // Queueing (engine thread) ///////////////////////////////////////////////
+
+    /**
+     * Queues the items once the current transaction has been committed, or immediately when there is no transaction.
+     */
+    public void queueAfterCommit(final List<T> items) {
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+                public void execute(CommandContext commandContext) {
+                    queue(items);
+                }
+            });
+        } else {
+            queue(items);
+        }
+    }
+
+    public void queue(List<T> items) {
+        for (T item : items) {
+            queue(item);
+        }
+    }
+
+    public void queue(T item) {
+        boolean queued = false;
+        if (active) {
+            try {
+                queued = queue.offer(item, queueOfferTimeoutInMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (!queued) {
+            rejected(item);
+        }
+    }
+
+    /**
+     * Called on the queueing thread for an item that couldn't be queued, because the queue is full or the worker isn't active.
+     */
+    protected abstract void rejected(T item);
+
+    // Processing (worker threads) ////////////////////////////////////////////
+
+    /**
+     * Processes a batch of queued items. Called on a worker thread.
+     */
+    protected abstract void process(List<T> items);
+
+    protected BatchQueue<T> createQueue() {
+        return new BlockingBatchQueue<T>(queueSize);
+    }
+
+    public synchronized void start() {
+        if (active) {
+            return;
+        }
+
+        if (queue == null) {
+            queue = createQueue();
+        }
+
+        active = true;
+        workerThreads = new ArrayList<Thread>(threadPoolSize);
+        for (int i = 0; i < threadPoolSize; i++) {
+            Thread workerThread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    processQueuedItems();
+                }
+            });
+            workerThread.setName(threadPoolSize > 1 ? threadName + "-" + i : threadName);
+            workerThread.setDaemon(true);
+            workerThread.start();
+            workerThreads.add(workerThread);
+        }
+    }
+
+    /**
+     * Stops the worker threads, after the items that were already queued have been processed.
+     */
+    public synchronized void shutdown() {
+        if (!active) {
+            return;
+        }
+
+        active = false;
+        for (Thread workerThread : workerThreads) {
+            try {
+                workerThread.join();
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while waiting for the {} threads to stop", threadName, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerThreads = null;
+    }
+
+    protected void processQueuedItems() {
+        List<T> batch = new ArrayList<T>(batchSize);
+        while (true) {
+            boolean stopping = !active;
+            try {
+                queue.drainTo(batch, batchSize, stopping ? 0L : pollTimeoutInMillis);
+            } catch (InterruptedException e) {
+                logger.info("{} thread interrupted", threadName);
+                return;
+            }
+
+            if (batch.isEmpty()) {
+                if (stopping) {
+                    return;
+                }
+                continue;
+            }
+
+            try {
+                process(batch);
+            } catch (RuntimeException e) {
+                logger.error("Could not process {} queued items on {} thread", batch.size(), threadName, e);
+            }
+            batch.clear();
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return the number of items waiting in the queue.
+     */
+    public int getQueuedItemCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    // getters and setters //////////////////////////////////////////////////////
+
+    public BatchQueue<T> getQueue() {
+        return queue;
+    }
+
+    public void setQueue(BatchQueue<T> queue) {
+        if (active) {
+            throw new FlowableException("The queue can't be changed while the " + threadName + " worker is active");
+        }
+        this.queue = queue;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    public void setThreadPoolSize(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    public long getQueueOfferTimeoutInMillis() {
+        return queueOfferTimeoutInMillis;
+    }
+
+    public void setQueueOfferTimeoutInMillis(long queueOfferTimeoutInMillis) {
+        this.queueOfferTimeoutInMillis = queueOfferTimeoutInMillis;
+    }
+
+    public long getPollTimeoutInMillis() {
+        return pollTimeoutInMillis;
+    }
+
+    public void setPollTimeoutInMillis(long pollTimeoutInMillis) {
+        this.pollTimeoutInMillis = pollTimeoutInMillis;
+    }
+
+}
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.List;
+
+/**
+ * Holds the items queued by committed transactions until they are processed by an {@link AfterCommitWorker}. The default implementation is the bounded {@link BlockingBatchQueue}.
+ */
+public interface BatchQueue<T> {
+
+    /**
+     * Adds an item to the queue, waiting up to the given time for space to become available.
+     *
+     * @return false when the item could not be queued in time.
+     */
+    boolean offer(T item, long timeoutInMillis) throws InterruptedException;
+
+    /**
+     * Moves at most maxItems items to the given list, waiting up to the given time when the queue is empty.
+     *
+     * @return the number of items added to the list.
+     */
+    int drainTo(List<T> items, int maxItems, long timeoutInMillis) throws InterruptedException;
+
+    int size();
+
+}
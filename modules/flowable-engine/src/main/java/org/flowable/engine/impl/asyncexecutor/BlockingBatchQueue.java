@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BatchQueue} backed by a bounded blocking queue.
+ */
+public class BlockingBatchQueue<T> implements BatchQueue<T> {
+
+    protected BlockingQueue<T> queue;
+
+    public BlockingBatchQueue(int capacity) {
+        this.queue = new LinkedBlockingQueue<T>(capacity);
+    }
+
+    @Override
+    public boolean offer(T item, long timeoutInMillis) throws InterruptedException {
+        return queue.offer(item, timeoutInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int drainTo(List<T> items, int maxItems, long timeoutInMillis) throws InterruptedException {
+        int count = queue.drainTo(items, maxItems);
+        if (count == 0 && timeoutInMillis > 0) {
+            T item = queue.poll(timeoutInMillis, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                items.add(item);
+                count = 1 + queue.drainTo(items, maxItems - 1);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+}
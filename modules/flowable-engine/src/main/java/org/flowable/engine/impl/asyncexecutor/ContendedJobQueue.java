@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.flowable.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes the execution of async jobs of the same process instance that fail with an optimistic locking exception, e.g. the jobs of the branches of a parallel gateway that all try to update the
+ * joining execution.
+ *
+ * Instead of marking such a job as failed and waiting until it's acquired again, the job is kept locked and is queued in memory behind the other jobs of its process instance that are being executed
+ * by this async executor. Once none of them is running anymore, the queued jobs are handed to the thread pool again, one at a time, so they don't conflict with each other again. When no other job
+ * of the process instance is running, the conflict came from another node or from a job that has just finished, and the job is handed to the thread pool right away.
+ */
+public class ContendedJobQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContendedJobQueue.class);
+
+    protected DefaultAsyncJobExecutor asyncExecutor;
+
+    /** The number of times a job is queued again before it's handled as failed job */
+    protected int maxRequeues = 3;
+
+    // Mapping of process instance id -> jobs of that process instance that are being executed
+    protected Map<String, Integer> runningJobCounts = new HashMap<String, Integer>();
+
+    // Mapping of process instance id -> jobs of that process instance that wait until the running ones have finished
+    protected Map<String, LinkedList<ExecuteAsyncRunnable>> waitingJobs = new HashMap<String, LinkedList<ExecuteAsyncRunnable>>();
+
+    protected volatile boolean active = true;
+
+    public ContendedJobQueue(DefaultAsyncJobExecutor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @return whether a job that has been queued the given number of times already can be queued again.
+     */
+    public boolean canRequeue(Job job, int requeueCount) {
+        return active && job.getProcessInstanceId() != null && requeueCount < maxRequeues;
+    }
+
+    public synchronized void jobStarted(Job job) {
+        String processInstanceId = job.getProcessInstanceId();
+        if (processInstanceId == null) {
+            return;
+        }
+
+        Integer runningJobCount = runningJobCounts.get(processInstanceId);
+        runningJobCounts.put(processInstanceId, runningJobCount != null ? runningJobCount + 1 : 1);
+    }
+
+    /**
+     * Called when the execution of the job has finished, successful or not.
+     *
+     * @param requeuedRunnable
+     *            the runnable of the job when it has to be executed again, or null
+     */
+    public void jobEnded(Job job, ExecuteAsyncRunnable requeuedRunnable) {
+        String processInstanceId = job.getProcessInstanceId();
+        if (processInstanceId == null) {
+            return;
+        }
+
+        ExecuteAsyncRunnable nextRunnable = null;
+        boolean unacquire = false;
+        synchronized (this) {
+            Integer runningJobCount = runningJobCounts.get(processInstanceId);
+            int remainingJobCount = runningJobCount != null ? runningJobCount - 1 : 0;
+            if (remainingJobCount > 0) {
+                runningJobCounts.put(processInstanceId, remainingJobCount);
+            } else {
+                runningJobCounts.remove(processInstanceId);
+            }
+
+            LinkedList<ExecuteAsyncRunnable> processInstanceWaitingJobs = waitingJobs.get(processInstanceId);
+            if (requeuedRunnable != null && !active) {
+                unacquire = true;
+
+            } else if (requeuedRunnable != null) {
+                if (processInstanceWaitingJobs == null) {
+                    processInstanceWaitingJobs = new LinkedList<ExecuteAsyncRunnable>();
+                    waitingJobs.put(processInstanceId, processInstanceWaitingJobs);
+                }
+                processInstanceWaitingJobs.add(requeuedRunnable);
+            }
+
+            // The next job is only released when no other job of the process instance is running anymore
+            if (remainingJobCount == 0 && processInstanceWaitingJobs != null) {
+                nextRunnable = processInstanceWaitingJobs.poll();
+                if (processInstanceWaitingJobs.isEmpty()) {
+                    waitingJobs.remove(processInstanceId);
+                }
+            }
+        }
+
+        if (unacquire) {
+            asyncExecutor.unacquireJob(job);
+        }
+
+        if (nextRunnable != null) {
+            logger.debug("Executing job {} of process instance {} again after an optimistic locking exception", nextRunnable.getJob().getId(), processInstanceId);
+            asyncExecutor.executeAsyncJob(nextRunnable.getJob(), nextRunnable);
+        }
+    }
+
+    /**
+     * Releases the jobs that are still waiting, so they can be acquired again.
+     */
+    public void shutdown() {
+        LinkedList<ExecuteAsyncRunnable> remainingRunnables = new LinkedList<ExecuteAsyncRunnable>();
+        synchronized (this) {
+            active = false;
+            for (LinkedList<ExecuteAsyncRunnable> processInstanceWaitingJobs : waitingJobs.values()) {
+                remainingRunnables.addAll(processInstanceWaitingJobs);
+            }
+            waitingJobs.clear();
+        }
+
+        for (ExecuteAsyncRunnable runnable : remainingRunnables) {
+            try {
+                asyncExecutor.unacquireJob(runnable.getJob());
+            } catch (Exception e) {
+                logger.warn("Could not unacquire job {}", runnable.getJob().getId(), e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of jobs that wait until the other jobs of their process instance have finished.
+     */
+    public synchronized int getWaitingJobCount() {
+        int waitingJobCount = 0;
+        for (LinkedList<ExecuteAsyncRunnable> processInstanceWaitingJobs : waitingJobs.values()) {
+            waitingJobCount += processInstanceWaitingJobs.size();
+        }
+        return waitingJobCount;
+    }
+
+    public int getMaxRequeues() {
+        return maxRequeues;
+    }
+
+    public void setMaxRequeues(int maxRequeues) {
+        this.maxRequeues = maxRequeues;
+    }
+
+}
@@ -72,6 +72,33 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
      */
     protected long secondsToWaitOnShutdown = 60L;
 
+    /**
+     * Whether timers that are due soon are locked in advance and kept in a {@link TimerJobWheel}, so they are executed at their due date without moving them to an async job first.
+     */
+    protected boolean timerJobWheelEnabled;
+
+    /** Timers that are due within this time (in milliseconds) are put in the timer job wheel. Should be larger than the timer acquire wait time. */
+    protected int timerJobWheelHorizonInMillis = 20 * 1000;
+
+    /** The time (in milliseconds) covered by one bucket of the timer job wheel, which is the precision with which timers are fired */
+    protected int timerJobWheelTickDurationInMillis = 100;
+
+    /** The number of buckets of the timer job wheel (rounded up to a power of two) */
+    protected int timerJobWheelSize = 512;
+
+    protected TimerJobWheel timerJobWheel;
+
+    /**
+     * Whether async jobs that fail with an optimistic locking exception are queued again in memory behind the other jobs of their process instance, instead of being handled as failed jobs.
+     * See {@link ContendedJobQueue}.
+     */
+    protected boolean contendedJobRequeueEnabled;
+
+    /** The number of times a job is queued again in memory before it's handled as failed job */
+    protected int contendedJobMaxRequeues = 3;
+
+    protected ContendedJobQueue contendedJobQueue;
+
     protected boolean executeAsyncJob(final Job job, Runnable runnable) {
         try {
             executorService.execute(runnable);
@@ -84,35 +111,42 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
             // so other executors can pick the job up (or this async executor, the next time the
             // acquire query is executed.
 
-            // This can happen while already in a command context (for example in a transaction listener
-            // after the async executor has been hinted that a new async job is created)
-            // or not (when executed in the acquire thread runnable)
-
-            CommandContext commandContext = Context.getCommandContext();
-            if (commandContext != null) {
-                commandContext.getJobManager().unacquire(job);
-
-            } else {
-                processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
-                    public Void execute(CommandContext commandContext) {
-                        commandContext.getJobManager().unacquire(job);
-                        return null;
-                    }
-                });
-            }
+            unacquireJob(job);
 
             // Job queue full, returning true so (if wanted) the acquiring can be throttled
             return false;
         }
     }
 
+    protected void unacquireJob(final Job job) {
+
+        // This can happen while already in a command context (for example in a transaction listener
+        // after the async executor has been hinted that a new async job is created)
+        // or not (when executed in the acquire thread runnable)
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.getJobManager().unacquire(job);
+
+        } else {
+            processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+                public Void execute(CommandContext commandContext) {
+                    commandContext.getJobManager().unacquire(job);
+                    return null;
+                }
+            });
+        }
+    }
+
     @Override
     protected void startAdditionalComponents() {
         if (!isMessageQueueMode) {
             initAsyncJobExecutionThreadPool();
+            startContendedJobQueue();
             startJobAcquisitionThread();
         }
 
+        startTimerJobWheel();
         startTimerAcquisitionThread();
         startResetExpiredJobsThread();
     }
@@ -121,10 +155,69 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected void shutdownAdditionalComponents() {
         stopResetExpiredJobsThread();
         stopTimerAcquisitionThread();
+        stopTimerJobWheel();
         stopJobAcquisitionThread();
+        stopContendedJobQueue();
         stopExecutingAsyncJobs();
     }
 
+    @Override
+    protected Runnable createRunnableForJob(Job job) {
+        Runnable runnable = super.createRunnableForJob(job);
+        if (contendedJobQueue != null && runnable instanceof ExecuteAsyncRunnable) {
+            ((ExecuteAsyncRunnable) runnable).setContendedJobQueue(contendedJobQueue);
+        }
+        return runnable;
+    }
+
+    protected void startContendedJobQueue() {
+        if (contendedJobRequeueEnabled) {
+            contendedJobQueue = new ContendedJobQueue(this);
+            contendedJobQueue.setMaxRequeues(contendedJobMaxRequeues);
+        }
+    }
+
+    protected void stopContendedJobQueue() {
+        if (contendedJobQueue != null) {
+            contendedJobQueue.shutdown();
+            contendedJobQueue = null;
+        }
+    }
+
+    protected void startTimerJobWheel() {
+        if (timerJobWheelEnabled) {
+            if (timerJobWheel == null) {
+                timerJobWheel = new TimerJobWheel(this, timerJobWheelTickDurationInMillis, timerJobWheelSize, timerJobWheelHorizonInMillis);
+            }
+            timerJobWheel.start();
+            timerJobRunnable.setTimerJobWheel(timerJobWheel);
+        }
+    }
+
+    protected void stopTimerJobWheel() {
+        if (timerJobWheel != null) {
+            timerJobWheel.stop();
+        }
+    }
+
+    /**
+     * Hands a timer that is fired by the {@link TimerJobWheel} to the thread pool.
+     * 
+     * @return false when the thread pool can't accept the timer, in which case it is moved to an async job instead
+     */
+    protected boolean executeTimerJob(ExecuteTimerJobRunnable runnable) {
+        if (executorService == null) {
+            return false;
+        }
+
+        try {
+            executorService.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
     protected void initAsyncJobExecutionThreadPool() {
         if (threadPoolQueue == null) {
             log.info("Creating thread pool queue of size {}", queueSize);
@@ -311,6 +404,72 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         this.threadPoolQueue = threadPoolQueue;
     }
 
+    public boolean isTimerJobWheelEnabled() {
+        return timerJobWheelEnabled;
+    }
+
+    public void setTimerJobWheelEnabled(boolean timerJobWheelEnabled) {
+        this.timerJobWheelEnabled = timerJobWheelEnabled;
+    }
+
+    public int getTimerJobWheelHorizonInMillis() {
+        return timerJobWheelHorizonInMillis;
+    }
+
+    public void setTimerJobWheelHorizonInMillis(int timerJobWheelHorizonInMillis) {
+        this.timerJobWheelHorizonInMillis = timerJobWheelHorizonInMillis;
+    }
+
+    public int getTimerJobWheelTickDurationInMillis() {
+        return timerJobWheelTickDurationInMillis;
+    }
+
+    public void setTimerJobWheelTickDurationInMillis(int timerJobWheelTickDurationInMillis) {
+        this.timerJobWheelTickDurationInMillis = timerJobWheelTickDurationInMillis;
+    }
+
+    public int getTimerJobWheelSize() {
+        return timerJobWheelSize;
+    }
+
+    public void setTimerJobWheelSize(int timerJobWheelSize) {
+        this.timerJobWheelSize = timerJobWheelSize;
+    }
+
+    /**
+     * @return the timer job wheel, or null when it is not enabled.
+     */
+    public TimerJobWheel getTimerJobWheel() {
+        return timerJobWheel;
+    }
+
+    public void setTimerJobWheel(TimerJobWheel timerJobWheel) {
+        this.timerJobWheel = timerJobWheel;
+    }
+
+    public boolean isContendedJobRequeueEnabled() {
+        return contendedJobRequeueEnabled;
+    }
+
+    public void setContendedJobRequeueEnabled(boolean contendedJobRequeueEnabled) {
+        this.contendedJobRequeueEnabled = contendedJobRequeueEnabled;
+    }
+
+    public int getContendedJobMaxRequeues() {
+        return contendedJobMaxRequeues;
+    }
+
+    public void setContendedJobMaxRequeues(int contendedJobMaxRequeues) {
+        this.contendedJobMaxRequeues = contendedJobMaxRequeues;
+    }
+
+    /**
+     * @return the queue of jobs that failed with an optimistic locking exception, or null when it is not enabled.
+     */
+    public ContendedJobQueue getContendedJobQueue() {
+        return contendedJobQueue;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
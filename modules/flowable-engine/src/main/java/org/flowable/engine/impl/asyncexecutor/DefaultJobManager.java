@@ -45,6 +45,7 @@ import org.flowable.engine.impl.jobexecutor.AsyncJobAddedNotification;
 import org.flowable.engine.impl.jobexecutor.JobAddedTransactionListener;
 import org.flowable.engine.impl.jobexecutor.JobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerEventHandler;
+import org.flowable.engine.impl.jobexecutor.TimerJobWheelTransactionListener;
 import org.flowable.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.flowable.engine.impl.persistence.entity.AbstractJobEntity;
@@ -121,13 +122,27 @@ public class DefaultJobManager implements JobManager {
         if (timerJob == null) {
             throw new FlowableException("Empty timer job can not be scheduled");
         }
+
+        // Timers that are due soon are locked right away and put in the timer job wheel when the transaction is committed,
+        // instead of being acquired by the next timer acquisition
+        TimerJobWheel timerJobWheel = getTimerJobWheel();
+        boolean addToTimerJobWheel = timerJobWheel != null && Context.getTransactionContext() != null && timerJobWheel.isWithinHorizon(timerJob.getDuedate());
+        if (addToTimerJobWheel) {
+            timerJob.setLockOwner(getAsyncExecutor().getLockOwner());
+            timerJob.setLockExpirationTime(timerJobWheel.getLockExpirationTime(timerJob.getDuedate()));
+        }
+
         processEngineConfiguration.getTimerJobEntityManager().insert(timerJob);
+
+        if (addToTimerJobWheel) {
+            Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TimerJobWheelTransactionListener(timerJob, timerJobWheel));
+        }
     }
 
     private void sendTimerScheduledEvent(TimerJobEntity timerJob) {
         CommandContext commandContext = Context.getCommandContext();
         FlowableEventDispatcher eventDispatcher = commandContext.getEventDispatcher();
-        if (eventDispatcher.isEnabled()) {
+        if (eventDispatcher.hasListeners(FlowableEngineEventType.TIMER_SCHEDULED)) {
             eventDispatcher.dispatchEvent(
                     FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TIMER_SCHEDULED, timerJob));
         }
@@ -151,7 +166,7 @@ public class DefaultJobManager implements JobManager {
             processEngineConfiguration.getTimerJobEntityManager().delete(timerJob);
             scheduleTimer(rescheduledTimerJob);
 
-            if (Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+            if (Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_RESCHEDULED)) {
                 Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                         FlowableEventBuilder.createJobRescheduledEvent(FlowableEngineEventType.JOB_RESCHEDULED, rescheduledTimerJob, timerJob.getId()));
             }
@@ -180,6 +195,22 @@ public class DefaultJobManager implements JobManager {
         return null;
     }
 
+    @Override
+    public void executeTimerJobDirectly(TimerJobEntity timerJob) {
+        if (timerJob == null) {
+            throw new FlowableException("Empty timer job can not be executed");
+        }
+
+        // The executable job is inserted and deleted in the same transaction, so both operations cancel each other out when flushing.
+        // The async executor is not hinted, as the job is executed right away.
+        JobEntity executableJob = createExecutableJobFromOtherJob(timerJob);
+        boolean insertSuccessful = processEngineConfiguration.getJobEntityManager().insertJobEntity(executableJob);
+        if (insertSuccessful) {
+            processEngineConfiguration.getTimerJobEntityManager().delete(timerJob);
+            execute(executableJob);
+        }
+    }
+
     @Override
     public TimerJobEntity moveJobToTimerJob(AbstractJobEntity job) {
         TimerJobEntity timerJob = createTimerJobFromOtherJob(job);
@@ -568,6 +599,17 @@ public class DefaultJobManager implements JobManager {
         return processEngineConfiguration.getAsyncExecutor().isActive();
     }
 
+    protected TimerJobWheel getTimerJobWheel() {
+        AsyncExecutor asyncExecutor = getAsyncExecutor();
+        if (asyncExecutor instanceof DefaultAsyncJobExecutor && asyncExecutor.isActive()) {
+            TimerJobWheel timerJobWheel = ((DefaultAsyncJobExecutor) asyncExecutor).getTimerJobWheel();
+            if (timerJobWheel != null && timerJobWheel.isActive()) {
+                return timerJobWheel;
+            }
+        }
+        return null;
+    }
+
     protected CommandContext getCommandContext() {
         return Context.getCommandContext();
     }
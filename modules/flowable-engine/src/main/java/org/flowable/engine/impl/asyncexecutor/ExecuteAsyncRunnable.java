@@ -43,6 +43,11 @@ public class ExecuteAsyncRunnable implements Runnable {
     protected Job job;
     protected ProcessEngineConfigurationImpl processEngineConfiguration;
 
+    // Set when jobs that fail with an optimistic locking exception are queued again in memory
+    protected ContendedJobQueue contendedJobQueue;
+    protected int requeueCount;
+    protected boolean requeued;
+
     public ExecuteAsyncRunnable(String jobId, ProcessEngineConfigurationImpl processEngineConfiguration) {
         this.jobId = jobId;
         this.processEngineConfiguration = processEngineConfiguration;
@@ -69,11 +74,23 @@ public class ExecuteAsyncRunnable implements Runnable {
             return;
         }
 
-        boolean lockNotNeededOrSuccess = lockJobIfNeeded();
+        requeued = false;
+        if (contendedJobQueue != null) {
+            contendedJobQueue.jobStarted(job);
+        }
+
+        try {
+            boolean lockNotNeededOrSuccess = lockJobIfNeeded();
+
+            if (lockNotNeededOrSuccess) {
+                executeJob();
+                unlockJobIfNeeded();
+            }
 
-        if (lockNotNeededOrSuccess) {
-            executeJob();
-            unlockJobIfNeeded();
+        } finally {
+            if (contendedJobQueue != null) {
+                contendedJobQueue.jobEnded(job, requeued ? this : null);
+            }
         }
 
     }
@@ -98,6 +115,12 @@ public class ExecuteAsyncRunnable implements Runnable {
 
         } catch (final FlowableOptimisticLockingException e) {
 
+            if (requeueContendedJob()) {
+                log.debug("Optimistic locking exception during execution of job {}, queueing the job again behind the other jobs of process instance {}. Exception message: {}",
+                        jobId, job.getProcessInstanceId(), e.getMessage());
+                return;
+            }
+
             handleFailedJob(e);
 
             if (log.isDebugEnabled()) {
@@ -116,6 +139,18 @@ public class ExecuteAsyncRunnable implements Runnable {
         }
     }
 
+    /**
+     * Returns true if the job will be executed again once the other jobs of its process instance have finished, instead of being handled as failed job.
+     */
+    protected boolean requeueContendedJob() {
+        if (contendedJobQueue != null && contendedJobQueue.canRequeue(job, requeueCount)) {
+            requeueCount++;
+            requeued = true;
+            return true;
+        }
+        return false;
+    }
+
     protected void unlockJobIfNeeded() {
         try {
             if (job.isExclusive()) {
@@ -192,7 +227,7 @@ public class ExecuteAsyncRunnable implements Runnable {
 
                 // Dispatch an event, indicating job execution failed in a
                 // try-catch block, to prevent the original exception to be swallowed
-                if (commandContext.getEventDispatcher().isEnabled()) {
+                if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_EXECUTION_FAILURE)) {
                     try {
                         commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityExceptionEvent(FlowableEngineEventType.JOB_EXECUTION_FAILURE, job, exception));
                     } catch (Throwable ignore) {
@@ -206,4 +241,16 @@ public class ExecuteAsyncRunnable implements Runnable {
         });
     }
 
+    public Job getJob() {
+        return job;
+    }
+
+    public ContendedJobQueue getContendedJobQueue() {
+        return contendedJobQueue;
+    }
+
+    public void setContendedJobQueue(ContendedJobQueue contendedJobQueue) {
+        this.contendedJobQueue = contendedJobQueue;
+    }
+
 }
@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.ExecuteTimerJobCmd;
+import org.flowable.engine.impl.cmd.LockExclusiveJobCmd;
+import org.flowable.engine.impl.cmd.UnlockExclusiveJobCmd;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a timer job that was fired by the {@link TimerJobWheel}, without moving it to an async job first.
+ *
+ * When the timer can't be executed directly (the process instance is locked by another exclusive job, or the timer logic throws an exception), the timer is moved to an async job as before, so the
+ * regular exclusive locking and retry logic of the {@link AsyncExecutor} applies.
+ */
+public class ExecuteTimerJobRunnable implements Runnable {
+
+    private static Logger log = LoggerFactory.getLogger(ExecuteTimerJobRunnable.class);
+
+    protected TimerJobEntity timerJob;
+    protected String lockOwner;
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public ExecuteTimerJobRunnable(TimerJobEntity timerJob, String lockOwner, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        this.timerJob = timerJob;
+        this.lockOwner = lockOwner;
+        this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public void run() {
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        boolean executed = false;
+        if (lockProcessInstanceIfNeeded(commandExecutor)) {
+            try {
+                commandExecutor.execute(new ExecuteTimerJobCmd(timerJob.getId(), lockOwner));
+                executed = true;
+
+            } catch (FlowableOptimisticLockingException e) {
+                log.debug("Optimistic locking exception while executing timer job {}, moving it to an async job", timerJob.getId());
+
+            } catch (Throwable e) {
+                log.debug("Exception while executing timer job {}, moving it to an async job: {}", timerJob.getId(), e.getMessage());
+
+            } finally {
+                unlockProcessInstanceIfNeeded(commandExecutor);
+            }
+        }
+
+        if (!executed) {
+            moveToExecutableJob();
+        }
+    }
+
+    protected boolean lockProcessInstanceIfNeeded(CommandExecutor commandExecutor) {
+        if (!isExclusiveProcessInstanceJob()) {
+            return true;
+        }
+
+        try {
+            commandExecutor.execute(new LockExclusiveJobCmd(timerJob));
+            return true;
+
+        } catch (Throwable e) {
+            log.debug("Could not lock process instance {} for timer job {}, moving it to an async job", timerJob.getProcessInstanceId(), timerJob.getId());
+            return false;
+        }
+    }
+
+    protected void unlockProcessInstanceIfNeeded(CommandExecutor commandExecutor) {
+        if (!isExclusiveProcessInstanceJob()) {
+            return;
+        }
+
+        try {
+            commandExecutor.execute(new UnlockExclusiveJobCmd(timerJob));
+        } catch (Throwable e) {
+            log.error("Error while unlocking exclusive timer job {}", timerJob.getId(), e);
+        }
+    }
+
+    protected boolean isExclusiveProcessInstanceJob() {
+        return timerJob.isExclusive() && timerJob.getProcessInstanceId() != null;
+    }
+
+    /**
+     * Moves the timer to an async job, so it's picked up by the {@link AsyncExecutor}. Can also be used when the timer can't be handed to a thread for direct execution.
+     */
+    public void moveToExecutableJob() {
+        try {
+            processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    TimerJobEntity currentTimerJob = commandContext.getTimerJobEntityManager().findById(timerJob.getId());
+                    if (currentTimerJob != null && lockOwner.equals(currentTimerJob.getLockOwner())) {
+                        commandContext.getJobManager().moveTimerJobToExecutableJob(currentTimerJob);
+                    }
+                    return null;
+                }
+            });
+
+        } catch (Throwable e) {
+            // The timer stays locked until the lock expires, after which it is acquired again
+            log.error("Could not move timer job {} to an async job", timerJob.getId(), e);
+        }
+    }
+
+    public TimerJobEntity getTimerJob() {
+        return timerJob;
+    }
+
+}
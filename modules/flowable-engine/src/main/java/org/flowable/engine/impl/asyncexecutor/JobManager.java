@@ -73,6 +73,13 @@ public interface JobManager {
      */
     JobEntity moveTimerJobToExecutableJob(TimerJobEntity timerJob);
 
+    /**
+     * Executes a {@link TimerJobEntity} in the current transaction, without moving it to an async {@link JobEntity} that needs to be picked up by the {@link AsyncExecutor} first.
+     * 
+     * This is used for timers that are fired by the {@link TimerJobWheel} at their due date.
+     */
+    void executeTimerJobDirectly(TimerJobEntity timerJob);
+
     /**
      * Moves an {@link AbstractJobEntity} to become a {@link TimerJobEntity}.
      * 
@@ -0,0 +1,310 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel holding timer jobs that are locked by the {@link DefaultAsyncJobExecutor} before they are due. Each timer is fired at its due date (with the precision of one tick) by
+ * executing it directly with an {@link ExecuteTimerJobRunnable}, instead of waiting for the timer acquisition to move it to an async job that then needs to be acquired again.
+ *
+ * The wheel has a fixed number of buckets, each covering the timers that are due in one tick. Timers that are due after more than one rotation of the wheel keep track of the number of rotations
+ * they still need to wait. Timers are handed over to the wheel thread through a concurrent queue, so scheduling a timer never blocks.
+ *
+ * Only timers that are due within the horizon are put in the wheel. Their lock is extended until the due date, so no other async executor acquires them in the meantime.
+ */
+public class TimerJobWheel implements Runnable {
+
+    private static Logger log = LoggerFactory.getLogger(TimerJobWheel.class);
+
+    protected final DefaultAsyncJobExecutor asyncExecutor;
+    protected final long tickDurationInNanos;
+    protected final long horizonInMillis;
+    protected final List<List<TimerJobWheelEntry>> buckets;
+    protected final int mask;
+
+    protected final Queue<TimerJobWheelEntry> scheduledEntries = new ConcurrentLinkedQueue<TimerJobWheelEntry>();
+    protected final Set<String> scheduledJobIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    protected Thread thread;
+    protected volatile boolean isInterrupted;
+    protected final Object MONITOR = new Object();
+    protected long startTime;
+    protected long tick;
+
+    protected final AtomicLong firedTimerJobCount = new AtomicLong();
+    protected final AtomicLong totalLatenessInMillis = new AtomicLong();
+    protected final AtomicLong maxLatenessInMillis = new AtomicLong();
+
+    public TimerJobWheel(DefaultAsyncJobExecutor asyncExecutor, long tickDurationInMillis, int wheelSize, long horizonInMillis) {
+        this.asyncExecutor = asyncExecutor;
+        this.tickDurationInNanos = TimeUnit.MILLISECONDS.toNanos(tickDurationInMillis);
+        this.horizonInMillis = horizonInMillis;
+
+        // Round up to a power of two, so the bucket of a tick can be calculated with a mask
+        int normalizedWheelSize = Integer.highestOneBit(Math.max(wheelSize, 1) - 1) << 1;
+        if (normalizedWheelSize <= 0) {
+            normalizedWheelSize = 1;
+        }
+        this.mask = normalizedWheelSize - 1;
+        this.buckets = new ArrayList<List<TimerJobWheelEntry>>(normalizedWheelSize);
+        for (int i = 0; i < normalizedWheelSize; i++) {
+            buckets.add(new LinkedList<TimerJobWheelEntry>());
+        }
+    }
+
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        isInterrupted = false;
+        startTime = System.nanoTime();
+        tick = 0;
+        thread = new Thread(this, "flowable-timer-job-wheel");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the wheel thread and releases the lock of the timers that were not fired yet, so they can be acquired again.
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+
+        synchronized (MONITOR) {
+            isInterrupted = true;
+            MONITOR.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            log.warn("Interrupted while waiting for the timer job wheel thread to terminate", e);
+        }
+        thread = null;
+
+        List<TimerJobWheelEntry> pendingEntries = new ArrayList<TimerJobWheelEntry>(scheduledEntries);
+        scheduledEntries.clear();
+        for (List<TimerJobWheelEntry> bucket : buckets) {
+            pendingEntries.addAll(bucket);
+            bucket.clear();
+        }
+        scheduledJobIds.clear();
+
+        if (!pendingEntries.isEmpty()) {
+            unlockTimerJobs(pendingEntries);
+        }
+    }
+
+    public boolean isActive() {
+        return thread != null && !isInterrupted;
+    }
+
+    /**
+     * @return whether a timer with the given due date should be put in the wheel instead of being moved to an async job when it is due.
+     */
+    public boolean isWithinHorizon(Date dueDate) {
+        return dueDate != null && dueDate.getTime() <= getCurrentTimeInMillis() + horizonInMillis;
+    }
+
+    /**
+     * @return the lock expiration time of a timer that is put in the wheel: the lock of the timer job needs to be valid until the timer has been executed.
+     */
+    public Date getLockExpirationTime(Date dueDate) {
+        long lockStart = Math.max(getCurrentTimeInMillis(), dueDate.getTime());
+        return new Date(lockStart + asyncExecutor.getAsyncJobLockTimeInMillis());
+    }
+
+    /**
+     * Puts a locked timer job in the wheel. Can be called from any thread.
+     *
+     * @return false when the timer job is already in the wheel
+     */
+    public boolean schedule(TimerJobEntity timerJob) {
+        if (isInterrupted || !scheduledJobIds.add(timerJob.getId())) {
+            return false;
+        }
+
+        // The due date is relative to the engine clock, the wheel ticks in real time
+        long delayInMillis = Math.max(0L, timerJob.getDuedate().getTime() - getCurrentTimeInMillis());
+        scheduledEntries.add(new TimerJobWheelEntry(timerJob, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayInMillis)));
+        return true;
+    }
+
+    public void run() {
+        log.info("starting timer job wheel");
+
+        while (!isInterrupted) {
+            long sleepTimeInNanos = startTime + (tick + 1) * tickDurationInNanos - System.nanoTime();
+            if (sleepTimeInNanos > 0) {
+                try {
+                    synchronized (MONITOR) {
+                        if (!isInterrupted) {
+                            TimeUnit.NANOSECONDS.timedWait(MONITOR, sleepTimeInNanos);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("timer job wheel wait interrupted");
+                    }
+                }
+
+                // Check the time again, the wait can end early
+                continue;
+            }
+
+            try {
+                transferScheduledEntries();
+                expireBucket(buckets.get((int) (tick & mask)));
+            } catch (Throwable e) {
+                log.error("exception in timer job wheel: {}", e.getMessage(), e);
+            }
+            tick++;
+        }
+
+        log.info("stopped timer job wheel");
+    }
+
+    protected void transferScheduledEntries() {
+        TimerJobWheelEntry entry = scheduledEntries.poll();
+        while (entry != null) {
+            // Timers that are already due are put in the bucket of the current tick
+            long entryTick = Math.max((entry.deadline - startTime) / tickDurationInNanos, tick);
+            entry.remainingRotations = (entryTick - tick) / buckets.size();
+            buckets.get((int) (entryTick & mask)).add(entry);
+
+            entry = scheduledEntries.poll();
+        }
+    }
+
+    protected void expireBucket(List<TimerJobWheelEntry> bucket) {
+        Iterator<TimerJobWheelEntry> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            TimerJobWheelEntry entry = iterator.next();
+            if (entry.remainingRotations <= 0) {
+                iterator.remove();
+                fire(entry);
+            } else {
+                entry.remainingRotations--;
+            }
+        }
+    }
+
+    protected void fire(TimerJobWheelEntry entry) {
+        scheduledJobIds.remove(entry.timerJob.getId());
+
+        long latenessInMillis = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.deadline));
+        firedTimerJobCount.incrementAndGet();
+        totalLatenessInMillis.addAndGet(latenessInMillis);
+        long currentMaxLateness = maxLatenessInMillis.get();
+        while (latenessInMillis > currentMaxLateness && !maxLatenessInMillis.compareAndSet(currentMaxLateness, latenessInMillis)) {
+            currentMaxLateness = maxLatenessInMillis.get();
+        }
+
+        ExecuteTimerJobRunnable runnable = new ExecuteTimerJobRunnable(entry.timerJob, asyncExecutor.getLockOwner(), asyncExecutor.getProcessEngineConfiguration());
+        if (!asyncExecutor.executeTimerJob(runnable)) {
+            // No thread available: fall back to the async job, which is executed when a thread is available
+            runnable.moveToExecutableJob();
+        }
+    }
+
+    protected void unlockTimerJobs(final List<TimerJobWheelEntry> entries) {
+        try {
+            asyncExecutor.getProcessEngineConfiguration().getCommandExecutor().execute(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    for (TimerJobWheelEntry entry : entries) {
+                        TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().findById(entry.timerJob.getId());
+                        if (timerJob != null && asyncExecutor.getLockOwner().equals(timerJob.getLockOwner())) {
+                            timerJob.setLockOwner(null);
+                            timerJob.setLockExpirationTime(null);
+                        }
+                    }
+                    return null;
+                }
+            });
+
+        } catch (Throwable e) {
+            // The timers will be acquired again when their lock has expired
+            log.warn("Could not unlock {} timer jobs of the timer job wheel: {}", entries.size(), e.getMessage());
+        }
+    }
+
+    protected long getCurrentTimeInMillis() {
+        return asyncExecutor.getProcessEngineConfiguration().getClock().getCurrentTime().getTime();
+    }
+
+    /**
+     * @return the number of timers that are waiting in the wheel.
+     */
+    public int getScheduledTimerJobCount() {
+        return scheduledJobIds.size();
+    }
+
+    public long getFiredTimerJobCount() {
+        return firedTimerJobCount.get();
+    }
+
+    /**
+     * @return the sum of the time between the due date of the fired timers and the moment they were handed over for execution.
+     */
+    public long getTotalLatenessInMillis() {
+        return totalLatenessInMillis.get();
+    }
+
+    public long getMaxLatenessInMillis() {
+        return maxLatenessInMillis.get();
+    }
+
+    public long getHorizonInMillis() {
+        return horizonInMillis;
+    }
+
+    public int getWheelSize() {
+        return buckets.size();
+    }
+
+    protected static class TimerJobWheelEntry {
+
+        protected final TimerJobEntity timerJob;
+        protected final long deadline;
+        protected long remainingRotations;
+
+        public TimerJobWheelEntry(TimerJobEntity timerJob, long deadline) {
+            this.timerJob = timerJob;
+            this.deadline = deadline;
+        }
+
+    }
+
+}
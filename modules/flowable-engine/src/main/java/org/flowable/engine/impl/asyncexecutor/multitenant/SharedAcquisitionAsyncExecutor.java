@@ -0,0 +1,229 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor.multitenant;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.multitenant.TenantInfoHolder;
+import org.flowable.engine.impl.cmd.UnacquireOwnedJobsCmd;
+import org.flowable.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi tenant {@link AsyncExecutor} with one acquisition thread for all tenants.
+ *
+ * Where the {@link SharedExecutorServiceAsyncExecutor} starts three acquisition threads per tenant, this executor uses a single {@link SharedAcquisitionRunnable} that acquires the jobs of all tenants
+ * round-robin, polling each tenant at a rate that adapts to the number of jobs found for it. The acquired jobs are executed by one shared thread pool, in which the number of concurrently executing
+ * jobs of a tenant can be capped with {@link #setMaxConcurrentJobsPerTenant(int)}.
+ */
+public class SharedAcquisitionAsyncExecutor extends DefaultAsyncJobExecutor implements TenantAwareAsyncExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedAcquisitionAsyncExecutor.class);
+
+    protected TenantInfoHolder tenantInfoHolder;
+
+    protected Map<String, TenantAcquisitionState> tenantAcquisitionStates = new ConcurrentHashMap<String, TenantAcquisitionState>();
+
+    protected SharedAcquisitionRunnable sharedAcquisitionRunnable;
+    protected Thread sharedAcquisitionThread;
+
+    /** The maximum number of jobs of one tenant that are executing (or queued) at the same time. 0 means no maximum. */
+    protected int maxConcurrentJobsPerTenant;
+
+    /** The minimum time between two acquisitions for one tenant, even when jobs were found for it the last time. */
+    protected long minAcquireWaitTimeInMillis = 100L;
+
+    public SharedAcquisitionAsyncExecutor(TenantInfoHolder tenantInfoHolder) {
+        this.tenantInfoHolder = tenantInfoHolder;
+
+        setExecuteAsyncRunnableFactory(new ExecuteAsyncRunnableFactory() {
+
+            @Override
+            public Runnable createExecuteAsyncRunnable(Job job, ProcessEngineConfigurationImpl processEngineConfiguration) {
+
+                // The runnable is created by the acquisition thread (or a transaction listener), which has set the current tenant id,
+                // but it is executed later on by the executor service, so the tenant id needs to be set again then
+
+                return new TenantAwareExecuteAsyncRunnable(job, processEngineConfiguration,
+                        SharedAcquisitionAsyncExecutor.this.tenantInfoHolder,
+                        SharedAcquisitionAsyncExecutor.this.tenantInfoHolder.getCurrentTenantId());
+            }
+
+        });
+    }
+
+    @Override
+    public Set<String> getTenantIds() {
+        return tenantAcquisitionStates.keySet();
+    }
+
+    @Override
+    public void addTenantAsyncExecutor(String tenantId, boolean startExecutor) {
+        tenantAcquisitionStates.put(tenantId, new TenantAcquisitionState(tenantId));
+
+        // The tenant is picked up by the next pass of the acquisition thread, no need to wait for the current sleep to end
+        if (startExecutor && sharedAcquisitionRunnable != null) {
+            sharedAcquisitionRunnable.wakeUp();
+        }
+    }
+
+    @Override
+    public void removeTenantAsyncExecutor(String tenantId) {
+        tenantAcquisitionStates.remove(tenantId);
+    }
+
+    @Override
+    protected boolean executeAsyncJob(final Job job, final Runnable runnable) {
+        final TenantAcquisitionState tenantState = getTenantAcquisitionState(tenantInfoHolder.getCurrentTenantId());
+        if (tenantState == null) {
+            return super.executeAsyncJob(job, runnable);
+        }
+
+        if (getRemainingTenantCapacity(tenantState) <= 0) {
+            // The tenant already has its maximum of executing jobs: leave the job to the next acquisition
+            unacquireJob(job);
+            return false;
+        }
+
+        tenantState.jobStarted();
+        try {
+            executorService.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        runnable.run();
+                    } finally {
+                        tenantState.jobFinished();
+                    }
+                }
+
+            });
+            return true;
+
+        } catch (RejectedExecutionException e) {
+            tenantState.jobFinished();
+
+            // Shared queue full, see DefaultAsyncJobExecutor
+            unacquireJob(job);
+            return false;
+        }
+    }
+
+    /**
+     * @return the number of jobs of the tenant that can still be handed to the thread pool before the tenant reaches the {@link #getMaxConcurrentJobsPerTenant()}.
+     */
+    public int getRemainingTenantCapacity(TenantAcquisitionState tenantState) {
+        if (maxConcurrentJobsPerTenant <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return maxConcurrentJobsPerTenant - tenantState.getExecutingJobCount();
+    }
+
+    @Override
+    protected void initializeRunnables() {
+        // The default acquisition runnables are replaced by the shared acquisition runnable
+        if (sharedAcquisitionRunnable == null) {
+            sharedAcquisitionRunnable = new SharedAcquisitionRunnable(this, tenantInfoHolder);
+        }
+    }
+
+    @Override
+    protected void stopRunnables() {
+        if (sharedAcquisitionRunnable != null) {
+            sharedAcquisitionRunnable.stop();
+        }
+    }
+
+    @Override
+    protected void startAdditionalComponents() {
+        if (!isMessageQueueMode) {
+            initAsyncJobExecutionThreadPool();
+        }
+
+        sharedAcquisitionThread = new Thread(sharedAcquisitionRunnable);
+        sharedAcquisitionThread.start();
+    }
+
+    @Override
+    protected void shutdownAdditionalComponents() {
+        if (sharedAcquisitionThread != null) {
+            try {
+                sharedAcquisitionThread.join();
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while waiting for the shared job acquisition thread to terminate", e);
+            }
+            sharedAcquisitionThread = null;
+        }
+        sharedAcquisitionRunnable = null;
+
+        stopExecutingAsyncJobs();
+    }
+
+    @Override
+    protected void unlockOwnedJobs() {
+        for (String tenantId : tenantAcquisitionStates.keySet()) {
+            tenantInfoHolder.setCurrentTenantId(tenantId);
+            try {
+                processEngineConfiguration.getCommandExecutor().execute(new UnacquireOwnedJobsCmd(lockOwner, tenantId));
+            } finally {
+                tenantInfoHolder.clearCurrentTenantId();
+            }
+        }
+    }
+
+    public TenantAcquisitionState getTenantAcquisitionState(String tenantId) {
+        if (tenantId == null) {
+            return null;
+        }
+        return tenantAcquisitionStates.get(tenantId);
+    }
+
+    public Collection<TenantAcquisitionState> getTenantAcquisitionStates() {
+        return tenantAcquisitionStates.values();
+    }
+
+    public SharedAcquisitionRunnable getSharedAcquisitionRunnable() {
+        return sharedAcquisitionRunnable;
+    }
+
+    public void setSharedAcquisitionRunnable(SharedAcquisitionRunnable sharedAcquisitionRunnable) {
+        this.sharedAcquisitionRunnable = sharedAcquisitionRunnable;
+    }
+
+    public int getMaxConcurrentJobsPerTenant() {
+        return maxConcurrentJobsPerTenant;
+    }
+
+    public void setMaxConcurrentJobsPerTenant(int maxConcurrentJobsPerTenant) {
+        this.maxConcurrentJobsPerTenant = maxConcurrentJobsPerTenant;
+    }
+
+    public long getMinAcquireWaitTimeInMillis() {
+        return minAcquireWaitTimeInMillis;
+    }
+
+    public void setMinAcquireWaitTimeInMillis(long minAcquireWaitTimeInMillis) {
+        this.minAcquireWaitTimeInMillis = minAcquireWaitTimeInMillis;
+    }
+
+}
@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor.multitenant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.flowable.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
+import org.flowable.engine.impl.asyncexecutor.FindExpiredJobsCmd;
+import org.flowable.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
+import org.flowable.engine.impl.cfg.multitenant.TenantInfoHolder;
+import org.flowable.engine.impl.cmd.AcquireJobsCmd;
+import org.flowable.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The single acquisition loop of the {@link SharedAcquisitionAsyncExecutor}. Does the timer job acquisition, the async job acquisition and the reset of expired jobs for all tenants, instead of
+ * having three threads per tenant.
+ *
+ * Every pass visits the tenants round-robin, starting with a different tenant each time, and does the acquisitions that are due for each tenant. At most one page of jobs is acquired per tenant per
+ * pass, so a busy tenant can't starve the others. Between passes, the thread sleeps until the next acquisition of any tenant is due.
+ */
+public class SharedAcquisitionRunnable implements Runnable {
+
+    private static Logger log = LoggerFactory.getLogger(SharedAcquisitionRunnable.class);
+
+    protected final SharedAcquisitionAsyncExecutor asyncExecutor;
+    protected final TenantInfoHolder tenantInfoHolder;
+
+    protected volatile boolean isInterrupted;
+    protected final Object MONITOR = new Object();
+    protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+    protected int tenantOffset;
+
+    public SharedAcquisitionRunnable(SharedAcquisitionAsyncExecutor asyncExecutor, TenantInfoHolder tenantInfoHolder) {
+        this.asyncExecutor = asyncExecutor;
+        this.tenantInfoHolder = tenantInfoHolder;
+    }
+
+    public synchronized void run() {
+        log.info("starting shared job acquisition");
+        Thread.currentThread().setName("flowable-shared-job-acquisition");
+
+        CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+
+        while (!isInterrupted) {
+            List<TenantAcquisitionState> tenantStates = new ArrayList<TenantAcquisitionState>(asyncExecutor.getTenantAcquisitionStates());
+            long nextAcquisitionTime = System.currentTimeMillis() + asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+
+            if (!tenantStates.isEmpty()) {
+                tenantOffset = (tenantOffset + 1) % tenantStates.size();
+            }
+
+            for (int i = 0; i < tenantStates.size() && !isInterrupted; i++) {
+                TenantAcquisitionState tenantState = tenantStates.get((tenantOffset + i) % tenantStates.size());
+
+                tenantInfoHolder.setCurrentTenantId(tenantState.getTenantId());
+                try {
+                    acquireForTenant(commandExecutor, tenantState);
+                } finally {
+                    tenantInfoHolder.clearCurrentTenantId();
+                }
+
+                nextAcquisitionTime = Math.min(nextAcquisitionTime, tenantState.getNextAcquisitionTime(!asyncExecutor.isMessageQueueMode()));
+            }
+
+            sleep(nextAcquisitionTime - System.currentTimeMillis());
+        }
+
+        log.info("stopped shared job acquisition");
+    }
+
+    protected void acquireForTenant(CommandExecutor commandExecutor, TenantAcquisitionState tenantState) {
+        long now = System.currentTimeMillis();
+
+        if (tenantState.isTimerJobAcquisitionDue(now)) {
+            acquireTimerJobs(commandExecutor, tenantState, now);
+        }
+
+        if (!asyncExecutor.isMessageQueueMode() && tenantState.isAsyncJobAcquisitionDue(now)) {
+            acquireAsyncJobs(commandExecutor, tenantState, now);
+        }
+
+        if (tenantState.isResetExpiredJobsDue(now)) {
+            resetExpiredJobs(commandExecutor, tenantState, now);
+        }
+    }
+
+    protected void acquireTimerJobs(CommandExecutor commandExecutor, TenantAcquisitionState tenantState, long now) {
+        int nrOfAcquiredJobs = 0;
+        try {
+            final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+            nrOfAcquiredJobs = acquiredJobs.size();
+
+            if (nrOfAcquiredJobs > 0) {
+                commandExecutor.execute(new Command<Void>() {
+
+                    @Override
+                    public Void execute(CommandContext commandContext) {
+                        for (TimerJobEntity job : acquiredJobs.getJobs()) {
+                            commandContext.getJobManager().moveTimerJobToExecutableJob(job);
+                        }
+                        return null;
+                    }
+                });
+            }
+
+        } catch (FlowableOptimisticLockingException optimisticLockingException) {
+            log.debug("Optimistic locking exception during timer job acquisition for tenant {}: {}", tenantState.getTenantId(), optimisticLockingException.getMessage());
+        } catch (Throwable e) {
+            log.error("exception during timer job acquisition for tenant {}: {}", tenantState.getTenantId(), e.getMessage(), e);
+        }
+
+        tenantState.timerJobsAcquired(now, nrOfAcquiredJobs, asyncExecutor.getMaxTimerJobsPerAcquisition(),
+                asyncExecutor.getMinAcquireWaitTimeInMillis(), asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+    }
+
+    protected void acquireAsyncJobs(CommandExecutor commandExecutor, TenantAcquisitionState tenantState, long now) {
+        int remainingCapacity = Math.min(asyncExecutor.getRemainingCapacity(), asyncExecutor.getRemainingTenantCapacity(tenantState));
+        if (remainingCapacity <= 0) {
+            // the shared queue is full or the tenant has reached its maximum of executing jobs
+            tenantState.postponeAsyncJobAcquisition(now + Math.max(asyncExecutor.getMinAcquireWaitTimeInMillis(), asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis()));
+            return;
+        }
+
+        int nrOfAcquiredJobs = 0;
+        try {
+            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity));
+            nrOfAcquiredJobs = acquiredJobs.size();
+
+            for (JobEntity job : acquiredJobs.getJobs()) {
+                if (!asyncExecutor.executeAsyncJob(job)) {
+                    // some jobs were rejected, so the queue was full; wait until attempting to acquire more
+                    tenantState.postponeAsyncJobAcquisition(now + Math.max(asyncExecutor.getMinAcquireWaitTimeInMillis(), asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis()));
+                    return;
+                }
+            }
+
+        } catch (FlowableOptimisticLockingException optimisticLockingException) {
+            log.debug("Optimistic locking exception during async job acquisition for tenant {}: {}", tenantState.getTenantId(), optimisticLockingException.getMessage());
+        } catch (Throwable e) {
+            log.error("exception during async job acquisition for tenant {}: {}", tenantState.getTenantId(), e.getMessage(), e);
+        }
+
+        tenantState.asyncJobsAcquired(now, nrOfAcquiredJobs, Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()),
+                asyncExecutor.getMinAcquireWaitTimeInMillis(), asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+    }
+
+    protected void resetExpiredJobs(CommandExecutor commandExecutor, TenantAcquisitionState tenantState, long now) {
+        try {
+            List<JobEntity> expiredJobs = commandExecutor.execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
+
+            List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
+            for (JobEntity expiredJob : expiredJobs) {
+                expiredJobIds.add(expiredJob.getId());
+            }
+
+            if (expiredJobIds.size() > 0) {
+                commandExecutor.execute(new ResetExpiredJobsCmd(expiredJobIds));
+            }
+
+        } catch (FlowableOptimisticLockingException e) {
+            log.debug("Optimistic lock exception while resetting locked jobs for tenant {}", tenantState.getTenantId(), e);
+        } catch (Throwable e) {
+            log.error("exception during resetting expired jobs for tenant {}: {}", tenantState.getTenantId(), e.getMessage(), e);
+        }
+
+        tenantState.expiredJobsReset(now, asyncExecutor.getResetExpiredJobsInterval());
+    }
+
+    protected void sleep(long millisToWait) {
+        if (millisToWait > 0) {
+            try {
+                if (log.isDebugEnabled()) {
+                    log.debug("shared job acquisition thread sleeping for {} millis", millisToWait);
+                }
+                synchronized (MONITOR) {
+                    if (!isInterrupted) {
+                        isWaiting.set(true);
+                        MONITOR.wait(millisToWait);
+                    }
+                }
+
+            } catch (InterruptedException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("shared job acquisition wait interrupted");
+                }
+            } finally {
+                isWaiting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Wakes up the acquisition thread, for example when a tenant was added.
+     */
+    public void wakeUp() {
+        synchronized (MONITOR) {
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
+    public void stop() {
+        synchronized (MONITOR) {
+            isInterrupted = true;
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
+}
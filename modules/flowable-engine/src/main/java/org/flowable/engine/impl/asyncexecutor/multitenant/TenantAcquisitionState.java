@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor.multitenant;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The acquisition bookkeeping of one tenant of the {@link SharedAcquisitionAsyncExecutor}: when the next acquisitions for the tenant are due, and how many jobs of the tenant are executing.
+ *
+ * The wait time between two acquisitions adapts to the observed job rate of the tenant: it is halved when jobs were found and doubled (up to the configured acquire wait time) when none were found,
+ * so idle tenants are polled less and less often. It never drops below the minimum acquire wait time, not even when a full page of jobs was acquired, so a busy tenant can't keep the
+ * shared acquisition thread to itself.
+ */
+public class TenantAcquisitionState {
+
+    protected final String tenantId;
+
+    protected long asyncJobAcquireWaitTime;
+    protected long nextAsyncJobAcquisitionTime;
+
+    protected long timerJobAcquireWaitTime;
+    protected long nextTimerJobAcquisitionTime;
+
+    protected long nextResetExpiredJobsTime;
+
+    protected final AtomicInteger executingJobCount = new AtomicInteger();
+
+    public TenantAcquisitionState(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public boolean isAsyncJobAcquisitionDue(long now) {
+        return nextAsyncJobAcquisitionTime <= now;
+    }
+
+    public boolean isTimerJobAcquisitionDue(long now) {
+        return nextTimerJobAcquisitionTime <= now;
+    }
+
+    public boolean isResetExpiredJobsDue(long now) {
+        return nextResetExpiredJobsTime <= now;
+    }
+
+    public void asyncJobsAcquired(long now, int nrOfAcquiredJobs, int maxJobsPerAcquisition, long minWaitTime, long maxWaitTime) {
+        asyncJobAcquireWaitTime = calculateWaitTime(asyncJobAcquireWaitTime, nrOfAcquiredJobs, maxJobsPerAcquisition, minWaitTime, maxWaitTime);
+        nextAsyncJobAcquisitionTime = now + asyncJobAcquireWaitTime;
+    }
+
+    public void timerJobsAcquired(long now, int nrOfAcquiredJobs, int maxJobsPerAcquisition, long minWaitTime, long maxWaitTime) {
+        timerJobAcquireWaitTime = calculateWaitTime(timerJobAcquireWaitTime, nrOfAcquiredJobs, maxJobsPerAcquisition, minWaitTime, maxWaitTime);
+        nextTimerJobAcquisitionTime = now + timerJobAcquireWaitTime;
+    }
+
+    /**
+     * Postpones the async job acquisition without adapting the wait time, for example when the tenant has reached its maximum number of executing jobs.
+     */
+    public void postponeAsyncJobAcquisition(long nextAcquisitionTime) {
+        nextAsyncJobAcquisitionTime = nextAcquisitionTime;
+    }
+
+    public void expiredJobsReset(long now, long interval) {
+        nextResetExpiredJobsTime = now + interval;
+    }
+
+    protected long calculateWaitTime(long currentWaitTime, int nrOfAcquiredJobs, int maxJobsPerAcquisition, long minWaitTime, long maxWaitTime) {
+        if (nrOfAcquiredJobs >= maxJobsPerAcquisition) {
+            // the maximum amount of jobs were acquired, so we can expect more, but the other tenants get their turn first
+            return minWaitTime;
+        } else if (nrOfAcquiredJobs > 0) {
+            return Math.max(minWaitTime, currentWaitTime / 2);
+        } else {
+            return Math.min(maxWaitTime, Math.max(minWaitTime, currentWaitTime * 2));
+        }
+    }
+
+    /**
+     * @return the time at which the next acquisition of any kind is due for this tenant.
+     */
+    public long getNextAcquisitionTime(boolean includeAsyncJobs) {
+        long nextAcquisitionTime = Math.min(nextTimerJobAcquisitionTime, nextResetExpiredJobsTime);
+        if (includeAsyncJobs) {
+            nextAcquisitionTime = Math.min(nextAcquisitionTime, nextAsyncJobAcquisitionTime);
+        }
+        return nextAcquisitionTime;
+    }
+
+    public void jobStarted() {
+        executingJobCount.incrementAndGet();
+    }
+
+    public void jobFinished() {
+        executingJobCount.decrementAndGet();
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public int getExecutingJobCount() {
+        return executingJobCount.get();
+    }
+
+    public long getAsyncJobAcquireWaitTime() {
+        return asyncJobAcquireWaitTime;
+    }
+
+    public long getTimerJobAcquireWaitTime() {
+        return timerJobAcquireWaitTime;
+    }
+
+}
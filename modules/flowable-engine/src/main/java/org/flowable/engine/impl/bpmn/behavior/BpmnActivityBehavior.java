@@ -58,14 +58,14 @@ public class BpmnActivityBehavior implements Serializable {
         if (activityExecution != null) {
             List<JobEntity> jobs = activityExecution.getJobs();
             for (JobEntity job : jobs) {
-                if (Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+                if (Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
                 }
             }
 
             List<TimerJobEntity> timerJobs = activityExecution.getTimerJobs();
             for (TimerJobEntity job : timerJobs) {
-                if (Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+                if (Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
                 }
             }
@@ -17,20 +17,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.flowable.bpmn.model.FieldExtension;
 import org.flowable.bpmn.model.Task;
+import org.flowable.bpmn.model.TaskWithFieldExtensions;
+import org.flowable.dmn.api.DecisionInputVariableProvider;
 import org.flowable.dmn.api.DmnRuleService;
 import org.flowable.engine.DynamicBpmnConstants;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.DelegateHelper;
+import org.flowable.engine.delegate.Expression;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.context.Context;
 import org.flowable.engine.impl.el.ExpressionManager;
+import org.flowable.engine.impl.persistence.entity.VariableInstance;
 import org.flowable.engine.impl.util.ProcessDefinitionUtil;
 import org.flowable.engine.repository.ProcessDefinition;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -42,36 +47,43 @@ public class DmnActivityBehavior extends TaskActivityBehavior {
 
     protected Task task;
 
+    /**
+     * The decision table reference key of the task, resolved once when the process definition is parsed.
+     */
+    protected String decisionTableReferenceKey;
+    protected Expression decisionTableReferenceKeyExpression;
+
     public DmnActivityBehavior(Task task) {
         this.task = task;
+        this.decisionTableReferenceKey = getDecisionTableReferenceKey(task);
     }
 
     public void execute(DelegateExecution execution) {
-        FieldExtension fieldExtension = DelegateHelper.getFlowElementField(execution, EXPRESSION_DECISION_TABLE_REFERENCE_KEY);
-        if (fieldExtension == null || ((fieldExtension.getStringValue() == null || fieldExtension.getStringValue().length() == 0) &&
-                (fieldExtension.getExpression() == null || fieldExtension.getExpression().length() == 0))) {
-
+        if (decisionTableReferenceKey == null) {
             throw new FlowableException("decisionTableReferenceKey is a required field extension for the dmn task " + task.getId());
         }
 
-        String activeDecisionTableKey = null;
-        if (fieldExtension.getExpression() != null && fieldExtension.getExpression().length() > 0) {
-            activeDecisionTableKey = fieldExtension.getExpression();
-
-        } else {
-            activeDecisionTableKey = fieldExtension.getStringValue();
-        }
-
         ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
         ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
 
+        Expression decisionTableKeyExpression = null;
         if (processEngineConfiguration.isEnableProcessDefinitionInfoCache()) {
             ObjectNode taskElementProperties = Context.getBpmnOverrideElementProperties(task.getId(), execution.getProcessDefinitionId());
-            activeDecisionTableKey = getActiveValue(activeDecisionTableKey, DynamicBpmnConstants.DMN_TASK_DECISION_TABLE_KEY, taskElementProperties);
+            String activeDecisionTableKey = getActiveValue(decisionTableReferenceKey, DynamicBpmnConstants.DMN_TASK_DECISION_TABLE_KEY, taskElementProperties);
+            if (!decisionTableReferenceKey.equals(activeDecisionTableKey)) {
+                decisionTableKeyExpression = expressionManager.createExpression(activeDecisionTableKey);
+            }
+        }
+
+        if (decisionTableKeyExpression == null) {
+            if (decisionTableReferenceKeyExpression == null) {
+                decisionTableReferenceKeyExpression = expressionManager.createExpression(decisionTableReferenceKey);
+            }
+            decisionTableKeyExpression = decisionTableReferenceKeyExpression;
         }
 
         String finaldecisionTableKeyValue = null;
-        Object decisionTableKeyValue = expressionManager.createExpression(activeDecisionTableKey).getValue(execution);
+        Object decisionTableKeyValue = decisionTableKeyExpression.getValue(execution);
         if (decisionTableKeyValue != null) {
             if (decisionTableKeyValue instanceof String) {
                 finaldecisionTableKeyValue = (String) decisionTableKeyValue;
@@ -89,13 +101,50 @@ public class DmnActivityBehavior extends TaskActivityBehavior {
         DmnRuleService ruleService = processEngineConfiguration.getDmnEngineRuleService();
 
         List<Map<String, Object>> executionResult = ruleService.executeDecisionByKeyParentDeploymentIdAndTenantId(finaldecisionTableKeyValue,
-                processDefinition.getDeploymentId(), execution.getVariables(), execution.getTenantId());
+                processDefinition.getDeploymentId(), createInputVariableProvider(execution), execution.getTenantId());
 
         setVariablesOnExecution(executionResult, finaldecisionTableKeyValue, execution, processEngineConfiguration.getObjectMapper());
 
         leave(execution);
     }
 
+    protected String getDecisionTableReferenceKey(Task task) {
+        if (!(task instanceof TaskWithFieldExtensions)) {
+            return null;
+        }
+
+        for (FieldExtension fieldExtension : ((TaskWithFieldExtensions) task).getFieldExtensions()) {
+            if (EXPRESSION_DECISION_TABLE_REFERENCE_KEY.equals(fieldExtension.getFieldName())) {
+                if (fieldExtension.getExpression() != null && fieldExtension.getExpression().length() > 0) {
+                    return fieldExtension.getExpression();
+                } else if (fieldExtension.getStringValue() != null && fieldExtension.getStringValue().length() > 0) {
+                    return fieldExtension.getStringValue();
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Only the variables referenced by the decision are fetched from the execution, instead of loading and deserializing all variables.
+     */
+    protected DecisionInputVariableProvider createInputVariableProvider(final DelegateExecution execution) {
+        return new DecisionInputVariableProvider() {
+
+            public Map<String, Object> getVariables(Collection<String> variableNames) {
+                Map<String, Object> variables = new HashMap<String, Object>();
+                for (String variableName : variableNames) {
+                    VariableInstance variableInstance = execution.getVariableInstance(variableName);
+                    if (variableInstance != null) {
+                        variables.put(variableName, variableInstance.getValue());
+                    }
+                }
+                return variables;
+            }
+        };
+    }
+
     protected void setVariablesOnExecution(List<Map<String, Object>> executionResult, String decisionKey, DelegateExecution execution, ObjectMapper objectMapper) {
         if (executionResult == null || executionResult.isEmpty()) {
             return;
@@ -55,7 +55,7 @@ public class ExclusiveGatewayActivityBehavior extends GatewayActivityBehavior {
 
         ExclusiveGateway exclusiveGateway = (ExclusiveGateway) execution.getCurrentFlowElement();
 
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_COMPLETED)) {
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                     FlowableEventBuilder.createActivityEvent(FlowableEngineEventType.ACTIVITY_COMPLETED, exclusiveGateway.getId(), exclusiveGateway.getName(), execution.getId(),
                             execution.getProcessInstanceId(), execution.getProcessDefinitionId(), exclusiveGateway));
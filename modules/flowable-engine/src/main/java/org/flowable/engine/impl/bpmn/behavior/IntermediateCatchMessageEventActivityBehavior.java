@@ -53,7 +53,7 @@ public class IntermediateCatchMessageEventActivityBehavior extends IntermediateC
 
         commandContext.getEventSubscriptionEntityManager().insertMessageEvent(messageName, executionEntity);
 
-        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_MESSAGE_WAITING)) {
             commandContext.getProcessEngineConfiguration().getEventDispatcher()
                     .dispatchEvent(FlowableEventBuilder.createMessageEvent(FlowableEngineEventType.ACTIVITY_MESSAGE_WAITING, executionEntity.getActivityId(), messageName,
                             null, executionEntity.getId(), executionEntity.getProcessInstanceId(), executionEntity.getProcessDefinitionId()));
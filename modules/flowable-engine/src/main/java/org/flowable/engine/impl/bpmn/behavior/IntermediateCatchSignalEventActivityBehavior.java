@@ -56,7 +56,7 @@ public class IntermediateCatchSignalEventActivityBehavior extends IntermediateCa
 
         commandContext.getEventSubscriptionEntityManager().insertSignalEvent(signalName, signal, executionEntity);
 
-        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_SIGNAL_WAITING)) {
             commandContext.getProcessEngineConfiguration().getEventDispatcher()
                     .dispatchEvent(FlowableEventBuilder.createSignalEvent(FlowableEngineEventType.ACTIVITY_SIGNAL_WAITING, executionEntity.getActivityId(), signalName,
                             null, executionEntity.getId(), executionEntity.getProcessInstanceId(), executionEntity.getProcessDefinitionId()));
@@ -35,6 +35,8 @@ import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.Expression;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.context.Context;
+import org.flowable.engine.impl.mail.AsyncMailSender;
+import org.flowable.engine.impl.mail.QueuedMail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,7 +96,12 @@ public class MailActivityBehavior extends AbstractBpmnActivityBehavior {
             setCharset(email, charSetStr);
             attach(email, files, dataSources);
 
-            email.send();
+            ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+            if (processEngineConfiguration.isAsyncMailEnabled() && processEngineConfiguration.getAsyncMailSender() != null) {
+                queueEmail(execution, email, processEngineConfiguration.getAsyncMailSender());
+            } else {
+                email.send();
+            }
 
         } catch (FlowableException e) {
             handleException(execution, e.getMessage(), e, doIgnoreException, exceptionVariable);
@@ -105,6 +112,20 @@ public class MailActivityBehavior extends AbstractBpmnActivityBehavior {
         leave(execution);
     }
 
+    /**
+     * Builds the message now, so the variables and attachments are resolved within the transaction, and sends it after the transaction has been committed.
+     */
+    protected void queueEmail(DelegateExecution execution, Email email, AsyncMailSender asyncMailSender) throws EmailException {
+        email.buildMimeMessage();
+        QueuedMail mail = new QueuedMail(email.getMimeMessage(), email.getMailSession());
+        mail.setActivityId(execution.getCurrentActivityId());
+        mail.setExecutionId(execution.getId());
+        mail.setProcessInstanceId(execution.getProcessInstanceId());
+        mail.setProcessDefinitionId(execution.getProcessDefinitionId());
+        mail.setTenantId(execution.getTenantId());
+        asyncMailSender.queueAfterCommit(mail);
+    }
+
     private boolean attachmentsExist(List<File> files, List<DataSource> dataSources) {
         return !((files == null || files.isEmpty()) && (dataSources == null || dataSources.isEmpty()));
     }
@@ -194,11 +194,17 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
             Collection collection = (Collection) resolveCollection(execution);
 
             Object value = null;
-            int index = 0;
-            Iterator it = collection.iterator();
-            while (index <= loopCounter) {
-                value = it.next();
-                index++;
+            if (collection instanceof List) {
+                // avoid iterating the collection for every instance of a large multi instance
+                value = ((List) collection).get(loopCounter);
+
+            } else {
+                int index = 0;
+                Iterator it = collection.iterator();
+                while (index <= loopCounter) {
+                    value = it.next();
+                    index++;
+                }
             }
             setLoopVariable(execution, collectionElementVariable, value);
         }
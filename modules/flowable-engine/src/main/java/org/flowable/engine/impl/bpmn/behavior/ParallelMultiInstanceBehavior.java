@@ -28,11 +28,15 @@ import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.impl.bpmn.helper.ScopeUtil;
+import org.flowable.engine.impl.asyncexecutor.JobManager;
 import org.flowable.engine.impl.context.Context;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
 import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceBatchJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntityManager;
 
 /**
  * @author Joram Barrez
@@ -42,12 +46,18 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
     private static final long serialVersionUID = 1L;
 
+    // the number of instances created in one transaction, 0 means all instances at once
+    protected int batchSize;
+
     public ParallelMultiInstanceBehavior(Activity activity, AbstractBpmnActivityBehavior originalActivityBehavior) {
         super(activity, originalActivityBehavior);
     }
 
     /**
      * Handles the parallel case of spawning the instances. Will create child executions accordingly for every instance needed.
+     * 
+     * When a batch size is set and there are more instances than the batch size, only the first batch is created here. The other instances are created by an async job per batch (see
+     * {@link ParallelMultiInstanceBatchJobHandler}), so a large number of instances doesn't end up in one huge transaction.
      */
     protected int createInstances(DelegateExecution execution) {
         int nrOfInstances = resolveNrOfInstances(execution);
@@ -55,16 +65,60 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
             throw new FlowableIllegalArgumentException("Invalid number of instances: must be non-negative integer value" + ", but was " + nrOfInstances);
         }
 
+        int nrOfInstancesInBatch = nrOfInstances;
+        if (batchSize > 0 && nrOfInstances > batchSize) {
+            nrOfInstancesInBatch = batchSize;
+        }
+
         execution.setMultiInstanceRoot(true);
 
         setLoopVariable(execution, NUMBER_OF_INSTANCES, nrOfInstances);
         setLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES, 0);
-        setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstances);
+        setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstancesInBatch);
+
+        List<DelegateExecution> concurrentExecutions = createConcurrentExecutions(execution, 0, nrOfInstancesInBatch, nrOfInstances);
+        if (nrOfInstancesInBatch < nrOfInstances) {
+            scheduleInstanceBatch((ExecutionEntity) execution, nrOfInstancesInBatch);
+        }
+
+        // See ACT-1586: ExecutionQuery returns wrong results when using multi
+        // instance on a receive task The parent execution must be set to false, so it wouldn't show up in
+        // the execution query when using .activityId(something). Do not we cannot nullify the
+        // activityId (that would have been a better solution), as it would break boundary event behavior.
+        if (!concurrentExecutions.isEmpty()) {
+            ExecutionEntity executionEntity = (ExecutionEntity) execution;
+            executionEntity.setActive(false);
+        }
+
+        return nrOfInstances;
+    }
+
+    /**
+     * Creates the instances of the batch starting at the given loop counter, and schedules the next batch if there are instances left. Called by the {@link ParallelMultiInstanceBatchJobHandler}.
+     * 
+     * The nrOfActiveInstances variable only counts the instances that have been created, the nrOfInstances variable always holds the total number of instances.
+     */
+    public void createInstanceBatch(ExecutionEntity multiInstanceRootExecution, int fromLoopCounter) {
+        int nrOfInstances = getLoopVariable(multiInstanceRootExecution, NUMBER_OF_INSTANCES);
+        int toLoopCounter = nrOfInstances;
+        if (batchSize > 0) {
+            toLoopCounter = Math.min(nrOfInstances, fromLoopCounter + batchSize);
+        }
+
+        int nrOfActiveInstances = getLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES) + (toLoopCounter - fromLoopCounter);
+        setLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+
+        createConcurrentExecutions(multiInstanceRootExecution, fromLoopCounter, toLoopCounter, nrOfInstances);
+        if (toLoopCounter < nrOfInstances) {
+            scheduleInstanceBatch(multiInstanceRootExecution, toLoopCounter);
+        }
+    }
 
-        List<DelegateExecution> concurrentExecutions = new ArrayList<DelegateExecution>();
-        for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
+    protected List<DelegateExecution> createConcurrentExecutions(DelegateExecution multiInstanceRootExecution, int fromLoopCounter, int toLoopCounter, int nrOfInstances) {
+        List<DelegateExecution> concurrentExecutions = new ArrayList<DelegateExecution>(toLoopCounter - fromLoopCounter);
+        for (int loopCounter = fromLoopCounter; loopCounter < toLoopCounter; loopCounter++) {
             DelegateExecution concurrentExecution = Context.getCommandContext().getExecutionEntityManager()
-                    .createChildExecution((ExecutionEntity) execution);
+                    .createChildExecution((ExecutionEntity) multiInstanceRootExecution);
             concurrentExecution.setCurrentFlowElement(activity);
             concurrentExecution.setActive(true);
             concurrentExecution.setScope(false);
@@ -76,26 +130,41 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         // Before the activities are executed, all executions MUST be created up front
         // Do not try to merge this loop with the previous one, as it will lead
         // to bugs, due to possible child execution pruning.
-        for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
-            DelegateExecution concurrentExecution = concurrentExecutions.get(loopCounter);
+        for (int i = 0; i < concurrentExecutions.size(); i++) {
+            DelegateExecution concurrentExecution = concurrentExecutions.get(i);
             // executions can be inactive, if instances are all automatics
             // (no-waitstate) and completionCondition has been met in the meantime
-            if (concurrentExecution.isActive() && !concurrentExecution.isEnded() && concurrentExecution.getParent().isActive() && !concurrentExecution.getParent().isEnded()) {
+            if (concurrentExecution.isActive() && !concurrentExecution.isEnded() && concurrentExecution.getParent().isMultiInstanceRoot() && !concurrentExecution.getParent().isEnded()) {
+                int loopCounter = fromLoopCounter + i;
                 setLoopVariable(concurrentExecution, getCollectionElementIndexVariable(), loopCounter);
                 executeOriginalBehavior(concurrentExecution, loopCounter);
             }
         }
 
-        // See ACT-1586: ExecutionQuery returns wrong results when using multi
-        // instance on a receive task The parent execution must be set to false, so it wouldn't show up in
-        // the execution query when using .activityId(something). Do not we cannot nullify the
-        // activityId (that would have been a better solution), as it would break boundary event behavior.
-        if (!concurrentExecutions.isEmpty()) {
-            ExecutionEntity executionEntity = (ExecutionEntity) execution;
-            executionEntity.setActive(false);
-        }
+        return concurrentExecutions;
+    }
 
-        return nrOfInstances;
+    /**
+     * Creates the async job that creates the batch of instances starting at the given loop counter. The job is exclusive, as it updates the multi instance root execution.
+     */
+    protected void scheduleInstanceBatch(ExecutionEntity multiInstanceRootExecution, int fromLoopCounter) {
+        JobManager jobManager = Context.getCommandContext().getJobManager();
+        JobEntity job = jobManager.createAsyncJob(multiInstanceRootExecution, true);
+        job.setJobHandlerType(ParallelMultiInstanceBatchJobHandler.TYPE);
+        job.setJobHandlerConfiguration(String.valueOf(fromLoopCounter));
+        jobManager.scheduleAsyncJob(job);
+    }
+
+    /**
+     * Deletes the job of the next batch when the multi instance completes before all instances have been created, which happens when the completion condition is satisfied.
+     */
+    protected void deleteInstanceBatchJobs(ExecutionEntity multiInstanceRootExecution, CommandContext commandContext) {
+        JobEntityManager jobEntityManager = commandContext.getJobEntityManager();
+        for (JobEntity job : jobEntityManager.findJobsByExecutionId(multiInstanceRootExecution.getId())) {
+            if (ParallelMultiInstanceBatchJobHandler.TYPE.equals(job.getJobHandlerType())) {
+                jobEntityManager.delete(job);
+            }
+        }
     }
 
     /**
@@ -207,6 +276,9 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
                 }
 
                 deleteChildExecutions(executionToUse, false, Context.getCommandContext());
+                if (batchSize > 0) {
+                    deleteInstanceBatchJobs(executionToUse, Context.getCommandContext());
+                }
                 removeLocalLoopVariable(executionToUse, getCollectionElementIndexVariable());
                 executionToUse.setScope(false);
                 executionToUse.setMultiInstanceRoot(false);
@@ -238,6 +310,14 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         parentScopeExecution.forceUpdate();
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     // TODO: can the ExecutionManager.deleteChildExecution not be used?
     protected void deleteChildExecutions(ExecutionEntity parentExecution, boolean deleteExecution, CommandContext commandContext) {
         // Delete all child executions
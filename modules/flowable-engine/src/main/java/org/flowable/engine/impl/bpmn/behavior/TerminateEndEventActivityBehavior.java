@@ -167,7 +167,7 @@ public class TerminateEndEventActivityBehavior extends FlowNodeActivityBehavior
 
             // Fire event
             ProcessEngineConfigurationImpl config = Context.getProcessEngineConfiguration();
-            if (config != null && config.getEventDispatcher().isEnabled()) {
+            if (config != null && config.getEventDispatcher().hasListeners(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED)) {
                 config.getEventDispatcher().dispatchEvent(
                         FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
             }
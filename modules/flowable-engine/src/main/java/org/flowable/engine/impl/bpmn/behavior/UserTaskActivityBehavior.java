@@ -210,7 +210,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
             processEngineConfiguration.getListenerNotificationHelper().executeTaskListeners(task, TaskListener.EVENTNAME_CREATE);
 
             // All properties set, now firing 'create' events
-            if (Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+            if (Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.TASK_CREATED)) {
                 Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                         FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TASK_CREATED, task));
             }
@@ -186,7 +186,7 @@ public class BpmnDeployer implements Deployer {
 
             cachingAndArtifactsManager.updateProcessDefinitionCache(parsedDeployment);
 
-            if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+            if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_CREATED)) {
                 commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, processDefinition));
             }
         }
@@ -218,7 +218,7 @@ public class BpmnDeployer implements Deployer {
     protected void dispatchProcessDefinitionEntityInitializedEvent(ParsedDeployment parsedDeployment) {
         CommandContext commandContext = Context.getCommandContext();
         for (ProcessDefinitionEntity processDefinitionEntity : parsedDeployment.getAllProcessDefinitions()) {
-            if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+            if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_INITIALIZED)) {
                 commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                         FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, processDefinitionEntity));
             }
@@ -15,6 +15,7 @@ package org.flowable.engine.impl.bpmn.deployer;
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.impl.bpmn.parser.VariableReferenceAnalyzer;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.context.Context;
 import org.flowable.engine.impl.interceptor.CommandContext;
@@ -35,6 +36,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  */
 public class CachingAndArtifactsManager {
 
+    protected VariableReferenceAnalyzer variableReferenceAnalyzer = new VariableReferenceAnalyzer();
+
     /**
      * Ensures that the process definition is cached in the appropriate places, including the deployment's collection of deployed artifacts and the deployment manager's cache, as well as caching any
      * ProcessDefinitionInfos.
@@ -48,7 +51,7 @@ public class CachingAndArtifactsManager {
         for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
-            ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            ProcessDefinitionCacheEntry cacheEntry = createCacheEntry(processDefinition, bpmnModel, process, processEngineConfiguration);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
             addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
@@ -67,11 +70,29 @@ public class CachingAndArtifactsManager {
         for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
-            ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            ProcessDefinitionCacheEntry cacheEntry = createCacheEntry(processDefinition, bpmnModel, process, processEngineConfiguration);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
         }
     }
 
+    protected ProcessDefinitionCacheEntry createCacheEntry(ProcessDefinitionEntity processDefinition, BpmnModel bpmnModel, Process process,
+            ProcessEngineConfigurationImpl processEngineConfiguration) {
+
+        ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+        if (processEngineConfiguration.getPerformanceSettings().isEnableVariablePrefetching()) {
+            cacheEntry.setVariableNamesByFlowNodeId(variableReferenceAnalyzer.analyze(process));
+        }
+        return cacheEntry;
+    }
+
+    public VariableReferenceAnalyzer getVariableReferenceAnalyzer() {
+        return variableReferenceAnalyzer;
+    }
+
+    public void setVariableReferenceAnalyzer(VariableReferenceAnalyzer variableReferenceAnalyzer) {
+        this.variableReferenceAnalyzer = variableReferenceAnalyzer;
+    }
+
     protected void addDefinitionInfoToCache(ProcessDefinitionEntity processDefinition,
             ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
 
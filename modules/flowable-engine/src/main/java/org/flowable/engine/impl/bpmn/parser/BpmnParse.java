@@ -40,6 +40,7 @@ import org.flowable.engine.common.impl.util.io.InputStreamSource;
 import org.flowable.engine.common.impl.util.io.StreamSource;
 import org.flowable.engine.common.impl.util.io.StringStreamSource;
 import org.flowable.engine.common.impl.util.io.UrlStreamSource;
+import org.flowable.engine.delegate.event.impl.FlowableEventDispatcherImpl;
 import org.flowable.engine.delegate.event.impl.FlowableEventSupport;
 import org.flowable.engine.impl.bpmn.parser.factory.ActivityBehaviorFactory;
 import org.flowable.engine.impl.bpmn.parser.factory.ListenerFactory;
@@ -187,7 +188,11 @@ public class BpmnParse implements BpmnXMLConstants {
             }
 
             bpmnModel.setSourceSystemId(sourceSystemId);
-            bpmnModel.setEventSupport(new FlowableEventSupport());
+            FlowableEventSupport eventSupport = new FlowableEventSupport();
+            if (processEngineConfiguration != null && processEngineConfiguration.getEventDispatcher() instanceof FlowableEventDispatcherImpl) {
+                eventSupport.setProcessDefinitionDispatcher((FlowableEventDispatcherImpl) processEngineConfiguration.getEventDispatcher());
+            }
+            bpmnModel.setEventSupport(eventSupport);
 
             // Validation successful (or no validation)
 
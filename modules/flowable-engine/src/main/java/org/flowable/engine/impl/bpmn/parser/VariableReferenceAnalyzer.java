@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.bpmn.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.FlowableListener;
+import org.flowable.bpmn.model.ImplementationType;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.bpmn.model.UserTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.odysseus.el.tree.IdentifierNode;
+import de.odysseus.el.tree.Tree;
+import de.odysseus.el.tree.TreeBuilder;
+import de.odysseus.el.tree.TreeBuilderException;
+import de.odysseus.el.tree.impl.Builder;
+
+/**
+ * Analyzes the expressions of a {@link Process} to find the names of the variables that are read when executing a flow node: the expressions of the execution listeners, the conditions of the
+ * outgoing sequence flows, the assignments and listeners of user tasks and expression based service tasks.
+ *
+ * The result is used to prefetch the variables of the execution tree in one roundtrip when entering the flow node, instead of fetching the variables of each scope separately.
+ */
+public class VariableReferenceAnalyzer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VariableReferenceAnalyzer.class);
+
+    /**
+     * Identifiers that are resolved by the engine itself and not by looking up a variable.
+     */
+    protected static final Set<String> IMPLICIT_IDENTIFIERS = new HashSet<String>(Arrays.asList("execution", "task", "authenticatedUserId"));
+
+    protected TreeBuilder treeBuilder = new Builder(Builder.Feature.METHOD_INVOCATIONS, Builder.Feature.VARARGS);
+
+    /**
+     * @return the variable names referenced by each flow node of the process (including the flow nodes of sub processes), mapped by flow node id. Flow nodes that don't reference any variable are
+     *         not part of the result.
+     */
+    public Map<String, Set<String>> analyze(Process process) {
+        Map<String, Set<String>> variableNamesByFlowNodeId = new HashMap<String, Set<String>>();
+        for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class)) {
+            Set<String> variableNames = new HashSet<String>();
+            collectVariableNames(flowNode, variableNames);
+            if (!variableNames.isEmpty()) {
+                variableNamesByFlowNodeId.put(flowNode.getId(), variableNames);
+            }
+        }
+        return variableNamesByFlowNodeId;
+    }
+
+    protected void collectVariableNames(FlowNode flowNode, Set<String> variableNames) {
+        collectListenerVariableNames(flowNode.getExecutionListeners(), variableNames);
+
+        for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+            collectVariableNames(sequenceFlow.getConditionExpression(), variableNames);
+            collectVariableNames(sequenceFlow.getSkipExpression(), variableNames);
+        }
+
+        if (flowNode instanceof UserTask) {
+            UserTask userTask = (UserTask) flowNode;
+            collectVariableNames(userTask.getAssignee(), variableNames);
+            collectVariableNames(userTask.getOwner(), variableNames);
+            collectVariableNames(userTask.getPriority(), variableNames);
+            collectVariableNames(userTask.getDueDate(), variableNames);
+            collectVariableNames(userTask.getCategory(), variableNames);
+            collectVariableNames(userTask.getFormKey(), variableNames);
+            collectVariableNames(userTask.getSkipExpression(), variableNames);
+            for (String candidateUser : userTask.getCandidateUsers()) {
+                collectVariableNames(candidateUser, variableNames);
+            }
+            for (String candidateGroup : userTask.getCandidateGroups()) {
+                collectVariableNames(candidateGroup, variableNames);
+            }
+            collectListenerVariableNames(userTask.getTaskListeners(), variableNames);
+
+        } else if (flowNode instanceof ServiceTask) {
+            ServiceTask serviceTask = (ServiceTask) flowNode;
+            if (ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION.equals(serviceTask.getImplementationType())
+                    || ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(serviceTask.getImplementationType())) {
+                collectVariableNames(serviceTask.getImplementation(), variableNames);
+            }
+            collectVariableNames(serviceTask.getSkipExpression(), variableNames);
+        }
+    }
+
+    protected void collectListenerVariableNames(List<FlowableListener> listeners, Set<String> variableNames) {
+        if (listeners == null) {
+            return;
+        }
+        for (FlowableListener listener : listeners) {
+            if (ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION.equals(listener.getImplementationType())
+                    || ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(listener.getImplementationType())) {
+                collectVariableNames(listener.getImplementation(), variableNames);
+            }
+        }
+    }
+
+    protected void collectVariableNames(String expression, Set<String> variableNames) {
+        if (StringUtils.isEmpty(expression) || !(expression.contains("${") || expression.contains("#{"))) {
+            return;
+        }
+
+        try {
+            Tree tree = treeBuilder.build(expression);
+            for (IdentifierNode identifierNode : tree.getIdentifierNodes()) {
+                if (!IMPLICIT_IDENTIFIERS.contains(identifierNode.getName())) {
+                    variableNames.add(identifierNode.getName());
+                }
+            }
+        } catch (TreeBuilderException e) {
+            // Invalid expressions fail when they are evaluated, this is only an optimization
+            LOGGER.debug("Could not analyze expression {}", expression, e);
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ import org.flowable.bpmn.model.FlowNode;
 import org.flowable.bpmn.model.MultiInstanceLoopCharacteristics;
 import org.flowable.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
 import org.flowable.engine.impl.bpmn.behavior.MultiInstanceActivityBehavior;
+import org.flowable.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
 import org.flowable.engine.impl.bpmn.parser.BpmnParse;
 import org.flowable.engine.impl.context.Context;
 import org.flowable.engine.impl.el.ExpressionManager;
@@ -47,7 +48,10 @@ public abstract class AbstractActivityBpmnParseHandler<T extends FlowNode> exten
         if (loopCharacteristics.isSequential()) {
             miActivityBehavior = bpmnParse.getActivityBehaviorFactory().createSequentialMultiInstanceBehavior(modelActivity, (AbstractBpmnActivityBehavior) modelActivity.getBehavior());
         } else {
-            miActivityBehavior = bpmnParse.getActivityBehaviorFactory().createParallelMultiInstanceBehavior(modelActivity, (AbstractBpmnActivityBehavior) modelActivity.getBehavior());
+            ParallelMultiInstanceBehavior parallelMultiInstanceBehavior = bpmnParse.getActivityBehaviorFactory()
+                    .createParallelMultiInstanceBehavior(modelActivity, (AbstractBpmnActivityBehavior) modelActivity.getBehavior());
+            parallelMultiInstanceBehavior.setBatchSize(loopCharacteristics.getBatchSize());
+            miActivityBehavior = parallelMultiInstanceBehavior;
         }
 
         modelActivity.setBehavior(miActivityBehavior);
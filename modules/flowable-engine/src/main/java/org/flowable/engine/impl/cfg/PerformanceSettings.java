@@ -53,6 +53,14 @@ public class PerformanceSettings {
      */
     protected boolean enableLocalization = true;
 
+    /**
+     * Experimental setting: the expressions of each flow node (listeners, sequence flow conditions, task assignments) are analyzed when the process definition is deployed. When an execution
+     * arrives in or leaves a flow node that references variables, the variables of the execution and all its parent executions are fetched in one roundtrip, instead of one query per scope.
+     * 
+     * Works best in combination with <code>enableEagerExecutionTreeFetching</code>, as the parent executions are then already fetched.
+     */
+    protected boolean enableVariablePrefetching;
+
     public boolean isEnableEagerExecutionTreeFetching() {
         return enableEagerExecutionTreeFetching;
     }
@@ -101,4 +109,12 @@ public class PerformanceSettings {
         this.enableLocalization = enableLocalization;
     }
 
+    public boolean isEnableVariablePrefetching() {
+        return enableVariablePrefetching;
+    }
+
+    public void setEnableVariablePrefetching(boolean enableVariablePrefetching) {
+        this.enableVariablePrefetching = enableVariablePrefetching;
+    }
+
 }
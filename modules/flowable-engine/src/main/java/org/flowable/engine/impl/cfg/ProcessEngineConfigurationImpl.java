@@ -37,6 +37,7 @@ import javax.xml.namespace.QName;
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.transaction.TransactionFactory;
 import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
@@ -60,12 +61,14 @@ import org.flowable.engine.TaskService;
 import org.flowable.engine.app.AppResourceConverter;
 import org.flowable.engine.cfg.ProcessEngineConfigurator;
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
 import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
 import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
 import org.flowable.engine.common.impl.cfg.IdGenerator;
 import org.flowable.engine.common.impl.cfg.TransactionContextFactory;
 import org.flowable.engine.common.impl.interceptor.CommandConfig;
 import org.flowable.engine.common.impl.interceptor.SessionFactory;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
 import org.flowable.engine.common.impl.transaction.ContextAwareJdbcTransactionFactory;
 import org.flowable.engine.common.runtime.Clock;
 import org.flowable.engine.compatibility.DefaultFlowable5CompatibilityHandlerFactory;
@@ -149,6 +152,7 @@ import org.flowable.engine.impl.calendar.DurationBusinessCalendar;
 import org.flowable.engine.impl.calendar.MapBusinessCalendarManager;
 import org.flowable.engine.impl.cfg.standalone.StandaloneMybatisTransactionContextFactory;
 import org.flowable.engine.impl.cmd.RedeployV5ProcessDefinitionsCmd;
+import org.flowable.engine.impl.cmd.ScheduleHistoryCleanupJobCmd;
 import org.flowable.engine.impl.cmd.ValidateExecutionRelatedEntityCountCfgCmd;
 import org.flowable.engine.impl.cmd.ValidateTaskRelatedEntityCountCfgCmd;
 import org.flowable.engine.impl.cmd.ValidateV5EntitiesCmd;
@@ -156,6 +160,7 @@ import org.flowable.engine.impl.context.Context;
 import org.flowable.engine.impl.db.DbIdGenerator;
 import org.flowable.engine.impl.db.DbSqlSessionFactory;
 import org.flowable.engine.impl.db.IbatisVariableTypeHandler;
+import org.flowable.engine.impl.db.StatementMetricsInterceptor;
 import org.flowable.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.flowable.engine.impl.el.DefaultExpressionManager;
 import org.flowable.engine.impl.el.ExpressionManager;
@@ -164,6 +169,8 @@ import org.flowable.engine.impl.event.CompensationEventHandler;
 import org.flowable.engine.impl.event.EventHandler;
 import org.flowable.engine.impl.event.MessageEventHandler;
 import org.flowable.engine.impl.event.SignalEventHandler;
+import org.flowable.engine.impl.event.async.AsyncEventListenerExecutor;
+import org.flowable.engine.impl.event.logger.AsyncEventLogEntryWriter;
 import org.flowable.engine.impl.event.logger.EventLogger;
 import org.flowable.engine.impl.form.BooleanFormType;
 import org.flowable.engine.impl.form.DateFormType;
@@ -174,8 +181,10 @@ import org.flowable.engine.impl.form.JuelFormEngine;
 import org.flowable.engine.impl.form.LongFormType;
 import org.flowable.engine.impl.form.StringFormType;
 import org.flowable.engine.impl.history.DefaultHistoryManager;
+import org.flowable.engine.impl.history.HistoryCleanupMetrics;
 import org.flowable.engine.impl.history.HistoryLevel;
 import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.history.HistoryRetentionPolicy;
 import org.flowable.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.interceptor.CommandContextFactory;
 import org.flowable.engine.impl.interceptor.CommandContextInterceptor;
@@ -188,13 +197,17 @@ import org.flowable.engine.impl.interceptor.LoggingExecutionTreeCommandInvoker;
 import org.flowable.engine.impl.interceptor.TransactionContextInterceptor;
 import org.flowable.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.flowable.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
+import org.flowable.engine.impl.jobexecutor.DeleteProcessInstancesJobHandler;
 import org.flowable.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.flowable.engine.impl.jobexecutor.HistoryCleanupJobHandler;
 import org.flowable.engine.impl.jobexecutor.JobHandler;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceBatchJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
+import org.flowable.engine.impl.mail.AsyncMailSender;
 import org.flowable.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.engine.impl.persistence.cache.EntityCache;
 import org.flowable.engine.impl.persistence.cache.EntityCacheImpl;
@@ -315,6 +328,7 @@ import org.flowable.engine.impl.util.ProcessInstanceHelper;
 import org.flowable.engine.impl.util.ReflectUtil;
 import org.flowable.engine.impl.variable.BooleanType;
 import org.flowable.engine.impl.variable.ByteArrayType;
+import org.flowable.engine.impl.variable.CompactSerializableVariableSerializer;
 import org.flowable.engine.impl.variable.CustomObjectType;
 import org.flowable.engine.impl.variable.DateType;
 import org.flowable.engine.impl.variable.DefaultVariableTypes;
@@ -332,8 +346,10 @@ import org.flowable.engine.impl.variable.LongStringType;
 import org.flowable.engine.impl.variable.LongType;
 import org.flowable.engine.impl.variable.NullType;
 import org.flowable.engine.impl.variable.SerializableType;
+import org.flowable.engine.impl.variable.SerializableVariableSerializer;
 import org.flowable.engine.impl.variable.ShortType;
 import org.flowable.engine.impl.variable.StringType;
+import org.flowable.engine.impl.variable.StructuredJsonType;
 import org.flowable.engine.impl.variable.UUIDType;
 import org.flowable.engine.impl.variable.VariableType;
 import org.flowable.engine.impl.variable.VariableTypes;
@@ -517,6 +533,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int appResourceCacheLimit = -1;
     protected DeploymentCache<Object> appResourceCache;
 
+    /**
+     * When enabled, the id of the latest process definition version per key and tenant is kept in memory, so starting a process instance by key doesn't need to query the latest version.
+     *
+     * The index is only guaranteed to be current with the READ COMMITTED isolation level on a single node. With REPEATABLE READ, a transaction that started before a deployment was committed can
+     * still find and index the previous version, and deployments done by other engines sharing the same database are not seen by the index. The entries therefore expire after
+     * latestDefinitionIndexTimeToLive milliseconds, which bounds how long such an outdated version is used. A zero or negative time to live is only safe with READ COMMITTED on a single node.
+     */
+    protected boolean enableLatestDefinitionIndex;
+    protected long latestDefinitionIndexTimeToLive = LatestDefinitionIndex.DEFAULT_TIME_TO_LIVE;
+    protected LatestDefinitionIndex latestDefinitionIndex;
+
     protected AppResourceConverter appResourceConverter;
 
     // JOB EXECUTOR /////////////////////////////////////////////////////////////
@@ -524,6 +551,81 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected List<JobHandler> customJobHandlers;
     protected Map<String, JobHandler> jobHandlers;
 
+    // HISTORY CLEANUP //////////////////////////////////////////////////////////
+
+    /**
+     * When enabled, a timer job periodically deletes the historic process instances that are expired according to the {@link #historyRetentionPolicies}. Only one job is scheduled for all the
+     * engines sharing the database. When the job is executed by an engine on which the cleanup is disabled, it isn't rescheduled anymore: it's scheduled again when an engine with the cleanup enabled
+     * is started.
+     */
+    protected boolean enableHistoryCleanup;
+    protected List<HistoryRetentionPolicy> historyRetentionPolicies = new ArrayList<HistoryRetentionPolicy>();
+
+    /**
+     * The maximum number of (root) historic process instances deleted per retention policy in one cleanup run. Can't be larger than 1000.
+     */
+    protected int historyCleanupBatchSize = 100;
+
+    /**
+     * The time to wait before the next cleanup run when there's more expired data left. Throttles the cleanup so it doesn't monopolize the database.
+     */
+    protected long historyCleanupBatchPauseInMillis = 5000L;
+
+    /**
+     * The time to wait before the next cleanup run when all expired data has been deleted.
+     */
+    protected long historyCleanupIntervalInMillis = 60 * 60 * 1000L;
+
+    protected HistoryCleanupMetrics historyCleanupMetrics = new HistoryCleanupMetrics();
+
+    // BULK PROCESS INSTANCE DELETION ///////////////////////////////////////////
+
+    /**
+     * The maximum number of process instances deleted by one async job of {@link org.flowable.engine.RuntimeService#deleteProcessInstancesAsync(List, String)}. A job can hold less process
+     * instances, as its configuration is limited to 4000 characters. Can't be larger than 1000.
+     */
+    protected int processInstanceDeletionBatchSize = 50;
+
+    // ASYNC EVENT LISTENERS ////////////////////////////////////////////////////
+
+    /**
+     * Event listeners that are notified of the events after the transaction that produced them is committed, on a dedicated thread. See {@link AsyncEventListenerExecutor}.
+     */
+    protected List<FlowableEventListener> asyncEventListeners;
+    protected Map<String, List<FlowableEventListener>> typedAsyncEventListeners;
+    protected AsyncEventListenerExecutor asyncEventListenerExecutor;
+
+    /**
+     * The maximum number of committed events waiting for delivery. When the queue is full, the committing thread delivers the events itself.
+     */
+    protected int asyncEventListenerQueueSize = 10000;
+    protected int asyncEventListenerBatchSize = 100;
+
+    /**
+     * The number of times the delivery of an event is retried when the listener throws an exception.
+     */
+    protected int asyncEventListenerMaxRetries = 3;
+    protected long asyncEventListenerRetryWaitTimeInMillis = 500L;
+    protected long asyncEventListenerQueueOfferTimeoutInMillis = 1000L;
+
+    // ASYNC MAIL ///////////////////////////////////////////////////////////////
+
+    /**
+     * When enabled, mail tasks don't send their mails during the transaction: the mails are sent by the {@link AsyncMailSender} after the transaction has been committed. Failures are reported with
+     * {@link FlowableEngineEventType#MAIL_FAILED} events instead of failing or setting the exception variable of the mail task.
+     */
+    protected boolean asyncMailEnabled;
+    protected AsyncMailSender asyncMailSender;
+    protected int asyncMailThreadPoolSize = 2;
+    protected int asyncMailQueueSize = 1000;
+    protected int asyncMailBatchSize = 50;
+
+    /**
+     * The number of times sending a mail is retried. The wait time before a retry doubles after each attempt.
+     */
+    protected int asyncMailMaxRetries = 3;
+    protected long asyncMailRetryWaitTimeInMillis = 1000L;
+
     // HELPERS //////////////////////////////////////////////////////////////////
     protected ProcessInstanceHelper processInstanceHelper;
     protected ListenerNotificationHelper listenerNotificationHelper;
@@ -718,6 +820,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+    /**
+     * When enabled, new JsonNode variables are stored with the {@link StructuredJsonType} instead of the {@link JsonType} and {@link LongJsonType}: serialized once when set, parsed once
+     * per command and encoded with the {@link #jsonVariableObjectMapper}. Existing variables keep the type they were stored with.
+     *
+     * By default false.
+     */
+    protected boolean structuredJsonVariableTypeEnabled;
+
+    /**
+     * The {@link ObjectMapper} used by the {@link StructuredJsonType}, for example one created with a Smile factory for a binary encoding. When null, the {@link #objectMapper} is used.
+     */
+    protected ObjectMapper jsonVariableObjectMapper;
+
+    /**
+     * The serializer used to write the values of 'serializable' variables, for example the {@link CompactSerializableVariableSerializer}. Values written by a serializer are prefixed with its name
+     * and version, so they stay readable when the serializer is changed later on.
+     *
+     * By default null: values are written with Java serialization, which can be read by older engine versions.
+     */
+    protected SerializableVariableSerializer serializableVariableSerializer;
+
+    /**
+     * Additional serializers that can read the values of 'serializable' variables. The {@link CompactSerializableVariableSerializer} and the {@link #serializableVariableSerializer} are always
+     * registered.
+     */
+    protected List<SerializableVariableSerializer> customSerializableVariableSerializers;
+
     protected ExpressionManager expressionManager;
     protected List<String> customScriptingEngineClasses;
     protected ScriptingEngines scriptingEngines;
@@ -763,6 +892,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // Event logging to database
     protected boolean enableDatabaseEventLogging;
 
+    /**
+     * When enabled, the database event log entries are not inserted in the transaction of the command: they are written in batches by the {@link AsyncEventLogEntryWriter} after the transaction
+     * has been committed. Entries that don't fit in the buffer of the writer are dropped.
+     */
+    protected boolean asyncDatabaseEventLogging;
+    protected AsyncEventLogEntryWriter asyncEventLogEntryWriter;
+    protected int asyncDatabaseEventLoggingQueueSize = 10000;
+    protected int asyncDatabaseEventLoggingBatchSize = 100;
+
     /**
      * Using field injection together with a delegate expression for a service task / execution listener / task listener is not thread-sade , see user guide section 'Field Injection' for more
      * information.
@@ -791,6 +929,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int maxNrOfStatementsInBulkInsert = 100;
 
+    /**
+     * The MyBatis executor used for the database sessions of the commands. SIMPLE prepares every statement again, REUSE reuses the prepared statements within a command and BATCH also sends the
+     * inserts, updates and deletes of a command to the database in JDBC batches when the command is flushed.
+     *
+     * With BATCH, optimistic locking is verified with the update counts of the batch. BATCH can't be used with JDBC drivers that return Statement.SUCCESS_NO_INFO for batched statements (e.g. Oracle
+     * drivers before 12c): commands that update or delete a versioned entity fail on such drivers instead of silently overwriting concurrent updates. Custom session or entity code must not run a
+     * select between the queued updates and the end of the flush, as MyBatis flushes the batch implicitly before a select: a command in which that happens fails as well.
+     *
+     * By default SIMPLE.
+     */
+    protected ExecutorType sqlSessionExecutorType = ExecutorType.SIMPLE;
+
+    /**
+     * When enabled, the execution count, time and number of rows are kept per mapped statement id, see {@link ManagementService#getStatementMetrics()}.
+     *
+     * By default false.
+     */
+    protected boolean enableStatementMetrics;
+
+    protected StatementMetricsInterceptor statementMetricsInterceptor;
+
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
     protected ObjectMapper objectMapper = new ObjectMapper();
@@ -880,6 +1039,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         initProcessDefinitionInfoCache();
         initAppResourceCache();
         initKnowledgeBaseCache();
+        initLatestDefinitionIndex();
         initJobHandlers();
         initJobManager();
         initAsyncExecutor();
@@ -900,6 +1060,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         initEventHandlers();
         initFailedJobCommandFactory();
         initEventDispatcher();
+        initAsyncEventListenerExecutor();
+        initAsyncMailSender();
         initProcessValidator();
         initDatabaseEventLogging();
         initFlowable5CompatibilityHandler();
@@ -1036,12 +1198,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         configuration.setEnvironment(environment);
 
         initMybatisTypeHandlers(configuration);
+        initMybatisInterceptors(configuration);
         initCustomMybatisMappers(configuration);
 
         configuration = parseMybatisConfiguration(configuration, parser);
         return configuration;
     }
 
+    public void initMybatisInterceptors(Configuration configuration) {
+        if (enableStatementMetrics) {
+            if (statementMetricsInterceptor == null) {
+                statementMetricsInterceptor = new StatementMetricsInterceptor();
+            }
+            configuration.addInterceptor(statementMetricsInterceptor);
+        }
+    }
+
     public void initMybatisTypeHandlers(Configuration configuration) {
         configuration.getTypeHandlerRegistry().register(VariableType.class, JdbcType.VARCHAR, new IbatisVariableTypeHandler());
     }
@@ -1286,6 +1458,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setExecutorType(sqlSessionExecutorType);
         addSessionFactory(dbSqlSessionFactory);
     }
 
@@ -1415,6 +1588,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    public void initLatestDefinitionIndex() {
+        if (latestDefinitionIndex == null && enableLatestDefinitionIndex) {
+            latestDefinitionIndex = new LatestDefinitionIndex(latestDefinitionIndexTimeToLive);
+        }
+    }
+
     public void initDeployers() {
         if (this.deployers == null) {
             this.deployers = new ArrayList<Deployer>();
@@ -1435,6 +1614,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             deploymentManager.setProcessDefinitionInfoCache(processDefinitionInfoCache);
             deploymentManager.setAppResourceCache(appResourceCache);
             deploymentManager.setKnowledgeBaseCache(knowledgeBaseCache);
+            deploymentManager.setLatestDefinitionIndex(latestDefinitionIndex);
             deploymentManager.setProcessEngineConfiguration(this);
             deploymentManager.setProcessDefinitionEntityManager(processDefinitionEntityManager);
             deploymentManager.setDeploymentEntityManager(deploymentEntityManager);
@@ -1651,6 +1831,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
         jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+        HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
+        jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+
+        ParallelMultiInstanceBatchJobHandler parallelMultiInstanceBatchJobHandler = new ParallelMultiInstanceBatchJobHandler();
+        jobHandlers.put(parallelMultiInstanceBatchJobHandler.getType(), parallelMultiInstanceBatchJobHandler);
+
+        DeleteProcessInstancesJobHandler deleteProcessInstancesJobHandler = new DeleteProcessInstancesJobHandler();
+        jobHandlers.put(deleteProcessInstancesJobHandler.getType(), deleteProcessInstancesJobHandler);
+
         // if we have custom job handlers, register them
         if (getCustomJobHandlers() != null) {
             for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1791,10 +1980,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
+            if (structuredJsonVariableTypeEnabled) {
+                variableTypes.addType(new StructuredJsonType(jsonVariableObjectMapper != null ? jsonVariableObjectMapper : objectMapper,
+                        serializableVariableTypeTrackDeserializedObjects));
+            }
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper));
             variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper));
             variableTypes.addType(new ByteArrayType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            variableTypes.addType(createSerializableType());
             variableTypes.addType(new CustomObjectType("item", ItemInstance.class));
             variableTypes.addType(new CustomObjectType("message", MessageInstance.class));
             if (customPostVariableTypes != null) {
@@ -1805,6 +1998,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    protected SerializableType createSerializableType() {
+        SerializableType serializableType = new SerializableType(serializableVariableTypeTrackDeserializedObjects);
+        serializableType.addSerializer(new CompactSerializableVariableSerializer());
+        if (customSerializableVariableSerializers != null) {
+            for (SerializableVariableSerializer customSerializer : customSerializableVariableSerializers) {
+                serializableType.addSerializer(customSerializer);
+            }
+        }
+        serializableType.setSerializer(serializableVariableSerializer);
+        return serializableType;
+    }
+
     public int getMaxLengthString() {
         if (maxLengthStringVariableType == -1) {
             if ("oracle".equalsIgnoreCase(databaseType)) {
@@ -1968,6 +2173,55 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     }
 
+    public void initAsyncEventListenerExecutor() {
+        if (asyncEventListenerExecutor == null) {
+            if ((asyncEventListeners == null || asyncEventListeners.isEmpty()) && (typedAsyncEventListeners == null || typedAsyncEventListeners.isEmpty())) {
+                return;
+            }
+
+            asyncEventListenerExecutor = new AsyncEventListenerExecutor();
+            asyncEventListenerExecutor.setQueueSize(asyncEventListenerQueueSize);
+            asyncEventListenerExecutor.setBatchSize(asyncEventListenerBatchSize);
+            asyncEventListenerExecutor.setMaxRetries(asyncEventListenerMaxRetries);
+            asyncEventListenerExecutor.setRetryWaitTimeInMillis(asyncEventListenerRetryWaitTimeInMillis);
+            asyncEventListenerExecutor.setQueueOfferTimeoutInMillis(asyncEventListenerQueueOfferTimeoutInMillis);
+        }
+
+        asyncEventListenerExecutor.setEventDispatcher(eventDispatcher);
+
+        if (asyncEventListeners != null) {
+            for (FlowableEventListener listenerToAdd : asyncEventListeners) {
+                asyncEventListenerExecutor.addEventListener(listenerToAdd);
+            }
+        }
+
+        if (typedAsyncEventListeners != null) {
+            for (Entry<String, List<FlowableEventListener>> listenersToAdd : typedAsyncEventListeners.entrySet()) {
+                FlowableEngineEventType[] types = FlowableEngineEventType.getTypesFromString(listenersToAdd.getKey());
+
+                for (FlowableEventListener listenerToAdd : listenersToAdd.getValue()) {
+                    asyncEventListenerExecutor.addEventListener(listenerToAdd, types);
+                }
+            }
+        }
+    }
+
+    public void initAsyncMailSender() {
+        if (!asyncMailEnabled) {
+            return;
+        }
+
+        if (asyncMailSender == null) {
+            asyncMailSender = new AsyncMailSender();
+            asyncMailSender.setThreadPoolSize(asyncMailThreadPoolSize);
+            asyncMailSender.setQueueSize(asyncMailQueueSize);
+            asyncMailSender.setBatchSize(asyncMailBatchSize);
+            asyncMailSender.setMaxRetries(asyncMailMaxRetries);
+            asyncMailSender.setRetryWaitTimeInMillis(asyncMailRetryWaitTimeInMillis);
+        }
+        asyncMailSender.setEventDispatcher(eventDispatcher);
+    }
+
     public void initProcessValidator() {
         if (this.processValidator == null) {
             this.processValidator = new ProcessValidatorFactory().createDefaultProcessValidator();
@@ -1989,7 +2243,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (enableDatabaseEventLogging) {
             // Database event logging uses the default logging mechanism and adds
             // a specific event listener to the list of event listeners
-            getEventDispatcher().addEventListener(new EventLogger(clock, objectMapper));
+            EventLogger eventLogger = new EventLogger(clock, objectMapper);
+            if (asyncDatabaseEventLogging) {
+                if (asyncEventLogEntryWriter == null) {
+                    asyncEventLogEntryWriter = new AsyncEventLogEntryWriter();
+                    asyncEventLogEntryWriter.setQueueSize(asyncDatabaseEventLoggingQueueSize);
+                    asyncEventLogEntryWriter.setBatchSize(asyncDatabaseEventLoggingBatchSize);
+                }
+                asyncEventLogEntryWriter.setCommandExecutor(commandExecutor);
+                eventLogger.setAsyncEventLogEntryWriter(asyncEventLogEntryWriter);
+            }
+            getEventDispatcher().addEventListener(eventLogger);
         }
     }
 
@@ -2035,6 +2299,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (performanceSettings.isValidateTaskRelationshipCountConfigOnBoot()) {
             commandExecutor.execute(new ValidateTaskRelatedEntityCountCfgCmd());
         }
+
+        if (enableHistoryCleanup) {
+            scheduleHistoryCleanupJob();
+        }
+    }
+
+    protected void scheduleHistoryCleanupJob() {
+        try {
+            commandExecutor.execute(new ScheduleHistoryCleanupJobCmd());
+        } catch (FlowableOptimisticLockingException e) {
+            log.debug("History cleanup job is scheduled by another engine", e);
+        } catch (RuntimeException e) {
+            // Another engine can have created the lock property at the same time: it exists now, so the second attempt either finds the job or locks the property
+            log.debug("Could not schedule the history cleanup job, trying again", e);
+            commandExecutor.execute(new ScheduleHistoryCleanupJobCmd());
+        }
     }
 
     public Runnable getProcessEngineCloseRunnable() {
@@ -2514,6 +2794,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
     }
 
+    public SerializableVariableSerializer getSerializableVariableSerializer() {
+        return serializableVariableSerializer;
+    }
+
+    public ProcessEngineConfigurationImpl setSerializableVariableSerializer(SerializableVariableSerializer serializableVariableSerializer) {
+        this.serializableVariableSerializer = serializableVariableSerializer;
+        return this;
+    }
+
+    public List<SerializableVariableSerializer> getCustomSerializableVariableSerializers() {
+        return customSerializableVariableSerializers;
+    }
+
+    public ProcessEngineConfigurationImpl setCustomSerializableVariableSerializers(List<SerializableVariableSerializer> customSerializableVariableSerializers) {
+        this.customSerializableVariableSerializers = customSerializableVariableSerializers;
+        return this;
+    }
+
+    public boolean isStructuredJsonVariableTypeEnabled() {
+        return structuredJsonVariableTypeEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setStructuredJsonVariableTypeEnabled(boolean structuredJsonVariableTypeEnabled) {
+        this.structuredJsonVariableTypeEnabled = structuredJsonVariableTypeEnabled;
+        return this;
+    }
+
+    public ObjectMapper getJsonVariableObjectMapper() {
+        return jsonVariableObjectMapper;
+    }
+
+    public ProcessEngineConfigurationImpl setJsonVariableObjectMapper(ObjectMapper jsonVariableObjectMapper) {
+        this.jsonVariableObjectMapper = jsonVariableObjectMapper;
+        return this;
+    }
+
     public ExpressionManager getExpressionManager() {
         return expressionManager;
     }
@@ -2624,6 +2940,204 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableHistoryCleanup() {
+        return enableHistoryCleanup;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableHistoryCleanup(boolean enableHistoryCleanup) {
+        this.enableHistoryCleanup = enableHistoryCleanup;
+        return this;
+    }
+
+    public List<HistoryRetentionPolicy> getHistoryRetentionPolicies() {
+        return historyRetentionPolicies;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryRetentionPolicies(List<HistoryRetentionPolicy> historyRetentionPolicies) {
+        this.historyRetentionPolicies = historyRetentionPolicies;
+        return this;
+    }
+
+    public int getHistoryCleanupBatchSize() {
+        return historyCleanupBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleanupBatchSize(int historyCleanupBatchSize) {
+        this.historyCleanupBatchSize = historyCleanupBatchSize;
+        return this;
+    }
+
+    public long getHistoryCleanupBatchPauseInMillis() {
+        return historyCleanupBatchPauseInMillis;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleanupBatchPauseInMillis(long historyCleanupBatchPauseInMillis) {
+        this.historyCleanupBatchPauseInMillis = historyCleanupBatchPauseInMillis;
+        return this;
+    }
+
+    public long getHistoryCleanupIntervalInMillis() {
+        return historyCleanupIntervalInMillis;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleanupIntervalInMillis(long historyCleanupIntervalInMillis) {
+        this.historyCleanupIntervalInMillis = historyCleanupIntervalInMillis;
+        return this;
+    }
+
+    public HistoryCleanupMetrics getHistoryCleanupMetrics() {
+        return historyCleanupMetrics;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryCleanupMetrics(HistoryCleanupMetrics historyCleanupMetrics) {
+        this.historyCleanupMetrics = historyCleanupMetrics;
+        return this;
+    }
+
+    public int getProcessInstanceDeletionBatchSize() {
+        return processInstanceDeletionBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessInstanceDeletionBatchSize(int processInstanceDeletionBatchSize) {
+        this.processInstanceDeletionBatchSize = processInstanceDeletionBatchSize;
+        return this;
+    }
+
+    public List<FlowableEventListener> getAsyncEventListeners() {
+        return asyncEventListeners;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListeners(List<FlowableEventListener> asyncEventListeners) {
+        this.asyncEventListeners = asyncEventListeners;
+        return this;
+    }
+
+    public Map<String, List<FlowableEventListener>> getTypedAsyncEventListeners() {
+        return typedAsyncEventListeners;
+    }
+
+    public ProcessEngineConfigurationImpl setTypedAsyncEventListeners(Map<String, List<FlowableEventListener>> typedAsyncEventListeners) {
+        this.typedAsyncEventListeners = typedAsyncEventListeners;
+        return this;
+    }
+
+    public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+        return asyncEventListenerExecutor;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+        this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+        return this;
+    }
+
+    public int getAsyncEventListenerQueueSize() {
+        return asyncEventListenerQueueSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListenerQueueSize(int asyncEventListenerQueueSize) {
+        this.asyncEventListenerQueueSize = asyncEventListenerQueueSize;
+        return this;
+    }
+
+    public int getAsyncEventListenerBatchSize() {
+        return asyncEventListenerBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListenerBatchSize(int asyncEventListenerBatchSize) {
+        this.asyncEventListenerBatchSize = asyncEventListenerBatchSize;
+        return this;
+    }
+
+    public int getAsyncEventListenerMaxRetries() {
+        return asyncEventListenerMaxRetries;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListenerMaxRetries(int asyncEventListenerMaxRetries) {
+        this.asyncEventListenerMaxRetries = asyncEventListenerMaxRetries;
+        return this;
+    }
+
+    public long getAsyncEventListenerRetryWaitTimeInMillis() {
+        return asyncEventListenerRetryWaitTimeInMillis;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListenerRetryWaitTimeInMillis(long asyncEventListenerRetryWaitTimeInMillis) {
+        this.asyncEventListenerRetryWaitTimeInMillis = asyncEventListenerRetryWaitTimeInMillis;
+        return this;
+    }
+
+    public long getAsyncEventListenerQueueOfferTimeoutInMillis() {
+        return asyncEventListenerQueueOfferTimeoutInMillis;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventListenerQueueOfferTimeoutInMillis(long asyncEventListenerQueueOfferTimeoutInMillis) {
+        this.asyncEventListenerQueueOfferTimeoutInMillis = asyncEventListenerQueueOfferTimeoutInMillis;
+        return this;
+    }
+
+    public boolean isAsyncMailEnabled() {
+        return asyncMailEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailEnabled(boolean asyncMailEnabled) {
+        this.asyncMailEnabled = asyncMailEnabled;
+        return this;
+    }
+
+    public AsyncMailSender getAsyncMailSender() {
+        return asyncMailSender;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailSender(AsyncMailSender asyncMailSender) {
+        this.asyncMailSender = asyncMailSender;
+        return this;
+    }
+
+    public int getAsyncMailThreadPoolSize() {
+        return asyncMailThreadPoolSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailThreadPoolSize(int asyncMailThreadPoolSize) {
+        this.asyncMailThreadPoolSize = asyncMailThreadPoolSize;
+        return this;
+    }
+
+    public int getAsyncMailQueueSize() {
+        return asyncMailQueueSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailQueueSize(int asyncMailQueueSize) {
+        this.asyncMailQueueSize = asyncMailQueueSize;
+        return this;
+    }
+
+    public int getAsyncMailBatchSize() {
+        return asyncMailBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailBatchSize(int asyncMailBatchSize) {
+        this.asyncMailBatchSize = asyncMailBatchSize;
+        return this;
+    }
+
+    public int getAsyncMailMaxRetries() {
+        return asyncMailMaxRetries;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailMaxRetries(int asyncMailMaxRetries) {
+        this.asyncMailMaxRetries = asyncMailMaxRetries;
+        return this;
+    }
+
+    public long getAsyncMailRetryWaitTimeInMillis() {
+        return asyncMailRetryWaitTimeInMillis;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncMailRetryWaitTimeInMillis(long asyncMailRetryWaitTimeInMillis) {
+        this.asyncMailRetryWaitTimeInMillis = asyncMailRetryWaitTimeInMillis;
+        return this;
+    }
+
     public ProcessInstanceHelper getProcessInstanceHelper() {
         return processInstanceHelper;
     }
@@ -2913,6 +3427,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableLatestDefinitionIndex() {
+        return enableLatestDefinitionIndex;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableLatestDefinitionIndex(boolean enableLatestDefinitionIndex) {
+        this.enableLatestDefinitionIndex = enableLatestDefinitionIndex;
+        return this;
+    }
+
+    public long getLatestDefinitionIndexTimeToLive() {
+        return latestDefinitionIndexTimeToLive;
+    }
+
+    public ProcessEngineConfigurationImpl setLatestDefinitionIndexTimeToLive(long latestDefinitionIndexTimeToLive) {
+        this.latestDefinitionIndexTimeToLive = latestDefinitionIndexTimeToLive;
+        return this;
+    }
+
+    public LatestDefinitionIndex getLatestDefinitionIndex() {
+        return latestDefinitionIndex;
+    }
+
+    public ProcessEngineConfigurationImpl setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+        this.latestDefinitionIndex = latestDefinitionIndex;
+        return this;
+    }
+
     public AppResourceConverter getAppResourceConverter() {
         return appResourceConverter;
     }
@@ -2991,6 +3532,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncDatabaseEventLogging() {
+        return asyncDatabaseEventLogging;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncDatabaseEventLogging(boolean asyncDatabaseEventLogging) {
+        this.asyncDatabaseEventLogging = asyncDatabaseEventLogging;
+        return this;
+    }
+
+    public AsyncEventLogEntryWriter getAsyncEventLogEntryWriter() {
+        return asyncEventLogEntryWriter;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncEventLogEntryWriter(AsyncEventLogEntryWriter asyncEventLogEntryWriter) {
+        this.asyncEventLogEntryWriter = asyncEventLogEntryWriter;
+        return this;
+    }
+
+    public int getAsyncDatabaseEventLoggingQueueSize() {
+        return asyncDatabaseEventLoggingQueueSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncDatabaseEventLoggingQueueSize(int asyncDatabaseEventLoggingQueueSize) {
+        this.asyncDatabaseEventLoggingQueueSize = asyncDatabaseEventLoggingQueueSize;
+        return this;
+    }
+
+    public int getAsyncDatabaseEventLoggingBatchSize() {
+        return asyncDatabaseEventLoggingBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncDatabaseEventLoggingBatchSize(int asyncDatabaseEventLoggingBatchSize) {
+        this.asyncDatabaseEventLoggingBatchSize = asyncDatabaseEventLoggingBatchSize;
+        return this;
+    }
+
     public int getMaxLengthStringVariableType() {
         return maxLengthStringVariableType;
     }
@@ -3000,6 +3577,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public ExecutorType getSqlSessionExecutorType() {
+        return sqlSessionExecutorType;
+    }
+
+    public ProcessEngineConfigurationImpl setSqlSessionExecutorType(ExecutorType sqlSessionExecutorType) {
+        this.sqlSessionExecutorType = sqlSessionExecutorType;
+        return this;
+    }
+
+    public boolean isEnableStatementMetrics() {
+        return enableStatementMetrics;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableStatementMetrics(boolean enableStatementMetrics) {
+        this.enableStatementMetrics = enableStatementMetrics;
+        return this;
+    }
+
+    public StatementMetricsInterceptor getStatementMetricsInterceptor() {
+        return statementMetricsInterceptor;
+    }
+
+    public ProcessEngineConfigurationImpl setStatementMetricsInterceptor(StatementMetricsInterceptor statementMetricsInterceptor) {
+        this.statementMetricsInterceptor = statementMetricsInterceptor;
+        return this;
+    }
+
     public boolean isBulkInsertEnabled() {
         return isBulkInsertEnabled;
     }
@@ -3048,6 +3652,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public ProcessEngineConfigurationImpl setEnableVariablePrefetching(boolean enableVariablePrefetching) {
+        this.performanceSettings.setEnableVariablePrefetching(enableVariablePrefetching);
+        return this;
+    }
+
     public PerformanceSettings getPerformanceSettings() {
         return performanceSettings;
     }
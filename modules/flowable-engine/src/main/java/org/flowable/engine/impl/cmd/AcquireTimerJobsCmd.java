@@ -13,12 +13,14 @@
 package org.flowable.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.TimerJobWheel;
 import org.flowable.engine.impl.interceptor.Command;
 import org.flowable.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
@@ -29,12 +31,25 @@ import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
     private final AsyncExecutor asyncExecutor;
+    private final TimerJobWheel timerJobWheel;
 
     public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+        this(asyncExecutor, null);
+    }
+
+    /**
+     * When a {@link TimerJobWheel} is given, the timers that are due within the horizon of the wheel are acquired, and locked until their due date.
+     */
+    public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, TimerJobWheel timerJobWheel) {
         this.asyncExecutor = asyncExecutor;
+        this.timerJobWheel = timerJobWheel;
     }
 
     public AcquiredTimerJobEntities execute(CommandContext commandContext) {
+        if (timerJobWheel != null) {
+            return acquireTimerJobsWithinHorizon(commandContext);
+        }
+
         AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
         List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
                 .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
@@ -47,6 +62,21 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
         return acquiredJobs;
     }
 
+    protected AcquiredTimerJobEntities acquireTimerJobsWithinHorizon(CommandContext commandContext) {
+        AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
+        Date dueBefore = new Date(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime().getTime() + timerJobWheel.getHorizonInMillis());
+        List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
+                .findTimerJobsDueBefore(dueBefore, new Page(0, asyncExecutor.getMaxTimerJobsPerAcquisition()));
+
+        for (TimerJobEntity job : timerJobs) {
+            job.setLockOwner(asyncExecutor.getLockOwner());
+            job.setLockExpirationTime(timerJobWheel.getLockExpirationTime(job.getDuedate()));
+            acquiredJobs.addJob(job);
+        }
+
+        return acquiredJobs;
+    }
+
     protected void lockJob(CommandContext commandContext, TimerJobEntity job, int lockTimeInMillis) {
 
         // This will trigger an optimistic locking exception when two concurrent executors
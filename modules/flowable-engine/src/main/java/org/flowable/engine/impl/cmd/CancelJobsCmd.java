@@ -50,7 +50,7 @@ public class CancelJobsCmd implements Command<Void>, Serializable {
 
             if (jobToDelete != null) {
                 // When given job doesn't exist, ignore
-                if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+                if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, jobToDelete));
                 }
 
@@ -61,7 +61,7 @@ public class CancelJobsCmd implements Command<Void>, Serializable {
 
                 if (timerJobToDelete != null) {
                     // When given job doesn't exist, ignore
-                    if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+                    if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                         commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, timerJobToDelete));
                     }
 
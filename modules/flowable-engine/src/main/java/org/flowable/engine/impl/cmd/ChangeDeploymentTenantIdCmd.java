@@ -52,6 +52,9 @@ public class ChangeDeploymentTenantIdCmd implements Command<Void>, Serializable
             throw new FlowableObjectNotFoundException("Could not find deployment with id " + deploymentId, Deployment.class);
         }
 
+        // The latest process definitions per tenant change
+        commandContext.getProcessEngineConfiguration().getDeploymentManager().startLatestDefinitionIndexChange();
+
         if (Flowable5Util.isFlowable5Deployment(deployment, commandContext)) {
             commandContext.getProcessEngineConfiguration().getFlowable5CompatibilityHandler().changeDeploymentTenantId(deploymentId, newTenantId);
             return null;
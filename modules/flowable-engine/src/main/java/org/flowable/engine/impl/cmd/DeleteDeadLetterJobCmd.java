@@ -51,7 +51,7 @@ public class DeleteDeadLetterJobCmd implements Command<Object>, Serializable {
     }
 
     protected void sendCancelEvent(DeadLetterJobEntity jobToDelete) {
-        if (Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, jobToDelete));
         }
     }
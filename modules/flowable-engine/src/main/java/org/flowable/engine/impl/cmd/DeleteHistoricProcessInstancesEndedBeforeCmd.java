@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntityManager;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntityManagerImpl;
+
+/**
+ * Deletes one batch of historic process instances that ended before the given date, using set-based delete statements.
+ * Returns the number of (root) historic process instances that were deleted.
+ */
+public class DeleteHistoricProcessInstancesEndedBeforeCmd implements Command<Integer>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected Date endedBefore;
+    protected String processDefinitionKey;
+    protected String tenantId;
+    protected int batchSize;
+
+    public DeleteHistoricProcessInstancesEndedBeforeCmd(Date endedBefore, String processDefinitionKey, String tenantId, int batchSize) {
+        this.endedBefore = endedBefore;
+        this.processDefinitionKey = processDefinitionKey;
+        this.tenantId = tenantId;
+        this.batchSize = batchSize;
+    }
+
+    public Integer execute(CommandContext commandContext) {
+        if (endedBefore == null) {
+            throw new FlowableIllegalArgumentException("endedBefore is null");
+        }
+        if (batchSize <= 0 || batchSize > HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT) {
+            throw new FlowableIllegalArgumentException("batchSize should be between 1 and " + HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT);
+        }
+
+        HistoricProcessInstanceEntityManager historicProcessInstanceEntityManager = commandContext.getHistoricProcessInstanceEntityManager();
+        List<String> historicProcessInstanceIds = historicProcessInstanceEntityManager.findHistoricProcessInstanceIdsEndedBefore(endedBefore, processDefinitionKey, tenantId, batchSize);
+        historicProcessInstanceEntityManager.deleteHistoricProcessInstances(historicProcessInstanceIds);
+        return historicProcessInstanceIds.size();
+    }
+
+}
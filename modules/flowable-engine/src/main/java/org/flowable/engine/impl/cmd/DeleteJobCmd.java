@@ -61,7 +61,7 @@ public class DeleteJobCmd implements Command<Object>, Serializable {
     }
 
     protected void sendCancelEvent(JobEntity jobToDelete) {
-        if (Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, jobToDelete));
         }
     }
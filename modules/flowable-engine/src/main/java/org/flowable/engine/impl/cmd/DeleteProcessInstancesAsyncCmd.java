@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.ProcessInstanceQueryImpl;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.jobexecutor.DeleteProcessInstancesJobHandler;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntityManagerImpl;
+
+/**
+ * Schedules the async jobs that delete the given process instances, or the process instances matching the given query, in batches.
+ * Returns the number of scheduled jobs.
+ */
+public class DeleteProcessInstancesAsyncCmd implements Command<Integer>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected List<String> processInstanceIds;
+    protected ProcessInstanceQueryImpl processInstanceQuery;
+    protected String deleteReason;
+
+    public DeleteProcessInstancesAsyncCmd(List<String> processInstanceIds, String deleteReason) {
+        this.processInstanceIds = processInstanceIds;
+        this.deleteReason = deleteReason;
+    }
+
+    public DeleteProcessInstancesAsyncCmd(ProcessInstanceQueryImpl processInstanceQuery, String deleteReason) {
+        this.processInstanceQuery = processInstanceQuery;
+        this.deleteReason = deleteReason;
+    }
+
+    public Integer execute(CommandContext commandContext) {
+        List<String> ids = processInstanceIds;
+        if (processInstanceQuery != null) {
+            ids = commandContext.getExecutionEntityManager().findProcessInstanceIdsByQueryCriteria(processInstanceQuery);
+        } else if (ids == null) {
+            throw new FlowableIllegalArgumentException("processInstanceIds is null");
+        }
+
+        int batchSize = commandContext.getProcessEngineConfiguration().getProcessInstanceDeletionBatchSize();
+        if (batchSize <= 0 || batchSize > HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT) {
+            throw new FlowableIllegalArgumentException("processInstanceDeletionBatchSize should be between 1 and " + HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT);
+        }
+
+        return DeleteProcessInstancesJobHandler.scheduleDeleteProcessInstancesJobs(commandContext, ids, deleteReason, batchSize);
+    }
+
+}
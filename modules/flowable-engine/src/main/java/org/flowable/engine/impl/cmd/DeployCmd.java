@@ -103,7 +103,7 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
         // Save the data
         commandContext.getDeploymentEntityManager().insert(deployment);
 
-        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_CREATED)) {
             commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, deployment));
         }
 
@@ -119,7 +119,7 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
             scheduleProcessDefinitionActivation(commandContext, deployment);
         }
 
-        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_INITIALIZED)) {
             commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, deployment));
         }
 
@@ -132,6 +132,7 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
             throw new FlowableException("Found Flowable 5 process definition, but no compatibility handler on the classpath. "
                     + "Cannot use the deployment property " + DeploymentProperties.DEPLOY_AS_FLOWABLE5_PROCESS_DEFINITION);
         }
+        commandContext.getProcessEngineConfiguration().getDeploymentManager().startLatestDefinitionIndexChange();
         return flowable5CompatibilityHandler.deploy(deploymentBuilder);
     }
 
@@ -64,7 +64,7 @@ public class ExecuteAsyncJobCmd implements Command<Object>, Serializable {
 
         commandContext.getJobManager().execute(job);
 
-        if (commandContext.getEventDispatcher().isEnabled()) {
+        if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_EXECUTION_SUCCESS)) {
             commandContext.getEventDispatcher().dispatchEvent(
                     FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_EXECUTION_SUCCESS, job));
         }
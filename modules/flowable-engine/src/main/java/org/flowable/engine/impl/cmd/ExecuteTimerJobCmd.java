@@ -0,0 +1,77 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.asyncexecutor.TimerJobWheel;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a timer job that was fired by the {@link TimerJobWheel}, without moving it to an async job first.
+ * 
+ * The timer job is refetched, as it could have been deleted in the meantime (for example when the task with a boundary timer was completed) or acquired by another async executor after the lock
+ * of the given lock owner expired. In both cases, nothing is executed.
+ */
+public class ExecuteTimerJobCmd implements Command<Object>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static Logger log = LoggerFactory.getLogger(ExecuteTimerJobCmd.class);
+
+    protected String jobId;
+    protected String lockOwner;
+
+    public ExecuteTimerJobCmd(String jobId, String lockOwner) {
+        this.jobId = jobId;
+        this.lockOwner = lockOwner;
+    }
+
+    public Object execute(CommandContext commandContext) {
+
+        if (jobId == null) {
+            throw new FlowableIllegalArgumentException("jobId is null");
+        }
+
+        TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().findById(jobId);
+        if (timerJob == null || !lockOwner.equals(timerJob.getLockOwner())) {
+            log.debug("Timer job {} does not exist anymore or is not locked by {} and will not be executed.", jobId, lockOwner);
+            return null;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Executing timer job {}", timerJob.getId());
+        }
+
+        commandContext.getJobManager().executeTimerJobDirectly(timerJob);
+
+        if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_EXECUTION_SUCCESS)) {
+            commandContext.getEventDispatcher().dispatchEvent(
+                    FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_EXECUTION_SUCCESS, timerJob));
+        }
+
+        return null;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+}
@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+import org.flowable.engine.common.api.management.StatementMetrics;
+import org.flowable.engine.impl.db.StatementMetricsInterceptor;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+
+public class GetStatementMetricsCmd implements Command<Map<String, StatementMetrics>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public Map<String, StatementMetrics> execute(CommandContext commandContext) {
+        StatementMetricsInterceptor statementMetricsInterceptor = commandContext.getProcessEngineConfiguration().getStatementMetricsInterceptor();
+        if (statementMetricsInterceptor == null) {
+            return Collections.emptyMap();
+        }
+        return statementMetricsInterceptor.getStatementMetrics();
+    }
+
+}
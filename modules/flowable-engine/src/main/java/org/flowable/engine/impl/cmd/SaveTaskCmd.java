@@ -57,7 +57,7 @@ public class SaveTaskCmd implements Command<Void>, Serializable {
         if (task.getRevision() == 0) {
             commandContext.getTaskEntityManager().insert(task, null, true);
 
-            if (commandContext.getEventDispatcher().isEnabled()) {
+            if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.TASK_CREATED)) {
                 commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TASK_CREATED, task));
             }
 
@@ -130,7 +130,7 @@ public class SaveTaskCmd implements Command<Void>, Serializable {
                 commandContext.getProcessEngineConfiguration().getListenerNotificationHelper().executeTaskListeners(task, TaskListener.EVENTNAME_ASSIGNMENT);
                 commandContext.getHistoryManager().recordTaskAssignment(task);
 
-                if (commandContext.getEventDispatcher().isEnabled()) {
+                if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.TASK_ASSIGNED)) {
                     commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TASK_ASSIGNED, task));
                 }
 
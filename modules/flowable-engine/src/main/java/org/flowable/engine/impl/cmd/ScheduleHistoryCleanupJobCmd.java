@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import org.flowable.engine.impl.JobQueryImpl;
+import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.jobexecutor.HistoryCleanupJobHandler;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntityManager;
+
+/**
+ * Schedules the history cleanup timer job, unless it is already scheduled or being executed.
+ * 
+ * Engines of a cluster that start at the same time would all see that no job exists yet. To schedule only one job, every execution of this command first updates the
+ * {@link #LOCK_PROPERTY_NAME} property, which is versioned: when two engines run the command concurrently, the flush of one of them fails with a
+ * {@link org.flowable.engine.common.api.FlowableOptimisticLockingException} (or a constraint violation, when the property is created for the first time) and its timer job is rolled back.
+ */
+public class ScheduleHistoryCleanupJobCmd implements Command<Void> {
+
+    public static final String LOCK_PROPERTY_NAME = "history.cleanup.lock";
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+        lockScheduling(commandContext);
+
+        long timerJobCount = new TimerJobQueryImpl(commandContext).handlerType(HistoryCleanupJobHandler.TYPE).count();
+        long jobCount = new JobQueryImpl(commandContext).handlerType(HistoryCleanupJobHandler.TYPE).count();
+        if (timerJobCount == 0 && jobCount == 0) {
+            HistoryCleanupJobHandler.scheduleHistoryCleanupJob(commandContext, commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+        }
+        return null;
+    }
+
+    protected void lockScheduling(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = commandContext.getPropertyEntityManager();
+        PropertyEntity lockProperty = propertyEntityManager.findById(LOCK_PROPERTY_NAME);
+        if (lockProperty == null) {
+            lockProperty = propertyEntityManager.create();
+            lockProperty.setName(LOCK_PROPERTY_NAME);
+            lockProperty.setValue("1");
+            propertyEntityManager.insert(lockProperty);
+
+        } else {
+            // Changing the value makes the flush update the property with a check on its revision
+            lockProperty.setValue(Long.toString(Long.parseLong(lockProperty.getValue()) + 1));
+        }
+    }
+
+}
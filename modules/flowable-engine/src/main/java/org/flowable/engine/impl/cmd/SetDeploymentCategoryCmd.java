@@ -54,7 +54,7 @@ public class SetDeploymentCategoryCmd implements Command<Void> {
         // Update category
         deployment.setCategory(category);
 
-        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_UPDATED)) {
             commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, deployment));
         }
 
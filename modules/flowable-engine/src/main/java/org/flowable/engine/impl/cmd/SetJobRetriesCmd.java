@@ -51,7 +51,7 @@ public class SetJobRetriesCmd implements Command<Void>, Serializable {
 
             job.setRetries(retries);
 
-            if (commandContext.getEventDispatcher().isEnabled()) {
+            if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_UPDATED)) {
                 commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, job));
             }
         } else {
@@ -65,7 +65,7 @@ public class SetProcessDefinitionCategoryCmd implements Command<Void> {
             processDefinitionCache.remove(processDefinitionId);
         }
 
-        if (commandContext.getEventDispatcher().isEnabled()) {
+        if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_UPDATED)) {
             commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, processDefinition));
         }
 
@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -35,6 +36,8 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.ProcessEngineConfiguration;
@@ -155,12 +158,20 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
     protected List<Entity> updatedObjects = new ArrayList<Entity>();
 
+    // When set, entities returned by queries are not put in the entity cache
+    protected boolean readOnly;
+
+    // With the BATCH executor, the update counts are only known when the statements are flushed: these are the entities for which it needs to be checked then
+    protected boolean batchMode;
+    protected Set<Object> optimisticLockingCheckedEntities = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
 
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
-        this.sqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession();
+        this.sqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession(dbSqlSessionFactory.getExecutorType());
+        this.batchMode = dbSqlSessionFactory.getExecutorType() == ExecutorType.BATCH;
         this.entityCache = entityCache;
         this.connectionMetadataDefaultCatalog = dbSqlSessionFactory.getDatabaseCatalog();
         this.connectionMetadataDefaultSchema = dbSqlSessionFactory.getDatabaseSchema();
@@ -202,7 +213,19 @@ public class DbSqlSession implements Session {
 
     public int update(String statement, Object parameters) {
         String updateStatement = dbSqlSessionFactory.mapStatement(statement);
-        return getSqlSession().update(updateStatement, parameters);
+        int updatedRecords = getSqlSession().update(updateStatement, parameters);
+        if (batchMode) {
+            // Callers expect the statement to be executed and the real update count to be returned
+            updatedRecords = 0;
+            List<BatchResult> batchResults = sqlSession.flushStatements();
+            verifyBatchResults(batchResults);
+            for (BatchResult batchResult : batchResults) {
+                for (int updateCount : batchResult.getUpdateCounts()) {
+                    updatedRecords += updateCount;
+                }
+            }
+        }
+        return updatedRecords;
     }
 
     // delete
@@ -315,10 +338,12 @@ public class DbSqlSession implements Session {
         }
 
         List loadedObjects = sqlSession.selectList(statement, parameter);
-        if (useCache) {
-            return cacheLoadOrStore(loadedObjects);
-        } else {
+        if (!useCache) {
             return loadedObjects;
+        } else if (isReadOnly(parameter)) {
+            return cacheLoad(loadedObjects);
+        } else {
+            return cacheLoadOrStore(loadedObjects);
         }
     }
 
@@ -336,7 +361,11 @@ public class DbSqlSession implements Session {
         Object result = sqlSession.selectOne(statement, parameter);
         if (result instanceof Entity) {
             Entity loadedObject = (Entity) result;
-            result = cacheLoadOrStore(loadedObject);
+            if (isReadOnly(parameter)) {
+                result = cacheLoad(loadedObject);
+            } else {
+                result = cacheLoadOrStore(loadedObject);
+            }
         }
         return result;
     }
@@ -400,6 +429,38 @@ public class DbSqlSession implements Session {
         return entity;
     }
 
+    protected boolean isReadOnly(Object parameter) {
+        return readOnly || (parameter instanceof ListQueryParameterObject && ((ListQueryParameterObject) parameter).isReadOnly());
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected List cacheLoad(List<Object> loadedObjects) {
+        if (loadedObjects.isEmpty()) {
+            return loadedObjects;
+        }
+        if (!(loadedObjects.get(0) instanceof Entity)) {
+            return loadedObjects;
+        }
+
+        List<Entity> filteredObjects = new ArrayList<Entity>(loadedObjects.size());
+        for (Object loadedObject : loadedObjects) {
+            filteredObjects.add(cacheLoad((Entity) loadedObject));
+        }
+        return filteredObjects;
+    }
+
+    /**
+     * Returns the object in the cache if this object was loaded before in this session. Otherwise the loaded object is returned as a detached entity: it is not added to the cache and changes made to
+     * it will not be flushed.
+     */
+    protected Entity cacheLoad(Entity entity) {
+        Entity cachedEntity = entityCache.findInCache(entity.getClass(), entity.getId());
+        if (cachedEntity != null) {
+            return cachedEntity;
+        }
+        return entity;
+    }
+
     // flush
     // ////////////////////////////////////////////////////////////////////
 
@@ -414,6 +475,51 @@ public class DbSqlSession implements Session {
         flushInserts();
         flushUpdates();
         flushDeletes();
+
+        if (batchMode) {
+            flushBatchStatements();
+        }
+    }
+
+    /**
+     * Executes the statements queued by the BATCH executor and verifies the update counts that would have been verified directly with the other executors.
+     *
+     * No select may be executed between the queued updates and this method: MyBatis flushes the batch implicitly before a select and discards its update counts. Such updates are reported with an
+     * exception instead of being accepted unverified.
+     */
+    protected void flushBatchStatements() {
+        try {
+            verifyBatchResults(sqlSession.flushStatements());
+
+            if (!optimisticLockingCheckedEntities.isEmpty()) {
+                throw new FlowableException("The batched statements of " + optimisticLockingCheckedEntities + " were flushed before their update counts could be verified");
+            }
+        } finally {
+            optimisticLockingCheckedEntities.clear();
+        }
+    }
+
+    /**
+     * Verifies the update counts of the optimistic locked updates and deletes in the given batch results.
+     */
+    protected void verifyBatchResults(List<BatchResult> batchResults) {
+        for (BatchResult batchResult : batchResults) {
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            int[] updateCounts = batchResult.getUpdateCounts();
+            for (int i = 0; i < updateCounts.length && i < parameterObjects.size(); i++) {
+                Object parameterObject = parameterObjects.get(i);
+                if (optimisticLockingCheckedEntities.remove(parameterObject)) {
+                    if (updateCounts[i] == 0) {
+                        throw new FlowableOptimisticLockingException(parameterObject + " was updated by another transaction concurrently");
+
+                    } else if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                        // Some drivers (e.g. Oracle drivers before 12c) don't report the counts of batched statements: a concurrent update would go unnoticed
+                        throw new FlowableException("The JDBC driver doesn't report the update count of the batched statement for " + parameterObject
+                                + ", so optimistic locking can't be verified. Use the SIMPLE or REUSE executor with this driver.");
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -705,7 +811,9 @@ public class DbSqlSession implements Session {
 
             log.debug("updating: {}", updatedObject);
             int updatedRecords = sqlSession.update(updateStatement, updatedObject);
-            if (updatedRecords == 0) {
+            if (batchMode) {
+                optimisticLockingCheckedEntities.add(updatedObject);
+            } else if (updatedRecords == 0) {
                 throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
             }
 
@@ -765,7 +873,9 @@ public class DbSqlSession implements Session {
             // for objects that actually have a revision
             if (entity instanceof HasRevision) {
                 int nrOfRowsDeleted = sqlSession.delete(deleteStatement, entity);
-                if (nrOfRowsDeleted == 0) {
+                if (batchMode) {
+                    optimisticLockingCheckedEntities.add(entity);
+                } else if (nrOfRowsDeleted == 0) {
                     throw new FlowableOptimisticLockingException(entity + " was updated by another transaction concurrently");
                 }
             } else {
@@ -1370,4 +1480,16 @@ public class DbSqlSession implements Session {
         return dbSqlSessionFactory;
     }
 
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public boolean isBatchMode() {
+        return batchMode;
+    }
+
 }
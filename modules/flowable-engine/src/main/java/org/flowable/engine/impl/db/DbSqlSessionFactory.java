@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.cfg.IdGenerator;
@@ -70,6 +71,12 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected boolean isDbHistoryUsed = true;
     protected int maxNrOfStatementsInBulkInsert = 100;
 
+    /**
+     * The MyBatis executor of the sessions: SIMPLE prepares every statement again, REUSE keeps the prepared statements for the duration of the session and BATCH also queues the inserts, updates
+     * and deletes until the session is flushed.
+     */
+    protected ExecutorType executorType = ExecutorType.SIMPLE;
+
     public Class<?> getSessionType() {
         return DbSqlSession.class;
     }
@@ -77,6 +84,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     public Session openSession(AbstractCommandContext commandContext) {
         CommandContext currentCommandContext = (CommandContext) commandContext;
         DbSqlSession dbSqlSession = new DbSqlSession(this, currentCommandContext.getEntityCache());
+        dbSqlSession.setReadOnly(currentCommandContext.isReadOnly());
         if (getDatabaseSchema() != null && getDatabaseSchema().length() > 0) {
             try {
                 dbSqlSession.getSqlSession().getConnection().setSchema(getDatabaseSchema());
@@ -338,4 +346,12 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
 
+    public ExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    public void setExecutorType(ExecutorType executorType) {
+        this.executorType = executorType;
+    }
+
 }
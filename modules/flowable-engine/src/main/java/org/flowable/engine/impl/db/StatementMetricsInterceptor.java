@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.flowable.engine.common.api.management.StatementMetrics;
+
+/**
+ * MyBatis plugin that keeps the execution count, time and number of rows per mapped statement id.
+ *
+ * With the BATCH executor, inserts, updates and deletes are only executed when the statements are flushed: the rows and the time of the flush are then attributed to the statements of the flushed
+ * batches, in proportion to the number of queued executions of each statement.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    protected ConcurrentMap<String, StatementMetricsCounter> counters = new ConcurrentHashMap<String, StatementMetricsCounter>();
+
+    public Object intercept(Invocation invocation) throws Throwable {
+        long startTime = System.nanoTime();
+        Object result = invocation.proceed();
+        long duration = System.nanoTime() - startTime;
+
+        if ("flushStatements".equals(invocation.getMethod().getName())) {
+            recordBatchResults(result, duration);
+
+        } else {
+            MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+            getCounter(mappedStatement.getId()).record(duration, getRowCount(result));
+        }
+
+        return result;
+    }
+
+    protected void recordBatchResults(Object result, long duration) {
+        @SuppressWarnings("unchecked")
+        List<BatchResult> batchResults = (List<BatchResult>) result;
+        if (batchResults == null || batchResults.isEmpty()) {
+            return;
+        }
+
+        int totalExecutions = 0;
+        for (BatchResult batchResult : batchResults) {
+            totalExecutions += batchResult.getUpdateCounts().length;
+        }
+
+        for (BatchResult batchResult : batchResults) {
+            long rowCount = 0;
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                if (updateCount > 0) {
+                    rowCount += updateCount;
+                }
+            }
+            long batchDuration = totalExecutions > 0 ? duration * batchResult.getUpdateCounts().length / totalExecutions : 0L;
+            getCounter(batchResult.getMappedStatement().getId()).recordBatch(batchDuration, rowCount);
+        }
+    }
+
+    protected long getRowCount(Object result) {
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        } else if (result instanceof Integer && (Integer) result >= 0) {
+            return (Integer) result;
+        }
+        return 0L; // e.g. an update queued by the BATCH executor
+    }
+
+    protected StatementMetricsCounter getCounter(String statementId) {
+        StatementMetricsCounter counter = counters.get(statementId);
+        if (counter == null) {
+            counter = new StatementMetricsCounter();
+            StatementMetricsCounter existingCounter = counters.putIfAbsent(statementId, counter);
+            if (existingCounter != null) {
+                counter = existingCounter;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * @return the metrics of all statements executed since the start or the last {@link #reset()}, sorted by statement id.
+     */
+    public Map<String, StatementMetrics> getStatementMetrics() {
+        Map<String, StatementMetrics> statementMetrics = new TreeMap<String, StatementMetrics>();
+        for (Map.Entry<String, StatementMetricsCounter> entry : counters.entrySet()) {
+            statementMetrics.put(entry.getKey(), entry.getValue().toStatementMetrics(entry.getKey()));
+        }
+        return statementMetrics;
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    public void setProperties(Properties properties) {
+
+    }
+
+    protected static class StatementMetricsCounter {
+
+        protected final AtomicLong executionCount = new AtomicLong();
+        protected final AtomicLong totalTimeInNanos = new AtomicLong();
+        protected final AtomicLong maxTimeInNanos = new AtomicLong();
+        protected final AtomicLong rowCount = new AtomicLong();
+
+        public void record(long duration, long rows) {
+            executionCount.incrementAndGet();
+            recordBatch(duration, rows);
+
+            long currentMax = maxTimeInNanos.get();
+            while (duration > currentMax && !maxTimeInNanos.compareAndSet(currentMax, duration)) {
+                currentMax = maxTimeInNanos.get();
+            }
+        }
+
+        public void recordBatch(long duration, long rows) {
+            totalTimeInNanos.addAndGet(duration);
+            rowCount.addAndGet(rows);
+        }
+
+        public StatementMetrics toStatementMetrics(String statementId) {
+            return new StatementMetrics(statementId, executionCount.get(), totalTimeInNanos.get(), maxTimeInNanos.get(), rowCount.get());
+        }
+
+    }
+
+}
@@ -66,7 +66,7 @@ public class CompensationEventHandler implements EventHandler {
 
             try {
 
-                if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+                if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_COMPENSATE)) {
                     commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                             FlowableEventBuilder.createActivityEvent(FlowableEngineEventType.ACTIVITY_COMPENSATE, flowElement.getId(), flowElement.getName(),
                                     compensatingExecution.getId(), compensatingExecution.getProcessInstanceId(), compensatingExecution.getProcessDefinitionId(), flowElement));
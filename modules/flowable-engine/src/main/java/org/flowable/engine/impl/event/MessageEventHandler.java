@@ -33,7 +33,7 @@ public class MessageEventHandler extends AbstractEventHandler {
     public void handleEvent(EventSubscriptionEntity eventSubscription, Object payload, CommandContext commandContext) {
         // As stated in the FlowableEventType java-doc, the message-event is
         // thrown before the actual message has been sent
-        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (commandContext.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_MESSAGE_RECEIVED)) {
             commandContext
                     .getProcessEngineConfiguration()
                     .getEventDispatcher()
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.async;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.impl.cfg.TransactionListener;
+import org.flowable.engine.impl.interceptor.CommandContext;
+
+/**
+ * Collects the events for the asynchronous event listeners during a transaction. Only when the transaction is committed, the events are handed over to the {@link AsyncEventListenerExecutor}. When
+ * the transaction is rolled back, the events are discarded together with this buffer.
+ */
+public class AsyncEventBuffer implements TransactionListener {
+
+    protected AsyncEventListenerExecutor asyncEventListenerExecutor;
+    protected List<AsyncEventQueueEntry> entries = new ArrayList<AsyncEventQueueEntry>();
+
+    public AsyncEventBuffer(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+        this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+    }
+
+    public void addEvent(FlowableEvent event, AsyncEventListenerRegistration registration) {
+        entries.add(new AsyncEventQueueEntry(event, registration));
+    }
+
+    @Override
+    public void execute(CommandContext commandContext) {
+        if (!entries.isEmpty()) {
+            asyncEventListenerExecutor.queueEvents(entries);
+            entries = new ArrayList<AsyncEventQueueEntry>();
+        }
+    }
+
+    public List<AsyncEventQueueEntry> getEntries() {
+        return entries;
+    }
+
+}
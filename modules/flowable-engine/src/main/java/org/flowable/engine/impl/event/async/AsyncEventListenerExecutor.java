@@ -0,0 +1,315 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.async;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
+import org.flowable.engine.common.api.delegate.event.FlowableEventType;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.delegate.event.impl.FlowableEventTypeSet;
+import org.flowable.engine.impl.asyncexecutor.AfterCommitWorker;
+import org.flowable.engine.impl.cfg.TransactionContext;
+import org.flowable.engine.impl.context.Context;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to event listeners outside of the transaction that produced them, so slow listeners don't add latency to the API calls of the engine.
+ * 
+ * This executor is registered as a regular listener on the event dispatcher of the engine. The events the asynchronous listeners are interested in are buffered during the transaction and queued
+ * when the transaction is committed: events of transactions that are rolled back are never delivered. As an {@link AfterCommitWorker}, a dedicated thread takes the events from the queue in batches
+ * and passes them to the listeners.
+ * 
+ * Delivery is at-least-once: when a listener throws an exception, the event is delivered again, up to {@link #maxRetries} times. When the queue is full, the committing thread waits up to
+ * {@link #queueOfferTimeoutInMillis} for the delivery to catch up and delivers the events itself when that time has passed.
+ * 
+ * The listeners are called without an active command context. Entities referenced by the events are detached at that point and should be considered read-only.
+ */
+public class AsyncEventListenerExecutor extends AfterCommitWorker<AsyncEventQueueEntry> implements FlowableEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventListenerExecutor.class);
+
+    protected static final String ASYNC_EVENT_BUFFER_KEY = "asyncEventBuffer";
+
+    protected FlowableEventDispatcher eventDispatcher;
+    protected List<AsyncEventListenerRegistration> registrations = new CopyOnWriteArrayList<AsyncEventListenerRegistration>();
+
+    /**
+     * Whether this executor is registered on the event dispatcher for all events, or only for the types of the registered listeners.
+     */
+    protected boolean registeredForAllEvents;
+
+    protected int maxRetries = 3;
+    protected long retryWaitTimeInMillis = 500L;
+
+    public AsyncEventListenerExecutor() {
+        super("flowable-async-event-listeners");
+        this.queueSize = 10000;
+    }
+
+    public AsyncEventListenerExecutor(FlowableEventDispatcher eventDispatcher) {
+        this();
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    // Registration ///////////////////////////////////////////////////////////
+
+    /**
+     * Adds a listener that is notified asynchronously of all events.
+     */
+    public synchronized AsyncEventListenerRegistration addEventListener(FlowableEventListener listener) {
+        if (listener == null) {
+            throw new FlowableIllegalArgumentException("Listener cannot be null.");
+        }
+
+        AsyncEventListenerRegistration registration = new AsyncEventListenerRegistration(listener, null);
+        registrations.add(registration);
+
+        if (eventDispatcher != null && !registeredForAllEvents) {
+            eventDispatcher.removeEventListener(this);
+            eventDispatcher.addEventListener(this);
+            registeredForAllEvents = true;
+        }
+        return registration;
+    }
+
+    /**
+     * Adds a listener that is notified asynchronously of the events of the given types.
+     */
+    public synchronized AsyncEventListenerRegistration addEventListener(FlowableEventListener listener, FlowableEventType... types) {
+        if (listener == null) {
+            throw new FlowableIllegalArgumentException("Listener cannot be null.");
+        }
+        if (types == null || types.length == 0) {
+            return addEventListener(listener);
+        }
+
+        AsyncEventListenerRegistration registration = new AsyncEventListenerRegistration(listener, FlowableEventTypeSet.of(Arrays.asList(types)));
+        registrations.add(registration);
+
+        if (eventDispatcher != null && !registeredForAllEvents) {
+            eventDispatcher.addEventListener(this, types);
+        }
+        return registration;
+    }
+
+    /**
+     * Removes the listener. Events that are already queued for the listener are still delivered.
+     */
+    public synchronized void removeEventListener(FlowableEventListener listener) {
+        for (AsyncEventListenerRegistration registration : registrations) {
+            if (registration.getListener() == listener) {
+                registrations.remove(registration);
+            }
+        }
+
+        if (eventDispatcher != null) {
+            updateEventDispatcherRegistration();
+        }
+    }
+
+    /**
+     * Registers this executor on the event dispatcher for the types of the remaining listeners only, or removes it when no listener is left, so the dispatcher doesn't create events nobody listens
+     * to.
+     */
+    protected void updateEventDispatcherRegistration() {
+        eventDispatcher.removeEventListener(this);
+        registeredForAllEvents = false;
+
+        FlowableEventTypeSet types = FlowableEventTypeSet.EMPTY;
+        for (AsyncEventListenerRegistration registration : registrations) {
+            if (registration.getTypes() == null) {
+                eventDispatcher.addEventListener(this);
+                registeredForAllEvents = true;
+                return;
+            }
+            types = types.union(registration.getTypes());
+        }
+
+        if (!types.isEmpty()) {
+            eventDispatcher.addEventListener(this, types.toArray());
+        }
+    }
+
+    public AsyncEventListenerRegistration getRegistration(FlowableEventListener listener) {
+        for (AsyncEventListenerRegistration registration : registrations) {
+            if (registration.getListener() == listener) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    public List<AsyncEventListenerRegistration> getRegistrations() {
+        return Collections.unmodifiableList(registrations);
+    }
+
+    // Buffering (engine thread) //////////////////////////////////////////////
+
+    @Override
+    public void onEvent(FlowableEvent event) {
+        AsyncEventBuffer buffer = null;
+        for (AsyncEventListenerRegistration registration : registrations) {
+            if (registration.isInterestedIn(event)) {
+                if (buffer == null) {
+                    buffer = getAsyncEventBuffer();
+                }
+                buffer.addEvent(event, registration);
+            }
+        }
+
+        if (buffer != null && Context.getCommandContext() == null) {
+            // Events dispatched outside of a command (e.g. the engine lifecycle events) have no transaction to wait for
+            buffer.execute(null);
+        }
+    }
+
+    protected AsyncEventBuffer getAsyncEventBuffer() {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            return new AsyncEventBuffer(this);
+        }
+
+        AsyncEventBuffer buffer = (AsyncEventBuffer) commandContext.getAttribute(ASYNC_EVENT_BUFFER_KEY);
+        if (buffer == null) {
+            buffer = new AsyncEventBuffer(this);
+            commandContext.addAttribute(ASYNC_EVENT_BUFFER_KEY, buffer);
+
+            TransactionContext transactionContext = Context.getTransactionContext();
+            if (transactionContext == null) {
+                throw new FlowableException("Asynchronous event listeners require a transaction context");
+            }
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Queues the events of a committed transaction. Called on the committing thread.
+     */
+    public void queueEvents(List<AsyncEventQueueEntry> entries) {
+        queue(entries);
+    }
+
+    @Override
+    public void queue(AsyncEventQueueEntry entry) {
+        entry.setQueueTime(System.currentTimeMillis());
+        entry.getRegistration().getMetrics().recordQueued();
+        super.queue(entry);
+    }
+
+    @Override
+    protected void rejected(AsyncEventQueueEntry entry) {
+        // The delivery can't keep up (or isn't running): apply back-pressure by delivering on the committing thread
+        if (active) {
+            logger.warn("Asynchronous event queue is full, delivering event {} on the committing thread", entry.getEvent().getType());
+        }
+        entry.getRegistration().getMetrics().recordCallerDelivered();
+        deliver(entry);
+    }
+
+    // Delivery (delivery thread) //////////////////////////////////////////////
+
+    @Override
+    protected AsyncEventQueue createQueue() {
+        return new InMemoryAsyncEventQueue(queueSize);
+    }
+
+    @Override
+    protected void process(List<AsyncEventQueueEntry> entries) {
+        for (AsyncEventQueueEntry entry : entries) {
+            deliver(entry);
+        }
+    }
+
+    protected void deliver(AsyncEventQueueEntry entry) {
+        AsyncEventListenerRegistration registration = entry.getRegistration();
+        int attempt = 0;
+        while (true) {
+            try {
+                registration.getListener().onEvent(entry.getEvent());
+                registration.getMetrics().recordDelivered(System.currentTimeMillis() - entry.getQueueTime());
+                return;
+
+            } catch (Throwable t) {
+                if (attempt >= maxRetries) {
+                    registration.getMetrics().recordFailed();
+                    logger.error("Asynchronous event listener {} failed to handle event {} after {} attempts", registration.getListener(), entry.getEvent().getType(), attempt + 1, t);
+                    return;
+                }
+
+                attempt++;
+                registration.getMetrics().recordRetry();
+                logger.warn("Asynchronous event listener {} failed to handle event {}, retrying (attempt {})", registration.getListener(), entry.getEvent().getType(), attempt, t);
+                if (retryWaitTimeInMillis > 0) {
+                    try {
+                        Thread.sleep(retryWaitTimeInMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        registration.getMetrics().recordFailed();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        // Buffering the events can't fail, the delivery happens outside of the transaction
+        return false;
+    }
+
+    /**
+     * @return the number of events waiting in the queue.
+     */
+    public int getQueuedEventCount() {
+        return getQueuedItemCount();
+    }
+
+    // getters and setters //////////////////////////////////////////////////////
+
+    public FlowableEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    public void setEventDispatcher(FlowableEventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryWaitTimeInMillis() {
+        return retryWaitTimeInMillis;
+    }
+
+    public void setRetryWaitTimeInMillis(long retryWaitTimeInMillis) {
+        this.retryWaitTimeInMillis = retryWaitTimeInMillis;
+    }
+
+}
@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery counters of one asynchronous event listener. The lag is the time between the commit of the transaction that produced an event and the delivery of that event to the listener.
+ */
+public class AsyncEventListenerMetrics {
+
+    protected AtomicLong queuedCount = new AtomicLong();
+    protected AtomicLong deliveredCount = new AtomicLong();
+    protected AtomicLong failedCount = new AtomicLong();
+    protected AtomicLong retryCount = new AtomicLong();
+    protected AtomicLong callerDeliveredCount = new AtomicLong();
+    protected AtomicLong lastLag = new AtomicLong();
+    protected AtomicLong maxLag = new AtomicLong();
+    protected AtomicLong totalLag = new AtomicLong();
+
+    public void recordQueued() {
+        queuedCount.incrementAndGet();
+    }
+
+    public void recordDelivered(long lag) {
+        deliveredCount.incrementAndGet();
+        lastLag.set(lag);
+        totalLag.addAndGet(lag);
+
+        long currentMaxLag = maxLag.get();
+        while (lag > currentMaxLag && !maxLag.compareAndSet(currentMaxLag, lag)) {
+            currentMaxLag = maxLag.get();
+        }
+    }
+
+    public void recordRetry() {
+        retryCount.incrementAndGet();
+    }
+
+    public void recordFailed() {
+        failedCount.incrementAndGet();
+    }
+
+    public void recordCallerDelivered() {
+        callerDeliveredCount.incrementAndGet();
+    }
+
+    public void reset() {
+        queuedCount.set(0);
+        deliveredCount.set(0);
+        failedCount.set(0);
+        retryCount.set(0);
+        callerDeliveredCount.set(0);
+        lastLag.set(0);
+        maxLag.set(0);
+        totalLag.set(0);
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * @return the number of events that could not be delivered, after all retries were exhausted.
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * @return the number of events that were delivered on the committing thread, because the queue was full.
+     */
+    public long getCallerDeliveredCount() {
+        return callerDeliveredCount.get();
+    }
+
+    /**
+     * @return the number of queued events that are not yet delivered (or given up on).
+     */
+    public long getPendingCount() {
+        return queuedCount.get() - deliveredCount.get() - failedCount.get();
+    }
+
+    public long getLastLag() {
+        return lastLag.get();
+    }
+
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    public long getAverageLag() {
+        long delivered = deliveredCount.get();
+        return delivered > 0 ? totalLag.get() / delivered : 0L;
+    }
+
+}
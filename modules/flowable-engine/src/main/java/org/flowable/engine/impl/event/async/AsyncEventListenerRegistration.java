@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.async;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
+import org.flowable.engine.delegate.event.impl.FlowableEventTypeSet;
+
+/**
+ * An asynchronous event listener, together with the event types it is registered for and its delivery metrics.
+ */
+public class AsyncEventListenerRegistration {
+
+    protected final FlowableEventListener listener;
+
+    /**
+     * The types of events the listener is interested in, or null when the listener wants to be notified of all events.
+     */
+    protected final FlowableEventTypeSet types;
+
+    protected final AsyncEventListenerMetrics metrics = new AsyncEventListenerMetrics();
+
+    public AsyncEventListenerRegistration(FlowableEventListener listener, FlowableEventTypeSet types) {
+        this.listener = listener;
+        this.types = types;
+    }
+
+    public boolean isInterestedIn(FlowableEvent event) {
+        return types == null || types.contains(event.getType());
+    }
+
+    public FlowableEventListener getListener() {
+        return listener;
+    }
+
+    public FlowableEventTypeSet getTypes() {
+        return types;
+    }
+
+    public AsyncEventListenerMetrics getMetrics() {
+        return metrics;
+    }
+
+}
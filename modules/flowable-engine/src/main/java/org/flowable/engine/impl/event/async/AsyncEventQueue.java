@@ -0,0 +1,25 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.async;
+
+import org.flowable.engine.impl.asyncexecutor.BatchQueue;
+
+/**
+ * Holds the events of committed transactions until they are delivered to the asynchronous event listeners by the {@link AsyncEventListenerExecutor}.
+ * 
+ * The default implementation is the bounded {@link InMemoryAsyncEventQueue}. Events that are still queued when the engine is not shut down gracefully are lost: an implementation storing the
+ * entries in an outbox table can be plugged in when delivery must survive a crash.
+ */
+public interface AsyncEventQueue extends BatchQueue<AsyncEventQueueEntry> {
+
+}
@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.async;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+
+/**
+ * An event waiting to be delivered to one asynchronous event listener.
+ */
+public class AsyncEventQueueEntry {
+
+    protected final FlowableEvent event;
+    protected final AsyncEventListenerRegistration registration;
+    protected long queueTime;
+
+    public AsyncEventQueueEntry(FlowableEvent event, AsyncEventListenerRegistration registration) {
+        this.event = event;
+        this.registration = registration;
+    }
+
+    public FlowableEvent getEvent() {
+        return event;
+    }
+
+    public AsyncEventListenerRegistration getRegistration() {
+        return registration;
+    }
+
+    /**
+     * @return the time (in milliseconds) the transaction that produced the event was committed.
+     */
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+}
@@ -0,0 +1,72 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.impl.event.logger.handler.EventLoggerEventHandler;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates the event log entries when the command context is closing, like the {@link DatabaseEventFlusher}, but hands them to the {@link AsyncEventLogEntryWriter} once the transaction has been
+ * committed instead of inserting them in the transaction.
+ */
+public class AsyncDatabaseEventFlusher extends AbstractEventFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDatabaseEventFlusher.class);
+
+    protected EventLogger eventLogger;
+    protected AsyncEventLogEntryWriter asyncEventLogEntryWriter;
+
+    public AsyncDatabaseEventFlusher(EventLogger eventLogger, AsyncEventLogEntryWriter asyncEventLogEntryWriter) {
+        this.eventLogger = eventLogger;
+        this.asyncEventLogEntryWriter = asyncEventLogEntryWriter;
+    }
+
+    @Override
+    public void closing(CommandContext commandContext) {
+
+        if (commandContext.getException() != null) {
+            return; // Not interested in events about exceptions
+        }
+
+        // The entries are generated in the command context, as the handlers need it to look up the process definitions
+        List<EventLogEntryEntity> eventLogEntries = new ArrayList<EventLogEntryEntity>(eventHandlers.size());
+        for (EventLoggerEventHandler eventHandler : eventHandlers) {
+            try {
+                eventLogEntries.add(eventHandler.generateEventLogEntry(commandContext));
+            } catch (Exception e) {
+                logger.warn("Could not create event log", e);
+            }
+        }
+
+        if (eventLogEntries.isEmpty()) {
+            return;
+        }
+
+        asyncEventLogEntryWriter.queueAfterCommit(eventLogger, eventLogEntries);
+    }
+
+    public void afterSessionsFlush(CommandContext commandContext) {
+
+    }
+
+    public void closeFailure(CommandContext commandContext) {
+
+    }
+
+}
@@ -0,0 +1,160 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.event.logger;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.impl.asyncexecutor.AfterCommitWorker;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.flowable.engine.impl.persistence.entity.EventLogEntryEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the event log entries of the {@link EventLogger} outside of the transaction that produced them, so event logging doesn't add inserts to the commands of the engine.
+ *
+ * The entries are queued in a bounded buffer when the transaction that produced them is committed. As an {@link AfterCommitWorker}, a single worker thread takes them from the buffer in batches and
+ * inserts each batch in one command, so the bulk insert of the {@link org.flowable.engine.impl.db.DbSqlSession} writes a batch with a few statements. When the buffer is full, new entries are dropped
+ * instead of blocking the engine thread: the number of dropped entries is available through {@link #getDroppedCount()}.
+ *
+ * The {@link EventLoggerListener}s are notified after the entries have been written.
+ */
+public class AsyncEventLogEntryWriter extends AfterCommitWorker<EventLogEntryEntity> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventLogEntryWriter.class);
+
+    protected CommandExecutor commandExecutor;
+
+    protected Set<EventLogger> eventLoggers = new CopyOnWriteArraySet<EventLogger>();
+
+    protected AtomicLong writtenCount = new AtomicLong();
+    protected AtomicLong droppedCount = new AtomicLong();
+    protected AtomicLong failedCount = new AtomicLong();
+
+    public AsyncEventLogEntryWriter() {
+        super("flowable-event-log-writer");
+        this.queueSize = 10000;
+        this.queueOfferTimeoutInMillis = 0L; // The engine thread never waits for the writer
+    }
+
+    // Queueing (engine thread) ///////////////////////////////////////////////
+
+    /**
+     * Queues the entries once the current transaction has been committed, or immediately when there is no transaction.
+     */
+    public void queueAfterCommit(EventLogger eventLogger, List<EventLogEntryEntity> eventLogEntries) {
+        addEventLogger(eventLogger);
+        queueAfterCommit(eventLogEntries);
+    }
+
+    public void queue(EventLogger eventLogger, List<EventLogEntryEntity> eventLogEntries) {
+        addEventLogger(eventLogger);
+        queue(eventLogEntries);
+    }
+
+    protected void addEventLogger(EventLogger eventLogger) {
+        if (eventLogger != null) {
+            eventLoggers.add(eventLogger);
+        }
+    }
+
+    @Override
+    protected void rejected(EventLogEntryEntity eventLogEntry) {
+        long dropped = droppedCount.incrementAndGet();
+        if (dropped == 1 || dropped % 1000 == 0) {
+            if (active) {
+                logger.warn("Event log buffer is full, {} event log entries have been dropped so far", dropped);
+            } else {
+                logger.warn("Event log writer is not active, {} event log entries have been dropped so far", dropped);
+            }
+        }
+    }
+
+    // Writing (worker thread) ////////////////////////////////////////////////
+
+    @Override
+    public synchronized void start() {
+        if (!active && commandExecutor == null) {
+            throw new FlowableException("A command executor is needed to write event log entries");
+        }
+        super.start();
+    }
+
+    @Override
+    protected void process(List<EventLogEntryEntity> eventLogEntries) {
+        write(eventLogEntries);
+    }
+
+    protected void write(final List<EventLogEntryEntity> eventLogEntries) {
+        try {
+            commandExecutor.execute(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    EventLogEntryEntityManager eventLogEntryEntityManager = commandContext.getEventLogEntryEntityManager();
+                    for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+                        eventLogEntryEntityManager.insert(eventLogEntry, false);
+                    }
+                    return null;
+                }
+            });
+
+        } catch (Exception e) {
+            failedCount.addAndGet(eventLogEntries.size());
+            logger.error("Could not write {} event log entries", eventLogEntries.size(), e);
+            return;
+        }
+
+        writtenCount.addAndGet(eventLogEntries.size());
+        for (EventLogger eventLogger : eventLoggers) {
+            eventLogger.notifyEventsAdded();
+        }
+    }
+
+    /**
+     * @return the number of entries waiting in the buffer.
+     */
+    public int getQueuedEntryCount() {
+        return getQueuedItemCount();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    // getters and setters //////////////////////////////////////////////////////
+
+    public CommandExecutor getCommandExecutor() {
+        return commandExecutor;
+    }
+
+    public void setCommandExecutor(CommandExecutor commandExecutor) {
+        this.commandExecutor = commandExecutor;
+    }
+
+}
@@ -59,6 +59,9 @@ public class EventLogger implements FlowableEventListener {
     protected Clock clock;
     protected ObjectMapper objectMapper;
 
+    // When set, the entries are written outside of the transaction of the command
+    protected AsyncEventLogEntryWriter asyncEventLogEntryWriter;
+
     // Mapping of type -> handler
     protected Map<FlowableEngineEventType, Class<? extends EventLoggerEventHandler>> eventHandlers = new HashMap<FlowableEngineEventType, Class<? extends EventLoggerEventHandler>>();
 
@@ -109,7 +112,11 @@ public class EventLogger implements FlowableEventListener {
 
                 eventFlusher = createEventFlusher();
                 if (eventFlusher == null) {
-                    eventFlusher = new DatabaseEventFlusher(); // Default
+                    if (asyncEventLogEntryWriter != null) {
+                        eventFlusher = new AsyncDatabaseEventFlusher(this, asyncEventLogEntryWriter);
+                    } else {
+                        eventFlusher = new DatabaseEventFlusher(); // Default
+                    }
                 }
                 currentCommandContext.addAttribute(EVENT_FLUSHER_KEY, eventFlusher);
 
@@ -124,10 +131,9 @@ public class EventLogger implements FlowableEventListener {
                             @Override
                             public void closed(CommandContext commandContext) {
                                 // For those who are interested: we can now broadcast the events were added
-                                if (listeners != null) {
-                                    for (EventLoggerListener listener : listeners) {
-                                        listener.eventsAdded(EventLogger.this);
-                                    }
+                                // (the async writer does this itself, once the events have been written)
+                                if (asyncEventLogEntryWriter == null) {
+                                    notifyEventsAdded();
                                 }
                             }
 
@@ -207,6 +213,14 @@ public class EventLogger implements FlowableEventListener {
         listeners.add(listener);
     }
 
+    public void notifyEventsAdded() {
+        if (listeners != null) {
+            for (EventLoggerListener listener : listeners) {
+                listener.eventsAdded(this);
+            }
+        }
+    }
+
     /**
      * Subclasses that want something else than the database flusher should override this method
      */
@@ -230,6 +244,14 @@ public class EventLogger implements FlowableEventListener {
         this.objectMapper = objectMapper;
     }
 
+    public AsyncEventLogEntryWriter getAsyncEventLogEntryWriter() {
+        return asyncEventLogEntryWriter;
+    }
+
+    public void setAsyncEventLogEntryWriter(AsyncEventLogEntryWriter asyncEventLogEntryWriter) {
+        this.asyncEventLogEntryWriter = asyncEventLogEntryWriter;
+    }
+
     public List<EventLoggerListener> getListeners() {
         return listeners;
     }
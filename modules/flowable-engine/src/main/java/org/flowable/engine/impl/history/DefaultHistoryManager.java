@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.history;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -108,7 +109,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
                 // Fire event
                 FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-                if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+                if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_ENDED)) {
                     eventDispatcher.dispatchEvent(
                             FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance));
                 }
@@ -117,6 +118,35 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         }
     }
 
+    @Override
+    public void recordProcessInstancesEnd(Collection<String> processInstanceIds, String deleteReason) {
+        FlowableEventDispatcher eventDispatcher = getEventDispatcher();
+
+        if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+            boolean dispatchProcessInstanceEvents = eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_ENDED);
+            for (HistoricProcessInstanceEntity historicProcessInstance : getHistoricProcessInstanceEntityManager().findUnfinishedHistoricProcessInstancesByIds(processInstanceIds)) {
+                historicProcessInstance.markEnded(deleteReason);
+                if (dispatchProcessInstanceEvents) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance));
+                }
+            }
+
+            boolean dispatchActivityEvents = eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED);
+            for (HistoricActivityInstanceEntity historicActivityInstance : getHistoricActivityInstanceEntityManager().findUnfinishedHistoricActivityInstancesByProcessInstanceIds(processInstanceIds)) {
+                historicActivityInstance.markEnded(deleteReason);
+                if (dispatchActivityEvents) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
+                }
+            }
+        }
+
+        if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+            for (HistoricTaskInstanceEntity historicTaskInstance : getHistoricTaskInstanceEntityManager().findUnfinishedHistoricTaskInstancesByProcessInstanceIds(processInstanceIds)) {
+                historicTaskInstance.markEnded(deleteReason);
+            }
+        }
+    }
+
     @Override
     public void recordProcessInstanceNameChange(String processInstanceId, String newName) {
         if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
@@ -144,7 +174,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
             // Fire event
             FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-            if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+            if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_CREATED)) {
                 eventDispatcher.dispatchEvent(
                         FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
             }
@@ -172,7 +202,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
             // Fire event
             FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-            if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+            if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_CREATED)) {
                 eventDispatcher.dispatchEvent(
                         FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
             }
@@ -210,7 +240,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
                 // Fire event
                 FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-                if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+                if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED)) {
                     eventDispatcher.dispatchEvent(
                             FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED, historicActivityInstanceEntity));
                 }
@@ -233,7 +263,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
                 // Fire event
                 FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-                if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+                if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED)) {
                     eventDispatcher.dispatchEvent(
                             FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
                 }
@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress counters of the history cleanup job. The counters are kept in memory and only reflect the cleanup runs executed by this engine.
+ */
+public class HistoryCleanupMetrics {
+
+    protected AtomicLong runCount = new AtomicLong();
+    protected AtomicLong deletedProcessInstanceCount = new AtomicLong();
+    protected AtomicLong lastRunTime = new AtomicLong();
+    protected AtomicLong lastRunDuration = new AtomicLong();
+    protected AtomicLong totalRunDuration = new AtomicLong();
+    protected ConcurrentMap<String, AtomicLong> deletedProcessInstanceCountPerPolicy = new ConcurrentHashMap<String, AtomicLong>();
+
+    public void recordDeletedProcessInstances(HistoryRetentionPolicy policy, int count) {
+        deletedProcessInstanceCount.addAndGet(count);
+
+        String policyKey = policy.toString();
+        AtomicLong policyCount = deletedProcessInstanceCountPerPolicy.get(policyKey);
+        if (policyCount == null) {
+            AtomicLong newPolicyCount = new AtomicLong();
+            policyCount = deletedProcessInstanceCountPerPolicy.putIfAbsent(policyKey, newPolicyCount);
+            if (policyCount == null) {
+                policyCount = newPolicyCount;
+            }
+        }
+        policyCount.addAndGet(count);
+    }
+
+    public void recordRun(long startTime, long duration) {
+        runCount.incrementAndGet();
+        lastRunTime.set(startTime);
+        lastRunDuration.set(duration);
+        totalRunDuration.addAndGet(duration);
+    }
+
+    public void reset() {
+        runCount.set(0);
+        deletedProcessInstanceCount.set(0);
+        lastRunTime.set(0);
+        lastRunDuration.set(0);
+        totalRunDuration.set(0);
+        deletedProcessInstanceCountPerPolicy.clear();
+    }
+
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    public long getDeletedProcessInstanceCount() {
+        return deletedProcessInstanceCount.get();
+    }
+
+    /**
+     * @return the start time (in milliseconds) of the last cleanup run, or 0 if no run has happened yet.
+     */
+    public long getLastRunTime() {
+        return lastRunTime.get();
+    }
+
+    public long getLastRunDuration() {
+        return lastRunDuration.get();
+    }
+
+    public long getTotalRunDuration() {
+        return totalRunDuration.get();
+    }
+
+    public Map<String, Long> getDeletedProcessInstanceCountPerPolicy() {
+        Map<String, Long> counts = new HashMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> entry : deletedProcessInstanceCountPerPolicy.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+}
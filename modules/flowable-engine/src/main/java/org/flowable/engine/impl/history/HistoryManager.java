@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.history;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
 
@@ -40,6 +41,12 @@ public interface HistoryManager {
      */
     void recordProcessInstanceEnd(String processInstanceId, String deleteReason, String activityId);
 
+    /**
+     * Record the end of process-instances that are deleted in bulk. Ends the historic process instances and their unfinished activities if activity history is enabled, and their unfinished tasks if
+     * audit history is enabled.
+     */
+    void recordProcessInstancesEnd(Collection<String> processInstanceIds, String deleteReason);
+
     /**
      * Record a process-instance started and record start-event if activity history is enabled.
      */
@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Describes how long historic process instances are kept after they have ended. The policy can be restricted to a process definition key and/or a tenant. When both are null, it applies to all
+ * historic process instances. Policies are applied independently of each other, so the shortest retention of all matching policies wins.
+ */
+public class HistoryRetentionPolicy {
+
+    protected String processDefinitionKey;
+    protected String tenantId;
+    protected int retentionDays;
+
+    public HistoryRetentionPolicy() {
+    }
+
+    public HistoryRetentionPolicy(String processDefinitionKey, String tenantId, int retentionDays) {
+        this.processDefinitionKey = processDefinitionKey;
+        this.tenantId = tenantId;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * @return the date before which historic process instances matching this policy must have ended to be deleted.
+     */
+    public Date getEndedBefore(Date now) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(now);
+        calendar.add(Calendar.DAY_OF_YEAR, -retentionDays);
+        return calendar.getTime();
+    }
+
+    public String getProcessDefinitionKey() {
+        return processDefinitionKey;
+    }
+
+    public void setProcessDefinitionKey(String processDefinitionKey) {
+        this.processDefinitionKey = processDefinitionKey;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public String toString() {
+        return "HistoryRetentionPolicy[processDefinitionKey=" + processDefinitionKey + ", tenantId=" + tenantId + ", retentionDays=" + retentionDays + "]";
+    }
+
+}
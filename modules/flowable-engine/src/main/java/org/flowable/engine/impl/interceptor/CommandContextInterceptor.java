@@ -46,6 +46,7 @@ public class CommandContextInterceptor extends AbstractCommandInterceptor {
         // rollback state, and some other command is being fired to compensate (eg. decrementing job retries)
         if (!config.isContextReusePossible() || context == null || context.getException() != null) {
             context = commandContextFactory.createCommandContext(command);
+            context.setReadOnly(config.isReadOnly());
         } else {
             log.debug("Valid context found. Reusing it for the current command '{}'", command.getClass().getCanonicalName());
             contextReused = true;
@@ -12,6 +12,10 @@
  */
 package org.flowable.engine.impl.interceptor;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableOptimisticLockingException;
 import org.flowable.engine.common.impl.interceptor.CommandConfig;
@@ -21,6 +25,12 @@ import org.slf4j.LoggerFactory;
 /**
  * Intercepts {@link FlowableOptimisticLockingException} and tries to run the same command again. The number of retries and the time waited between retries is configurable.
  * 
+ * By default, the wait time is multiplied by the {@link #waitIncreaseFactor} after each retry. With {@link #decorrelatedJitter}, the wait time is a random time between {@link #waitTimeInMs} and
+ * three times the previous wait time instead, so commands that failed on the same row at the same time don't retry at the same time again. The wait time never exceeds {@link #maxWaitTimeInMs}.
+ * 
+ * The number of retries can be set per command type with {@link #addCommandTypeNumOfRetries(Class, int)}, e.g. to retry commands that are known to conflict (such as the commands of a parallel
+ * join) more often, or not at all.
+ * 
  * @author Daniel Meyer
  */
 public class RetryInterceptor extends AbstractCommandInterceptor {
@@ -30,16 +40,24 @@ public class RetryInterceptor extends AbstractCommandInterceptor {
     protected int numOfRetries = 3;
     protected int waitTimeInMs = 50;
     protected int waitIncreaseFactor = 5;
+    protected int maxWaitTimeInMs = 10000;
+    protected boolean decorrelatedJitter;
+
+    // Mapping of command type -> number of retries, overriding numOfRetries
+    protected Map<Class<?>, Integer> commandTypeNumOfRetries = new HashMap<Class<?>, Integer>();
+
+    protected Random random = new Random();
 
     public <T> T execute(CommandConfig config, Command<T> command) {
+        int commandNumOfRetries = getNumOfRetries(command);
         long waitTime = waitTimeInMs;
         int failedAttempts = 0;
 
         do {
             if (failedAttempts > 0) {
+                waitTime = getWaitTime(failedAttempts, waitTime);
                 log.info("Waiting for {}ms before retrying the command.", waitTime);
                 waitBeforeRetry(waitTime);
-                waitTime *= waitIncreaseFactor;
             }
 
             try {
@@ -52,9 +70,42 @@ public class RetryInterceptor extends AbstractCommandInterceptor {
             }
 
             failedAttempts++;
-        } while (failedAttempts <= numOfRetries);
+        } while (failedAttempts <= commandNumOfRetries);
+
+        throw new FlowableException(commandNumOfRetries + " retries failed with FlowableOptimisticLockingException. Giving up.");
+    }
 
-        throw new FlowableException(numOfRetries + " retries failed with FlowableOptimisticLockingException. Giving up.");
+    /**
+     * @return the number of retries for the given command: the number configured for its class or the closest superclass, or {@link #numOfRetries} when none is configured.
+     */
+    protected int getNumOfRetries(Command<?> command) {
+        if (!commandTypeNumOfRetries.isEmpty()) {
+            Class<?> commandType = command.getClass();
+            while (commandType != null) {
+                Integer commandNumOfRetries = commandTypeNumOfRetries.get(commandType);
+                if (commandNumOfRetries != null) {
+                    return commandNumOfRetries;
+                }
+                commandType = commandType.getSuperclass();
+            }
+        }
+        return numOfRetries;
+    }
+
+    /**
+     * @return the time to wait before the given retry, based on the time waited before the previous retry (or the {@link #waitTimeInMs} for the first retry).
+     */
+    protected long getWaitTime(int retry, long previousWaitTime) {
+        long waitTime;
+        if (decorrelatedJitter) {
+            long upperBound = Math.max(waitTimeInMs, Math.min(maxWaitTimeInMs, previousWaitTime * 3));
+            waitTime = waitTimeInMs + (long) (random.nextDouble() * (upperBound - waitTimeInMs));
+        } else if (retry == 1) {
+            waitTime = waitTimeInMs;
+        } else {
+            waitTime = previousWaitTime * waitIncreaseFactor;
+        }
+        return Math.min(waitTime, maxWaitTimeInMs);
     }
 
     protected void waitBeforeRetry(long waitTime) {
@@ -77,6 +128,22 @@ public class RetryInterceptor extends AbstractCommandInterceptor {
         this.waitTimeInMs = waitTimeInMs;
     }
 
+    public void setMaxWaitTimeInMs(int maxWaitTimeInMs) {
+        this.maxWaitTimeInMs = maxWaitTimeInMs;
+    }
+
+    public void setDecorrelatedJitter(boolean decorrelatedJitter) {
+        this.decorrelatedJitter = decorrelatedJitter;
+    }
+
+    public void setCommandTypeNumOfRetries(Map<Class<?>, Integer> commandTypeNumOfRetries) {
+        this.commandTypeNumOfRetries = commandTypeNumOfRetries;
+    }
+
+    public void addCommandTypeNumOfRetries(Class<?> commandType, int numOfRetries) {
+        commandTypeNumOfRetries.put(commandType, numOfRetries);
+    }
+
     public int getNumOfRetries() {
         return numOfRetries;
     }
@@ -88,4 +155,16 @@ public class RetryInterceptor extends AbstractCommandInterceptor {
     public int getWaitTimeInMs() {
         return waitTimeInMs;
     }
+
+    public int getMaxWaitTimeInMs() {
+        return maxWaitTimeInMs;
+    }
+
+    public boolean isDecorrelatedJitter() {
+        return decorrelatedJitter;
+    }
+
+    public Map<Class<?>, Integer> getCommandTypeNumOfRetries() {
+        return commandTypeNumOfRetries;
+    }
 }
@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.cmd.DeleteProcessInstanceCmd;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.util.json.JSONArray;
+import org.flowable.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes one batch of process instances. The configuration holds the ids of the process instances and the delete reason.
+ *
+ * Root process instances are deleted together with their sub process instances using set-based delete statements (see {@link ExecutionEntityManager#deleteProcessInstances}). Other process
+ * instances, like sub process instances that were passed on their own, are deleted one by one. Process instances that no longer exist are skipped, so a failed job can simply be retried.
+ */
+public class DeleteProcessInstancesJobHandler implements JobHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeleteProcessInstancesJobHandler.class);
+
+    public static final String TYPE = "delete-process-instances";
+
+    protected static final String PROPERTY_PROCESS_INSTANCE_IDS = "processInstanceIds";
+    protected static final String PROPERTY_DELETE_REASON = "deleteReason";
+
+    /**
+     * The size of the HANDLER_CFG_ column of the job tables.
+     */
+    protected static final int MAX_CONFIGURATION_LENGTH = 4000;
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        JSONObject jobConfiguration = new JSONObject(configuration);
+        String deleteReason = jobConfiguration.optString(PROPERTY_DELETE_REASON, null);
+
+        JSONArray processInstanceIdsArray = jobConfiguration.getJSONArray(PROPERTY_PROCESS_INSTANCE_IDS);
+        List<String> processInstanceIds = new ArrayList<String>(processInstanceIdsArray.length());
+        for (int i = 0; i < processInstanceIdsArray.length(); i++) {
+            processInstanceIds.add(processInstanceIdsArray.getString(i));
+        }
+
+        ExecutionEntityManager executionEntityManager = commandContext.getExecutionEntityManager();
+        Set<String> rootProcessInstanceIds = new HashSet<String>(executionEntityManager.findRootProcessInstanceIdsByIds(processInstanceIds));
+
+        // Sub process instances and Flowable 5 process instances (which have no root process instance id) are deleted the regular way.
+        // This is done first, so their executions are already gone from the cache when the trees of the root process instances are deleted.
+        for (String processInstanceId : processInstanceIds) {
+            if (!rootProcessInstanceIds.contains(processInstanceId) && executionEntityManager.findById(processInstanceId) != null) {
+                new DeleteProcessInstanceCmd(processInstanceId, deleteReason).execute(commandContext);
+            }
+        }
+
+        executionEntityManager.deleteProcessInstances(rootProcessInstanceIds, deleteReason);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deleted {} of {} process instances of job {}", rootProcessInstanceIds.size(), processInstanceIds.size(), job.getId());
+        }
+    }
+
+    /**
+     * Schedules async jobs that delete the given process instances, with at most batchSize process instances per job. As the async jobs aren't exclusive, the batches are executed in parallel.
+     *
+     * @return the number of scheduled jobs
+     */
+    public static int scheduleDeleteProcessInstancesJobs(CommandContext commandContext, List<String> processInstanceIds, String deleteReason, int batchSize) {
+        int emptyConfigurationLength = createConfiguration(new JSONArray(), deleteReason).toString().length();
+        if (emptyConfigurationLength >= MAX_CONFIGURATION_LENGTH) {
+            throw new FlowableIllegalArgumentException("deleteReason is too long to be stored in the job configuration");
+        }
+
+        int nrOfJobs = 0;
+        JSONArray batch = new JSONArray();
+        int configurationLength = emptyConfigurationLength;
+        for (String processInstanceId : processInstanceIds) {
+            int processInstanceIdLength = JSONObject.quote(processInstanceId).length() + 1; // including the separator
+
+            if (batch.length() > 0 && (batch.length() >= batchSize || configurationLength + processInstanceIdLength > MAX_CONFIGURATION_LENGTH)) {
+                scheduleDeleteProcessInstancesJob(commandContext, batch, deleteReason);
+                nrOfJobs++;
+
+                batch = new JSONArray();
+                configurationLength = emptyConfigurationLength;
+            }
+
+            batch.put(processInstanceId);
+            configurationLength += processInstanceIdLength;
+        }
+
+        if (batch.length() > 0) {
+            scheduleDeleteProcessInstancesJob(commandContext, batch, deleteReason);
+            nrOfJobs++;
+        }
+
+        return nrOfJobs;
+    }
+
+    protected static JobEntity scheduleDeleteProcessInstancesJob(CommandContext commandContext, JSONArray processInstanceIds, String deleteReason) {
+        JobEntity job = commandContext.getJobEntityManager().create();
+        job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+        job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+        job.setExclusive(false);
+        job.setJobHandlerType(TYPE);
+        job.setJobHandlerConfiguration(createConfiguration(processInstanceIds, deleteReason).toString());
+        commandContext.getJobManager().scheduleAsyncJob(job);
+        return job;
+    }
+
+    protected static JSONObject createConfiguration(JSONArray processInstanceIds, String deleteReason) {
+        JSONObject configuration = new JSONObject();
+        configuration.put(PROPERTY_PROCESS_INSTANCE_IDS, processInstanceIds);
+        configuration.put(PROPERTY_DELETE_REASON, deleteReason);
+        return configuration;
+    }
+
+}
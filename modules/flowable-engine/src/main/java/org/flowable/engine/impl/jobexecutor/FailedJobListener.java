@@ -51,7 +51,7 @@ public class FailedJobListener implements CommandContextCloseListener {
 
     @Override
     public void closed(CommandContext context) {
-        if (context.getEventDispatcher().isEnabled()) {
+        if (context.getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_EXECUTION_SUCCESS)) {
             context.getEventDispatcher().dispatchEvent(
                     FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_EXECUTION_SUCCESS, job));
         }
@@ -59,7 +59,7 @@ public class FailedJobListener implements CommandContextCloseListener {
 
     @Override
     public void closeFailure(CommandContext commandContext) {
-        if (commandContext.getEventDispatcher().isEnabled()) {
+        if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_EXECUTION_FAILURE)) {
             commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityExceptionEvent(
                     FlowableEngineEventType.JOB_EXECUTION_FAILURE, job, commandContext.getException()));
         }
@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.DeleteHistoricProcessInstancesEndedBeforeCmd;
+import org.flowable.engine.impl.history.HistoryCleanupMetrics;
+import org.flowable.engine.impl.history.HistoryRetentionPolicy;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.flowable.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes one batch of expired historic process instances for every configured {@link HistoryRetentionPolicy} and schedules the next run.
+ * 
+ * When a policy filled up its batch, more data is probably waiting and the next run is scheduled after the (short) batch pause. Otherwise the next run is scheduled after the cleanup interval.
+ * As the expired data is selected again on every run, the cleanup simply resumes where it stopped after a failure or engine restart. When the cleanup has been disabled, the job
+ * deletes nothing and isn't scheduled again.
+ */
+public class HistoryCleanupJobHandler implements JobHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryCleanupJobHandler.class);
+
+    public static final String TYPE = "history-cleanup";
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+        if (!processEngineConfiguration.isEnableHistoryCleanup()) {
+            logger.info("History cleanup is disabled, the history cleanup job is not scheduled again");
+            return;
+        }
+
+        HistoryCleanupMetrics metrics = processEngineConfiguration.getHistoryCleanupMetrics();
+        int batchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+        Date now = processEngineConfiguration.getClock().getCurrentTime();
+
+        boolean moreDataRemaining = false;
+        List<HistoryRetentionPolicy> policies = processEngineConfiguration.getHistoryRetentionPolicies();
+        if (policies != null) {
+            for (HistoryRetentionPolicy policy : policies) {
+                int deletedCount = new DeleteHistoricProcessInstancesEndedBeforeCmd(policy.getEndedBefore(now),
+                        policy.getProcessDefinitionKey(), policy.getTenantId(), batchSize).execute(commandContext);
+
+                metrics.recordDeletedProcessInstances(policy, deletedCount);
+                if (deletedCount == batchSize) {
+                    moreDataRemaining = true;
+                }
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("History cleanup deleted {} historic process instances for {}", deletedCount, policy);
+                }
+            }
+        }
+
+        long endTime = processEngineConfiguration.getClock().getCurrentTime().getTime();
+        metrics.recordRun(now.getTime(), endTime - now.getTime());
+
+        long delay = moreDataRemaining ? processEngineConfiguration.getHistoryCleanupBatchPauseInMillis() : processEngineConfiguration.getHistoryCleanupIntervalInMillis();
+        scheduleHistoryCleanupJob(commandContext, new Date(endTime + delay));
+    }
+
+    public static TimerJobEntity scheduleHistoryCleanupJob(CommandContext commandContext, Date dueDate) {
+        TimerJobEntity timer = commandContext.getTimerJobEntityManager().create();
+        timer.setJobType(JobEntity.JOB_TYPE_TIMER);
+        timer.setDuedate(dueDate);
+        timer.setJobHandlerType(TYPE);
+        timer.setJobHandlerConfiguration(new JSONObject().toString()); // timer jobs expect a JSON configuration, there's nothing to configure though
+        commandContext.getJobManager().scheduleTimerJob(timer);
+        return timer;
+    }
+
+}
@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the next batch of instances of a parallel multi instance with a batch size. The job is created for the multi instance root execution, and the configuration holds the loop counter of the
+ * first instance of the batch.
+ */
+public class ParallelMultiInstanceBatchJobHandler implements JobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelMultiInstanceBatchJobHandler.class);
+
+    public static final String TYPE = "parallel-multi-instance-batch";
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        FlowElement currentFlowElement = execution.getCurrentFlowElement();
+
+        // the multi instance can have completed in the meantime, for example when the completion condition was satisfied
+        if (!execution.isMultiInstanceRoot() || !(currentFlowElement instanceof Activity)
+                || !(((Activity) currentFlowElement).getBehavior() instanceof ParallelMultiInstanceBehavior)) {
+
+            LOGGER.debug("Execution {} is no longer the root of a parallel multi instance, ignoring instance batch {}", execution.getId(), configuration);
+            return;
+        }
+
+        ParallelMultiInstanceBehavior multiInstanceBehavior = (ParallelMultiInstanceBehavior) ((Activity) currentFlowElement).getBehavior();
+        multiInstanceBehavior.createInstanceBatch(execution, Integer.parseInt(configuration));
+    }
+
+}
@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import org.flowable.engine.impl.asyncexecutor.TimerJobWheel;
+import org.flowable.engine.impl.cfg.TransactionListener;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts a timer job that was created and locked in the committed transaction in the {@link TimerJobWheel}.
+ */
+public class TimerJobWheelTransactionListener implements TransactionListener {
+
+    private static Logger log = LoggerFactory.getLogger(TimerJobWheelTransactionListener.class);
+
+    protected TimerJobEntity timerJob;
+    protected TimerJobWheel timerJobWheel;
+
+    public TimerJobWheelTransactionListener(TimerJobEntity timerJob, TimerJobWheel timerJobWheel) {
+        this.timerJob = timerJob;
+        this.timerJobWheel = timerJobWheel;
+    }
+
+    @Override
+    public void execute(CommandContext commandContext) {
+        if (!timerJobWheel.schedule(timerJob)) {
+            // The timer is acquired again by the timer acquisition when its lock has expired
+            log.debug("Timer job {} could not be put in the timer job wheel", timerJob.getId());
+        }
+    }
+}
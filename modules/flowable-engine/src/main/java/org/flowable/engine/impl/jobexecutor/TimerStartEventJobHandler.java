@@ -47,7 +47,7 @@ public class TimerStartEventJobHandler extends TimerEventHandler implements JobH
         try {
             if (!processDefinitionEntity.isSuspended()) {
 
-                if (commandContext.getEventDispatcher().isEnabled()) {
+                if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.TIMER_FIRED)) {
                     commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TIMER_FIRED, job));
                 }
 
@@ -43,7 +43,7 @@ public class TriggerTimerEventJobHandler implements JobHandler {
 
         commandContext.getAgenda().planTriggerExecutionOperation(execution);
 
-        if (commandContext.getEventDispatcher().isEnabled()) {
+        if (commandContext.getEventDispatcher().hasListeners(FlowableEngineEventType.TIMER_FIRED)) {
             commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TIMER_FIRED, job));
         }
 
@@ -0,0 +1,290 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.mail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.asyncexecutor.AfterCommitWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the mails of mail tasks outside of the transaction of the engine, so the transaction isn't kept open during the SMTP conversation.
+ *
+ * Mails are queued when the transaction that built them is committed: the mails of transactions that are rolled back are never sent. Worker threads of the {@link AfterCommitWorker} take the mails
+ * from the queue in batches and send the mails of a batch that go to the same mail server over a single connection.
+ *
+ * A mail that can't be sent is queued again after a wait time that doubles after each attempt, up to {@link #maxRetries} times. The outcome is reported with a
+ * {@link FlowableEngineEventType#MAIL_SENT} or {@link FlowableEngineEventType#MAIL_FAILED} event, of which the entity is the {@link QueuedMail}. When the queue is full, the committing thread
+ * waits up to {@link #queueOfferTimeoutInMillis} and sends the mail itself when that time has passed.
+ */
+public class AsyncMailSender extends AfterCommitWorker<QueuedMail> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncMailSender.class);
+
+    protected FlowableEventDispatcher eventDispatcher;
+
+    protected int maxRetries = 3;
+    protected long retryWaitTimeInMillis = 1000L;
+    protected long maxRetryWaitTimeInMillis = 60000L;
+
+    protected ScheduledExecutorService executorService;
+
+    protected AtomicInteger retriesInProgress = new AtomicInteger();
+    protected AtomicLong sentCount = new AtomicLong();
+    protected AtomicLong failedCount = new AtomicLong();
+
+    public AsyncMailSender() {
+        super("flowable-mail-sender");
+        this.batchSize = 50;
+        this.threadPoolSize = 2;
+    }
+
+    // Queueing (engine thread) ///////////////////////////////////////////////
+
+    /**
+     * Queues the mail once the current transaction has been committed, or immediately when there is no transaction.
+     */
+    public void queueAfterCommit(QueuedMail mail) {
+        queueAfterCommit(Collections.singletonList(mail));
+    }
+
+    @Override
+    public void queue(QueuedMail mail) {
+        mail.setQueueTime(System.currentTimeMillis());
+        super.queue(mail);
+    }
+
+    @Override
+    protected void rejected(QueuedMail mail) {
+        // The workers can't keep up (or aren't running): apply back-pressure by sending on the calling thread
+        if (active) {
+            logger.warn("Mail queue is full, sending mail of execution {} on the committing thread", mail.getExecutionId());
+        }
+        List<QueuedMail> mails = new ArrayList<QueuedMail>(1);
+        mails.add(mail);
+        send(mails);
+    }
+
+    // Sending (worker threads) ///////////////////////////////////////////////
+
+    @Override
+    public synchronized void start() {
+        if (active) {
+            return;
+        }
+
+        executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "flowable-mail-retry");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        super.start();
+    }
+
+    /**
+     * Stops the worker threads, after the mails that were already queued have been sent. Mails waiting for a retry are not sent anymore.
+     */
+    @Override
+    public synchronized void shutdown() {
+        if (!active) {
+            return;
+        }
+
+        super.shutdown();
+
+        List<Runnable> pendingRetries = executorService.shutdownNow();
+        if (!pendingRetries.isEmpty()) {
+            logger.warn("{} mail(s) waiting for a retry were not sent", pendingRetries.size());
+        }
+        executorService = null;
+    }
+
+    @Override
+    protected void process(List<QueuedMail> mails) {
+        send(mails);
+    }
+
+    /**
+     * Sends the given mails, using one connection per mail server.
+     */
+    protected void send(List<QueuedMail> mails) {
+        Map<String, List<QueuedMail>> mailsByServer = new LinkedHashMap<String, List<QueuedMail>>();
+        for (QueuedMail mail : mails) {
+            List<QueuedMail> serverMails = mailsByServer.get(mail.getServerKey());
+            if (serverMails == null) {
+                serverMails = new ArrayList<QueuedMail>();
+                mailsByServer.put(mail.getServerKey(), serverMails);
+            }
+            serverMails.add(mail);
+        }
+
+        for (List<QueuedMail> serverMails : mailsByServer.values()) {
+            sendToServer(serverMails);
+        }
+    }
+
+    protected void sendToServer(List<QueuedMail> mails) {
+        Transport transport = null;
+        try {
+            for (QueuedMail mail : mails) {
+                try {
+                    if (transport == null || !transport.isConnected()) {
+                        closeQuietly(transport);
+                        transport = mail.getSession().getTransport();
+                        transport.connect();
+                    }
+
+                    mail.getMessage().saveChanges();
+                    transport.sendMessage(mail.getMessage(), mail.getMessage().getAllRecipients());
+                    mailSent(mail);
+
+                } catch (MessagingException e) {
+                    mailFailed(mail, e);
+                } catch (RuntimeException e) {
+                    mailFailed(mail, e);
+                }
+            }
+
+        } finally {
+            closeQuietly(transport);
+        }
+    }
+
+    protected void closeQuietly(Transport transport) {
+        if (transport != null && transport.isConnected()) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Could not close mail transport", e);
+            }
+        }
+    }
+
+    protected void mailSent(QueuedMail mail) {
+        sentCount.incrementAndGet();
+        if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+            eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.MAIL_SENT, mail,
+                    mail.getExecutionId(), mail.getProcessInstanceId(), mail.getProcessDefinitionId()));
+        }
+    }
+
+    protected void mailFailed(final QueuedMail mail, Exception exception) {
+        mail.setAttempts(mail.getAttempts() + 1);
+
+        ScheduledExecutorService retryExecutorService = executorService;
+        if (mail.getAttempts() <= maxRetries && active && retryExecutorService != null) {
+            long waitTime = getRetryWaitTime(mail.getAttempts());
+            logger.warn("Could not send mail of execution {}, retrying in {} ms (attempt {})", mail.getExecutionId(), waitTime, mail.getAttempts(), exception);
+
+            retriesInProgress.incrementAndGet();
+            retryExecutorService.schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                    retriesInProgress.decrementAndGet();
+                    queue(mail);
+                }
+            }, waitTime, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        failedCount.incrementAndGet();
+        logger.error("Could not send mail of execution {} after {} attempts", mail.getExecutionId(), mail.getAttempts(), exception);
+        if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+            eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityExceptionEvent(FlowableEngineEventType.MAIL_FAILED, mail, exception,
+                    mail.getExecutionId(), mail.getProcessInstanceId(), mail.getProcessDefinitionId()));
+        }
+    }
+
+    /**
+     * @return the time to wait before the given attempt is retried: the retry wait time, doubled for every previous attempt, but not longer than the max retry wait time.
+     */
+    protected long getRetryWaitTime(int attempt) {
+        long waitTime = retryWaitTimeInMillis;
+        for (int i = 1; i < attempt && waitTime < maxRetryWaitTimeInMillis; i++) {
+            waitTime = waitTime * 2;
+        }
+        return Math.min(waitTime, maxRetryWaitTimeInMillis);
+    }
+
+    /**
+     * @return the number of mails waiting in the queue or waiting for a retry.
+     */
+    public int getQueuedMailCount() {
+        return getQueuedItemCount() + retriesInProgress.get();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    // getters and setters //////////////////////////////////////////////////////
+
+    public FlowableEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    public void setEventDispatcher(FlowableEventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryWaitTimeInMillis() {
+        return retryWaitTimeInMillis;
+    }
+
+    public void setRetryWaitTimeInMillis(long retryWaitTimeInMillis) {
+        this.retryWaitTimeInMillis = retryWaitTimeInMillis;
+    }
+
+    public long getMaxRetryWaitTimeInMillis() {
+        return maxRetryWaitTimeInMillis;
+    }
+
+    public void setMaxRetryWaitTimeInMillis(long maxRetryWaitTimeInMillis) {
+        this.maxRetryWaitTimeInMillis = maxRetryWaitTimeInMillis;
+    }
+
+}
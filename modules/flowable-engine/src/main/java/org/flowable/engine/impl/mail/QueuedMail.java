@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.mail;
+
+import java.util.Properties;
+
+import javax.mail.PasswordAuthentication;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * A mail built by a mail task, waiting in the queue of the {@link AsyncMailSender}. This is the entity of the {@link org.flowable.engine.delegate.event.FlowableEngineEventType#MAIL_SENT} and
+ * {@link org.flowable.engine.delegate.event.FlowableEngineEventType#MAIL_FAILED} events.
+ */
+public class QueuedMail {
+
+    protected MimeMessage message;
+    protected Session session;
+    protected String serverKey;
+
+    protected String activityId;
+    protected String executionId;
+    protected String processInstanceId;
+    protected String processDefinitionId;
+    protected String tenantId;
+
+    protected int attempts;
+    protected long queueTime;
+
+    public QueuedMail(MimeMessage message, Session session) {
+        this.message = message;
+        this.session = session;
+    }
+
+    /**
+     * Mails with the same server key are sent over the same connection. Next to the server settings, the key holds the tenant and the user the session authenticates with, so mails of different
+     * tenants or accounts never share a connection.
+     */
+    protected String createServerKey(Session session) {
+        Properties properties = session.getProperties();
+        String protocol = properties.getProperty("mail.transport.protocol", "smtp");
+        String host = properties.getProperty("mail.smtp.host", "");
+        String port = properties.getProperty("mail.smtp.port", "");
+        return protocol + "://" + getAuthenticationUserName(session, protocol, port) + "@" + host + ":" + port + "?ssl=" + properties.getProperty("mail.smtp.ssl.enable", "false")
+                + "&starttls=" + properties.getProperty("mail.smtp.starttls.enable", "false") + "&from=" + properties.getProperty("mail.smtp.from", "") + "&tenant=" + (tenantId != null ? tenantId : "");
+    }
+
+    /**
+     * @return the user name the session connects with: the one given by the authenticator of the session, if any, or else the mail.smtp.user property.
+     */
+    protected String getAuthenticationUserName(Session session, String protocol, String port) {
+        String defaultUserName = session.getProperties().getProperty("mail.smtp.user", "");
+        int portNumber = -1;
+        try {
+            portNumber = Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            // the default port of the protocol is used
+        }
+
+        PasswordAuthentication passwordAuthentication = session.requestPasswordAuthentication(null, portNumber, protocol, null, defaultUserName);
+        if (passwordAuthentication != null && passwordAuthentication.getUserName() != null) {
+            return passwordAuthentication.getUserName();
+        }
+        return defaultUserName;
+    }
+
+    public MimeMessage getMessage() {
+        return message;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public String getServerKey() {
+        if (serverKey == null) {
+            serverKey = createServerKey(session);
+        }
+        return serverKey;
+    }
+
+    public String getActivityId() {
+        return activityId;
+    }
+
+    public void setActivityId(String activityId) {
+        this.activityId = activityId;
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId) {
+        this.executionId = executionId;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(String processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public String getProcessDefinitionId() {
+        return processDefinitionId;
+    }
+
+    public void setProcessDefinitionId(String processDefinitionId) {
+        this.processDefinitionId = processDefinitionId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+        this.serverKey = null;
+    }
+
+    /**
+     * @return the number of times sending this mail has failed.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+}
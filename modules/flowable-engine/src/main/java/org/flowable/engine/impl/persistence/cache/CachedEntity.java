@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.cache;
 
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.common.impl.persistence.entity.Entity;
 
 /**
@@ -30,10 +31,20 @@ public class CachedEntity {
      */
     protected Object originalPersistentState;
 
+    /**
+     * Set when the entity is a {@link DirtyTrackingEntity} of which the state was stored: no copy of the persistent state is kept in that case, the entity knows itself whether it has been changed.
+     */
+    protected boolean dirtyTracking;
+
     public CachedEntity(Entity entity, boolean storeState) {
         this.entity = entity;
         if (storeState) {
-            this.originalPersistentState = entity.getPersistentState();
+            if (entity instanceof DirtyTrackingEntity) {
+                ((DirtyTrackingEntity) entity).clearDirty();
+                this.dirtyTracking = true;
+            } else {
+                this.originalPersistentState = entity.getPersistentState();
+            }
         }
     }
 
@@ -54,7 +65,12 @@ public class CachedEntity {
     }
 
     public boolean hasChanged() {
-        return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
+        if (dirtyTracking) {
+            return ((DirtyTrackingEntity) entity).isDirty();
+        }
+
+        Object persistentState = entity.getPersistentState();
+        return persistentState != null && !persistentState.equals(originalPersistentState);
     }
 
 }
\ No newline at end of file
@@ -22,11 +22,17 @@ import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
 import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex.DeploymentChange;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.ProcessDefinitionQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.TransactionContext;
+import org.flowable.engine.impl.cfg.TransactionListener;
 import org.flowable.engine.impl.context.Context;
+import org.flowable.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntityManager;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -45,6 +51,7 @@ public class DeploymentManager {
     protected ProcessDefinitionInfoCache processDefinitionInfoCache;
     protected DeploymentCache<Object> appResourceCache;
     protected DeploymentCache<Object> knowledgeBaseCache; // Needs to be object to avoid an import to Drools in this core class
+    protected LatestDefinitionIndex latestDefinitionIndex;
     protected List<Deployer> deployers;
 
     protected ProcessEngineConfigurationImpl processEngineConfiguration;
@@ -56,6 +63,10 @@ public class DeploymentManager {
     }
 
     public void deploy(DeploymentEntity deployment, Map<String, Object> deploymentSettings) {
+        if (deployment.isNew()) {
+            startLatestDefinitionIndexChange();
+        }
+
         for (Deployer deployer : deployers) {
             deployer.deploy(deployment, deploymentSettings);
         }
@@ -81,24 +92,88 @@ public class DeploymentManager {
     }
 
     public ProcessDefinition findDeployedLatestProcessDefinitionByKey(String processDefinitionKey) {
-        ProcessDefinition processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKey(processDefinitionKey);
+        ProcessDefinition processDefinition = findIndexedLatestProcessDefinition(processDefinitionKey, null);
+        if (processDefinition != null) {
+            return processDefinition;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
+        processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKey(processDefinitionKey);
 
         if (processDefinition == null) {
             throw new FlowableObjectNotFoundException("no processes deployed with key '" + processDefinitionKey + "'", ProcessDefinition.class);
         }
         processDefinition = resolveProcessDefinition(processDefinition).getProcessDefinition();
+        indexLatestProcessDefinition(processDefinitionKey, null, processDefinition, indexStamp);
         return processDefinition;
     }
 
     public ProcessDefinition findDeployedLatestProcessDefinitionByKeyAndTenantId(String processDefinitionKey, String tenantId) {
-        ProcessDefinition processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKeyAndTenantId(processDefinitionKey, tenantId);
+        ProcessDefinition processDefinition = findIndexedLatestProcessDefinition(processDefinitionKey, tenantId);
+        if (processDefinition != null) {
+            return processDefinition;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
+        processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKeyAndTenantId(processDefinitionKey, tenantId);
         if (processDefinition == null) {
             throw new FlowableObjectNotFoundException("no processes deployed with key '" + processDefinitionKey + "' for tenant identifier '" + tenantId + "'", ProcessDefinition.class);
         }
         processDefinition = resolveProcessDefinition(processDefinition).getProcessDefinition();
+        indexLatestProcessDefinition(processDefinitionKey, tenantId, processDefinition, indexStamp);
         return processDefinition;
     }
 
+    /**
+     * Returns the latest process definition from the {@link LatestDefinitionIndex}, or null if the 'latest version' query needs to be executed. Only process definitions that are still in the
+     * process definition cache are returned this way.
+     */
+    protected ProcessDefinition findIndexedLatestProcessDefinition(String processDefinitionKey, String tenantId) {
+        if (latestDefinitionIndex == null) {
+            return null;
+        }
+
+        String processDefinitionId = latestDefinitionIndex.getLatestDefinitionId(processDefinitionKey, tenantId, null);
+        if (processDefinitionId != null) {
+            ProcessDefinitionCacheEntry cacheEntry = processDefinitionCache.get(processDefinitionId);
+            if (cacheEntry != null) {
+                return cacheEntry.getProcessDefinition();
+            }
+        }
+        return null;
+    }
+
+    protected void indexLatestProcessDefinition(String processDefinitionKey, String tenantId, ProcessDefinition processDefinition, long indexStamp) {
+        if (latestDefinitionIndex != null) {
+            latestDefinitionIndex.putLatestDefinitionId(processDefinitionKey, tenantId, null, processDefinition.getId(), indexStamp);
+        }
+    }
+
+    /**
+     * Disables the {@link LatestDefinitionIndex} until the current transaction has been committed or rolled back. Needs to be called by any command that deploys or deletes process definitions, or
+     * changes their key, version or tenant id.
+     */
+    public void startLatestDefinitionIndexChange() {
+        if (latestDefinitionIndex == null) {
+            return;
+        }
+
+        final DeploymentChange deploymentChange = latestDefinitionIndex.startDeploymentChange();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            TransactionListener endDeploymentChangeListener = new TransactionListener() {
+                public void execute(CommandContext commandContext) {
+                    deploymentChange.end();
+                }
+            };
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, endDeploymentChangeListener);
+            transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, endDeploymentChangeListener);
+
+        } else {
+            Context.getCommandContext().addCloseListener(deploymentChange);
+        }
+    }
+
     public ProcessDefinition findDeployedProcessDefinitionByKeyAndVersionAndTenantId(String processDefinitionKey, Integer processDefinitionVersion, String tenantId) {
         ProcessDefinition processDefinition = (ProcessDefinitionEntity) processDefinitionEntityManager
                 .findProcessDefinitionByKeyAndVersionAndTenantId(processDefinitionKey, processDefinitionVersion, tenantId);
@@ -182,6 +257,8 @@ public class DeploymentManager {
             throw new FlowableObjectNotFoundException("Could not find a deployment with id '" + deploymentId + "'.", DeploymentEntity.class);
         }
 
+        startLatestDefinitionIndexChange();
+
         if (Flowable5Util.isFlowable5Deployment(deployment, processEngineConfiguration)) {
             processEngineConfiguration.getFlowable5CompatibilityHandler().deleteDeployment(deploymentId, cascade);
             return;
@@ -194,7 +271,7 @@ public class DeploymentManager {
         for (ProcessDefinition processDefinition : processDefinitions) {
 
             // Since all process definitions are deleted by a single query, we should dispatch the events in this loop
-            if (eventDispatcher.isEnabled()) {
+            if (eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
                 eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, processDefinition));
             }
         }
@@ -203,7 +280,7 @@ public class DeploymentManager {
         deploymentEntityManager.deleteDeployment(deploymentId, cascade);
 
         // Since we use a delete by query, delete-events are not automatically dispatched
-        if (eventDispatcher.isEnabled()) {
+        if (eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, deployment));
         }
 
@@ -259,6 +336,14 @@ public class DeploymentManager {
         this.appResourceCache = appResourceCache;
     }
 
+    public LatestDefinitionIndex getLatestDefinitionIndex() {
+        return latestDefinitionIndex;
+    }
+
+    public void setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+        this.latestDefinitionIndex = latestDefinitionIndex;
+    }
+
     public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
         return processEngineConfiguration;
     }
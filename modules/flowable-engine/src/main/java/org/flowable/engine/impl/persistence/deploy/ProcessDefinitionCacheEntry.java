@@ -13,6 +13,8 @@
 package org.flowable.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
 
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
@@ -28,6 +30,7 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected ProcessDefinition processDefinition;
     protected BpmnModel bpmnModel;
     protected Process process;
+    protected Map<String, Set<String>> variableNamesByFlowNodeId;
 
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
@@ -59,4 +62,15 @@ public class ProcessDefinitionCacheEntry implements Serializable {
         this.process = process;
     }
 
+    /**
+     * @return the variable names referenced by the expressions of each flow node, or null if variable prefetching is not enabled.
+     */
+    public Map<String, Set<String>> getVariableNamesByFlowNodeId() {
+        return variableNamesByFlowNodeId;
+    }
+
+    public void setVariableNamesByFlowNodeId(Map<String, Set<String>> variableNamesByFlowNodeId) {
+        this.variableNamesByFlowNodeId = variableNamesByFlowNodeId;
+    }
+
 }
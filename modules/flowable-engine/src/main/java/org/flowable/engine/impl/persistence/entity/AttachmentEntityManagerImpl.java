@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.api.FlowableException;
@@ -90,6 +91,12 @@ public class AttachmentEntityManagerImpl extends AbstractEntityManager<Attachmen
         }
     }
 
+    @Override
+    public void deleteAttachmentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        checkHistoryEnabled();
+        attachmentDataManager.deleteAttachmentsByProcessInstanceIds(processInstanceIds);
+    }
+
     protected void checkHistoryEnabled() {
         if (!getHistoryManager().isHistoryEnabled()) {
             throw new FlowableException("In order to use attachments, history should be enabled");
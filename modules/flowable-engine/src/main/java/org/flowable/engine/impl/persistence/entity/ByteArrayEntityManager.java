@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.EntityManager;
@@ -32,4 +33,14 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
      */
     void deleteByteArrayById(String byteArrayEntityId);
 
+    /**
+     * Returns the ids of the byte arrays referenced by the variables and the job exception stacktraces of the given process instances.
+     */
+    List<String> findByteArrayIdsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    /**
+     * Deletes the byte arrays with the given ids with one statement, without fetching the entities first.
+     */
+    void deleteByteArraysByIds(Collection<String> byteArrayIds);
+
 }
\ No newline at end of file
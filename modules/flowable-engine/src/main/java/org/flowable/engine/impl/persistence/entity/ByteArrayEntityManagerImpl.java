@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
@@ -47,6 +48,16 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
         byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
     }
 
+    @Override
+    public List<String> findByteArrayIdsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return byteArrayDataManager.findByteArrayIdsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public void deleteByteArraysByIds(Collection<String> byteArrayIds) {
+        byteArrayDataManager.deleteByteArraysByIds(byteArrayIds);
+    }
+
     public ByteArrayDataManager getByteArrayDataManager() {
         return byteArrayDataManager;
     }
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.api.FlowableException;
@@ -73,7 +74,7 @@ public class CommentEntityManagerImpl extends AbstractEntityManager<CommentEntit
 
         CommentEntity updatedCommentEntity = update(commentEntity, false);
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_UPDATED)) {
             // Forced to fetch the process-instance to associate the right
             // process definition
             String processDefinitionId = null;
@@ -133,6 +134,12 @@ public class CommentEntityManagerImpl extends AbstractEntityManager<CommentEntit
         commentDataManager.deleteCommentsByProcessInstanceId(processInstanceId);
     }
 
+    @Override
+    public void deleteCommentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        checkHistoryEnabled();
+        commentDataManager.deleteCommentsByProcessInstanceIds(processInstanceIds);
+    }
+
     @Override
     public List<Comment> findCommentsByProcessInstanceId(String processInstanceId) {
         checkHistoryEnabled();
@@ -162,7 +169,7 @@ public class CommentEntityManagerImpl extends AbstractEntityManager<CommentEntit
         delete(commentEntity, false);
 
         Comment comment = (Comment) commentEntity;
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             // Forced to fetch the process-instance to associate the right
             // process definition
             String processDefinitionId = null;
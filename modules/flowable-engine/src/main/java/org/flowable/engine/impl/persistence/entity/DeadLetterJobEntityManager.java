@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -44,4 +45,10 @@ public interface DeadLetterJobEntityManager extends EntityManager<DeadLetterJobE
      * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+    /**
+     * Deletes the dead letter jobs of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteDeadLetterJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
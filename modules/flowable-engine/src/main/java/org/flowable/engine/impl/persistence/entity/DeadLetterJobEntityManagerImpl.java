@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -102,7 +103,7 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
         }
 
         // Send event
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, this));
         }
     }
@@ -142,4 +143,10 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
     public void setJobDataManager(DeadLetterJobDataManager jobDataManager) {
         this.jobDataManager = jobDataManager;
     }
+
+    @Override
+    public void deleteDeadLetterJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteDeadLetterJobsByProcessInstanceIds(processInstanceIds);
+    }
+
 }
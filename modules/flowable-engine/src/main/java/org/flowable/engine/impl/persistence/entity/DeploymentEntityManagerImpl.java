@@ -139,7 +139,7 @@ public class DeploymentEntityManagerImpl extends AbstractEntityManager<Deploymen
                 .findJobsByTypeAndProcessDefinitionId(TimerStartEventJobHandler.TYPE, processDefinition.getId());
         if (timerStartJobs != null && timerStartJobs.size() > 0) {
             for (TimerJobEntity timerStartJob : timerStartJobs) {
-                if (getEventDispatcher().isEnabled()) {
+                if (getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, timerStartJob, null, null, processDefinition.getId()));
                 }
 
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.bpmn.model.Signal;
@@ -93,4 +94,9 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
 
     List<CompensateEventSubscriptionEntity> findCompensateEventSubscriptionsByProcessInstanceIdAndActivityId(String processInstanceId, String activityId);
 
+    /**
+     * Deletes the event subscriptions of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
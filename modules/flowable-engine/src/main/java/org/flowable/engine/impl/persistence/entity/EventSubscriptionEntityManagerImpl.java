@@ -14,6 +14,7 @@
 package org.flowable.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.bpmn.model.Signal;
@@ -303,6 +304,11 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
         return messageEventSubscriptionEntities;
     }
 
+    @Override
+    public void deleteEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        eventSubscriptionDataManager.deleteEventSubscriptionsByProcessInstanceIds(processInstanceIds);
+    }
+
     public EventSubscriptionDataManager getEventSubscriptionDataManager() {
         return eventSubscriptionDataManager;
     }
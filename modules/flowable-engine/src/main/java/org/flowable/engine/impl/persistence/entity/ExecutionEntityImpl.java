@@ -19,11 +19,13 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.flowable.bpmn.model.FlowableListener;
 import org.flowable.bpmn.model.FlowElement;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.context.Context;
@@ -39,7 +41,7 @@ import org.flowable.engine.impl.util.ProcessDefinitionUtil;
  * @author Joram Barrez
  */
 
-public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity, DirtyTrackingEntity {
 
     private static final long serialVersionUID = 1L;
 
@@ -194,6 +196,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     protected boolean forcedUpdate;
 
+    // Set when one of the fields of the persistent state is changed
+    protected boolean dirty;
+
     protected List<VariableInstanceEntity> queryVariables;
 
     protected boolean isDeleted; // TODO: should be in entity superclass probably
@@ -267,8 +272,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     public void setCurrentFlowElement(FlowElement currentFlowElement) {
         this.currentFlowElement = currentFlowElement;
         if (currentFlowElement != null) {
+            markDirty(this.activityId, currentFlowElement.getId());
             this.activityId = currentFlowElement.getId();
         } else {
+            markDirty(this.activityId, null);
             this.activityId = null;
         }
     }
@@ -310,6 +317,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setBusinessKey(String businessKey) {
+        markDirty(this.businessKey, businessKey);
         this.businessKey = businessKey;
     }
 
@@ -320,6 +328,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     // process definition ///////////////////////////////////////////////////////
 
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty(this.processDefinitionId, processDefinitionId);
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -402,8 +411,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         this.parent = (ExecutionEntityImpl) parent;
 
         if (parent != null) {
+            markDirty(this.parentId, parent.getId());
             this.parentId = parent.getId();
         } else {
+            markDirty(this.parentId, null);
             this.parentId = null;
         }
     }
@@ -426,8 +437,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         }
 
         if (superExecution != null) {
+            markDirty(this.superExecutionId, superExecution.getId());
             this.superExecutionId = ((ExecutionEntityImpl) superExecution).getId();
         } else {
+            markDirty(this.superExecutionId, null);
             this.superExecutionId = null;
         }
     }
@@ -468,8 +481,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         this.rootProcessInstance = (ExecutionEntityImpl) rootProcessInstance;
 
         if (rootProcessInstance != null) {
+            markDirty(this.rootProcessInstanceId, rootProcessInstance.getId());
             this.rootProcessInstanceId = rootProcessInstance.getId();
         } else {
+            markDirty(this.rootProcessInstanceId, null);
             this.rootProcessInstanceId = null;
         }
     }
@@ -479,6 +494,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setRootProcessInstanceId(String rootProcessInstanceId) {
+        markDirty(this.rootProcessInstanceId, rootProcessInstanceId);
         this.rootProcessInstanceId = rootProcessInstanceId;
     }
 
@@ -489,6 +505,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setScope(boolean isScope) {
+        markDirty(this.isScope, isScope);
         this.isScope = isScope;
     }
 
@@ -496,6 +513,34 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         this.forcedUpdate = true;
     }
 
+    @Override
+    public boolean isDirty() {
+        return dirty || forcedUpdate;
+    }
+
+    @Override
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    protected void markDirty(Object oldValue, Object newValue) {
+        if (!dirty && !Objects.equals(oldValue, newValue)) {
+            dirty = true;
+        }
+    }
+
+    protected void markDirty(int oldValue, int newValue) {
+        if (oldValue != newValue) {
+            dirty = true;
+        }
+    }
+
+    protected void markDirty(boolean oldValue, boolean newValue) {
+        if (oldValue != newValue) {
+            dirty = true;
+        }
+    }
+
     // VariableScopeImpl methods //////////////////////////////////////////////////////////////////
 
     // TODO: this should ideally move to another place
@@ -531,7 +576,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
         // Dispatch event, if needed
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.VARIABLE_CREATED)) {
             Context
                     .getProcessEngineConfiguration()
                     .getEventDispatcher()
@@ -547,7 +592,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
         // Dispatch event, if needed
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.VARIABLE_UPDATED)) {
             Context
                     .getProcessEngineConfiguration()
                     .getEventDispatcher()
@@ -656,6 +701,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setParentId(String parentId) {
+        markDirty(this.parentId, parentId);
         this.parentId = parentId;
     }
 
@@ -668,6 +714,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setConcurrent(boolean isConcurrent) {
+        markDirty(this.isConcurrent, isConcurrent);
         this.isConcurrent = isConcurrent;
     }
 
@@ -676,10 +723,12 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setActive(boolean isActive) {
+        markDirty(this.isActive, isActive);
         this.isActive = isActive;
     }
 
     public void inactivate() {
+        markDirty(this.isActive, false);
         this.isActive = false;
     }
 
@@ -712,6 +761,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setSuspensionState(int suspensionState) {
+        markDirty(this.suspensionState, suspensionState);
         this.suspensionState = suspensionState;
     }
 
@@ -724,6 +774,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setEventScope(boolean isEventScope) {
+        markDirty(this.isEventScope, isEventScope);
         this.isEventScope = isEventScope;
     }
 
@@ -761,6 +812,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setName(String name) {
+        markDirty(this.name, name);
         this.name = name;
     }
 
@@ -805,6 +857,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setLockTime(Date lockTime) {
+        markDirty(this.lockTime, lockTime);
         this.lockTime = lockTime;
     }
 
@@ -848,6 +901,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setStartUserId(String startUserId) {
+        markDirty(this.startUserId, startUserId);
         this.startUserId = startUserId;
     }
 
@@ -856,6 +910,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setStartTime(Date startTime) {
+        markDirty(this.startTime, startTime);
         this.startTime = startTime;
     }
 
@@ -864,6 +919,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setEventSubscriptionCount(int eventSubscriptionCount) {
+        markDirty(this.eventSubscriptionCount, eventSubscriptionCount);
         this.eventSubscriptionCount = eventSubscriptionCount;
     }
 
@@ -872,6 +928,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setTaskCount(int taskCount) {
+        markDirty(this.taskCount, taskCount);
         this.taskCount = taskCount;
     }
 
@@ -880,6 +937,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setJobCount(int jobCount) {
+        markDirty(this.jobCount, jobCount);
         this.jobCount = jobCount;
     }
 
@@ -888,6 +946,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setTimerJobCount(int timerJobCount) {
+        markDirty(this.timerJobCount, timerJobCount);
         this.timerJobCount = timerJobCount;
     }
 
@@ -896,6 +955,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setSuspendedJobCount(int suspendedJobCount) {
+        markDirty(this.suspendedJobCount, suspendedJobCount);
         this.suspendedJobCount = suspendedJobCount;
     }
 
@@ -904,6 +964,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setDeadLetterJobCount(int deadLetterJobCount) {
+        markDirty(this.deadLetterJobCount, deadLetterJobCount);
         this.deadLetterJobCount = deadLetterJobCount;
     }
 
@@ -912,6 +973,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setVariableCount(int variableCount) {
+        markDirty(this.variableCount, variableCount);
         this.variableCount = variableCount;
     }
 
@@ -920,6 +982,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     public void setIdentityLinkCount(int identityLinkCount) {
+        markDirty(this.identityLinkCount, identityLinkCount);
         this.identityLinkCount = identityLinkCount;
     }
 
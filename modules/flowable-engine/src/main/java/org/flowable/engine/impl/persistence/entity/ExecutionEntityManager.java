@@ -56,6 +56,13 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
     List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
+    List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
+
+    /**
+     * Returns the ids of the given process instances that are the root of their process instance tree, i.e. that aren't a sub process instance.
+     */
+    List<String> findRootProcessInstanceIdsByIds(Collection<String> processInstanceIds);
+
     List<ProcessInstance> findProcessInstanceAndVariablesByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
     Collection<ExecutionEntity> findInactiveExecutionsByProcessInstanceId(String processInstanceId);
@@ -85,6 +92,13 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
     void deleteProcessInstance(String processInstanceId, String deleteReason, boolean cascade);
 
+    /**
+     * Deletes the given root process instances, including their sub process instances, with set-based delete statements per table instead of deleting the executions and their related data one by
+     * one. The historic process instances, activities and tasks are ended and a PROCESS_CANCELLED event is dispatched for every process instance, but no events are
+     * dispatched for the other entities that are removed.
+     */
+    void deleteProcessInstances(Collection<String> rootProcessInstanceIds, String deleteReason);
+
     void deleteProcessInstanceExecutionEntity(String processInstanceId, String currentFlowElementId,
             String deleteReason, boolean cascade, boolean cancel, boolean fireEvents);
 
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
@@ -117,6 +118,16 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         return executionDataManager.findProcessInstanceByQueryCriteria(executionQuery);
     }
 
+    @Override
+    public List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
+        return executionDataManager.findProcessInstanceIdsByQueryCriteria(executionQuery);
+    }
+
+    @Override
+    public List<String> findRootProcessInstanceIdsByIds(Collection<String> processInstanceIds) {
+        return executionDataManager.findRootProcessInstanceIdsByIds(processInstanceIds);
+    }
+
     @Override
     public ExecutionEntity findByRootProcessInstanceId(String rootProcessInstanceId) {
         List<ExecutionEntity> executions = executionDataManager.findExecutionsByRootProcessInstanceId(rootProcessInstanceId);
@@ -243,7 +254,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         }
 
         // Fire events
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_CREATED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, processInstanceExecution));
         }
 
@@ -274,8 +285,10 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             logger.debug("Child execution {} created with parent {}", childExecution, parentExecutionEntity.getId());
         }
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_CREATED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, childExecution));
+        }
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_INITIALIZED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, childExecution));
         }
 
@@ -305,7 +318,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         subProcessInstance.setProcessInstanceId(subProcessInstance.getId());
         superExecutionEntity.setSubProcessInstance(subProcessInstance);
 
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_CREATED)) {
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, subProcessInstance));
         }
 
@@ -364,6 +377,55 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         deleteProcessInstanceCascade(execution, deleteReason, cascade);
     }
 
+    @Override
+    public void deleteProcessInstances(Collection<String> rootProcessInstanceIds, String deleteReason) {
+        if (rootProcessInstanceIds.isEmpty()) {
+            return;
+        }
+        if (rootProcessInstanceIds.size() > HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT) {
+            throw new FlowableIllegalArgumentException("At most " + HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT + " process instances can be deleted at once");
+        }
+
+        // fill default reason if none provided
+        if (deleteReason == null) {
+            deleteReason = DeleteReason.PROCESS_INSTANCE_DELETED;
+        }
+
+        // All selects are done before the executions are unlinked from each other (see deleteExecutionsByRootProcessInstanceIds),
+        // the deletes are executed at flush time in the entity dependency order
+        List<String> processInstanceIds = executionDataManager.findProcessInstanceIdsByRootProcessInstanceIds(rootProcessInstanceIds);
+        boolean dispatchCancelledEvents = getEventDispatcher().hasListeners(FlowableEngineEventType.PROCESS_CANCELLED);
+
+        List<String> byteArrayIds = new ArrayList<String>();
+        for (int i = 0; i < processInstanceIds.size(); i += HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT) {
+            List<String> ids = processInstanceIds.subList(i, Math.min(i + HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT, processInstanceIds.size()));
+
+            getHistoryManager().recordProcessInstancesEnd(ids, deleteReason);
+
+            if (dispatchCancelledEvents) {
+                for (String processInstanceId : ids) {
+                    getEventDispatcher().dispatchEvent(FlowableEventBuilder.createCancelledEvent(processInstanceId, processInstanceId, null, deleteReason));
+                }
+            }
+
+            byteArrayIds.addAll(getByteArrayEntityManager().findByteArrayIdsByProcessInstanceIds(ids));
+            getIdentityLinkEntityManager().deleteIdentityLinksByProcessInstanceIds(ids);
+            getVariableInstanceEntityManager().deleteVariableInstancesByProcessInstanceIds(ids);
+            getTaskEntityManager().deleteTasksByProcessInstanceIds(ids);
+            getJobEntityManager().deleteJobsByProcessInstanceIds(ids);
+            getTimerJobEntityManager().deleteTimerJobsByProcessInstanceIds(ids);
+            getSuspendedJobEntityManager().deleteSuspendedJobsByProcessInstanceIds(ids);
+            getDeadLetterJobEntityManager().deleteDeadLetterJobsByProcessInstanceIds(ids);
+            getEventSubscriptionEntityManager().deleteEventSubscriptionsByProcessInstanceIds(ids);
+        }
+
+        for (int i = 0; i < byteArrayIds.size(); i += HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT) {
+            getByteArrayEntityManager().deleteByteArraysByIds(byteArrayIds.subList(i, Math.min(i + HistoricProcessInstanceEntityManagerImpl.MAX_IDS_PER_STATEMENT, byteArrayIds.size())));
+        }
+
+        executionDataManager.deleteExecutionsByRootProcessInstanceIds(rootProcessInstanceIds);
+    }
+
     protected void deleteProcessInstanceCascade(ExecutionEntity execution, String deleteReason, boolean deleteHistory) {
 
         // fill default reason if none provided
@@ -386,7 +448,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
 
         getTaskEntityManager().deleteTasksByProcessInstanceId(execution.getId(), deleteReason, deleteHistory);
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.PROCESS_CANCELLED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createCancelledEvent(execution.getProcessInstanceId(),
                     execution.getProcessInstanceId(), null, deleteReason));
         }
@@ -597,7 +659,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             Collection<TimerJobEntity> timerJobsForExecution = timerJobEntityManager.findJobsByExecutionId(executionEntity.getId());
             for (TimerJobEntity job : timerJobsForExecution) {
                 timerJobEntityManager.delete(job);
-                if (getEventDispatcher().isEnabled()) {
+                if (getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
                 }
             }
@@ -609,7 +671,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             Collection<JobEntity> jobsForExecution = jobEntityManager.findJobsByExecutionId(executionEntity.getId());
             for (JobEntity job : jobsForExecution) {
                 getJobEntityManager().delete(job);
-                if (getEventDispatcher().isEnabled()) {
+                if (getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
                 }
             }
@@ -621,7 +683,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             Collection<SuspendedJobEntity> suspendedJobsForExecution = suspendedJobEntityManager.findJobsByExecutionId(executionEntity.getId());
             for (SuspendedJobEntity job : suspendedJobsForExecution) {
                 suspendedJobEntityManager.delete(job);
-                if (getEventDispatcher().isEnabled()) {
+                if (getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
                 }
             }
@@ -633,7 +695,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             Collection<DeadLetterJobEntity> deadLetterJobsForExecution = deadLetterJobEntityManager.findJobsByExecutionId(executionEntity.getId());
             for (DeadLetterJobEntity job : deadLetterJobsForExecution) {
                 deadLetterJobEntityManager.delete(job);
-                if (getEventDispatcher().isEnabled()) {
+                if (getEventDispatcher().hasListeners(FlowableEngineEventType.JOB_CANCELED)) {
                     getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
                 }
             }
@@ -648,7 +710,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
                 eventSubscriptionEntityManager.delete(eventSubscription);
 
                 if (MessageEventSubscriptionEntity.EVENT_TYPE.equals(eventSubscription.getEventType())) {
-                    if (getEventDispatcher().isEnabled()) {
+                    if (getEventDispatcher().hasListeners(FlowableEngineEventType.ACTIVITY_MESSAGE_CANCELLED)) {
                         getEventDispatcher().dispatchEvent(FlowableEventBuilder.createMessageEvent(FlowableEngineEventType.ACTIVITY_MESSAGE_CANCELLED,
                                 eventSubscription.getActivityId(), eventSubscription.getEventName(), null, eventSubscription.getExecutionId(),
                                 eventSubscription.getProcessInstanceId(), eventSubscription.getProcessDefinitionId()));
@@ -685,7 +747,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             executionEntity.setBusinessKey(businessKey);
             getHistoryManager().updateProcessBusinessKeyInHistory(executionEntity);
 
-            if (getEventDispatcher().isEnabled()) {
+            if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_UPDATED)) {
                 getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, executionEntity));
             }
 
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -39,4 +40,8 @@ public interface HistoricActivityInstanceEntityManager extends EntityManager<His
 
     void deleteHistoricActivityInstancesByProcessInstanceId(String historicProcessInstanceId);
 
+    void deleteHistoricActivityInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds);
+
+    List<HistoricActivityInstanceEntity> findUnfinishedHistoricActivityInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -59,6 +60,13 @@ public class HistoricActivityInstanceEntityManagerImpl extends AbstractEntityMan
         }
     }
 
+    @Override
+    public void deleteHistoricActivityInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        if (getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+            historicActivityInstanceDataManager.deleteHistoricActivityInstancesByProcessInstanceIds(historicProcessInstanceIds);
+        }
+    }
+
     @Override
     public long findHistoricActivityInstanceCountByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery) {
         return historicActivityInstanceDataManager.findHistoricActivityInstanceCountByQueryCriteria(historicActivityInstanceQuery);
@@ -79,6 +87,11 @@ public class HistoricActivityInstanceEntityManagerImpl extends AbstractEntityMan
         return historicActivityInstanceDataManager.findHistoricActivityInstanceCountByNativeQuery(parameterMap);
     }
 
+    @Override
+    public List<HistoricActivityInstanceEntity> findUnfinishedHistoricActivityInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return historicActivityInstanceDataManager.findUnfinishedHistoricActivityInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
     public HistoricActivityInstanceDataManager getHistoricActivityInstanceDataManager() {
         return historicActivityInstanceDataManager;
     }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -38,4 +40,14 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
 
     void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId);
 
+    List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, String processDefinitionKey, String tenantId, int maxResults);
+
+    /**
+     * Deletes the given historic process instances, their sub process instances and all related historic data with set-based statements.
+     * Contrary to {@link #delete(String)} no entities are fetched, hence no entity delete events are dispatched.
+     */
+    void deleteHistoricProcessInstances(Collection<String> historicProcessInstanceIds);
+
+    List<HistoricProcessInstanceEntity> findUnfinishedHistoricProcessInstancesByIds(Collection<String> historicProcessInstanceIds);
+
 }
\ No newline at end of file
@@ -13,7 +13,10 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +32,11 @@ import org.flowable.engine.impl.persistence.entity.data.HistoricProcessInstanceD
  */
 public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityManager<HistoricProcessInstanceEntity> implements HistoricProcessInstanceEntityManager {
 
+    /**
+     * Upper bound for the number of ids in one 'in' clause (Oracle doesn't allow more than 1000 expressions in a list).
+     */
+    public static final int MAX_IDS_PER_STATEMENT = 1000;
+
     protected HistoricProcessInstanceDataManager historicProcessInstanceDataManager;
 
     public HistoricProcessInstanceEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, HistoricProcessInstanceDataManager historicProcessInstanceDataManager) {
@@ -79,6 +87,41 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
         }
     }
 
+    @Override
+    public List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, String processDefinitionKey, String tenantId, int maxResults) {
+        if (getHistoryManager().isHistoryEnabled()) {
+            return historicProcessInstanceDataManager.findHistoricProcessInstanceIdsEndedBefore(endedBefore, processDefinitionKey, tenantId, maxResults);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void deleteHistoricProcessInstances(Collection<String> historicProcessInstanceIds) {
+        if (getHistoryManager().isHistoryEnabled() && !historicProcessInstanceIds.isEmpty()) {
+
+            // Sub process instances are deleted together with their parent, so the list grows while it's being traversed
+            List<String> processInstanceIds = new ArrayList<String>(historicProcessInstanceIds);
+            int index = 0;
+            while (index < processInstanceIds.size()) {
+                List<String> superProcessInstanceIds = new ArrayList<String>(processInstanceIds.subList(index, Math.min(index + MAX_IDS_PER_STATEMENT, processInstanceIds.size())));
+                index += superProcessInstanceIds.size();
+                processInstanceIds.addAll(historicProcessInstanceDataManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(superProcessInstanceIds));
+            }
+
+            for (int i = 0; i < processInstanceIds.size(); i += MAX_IDS_PER_STATEMENT) {
+                List<String> ids = new ArrayList<String>(processInstanceIds.subList(i, Math.min(i + MAX_IDS_PER_STATEMENT, processInstanceIds.size())));
+                getHistoricDetailEntityManager().deleteHistoricDetailsByProcessInstanceIds(ids);
+                getHistoricVariableInstanceEntityManager().deleteHistoricVariableInstancesByProcessInstanceIds(ids);
+                getHistoricActivityInstanceEntityManager().deleteHistoricActivityInstancesByProcessInstanceIds(ids);
+                getHistoricIdentityLinkEntityManager().deleteHistoricIdentityLinksByProcessInstanceIds(ids);
+                getHistoricTaskInstanceEntityManager().deleteHistoricTaskInstancesByProcessInstanceIds(ids);
+                getCommentEntityManager().deleteCommentsByProcessInstanceIds(ids);
+                getAttachmentEntityManager().deleteAttachmentsByProcessInstanceIds(ids);
+                historicProcessInstanceDataManager.deleteHistoricProcessInstancesByIds(ids);
+            }
+        }
+    }
+
     @Override
     public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
         if (getHistoryManager().isHistoryEnabled()) {
@@ -115,6 +158,11 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
         return historicProcessInstanceDataManager.findHistoricProcessInstanceCountByNativeQuery(parameterMap);
     }
 
+    @Override
+    public List<HistoricProcessInstanceEntity> findUnfinishedHistoricProcessInstancesByIds(Collection<String> historicProcessInstanceIds) {
+        return historicProcessInstanceDataManager.findUnfinishedHistoricProcessInstancesByIds(historicProcessInstanceIds);
+    }
+
     public HistoricProcessInstanceDataManager getHistoricProcessInstanceDataManager() {
         return historicProcessInstanceDataManager;
     }
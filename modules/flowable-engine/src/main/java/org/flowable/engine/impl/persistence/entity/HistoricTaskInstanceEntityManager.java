@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -38,4 +39,8 @@ public interface HistoricTaskInstanceEntityManager extends EntityManager<Histori
 
     void deleteHistoricTaskInstancesByProcessInstanceId(String processInstanceId);
 
+    void deleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<HistoricTaskInstanceEntity> findUnfinishedHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +60,13 @@ public class HistoricTaskInstanceEntityManagerImpl extends AbstractEntityManager
         }
     }
 
+    @Override
+    public void deleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        if (getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+            historicTaskInstanceDataManager.deleteHistoricTaskInstancesByProcessInstanceIds(processInstanceIds);
+        }
+    }
+
     @Override
     public long findHistoricTaskInstanceCountByQueryCriteria(HistoricTaskInstanceQueryImpl historicTaskInstanceQuery) {
         if (getHistoryManager().isHistoryEnabled()) {
@@ -124,6 +132,11 @@ public class HistoricTaskInstanceEntityManagerImpl extends AbstractEntityManager
         return historicTaskInstanceDataManager.findHistoricTaskInstanceCountByNativeQuery(parameterMap);
     }
 
+    @Override
+    public List<HistoricTaskInstanceEntity> findUnfinishedHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return historicTaskInstanceDataManager.findUnfinishedHistoricTaskInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
     public HistoricTaskInstanceDataManager getHistoricTaskInstanceDataManager() {
         return historicTaskInstanceDataManager;
     }
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -43,4 +44,6 @@ public interface HistoricVariableInstanceEntityManager extends EntityManager<His
 
     void deleteHistoricVariableInstanceByProcessInstanceId(String historicProcessInstanceId);
 
+    void deleteHistoricVariableInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds);
+
 }
\ No newline at end of file
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +100,13 @@ public class HistoricVariableInstanceEntityManagerImpl extends AbstractEntityMan
         }
     }
 
+    @Override
+    public void deleteHistoricVariableInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        if (getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+            historicVariableInstanceDataManager.deleteHistoricVariableInstancesByProcessInstanceIds(historicProcessInstanceIds);
+        }
+    }
+
     @Override
     public long findHistoricVariableInstanceCountByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery) {
         return historicVariableInstanceDataManager.findHistoricVariableInstanceCountByQueryCriteria(historicProcessVariableQuery);
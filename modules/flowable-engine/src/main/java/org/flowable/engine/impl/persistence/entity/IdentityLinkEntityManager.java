@@ -69,4 +69,9 @@ public interface IdentityLinkEntityManager extends EntityManager<IdentityLinkEnt
 
     void deleteIdentityLinksByProcDef(String processDefId);
 
+    /**
+     * Deletes the runtime identity links (including the ones of their tasks) of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
@@ -82,7 +82,7 @@ public class IdentityLinkEntityManagerImpl extends AbstractEntityManager<Identit
             }
         }
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, identityLink));
         }
     }
@@ -265,6 +265,11 @@ public class IdentityLinkEntityManagerImpl extends AbstractEntityManager<Identit
         identityLinkDataManager.deleteIdentityLinksByProcDef(processDefId);
     }
 
+    @Override
+    public void deleteIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        identityLinkDataManager.deleteIdentityLinksByProcessInstanceIds(processInstanceIds);
+    }
+
     public IdentityLinkDataManager getIdentityLinkDataManager() {
         return identityLinkDataManager;
     }
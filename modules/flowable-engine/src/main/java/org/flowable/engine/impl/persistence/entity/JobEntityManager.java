@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -76,4 +77,9 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+    /**
+     * Deletes the async jobs of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
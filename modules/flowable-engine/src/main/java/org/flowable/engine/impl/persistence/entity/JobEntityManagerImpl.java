@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -132,7 +133,7 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         removeExecutionLink(jobEntity);
 
         // Send event
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, this));
         }
     }
@@ -170,6 +171,11 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         }
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteJobsByProcessInstanceIds(processInstanceIds);
+    }
+
     public JobDataManager getJobDataManager() {
         return jobDataManager;
     }
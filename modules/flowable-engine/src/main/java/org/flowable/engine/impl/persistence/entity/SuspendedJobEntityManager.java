@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -50,4 +51,9 @@ public interface SuspendedJobEntityManager extends EntityManager<SuspendedJobEnt
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+    /**
+     * Deletes the suspended jobs of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteSuspendedJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -105,7 +106,7 @@ public class SuspendedJobEntityManagerImpl extends AbstractEntityManager<Suspend
         }
 
         // Send event
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, this));
         }
     }
@@ -145,4 +146,10 @@ public class SuspendedJobEntityManagerImpl extends AbstractEntityManager<Suspend
     public void setJobDataManager(SuspendedJobDataManager jobDataManager) {
         this.jobDataManager = jobDataManager;
     }
+
+    @Override
+    public void deleteSuspendedJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteSuspendedJobsByProcessInstanceIds(processInstanceIds);
+    }
+
 }
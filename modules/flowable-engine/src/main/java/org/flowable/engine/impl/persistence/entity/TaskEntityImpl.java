@@ -21,11 +21,13 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.flowable.bpmn.model.FlowableListener;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.context.Context;
@@ -42,7 +44,7 @@ import org.flowable.engine.task.IdentityLinkType;
  * @author Falko Menge
  * @author Tijs Rademakers
  */
-public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, CountingTaskEntity, Serializable, BulkDeleteable {
+public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, CountingTaskEntity, Serializable, BulkDeleteable, DirtyTrackingEntity {
 
     public static final String DELETE_REASON_COMPLETED = "completed";
     public static final String DELETE_REASON_DELETED = "deleted";
@@ -98,6 +100,9 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     protected boolean forcedUpdate;
 
+    // Set when one of the fields of the persistent state is changed
+    protected boolean dirty;
+
     protected Date claimTime;
 
     public TaskEntityImpl() {
@@ -154,6 +159,34 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
         this.forcedUpdate = true;
     }
 
+    @Override
+    public boolean isDirty() {
+        return dirty || forcedUpdate;
+    }
+
+    @Override
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    protected void markDirty(Object oldValue, Object newValue) {
+        if (!dirty && !Objects.equals(oldValue, newValue)) {
+            dirty = true;
+        }
+    }
+
+    protected void markDirty(int oldValue, int newValue) {
+        if (oldValue != newValue) {
+            dirty = true;
+        }
+    }
+
+    protected void markDirty(boolean oldValue, boolean newValue) {
+        if (oldValue != newValue) {
+            dirty = true;
+        }
+    }
+
     // variables //////////////////////////////////////////////////////////////////
 
     @Override
@@ -181,7 +214,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
         VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
         // Dispatch event, if needed
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.VARIABLE_CREATED)) {
             Context
                     .getProcessEngineConfiguration()
                     .getEventDispatcher()
@@ -197,7 +230,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
         super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
         // Dispatch event, if needed
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(FlowableEngineEventType.VARIABLE_UPDATED)) {
             Context
                     .getProcessEngineConfiguration()
                     .getEventDispatcher()
@@ -307,33 +340,39 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setName(String taskName) {
+        markDirty(this.name, taskName);
         this.name = taskName;
     }
 
     @Override
     public void setDescription(String description) {
+        markDirty(this.description, description);
         this.description = description;
     }
 
     @Override
     public void setAssignee(String assignee) {
         this.originalAssignee = this.assignee;
+        markDirty(this.assignee, assignee);
         this.assignee = assignee;
         assigneeUpdatedCount++;
     }
 
     @Override
     public void setOwner(String owner) {
+        markDirty(this.owner, owner);
         this.owner = owner;
     }
 
     @Override
     public void setDueDate(Date dueDate) {
+        markDirty(this.dueDate, dueDate);
         this.dueDate = dueDate;
     }
 
     @Override
     public void setPriority(int priority) {
+        markDirty(this.priority, priority);
         this.priority = priority;
     }
 
@@ -344,6 +383,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setParentTaskId(String parentTaskId) {
+        markDirty(this.parentTaskId, parentTaskId);
         this.parentTaskId = parentTaskId;
     }
 
@@ -440,6 +480,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setCreateTime(Date createTime) {
+        markDirty(this.createTime, createTime);
         this.createTime = createTime;
     }
 
@@ -460,6 +501,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty(this.processDefinitionId, processDefinitionId);
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -509,6 +551,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setExecutionId(String executionId) {
+        markDirty(this.executionId, executionId);
         this.executionId = executionId;
     }
 
@@ -546,6 +589,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setDelegationState(DelegationState delegationState) {
+        markDirty(this.delegationState, delegationState);
         this.delegationState = delegationState;
     }
 
@@ -554,7 +598,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
     }
 
     public void setDelegationStateString(String delegationStateString) {
-        this.delegationState = (delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
+        setDelegationState(delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
     }
 
     @Override
@@ -595,6 +639,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markDirty(this.suspensionState, suspensionState);
         this.suspensionState = suspensionState;
     }
 
@@ -673,6 +718,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setClaimTime(Date claimTime) {
+        markDirty(this.claimTime, claimTime);
         this.claimTime = claimTime;
     }
 
@@ -692,6 +738,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setVariableCount(int variableCount) {
+        markDirty(this.variableCount, variableCount);
         this.variableCount = variableCount;
     }
 
@@ -702,6 +749,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
+        markDirty(this.identityLinkCount, identityLinkCount);
         this.identityLinkCount = identityLinkCount;
     }
 
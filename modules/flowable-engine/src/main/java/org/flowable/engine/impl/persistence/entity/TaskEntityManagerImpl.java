@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -97,7 +98,7 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
             countingExecutionEntity.setTaskCount(countingExecutionEntity.getTaskCount() + 1);
         }
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.TASK_ASSIGNED)) {
             if (taskEntity.getAssignee() != null) {
                 getEventDispatcher().dispatchEvent(
                         FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TASK_ASSIGNED, taskEntity));
@@ -145,7 +146,7 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
                 .executeTaskListeners(taskEntity, TaskListener.EVENTNAME_ASSIGNMENT);
         getHistoryManager().recordTaskAssignment(taskEntity);
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.TASK_ASSIGNED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.TASK_ASSIGNED, taskEntity));
         }
 
@@ -315,6 +316,11 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
         taskDataManager.updateTaskTenantIdForDeployment(deploymentId, newTenantId);
     }
 
+    @Override
+    public void deleteTasksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        taskDataManager.deleteTasksByProcessInstanceIds(processInstanceIds);
+    }
+
     public TaskDataManager getTaskDataManager() {
         return taskDataManager;
     }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -40,6 +42,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
      */
     List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+    /**
+     * Returns the {@link TimerJobEntity} instances that will be due before the given date, ordered by due date. Next to the timers that are not locked, timers of which the lock has expired are
+     * returned too.
+     */
+    List<TimerJobEntity> findTimerJobsDueBefore(Date dueBefore, Page page);
+
     /**
      * Returns the {@link TimerJobEntity} for a given process definition.
      * 
@@ -89,4 +97,9 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+    /**
+     * Deletes the timer jobs of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteTimerJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -14,6 +14,7 @@
 package org.flowable.engine.impl.persistence.entity;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -70,6 +71,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public List<TimerJobEntity> findTimerJobsDueBefore(Date dueBefore, Page page) {
+        return jobDataManager.findTimerJobsDueBefore(dueBefore, page);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
         return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
@@ -169,7 +175,7 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         }
 
         // Send event
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, this));
         }
     }
@@ -266,4 +272,10 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
     public void setJobDataManager(TimerJobDataManager jobDataManager) {
         this.jobDataManager = jobDataManager;
     }
+
+    @Override
+    public void deleteTimerJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteTimerJobsByProcessInstanceIds(processInstanceIds);
+    }
+
 }
@@ -15,9 +15,11 @@ package org.flowable.engine.impl.persistence.entity;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.engine.common.impl.persistence.entity.AbstractEntity;
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.impl.db.BulkDeleteable;
 import org.flowable.engine.impl.variable.ValueFields;
 import org.flowable.engine.impl.variable.VariableType;
@@ -27,7 +29,7 @@ import org.flowable.engine.impl.variable.VariableType;
  * @author Marcus Klimstra (CGI)
  * @author Joram Barrez
  */
-public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, Serializable {
+public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -49,6 +51,9 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     protected boolean forcedUpdate;
     protected boolean deleted;
 
+    // Set when one of the fields of the persistent state is changed
+    protected boolean dirty;
+
     public VariableInstanceEntityImpl() {
 
     }
@@ -86,6 +91,16 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
         forcedUpdate = true;
     }
 
+    @Override
+    public boolean isDirty() {
+        return dirty || forcedUpdate;
+    }
+
+    @Override
+    public void clearDirty() {
+        dirty = false;
+    }
+
     public void setProcessInstanceId(String processInstanceId) {
         this.processInstanceId = processInstanceId;
     }
@@ -105,7 +120,11 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     @Override
     public void setBytes(byte[] bytes) {
         ensureByteArrayRefInitialized();
+        String byteArrayId = byteArrayRef.getId();
         byteArrayRef.setValue("var-" + name, bytes);
+        if (!Objects.equals(byteArrayId, byteArrayRef.getId())) {
+            dirty = true;
+        }
     }
 
     public ByteArrayRef getByteArrayRef() {
@@ -186,7 +205,10 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     }
 
     public void setLongValue(Long longValue) {
-        this.longValue = longValue;
+        if (!Objects.equals(this.longValue, longValue)) {
+            this.longValue = longValue;
+            dirty = true;
+        }
     }
 
     public Double getDoubleValue() {
@@ -194,7 +216,10 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     }
 
     public void setDoubleValue(Double doubleValue) {
-        this.doubleValue = doubleValue;
+        if (!Objects.equals(this.doubleValue, doubleValue)) {
+            this.doubleValue = doubleValue;
+            dirty = true;
+        }
     }
 
     public String getTextValue() {
@@ -202,7 +227,10 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     }
 
     public void setTextValue(String textValue) {
-        this.textValue = textValue;
+        if (!Objects.equals(this.textValue, textValue)) {
+            this.textValue = textValue;
+            dirty = true;
+        }
     }
 
     public String getTextValue2() {
@@ -210,7 +238,10 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     }
 
     public void setTextValue2(String textValue2) {
-        this.textValue2 = textValue2;
+        if (!Objects.equals(this.textValue2, textValue2)) {
+            this.textValue2 = textValue2;
+            dirty = true;
+        }
     }
 
     public Object getCachedValue() {
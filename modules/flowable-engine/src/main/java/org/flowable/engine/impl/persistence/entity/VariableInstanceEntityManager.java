@@ -44,4 +44,9 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
     void deleteVariableInstanceByTask(TaskEntity task);
 
+    /**
+     * Deletes the variables of the given process instances with one statement, without fetching the entities first.
+     */
+    void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
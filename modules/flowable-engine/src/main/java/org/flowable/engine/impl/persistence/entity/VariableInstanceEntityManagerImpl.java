@@ -137,10 +137,14 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
         }
 
         FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-        if (fireDeleteEvent && eventDispatcher.isEnabled()) {
-            eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, entity));
+        if (fireDeleteEvent) {
+            if (eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED)) {
+                eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, entity));
+            }
 
-            eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+            if (eventDispatcher.hasListeners(FlowableEngineEventType.VARIABLE_DELETED)) {
+                eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+            }
         }
 
     }
@@ -175,6 +179,11 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
         }
     }
 
+    @Override
+    public void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        variableInstanceDataManager.deleteVariableInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
     public VariableInstanceDataManager getVariableInstanceDataManager() {
         return variableInstanceDataManager;
     }
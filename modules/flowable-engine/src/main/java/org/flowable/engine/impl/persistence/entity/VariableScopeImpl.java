@@ -73,6 +73,23 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         }
     }
 
+    public boolean isVariableInstancesInitialized() {
+        return variableInstances != null;
+    }
+
+    /**
+     * Initializes the variables of this scope with variable instances that were fetched up front, so that no query is needed when the variables are accessed later on. Does nothing if the variables
+     * of this scope were already fetched.
+     */
+    public void initializeVariableInstances(Collection<VariableInstanceEntity> variableInstancesList) {
+        if (variableInstances == null) {
+            variableInstances = new HashMap<String, VariableInstanceEntity>();
+            for (VariableInstanceEntity variableInstance : variableInstancesList) {
+                variableInstances.put(variableInstance.getName(), variableInstance);
+            }
+        }
+    }
+
     public Map<String, Object> getVariables() {
         return collectVariables(new HashMap<String, Object>());
     }
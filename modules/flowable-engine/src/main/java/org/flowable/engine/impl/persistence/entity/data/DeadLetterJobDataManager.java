@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -32,4 +33,7 @@ public interface DeadLetterJobDataManager extends DataManager<DeadLetterJobEntit
     long findJobCountByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
 
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+    void deleteDeadLetterJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
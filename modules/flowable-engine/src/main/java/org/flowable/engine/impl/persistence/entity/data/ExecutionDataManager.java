@@ -58,6 +58,14 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
     List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId);
 
+    List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
+
+    List<String> findRootProcessInstanceIdsByIds(Collection<String> processInstanceIds);
+
+    List<String> findProcessInstanceIdsByRootProcessInstanceIds(Collection<String> rootProcessInstanceIds);
+
+    void deleteExecutionsByRootProcessInstanceIds(Collection<String> rootProcessInstanceIds);
+
     List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
     List<ProcessInstance> findProcessInstanceByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -40,4 +41,8 @@ public interface HistoricActivityInstanceDataManager extends DataManager<Histori
 
     long findHistoricActivityInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+    void deleteHistoricActivityInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds);
+
+    List<HistoricActivityInstanceEntity> findUnfinishedHistoricActivityInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
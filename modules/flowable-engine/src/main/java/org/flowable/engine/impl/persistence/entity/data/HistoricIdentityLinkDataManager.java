@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
@@ -26,4 +27,6 @@ public interface HistoricIdentityLinkDataManager extends DataManager<HistoricIde
 
     List<HistoricIdentityLinkEntity> findHistoricIdentityLinksByProcessInstanceId(String processInstanceId);
 
+    void deleteHistoricIdentityLinksByProcessInstanceIds(Collection<String> historicProcessInstanceIds);
+
 }
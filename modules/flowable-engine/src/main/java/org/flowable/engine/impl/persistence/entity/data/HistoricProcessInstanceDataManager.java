@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -42,4 +44,12 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
 
     long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+    List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, String processDefinitionKey, String tenantId, int maxResults);
+
+    List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(Collection<String> superProcessInstanceIds);
+
+    void deleteHistoricProcessInstancesByIds(Collection<String> historicProcessInstanceIds);
+
+    List<HistoricProcessInstanceEntity> findUnfinishedHistoricProcessInstancesByIds(Collection<String> historicProcessInstanceIds);
+
 }
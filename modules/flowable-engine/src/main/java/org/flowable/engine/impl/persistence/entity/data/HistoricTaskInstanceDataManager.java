@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -43,4 +44,8 @@ public interface HistoricTaskInstanceDataManager extends DataManager<HistoricTas
 
     long findHistoricTaskInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+    void deleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds);
+
+    List<HistoricTaskInstanceEntity> findUnfinishedHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -40,4 +41,6 @@ public interface HistoricVariableInstanceDataManager extends DataManager<Histori
 
     long findHistoricVariableInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+    void deleteHistoricVariableInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds);
+
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
@@ -36,4 +37,6 @@ public interface IdentityLinkDataManager extends DataManager<IdentityLinkEntity>
 
     void deleteIdentityLinksByProcDef(String processDefId);
 
+    void deleteIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
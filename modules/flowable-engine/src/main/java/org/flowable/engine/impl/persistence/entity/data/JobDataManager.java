@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -41,4 +42,6 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
     void resetExpiredJob(String jobId);
 
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
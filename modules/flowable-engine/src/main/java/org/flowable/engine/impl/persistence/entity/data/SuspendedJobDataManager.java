@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -34,4 +35,7 @@ public interface SuspendedJobDataManager extends DataManager<SuspendedJobEntity>
     long findJobCountByQueryCriteria(SuspendedJobQueryImpl jobQuery);
 
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+    void deleteSuspendedJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -28,6 +30,8 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
 
     List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+    List<TimerJobEntity> findTimerJobsDueBefore(Date dueBefore, Page page);
+
     List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId);
 
     List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType, String processDefinitionKey);
@@ -43,4 +47,7 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
     long findJobCountByQueryCriteria(TimerJobQueryImpl jobQuery);
 
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+    void deleteTimerJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -40,4 +40,6 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
     List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+    void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -51,4 +53,12 @@ public class MybatisAttachmentDataManager extends AbstractDataManager<Attachment
         return getDbSqlSession().selectList("selectAttachmentsByTaskId", taskId);
     }
 
+    @Override
+    public void deleteAttachmentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        List<String> processInstanceIdList = new ArrayList<String>(processInstanceIds);
+        // Same bucket as the attachments, so the content is deleted while the attachments still exist
+        getDbSqlSession().delete("deleteAttachmentByteArraysByProcessInstanceIds", processInstanceIdList, AttachmentEntityImpl.class);
+        getDbSqlSession().delete("deleteAttachmentsByProcessInstanceIds", processInstanceIdList, AttachmentEntityImpl.class);
+    }
+
 }
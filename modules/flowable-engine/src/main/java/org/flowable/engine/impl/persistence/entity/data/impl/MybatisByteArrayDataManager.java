@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -50,4 +52,15 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
         getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findByteArrayIdsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectByteArrayIdsByProcessInstanceIds", new ArrayList<String>(processInstanceIds));
+    }
+
+    @Override
+    public void deleteByteArraysByIds(Collection<String> byteArrayIds) {
+        getDbSqlSession().delete("deleteByteArraysByIds", new ArrayList<String>(byteArrayIds), ByteArrayEntityImpl.class);
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -111,4 +113,9 @@ public class MybatisCommentDataManager extends AbstractDataManager<CommentEntity
         return findById(commentId);
     }
 
+    @Override
+    public void deleteCommentsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteCommentsByProcessInstanceIds", new ArrayList<String>(processInstanceIds), CommentEntityImpl.class);
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -72,4 +74,9 @@ public class MybatisDeadLetterJobDataManager extends AbstractDataManager<DeadLet
         getDbSqlSession().update("updateDeadLetterJobTenantIdForDeployment", params);
     }
 
+    @Override
+    public void deleteDeadLetterJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteDeadLetterJobsByProcessInstanceIds", new ArrayList<String>(processInstanceIds), DeadLetterJobEntityImpl.class);
+    }
+
 }
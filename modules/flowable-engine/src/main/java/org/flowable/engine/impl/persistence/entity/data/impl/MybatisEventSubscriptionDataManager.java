@@ -13,6 +13,7 @@
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -260,4 +261,9 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
         return messageEventSubscriptionEntities;
     }
 
+    @Override
+    public void deleteEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteEventSubscriptionsByProcessInstanceIds", new ArrayList<String>(processInstanceIds), EventSubscriptionEntityImpl.class);
+    }
+
 }
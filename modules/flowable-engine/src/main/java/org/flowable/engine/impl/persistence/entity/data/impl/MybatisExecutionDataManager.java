@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -219,6 +220,34 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
         return getDbSqlSession().selectList("selectProcessInstanceIdsByProcessDefinitionId", processDefinitionId, false);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
+        return getDbSqlSession().selectList("selectProcessInstanceIdsByQueryCriteria", executionQuery, false);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findRootProcessInstanceIdsByIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectRootProcessInstanceIdsByIds", new ArrayList<String>(processInstanceIds), false);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findProcessInstanceIdsByRootProcessInstanceIds(Collection<String> rootProcessInstanceIds) {
+        return getDbSqlSession().selectList("selectProcessInstanceIdsByRootProcessInstanceIds", new ArrayList<String>(rootProcessInstanceIds), false);
+    }
+
+    @Override
+    public void deleteExecutionsByRootProcessInstanceIds(Collection<String> rootProcessInstanceIds) {
+        List<String> ids = new ArrayList<String>(rootProcessInstanceIds);
+
+        // Not all databases check the foreign keys only at the end of a statement,
+        // so the references between the executions of a tree are cleared before deleting them all at once
+        getDbSqlSession().update("clearExecutionReferencesByRootProcessInstanceIds", ids);
+        getDbSqlSession().delete("deleteExecutionsByRootProcessInstanceIds", ids, ExecutionEntityImpl.class);
+    }
+
     @Override
     public long findExecutionCountByQueryCriteria(ExecutionQueryImpl executionQuery) {
         return (Long) getDbSqlSession().selectOne("selectExecutionCountByQueryCriteria", executionQuery);
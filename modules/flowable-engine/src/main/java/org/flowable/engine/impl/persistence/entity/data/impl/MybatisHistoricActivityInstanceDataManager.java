@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,4 +92,15 @@ public class MybatisHistoricActivityInstanceDataManager extends AbstractDataMana
         return (Long) getDbSqlSession().selectOne("selectHistoricActivityInstanceCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    public void deleteHistoricActivityInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        getDbSqlSession().delete("deleteHistoricActivityInstancesByProcessInstanceIds", new ArrayList<String>(historicProcessInstanceIds), HistoricActivityInstanceEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoricActivityInstanceEntity> findUnfinishedHistoricActivityInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectUnfinishedHistoricActivityInstancesByProcessInstanceIds", new ArrayList<String>(processInstanceIds));
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +21,7 @@ import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.history.HistoricDetail;
 import org.flowable.engine.impl.HistoricDetailQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.ByteArrayEntityImpl;
 import org.flowable.engine.impl.persistence.entity.HistoricDetailAssignmentEntity;
 import org.flowable.engine.impl.persistence.entity.HistoricDetailAssignmentEntityImpl;
 import org.flowable.engine.impl.persistence.entity.HistoricDetailEntity;
@@ -106,4 +109,12 @@ public class MybatisHistoricDetailDataManager extends AbstractDataManager<Histor
         return (Long) getDbSqlSession().selectOne("selectHistoricDetailCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    public void deleteHistoricDetailsByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        List<String> processInstanceIds = new ArrayList<String>(historicProcessInstanceIds);
+        // The byte arrays are deleted before the details (see EntityDependencyOrder), as they are selected through the details
+        getDbSqlSession().delete("deleteHistoricDetailByteArraysByProcessInstanceIds", processInstanceIds, ByteArrayEntityImpl.class);
+        getDbSqlSession().delete("deleteHistoricDetailsByProcessInstanceIds", processInstanceIds, HistoricDetailEntityImpl.class);
+    }
+
 }
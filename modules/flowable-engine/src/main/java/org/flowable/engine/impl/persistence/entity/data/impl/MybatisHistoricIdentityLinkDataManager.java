@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -54,4 +56,9 @@ public class MybatisHistoricIdentityLinkDataManager extends AbstractDataManager<
         return getList("selectHistoricIdentityLinksByProcessInstance", processInstanceId, historicIdentityLinksByProcInstMatcher, true);
     }
 
+    @Override
+    public void deleteHistoricIdentityLinksByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        getDbSqlSession().delete("deleteHistoricIdentityLinksByProcessInstanceIds", new ArrayList<String>(historicProcessInstanceIds), HistoricIdentityLinkEntityImpl.class);
+    }
+
 }
@@ -12,7 +12,11 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -123,4 +127,31 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
         return (Long) getDbSqlSession().selectOne("selectHistoricProcessInstanceCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findHistoricProcessInstanceIdsEndedBefore(Date endedBefore, String processDefinitionKey, String tenantId, int maxResults) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("endedBefore", endedBefore);
+        params.put("processDefinitionKey", processDefinitionKey);
+        params.put("tenantId", tenantId);
+        return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsEndedBefore", params, 0, maxResults);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(Collection<String> superProcessInstanceIds) {
+        return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsBySuperProcessInstanceIds", new ArrayList<String>(superProcessInstanceIds));
+    }
+
+    @Override
+    public void deleteHistoricProcessInstancesByIds(Collection<String> historicProcessInstanceIds) {
+        getDbSqlSession().delete("deleteHistoricProcessInstancesByIds", new ArrayList<String>(historicProcessInstanceIds), HistoricProcessInstanceEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoricProcessInstanceEntity> findUnfinishedHistoricProcessInstancesByIds(Collection<String> historicProcessInstanceIds) {
+        return getDbSqlSession().selectList("selectUnfinishedHistoricProcessInstancesByIds", new ArrayList<String>(historicProcessInstanceIds));
+    }
+
 }
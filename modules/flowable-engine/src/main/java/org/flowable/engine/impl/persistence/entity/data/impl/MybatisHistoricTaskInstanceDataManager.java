@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -124,4 +126,15 @@ public class MybatisHistoricTaskInstanceDataManager extends AbstractDataManager<
         return (Long) getDbSqlSession().selectOne("selectHistoricTaskInstanceCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    public void deleteHistoricTaskInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        getDbSqlSession().delete("deleteHistoricTaskInstancesByProcessInstanceIds", new ArrayList<String>(historicProcessInstanceIds), HistoricTaskInstanceEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoricTaskInstanceEntity> findUnfinishedHistoricTaskInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectUnfinishedHistoricTaskInstancesByProcessInstanceIds", new ArrayList<String>(processInstanceIds));
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +22,7 @@ import org.flowable.engine.history.HistoricVariableInstance;
 import org.flowable.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.CachedEntityMatcher;
+import org.flowable.engine.impl.persistence.entity.ByteArrayEntityImpl;
 import org.flowable.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.flowable.engine.impl.persistence.entity.HistoricVariableInstanceEntityImpl;
 import org.flowable.engine.impl.persistence.entity.data.AbstractDataManager;
@@ -92,4 +95,12 @@ public class MybatisHistoricVariableInstanceDataManager extends AbstractDataMana
         return (Long) getDbSqlSession().selectOne("selectHistoricVariableInstanceCountByNativeQuery", parameterMap);
     }
 
+    @Override
+    public void deleteHistoricVariableInstancesByProcessInstanceIds(Collection<String> historicProcessInstanceIds) {
+        List<String> processInstanceIds = new ArrayList<String>(historicProcessInstanceIds);
+        // The byte arrays are deleted before the variables (see EntityDependencyOrder), as they are selected through the variables
+        getDbSqlSession().delete("deleteHistoricVariableInstanceByteArraysByProcessInstanceIds", processInstanceIds, ByteArrayEntityImpl.class);
+        getDbSqlSession().delete("deleteHistoricVariableInstancesByProcessInstanceIds", processInstanceIds, HistoricVariableInstanceEntityImpl.class);
+    }
+
 }
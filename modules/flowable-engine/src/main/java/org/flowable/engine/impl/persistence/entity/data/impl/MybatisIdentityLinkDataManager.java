@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -100,4 +102,9 @@ public class MybatisIdentityLinkDataManager extends AbstractDataManager<Identity
         getDbSqlSession().delete("deleteIdentityLinkByProcDef", processDefId, IdentityLinkEntityImpl.class);
     }
 
+    @Override
+    public void deleteIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteIdentityLinksByProcessInstanceIds", new ArrayList<String>(processInstanceIds), IdentityLinkEntityImpl.class);
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -101,4 +103,9 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
         getDbSqlSession().update("resetExpiredJob", params);
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteJobsByProcessInstanceIds", new ArrayList<String>(processInstanceIds), JobEntityImpl.class);
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -78,4 +80,9 @@ public class MybatisSuspendedJobDataManager extends AbstractDataManager<Suspende
         getDbSqlSession().update("updateSuspendedJobTenantIdForDeployment", params);
     }
 
+    @Override
+    public void deleteSuspendedJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteSuspendedJobsByProcessInstanceIds", new ArrayList<String>(processInstanceIds), SuspendedJobEntityImpl.class);
+    }
+
 }
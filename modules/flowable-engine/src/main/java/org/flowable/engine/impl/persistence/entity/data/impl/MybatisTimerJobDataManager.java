@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -65,8 +67,20 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     @Override
     @SuppressWarnings("unchecked")
     public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
+        Map<String, Object> params = new HashMap<String, Object>(2);
         Date now = getClock().getCurrentTime();
-        return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
+        params.put("duedate", now);
+        params.put("now", now);
+        return getDbSqlSession().selectList("selectTimerJobsToExecute", params, page);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimerJobEntity> findTimerJobsDueBefore(Date dueBefore, Page page) {
+        Map<String, Object> params = new HashMap<String, Object>(2);
+        params.put("dueBefore", dueBefore);
+        params.put("now", getClock().getCurrentTime());
+        return getDbSqlSession().selectList("selectTimerJobsDueBefore", params, page);
     }
 
     @Override
@@ -117,4 +131,9 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         getDbSqlSession().update("updateTimerJobTenantIdForDeployment", params);
     }
 
+    @Override
+    public void deleteTimerJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteTimerJobsByProcessInstanceIds", new ArrayList<String>(processInstanceIds), TimerJobEntityImpl.class);
+    }
+
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -106,4 +107,9 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
         return getDbSqlSession().selectList("selectVariableInstancesByTaskAndNames", params);
     }
 
+    @Override
+    public void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteVariableInstancesByProcessInstanceIds", new ArrayList<String>(processInstanceIds), VariableInstanceEntityImpl.class);
+    }
+
 }
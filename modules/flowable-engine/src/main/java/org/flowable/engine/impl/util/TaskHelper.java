@@ -66,7 +66,7 @@ public class TaskHelper {
         }
 
         FlowableEventDispatcher eventDispatcher = Context.getProcessEngineConfiguration().getEventDispatcher();
-        if (eventDispatcher.isEnabled()) {
+        if (eventDispatcher.hasListeners(FlowableEngineEventType.TASK_COMPLETED)) {
             if (variables != null) {
                 eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityWithVariablesEvent(FlowableEngineEventType.TASK_COMPLETED, taskEntity, variables, localScope));
             } else {
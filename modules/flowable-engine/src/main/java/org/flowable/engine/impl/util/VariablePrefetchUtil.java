@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.engine.impl.bpmn.parser.VariableReferenceAnalyzer;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Fetches the variables of an execution and all its parent executions in one roundtrip, when the expressions of the flow node that is executed reference variables (as determined by the
+ * {@link VariableReferenceAnalyzer} when the process definition was deployed).
+ *
+ * Without prefetching, the variables are fetched scope per scope when a variable is looked up and not found in the current scope.
+ */
+public class VariablePrefetchUtil {
+
+    public static void prefetchVariables(CommandContext commandContext, ExecutionEntity execution, FlowNode flowNode) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+        if (!processEngineConfiguration.getPerformanceSettings().isEnableVariablePrefetching() || execution.getProcessDefinitionId() == null) {
+            return;
+        }
+
+        ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(execution.getProcessDefinitionId());
+        if (cacheEntry == null || cacheEntry.getVariableNamesByFlowNodeId() == null) {
+            return;
+        }
+
+        Set<String> variableNames = cacheEntry.getVariableNamesByFlowNodeId().get(flowNode.getId());
+        if (variableNames == null || variableNames.isEmpty()) {
+            return;
+        }
+
+        prefetchVariables(commandContext, execution);
+    }
+
+    /**
+     * Fetches the variables of the given execution and its parent executions, for those executions of which the variables haven't been fetched yet.
+     */
+    public static void prefetchVariables(CommandContext commandContext, ExecutionEntity execution) {
+        Map<String, ExecutionEntityImpl> executionsToInitialize = new LinkedHashMap<String, ExecutionEntityImpl>();
+        ExecutionEntityImpl currentExecution = (ExecutionEntityImpl) execution;
+        while (currentExecution != null) {
+            if (!currentExecution.isVariableInstancesInitialized()) {
+                executionsToInitialize.put(currentExecution.getId(), currentExecution);
+            }
+            currentExecution = currentExecution.getParent();
+        }
+
+        // A single scope is fetched lazily, as before
+        if (executionsToInitialize.size() < 2) {
+            return;
+        }
+
+        Map<String, List<VariableInstanceEntity>> variablesByExecutionId = new HashMap<String, List<VariableInstanceEntity>>();
+        for (String executionId : executionsToInitialize.keySet()) {
+            variablesByExecutionId.put(executionId, new ArrayList<VariableInstanceEntity>());
+        }
+
+        List<VariableInstanceEntity> variableInstances = commandContext.getVariableInstanceEntityManager().findVariableInstancesByExecutionIds(executionsToInitialize.keySet());
+        for (VariableInstanceEntity variableInstance : variableInstances) {
+            List<VariableInstanceEntity> executionVariables = variablesByExecutionId.get(variableInstance.getExecutionId());
+            if (executionVariables != null) {
+                executionVariables.add(variableInstance);
+            }
+        }
+
+        for (ExecutionEntityImpl executionToInitialize : executionsToInitialize.values()) {
+            executionToInitialize.initializeVariableInstances(variablesByExecutionId.get(executionToInitialize.getId()));
+        }
+    }
+
+}
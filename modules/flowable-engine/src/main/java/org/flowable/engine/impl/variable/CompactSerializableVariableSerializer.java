@@ -0,0 +1,325 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.impl.util.ReflectUtil;
+
+/**
+ * A {@link SerializableVariableSerializer} with a compact binary encoding for the values that are most often stored in serializable variables: strings, boxed primitives, dates, byte arrays and the
+ * common JDK lists, sets and maps holding such values. Writing and reading these values avoids the class descriptors and reflection of Java serialization.
+ *
+ * Any other object is written with Java serialization. The whole value is written with Java serialization when a list, set or map is referenced more than once in the value, so shared references and
+ * cycles are preserved.
+ */
+public class CompactSerializableVariableSerializer implements SerializableVariableSerializer {
+
+    public static final String NAME = "compact";
+
+    protected static final int NULL = 0;
+    protected static final int STRING = 1;
+    protected static final int INTEGER = 2;
+    protected static final int LONG = 3;
+    protected static final int SHORT = 4;
+    protected static final int DOUBLE = 5;
+    protected static final int FLOAT = 6;
+    protected static final int BOOLEAN = 7;
+    protected static final int BYTE = 8;
+    protected static final int CHARACTER = 9;
+    protected static final int DATE = 10;
+    protected static final int BYTES = 11;
+    protected static final int BIG_DECIMAL = 12;
+    protected static final int ARRAY_LIST = 20;
+    protected static final int LINKED_LIST = 21;
+    protected static final int HASH_SET = 22;
+    protected static final int LINKED_HASH_SET = 23;
+    protected static final int HASH_MAP = 30;
+    protected static final int LINKED_HASH_MAP = 31;
+    protected static final int JAVA = 100;
+
+    public String getName() {
+        return NAME;
+    }
+
+    public int getVersion() {
+        return 1;
+    }
+
+    public void serialize(Object value, OutputStream outputStream) throws Exception {
+        ByteArrayOutputStream compactBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(compactBytes);
+        try {
+            write(value, out, new IdentityHashMap<Object, Boolean>());
+            out.flush();
+
+        } catch (SharedReferenceException e) {
+            compactBytes.reset();
+            out.writeByte(JAVA);
+            writeJava(value, out);
+            out.flush();
+        }
+        compactBytes.writeTo(outputStream);
+    }
+
+    public Object deserialize(InputStream inputStream, int version) throws Exception {
+        return read(new DataInputStream(inputStream));
+    }
+
+    protected void write(Object value, DataOutputStream out, Map<Object, Boolean> writtenContainers) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+
+        Class<?> valueClass = value.getClass();
+        if (valueClass == String.class) {
+            out.writeByte(STRING);
+            writeString((String) value, out);
+
+        } else if (valueClass == Integer.class) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+
+        } else if (valueClass == Long.class) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+
+        } else if (valueClass == Short.class) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+
+        } else if (valueClass == Double.class) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+
+        } else if (valueClass == Float.class) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+
+        } else if (valueClass == Boolean.class) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+
+        } else if (valueClass == Byte.class) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+
+        } else if (valueClass == Character.class) {
+            out.writeByte(CHARACTER);
+            out.writeChar((Character) value);
+
+        } else if (valueClass == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+
+        } else if (valueClass == byte[].class) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+
+        } else if (valueClass == BigDecimal.class) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(value.toString(), out);
+
+        } else if (valueClass == ArrayList.class) {
+            writeCollection(ARRAY_LIST, (Collection<?>) value, out, writtenContainers);
+
+        } else if (valueClass == LinkedList.class) {
+            writeCollection(LINKED_LIST, (Collection<?>) value, out, writtenContainers);
+
+        } else if (valueClass == HashSet.class) {
+            writeCollection(HASH_SET, (Collection<?>) value, out, writtenContainers);
+
+        } else if (valueClass == LinkedHashSet.class) {
+            writeCollection(LINKED_HASH_SET, (Collection<?>) value, out, writtenContainers);
+
+        } else if (valueClass == HashMap.class) {
+            writeMap(HASH_MAP, (Map<?, ?>) value, out, writtenContainers);
+
+        } else if (valueClass == LinkedHashMap.class) {
+            writeMap(LINKED_HASH_MAP, (Map<?, ?>) value, out, writtenContainers);
+
+        } else {
+            out.writeByte(JAVA);
+            writeJava(value, out);
+        }
+    }
+
+    protected void writeCollection(int type, Collection<?> collection, DataOutputStream out, Map<Object, Boolean> writtenContainers) throws IOException {
+        markWritten(collection, writtenContainers);
+        out.writeByte(type);
+        out.writeInt(collection.size());
+        for (Object element : collection) {
+            write(element, out, writtenContainers);
+        }
+    }
+
+    protected void writeMap(int type, Map<?, ?> map, DataOutputStream out, Map<Object, Boolean> writtenContainers) throws IOException {
+        markWritten(map, writtenContainers);
+        out.writeByte(type);
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            write(entry.getKey(), out, writtenContainers);
+            write(entry.getValue(), out, writtenContainers);
+        }
+    }
+
+    protected void markWritten(Object container, Map<Object, Boolean> writtenContainers) {
+        if (writtenContainers.put(container, Boolean.TRUE) != null) {
+            throw new SharedReferenceException();
+        }
+    }
+
+    protected void writeString(String value, DataOutputStream out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    protected void writeJava(Object value, DataOutputStream out) throws IOException {
+        ByteArrayOutputStream javaBytes = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(javaBytes);
+        objectOutputStream.writeObject(value);
+        objectOutputStream.close();
+
+        out.writeInt(javaBytes.size());
+        javaBytes.writeTo(out);
+    }
+
+    protected Object read(DataInputStream in) throws Exception {
+        int type = in.readUnsignedByte();
+        switch (type) {
+        case NULL:
+            return null;
+        case STRING:
+            return readString(in);
+        case INTEGER:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case SHORT:
+            return in.readShort();
+        case DOUBLE:
+            return in.readDouble();
+        case FLOAT:
+            return in.readFloat();
+        case BOOLEAN:
+            return in.readBoolean();
+        case BYTE:
+            return in.readByte();
+        case CHARACTER:
+            return in.readChar();
+        case DATE:
+            return new Date(in.readLong());
+        case BYTES:
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        case BIG_DECIMAL:
+            return new BigDecimal(readString(in));
+        case ARRAY_LIST:
+            int size = in.readInt();
+            return readCollection(new ArrayList<Object>(size), size, in);
+        case LINKED_LIST:
+            return readCollection(new LinkedList<Object>(), in.readInt(), in);
+        case HASH_SET:
+            size = in.readInt();
+            return readCollection(new HashSet<Object>(capacityFor(size)), size, in);
+        case LINKED_HASH_SET:
+            size = in.readInt();
+            return readCollection(new LinkedHashSet<Object>(capacityFor(size)), size, in);
+        case HASH_MAP:
+            size = in.readInt();
+            return readMap(new HashMap<Object, Object>(capacityFor(size)), size, in);
+        case LINKED_HASH_MAP:
+            size = in.readInt();
+            return readMap(new LinkedHashMap<Object, Object>(capacityFor(size)), size, in);
+        case JAVA:
+            return readJava(in);
+        default:
+            throw new FlowableException("Unknown type " + type + " in compact serialized variable");
+        }
+    }
+
+    protected Collection<Object> readCollection(Collection<Object> collection, int size, DataInputStream in) throws Exception {
+        for (int i = 0; i < size; i++) {
+            collection.add(read(in));
+        }
+        return collection;
+    }
+
+    protected Map<Object, Object> readMap(Map<Object, Object> map, int size, DataInputStream in) throws Exception {
+        for (int i = 0; i < size; i++) {
+            Object key = read(in);
+            map.put(key, read(in));
+        }
+        return map;
+    }
+
+    protected String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    protected Object readJava(DataInputStream in) throws Exception {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+
+        ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                return ReflectUtil.loadClass(desc.getName());
+            }
+        };
+        try {
+            return objectInputStream.readObject();
+        } finally {
+            objectInputStream.close();
+        }
+    }
+
+    protected int capacityFor(int size) {
+        return Math.max((int) (size / .75f) + 1, 16);
+    }
+
+    protected static class SharedReferenceException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+}
@@ -17,6 +17,9 @@ import java.util.Arrays;
 import org.flowable.engine.impl.persistence.entity.VariableInstanceEntity;
 
 /**
+ * Detects changes to a deserialized variable value at the end of the command. Values implementing {@link DirtyMarkingVariable} are only serialized again when they are marked dirty, other values
+ * are serialized and compared byte for byte with the original bytes. The original bytes are the array already held by the variable, so keeping a reference to them doesn't copy anything.
+ *
  * @author Tom Baeyens
  * @author Joram Barrez
  */
@@ -37,17 +40,33 @@ public class DeserializedObject {
     public void verifyIfBytesOfSerializedObjectChanged() {
         // this first check verifies if the variable value was not overwritten with another object
         if (deserializedObject == variableInstanceEntity.getCachedValue() && !variableInstanceEntity.isDeleted()) {
-            byte[] bytes = type.serialize(deserializedObject, variableInstanceEntity);
-            if (!Arrays.equals(originalBytes, bytes)) {
-
-                // Add an additional check to prevent byte differences due to JDK changes etc
-                Object originalObject = type.deserialize(originalBytes, variableInstanceEntity);
-                byte[] refreshedOriginalBytes = type.serialize(originalObject, variableInstanceEntity);
 
-                if (!Arrays.equals(refreshedOriginalBytes, bytes)) {
-                    variableInstanceEntity.setBytes(bytes);
+            if (deserializedObject instanceof DirtyMarkingVariable) {
+                DirtyMarkingVariable dirtyMarkingVariable = (DirtyMarkingVariable) deserializedObject;
+                if (dirtyMarkingVariable.isDirty()) {
+                    variableInstanceEntity.setBytes(type.serialize(deserializedObject, variableInstanceEntity));
+                    dirtyMarkingVariable.clearDirty();
                 }
+                return;
+            }
+
+            byte[] bytes = type.serialize(deserializedObject, variableInstanceEntity);
+            if (!Arrays.equals(originalBytes, bytes) && !isReserializationOfOriginalBytes(bytes)) {
+                variableInstanceEntity.setBytes(bytes);
             }
         }
     }
+
+    /**
+     * Additional check to prevent byte differences due to JDK changes etc: the original bytes are deserialized and serialized again.
+     */
+    protected boolean isReserializationOfOriginalBytes(byte[] bytes) {
+        if (bytes == null || originalBytes == null) {
+            return false;
+        }
+
+        Object originalObject = type.deserialize(originalBytes, variableInstanceEntity);
+        byte[] refreshedOriginalBytes = type.serialize(originalObject, variableInstanceEntity);
+        return Arrays.equals(refreshedOriginalBytes, bytes);
+    }
 }
@@ -0,0 +1,30 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+/**
+ * Can be implemented by the values of serializable variables that keep track of their own changes.
+ * 
+ * When a deserialized value implements this interface, it is only serialized again at the end of the command when {@link #isDirty()} returns true. Otherwise the value is serialized again to detect
+ * changes (see {@link DeserializedObject}).
+ */
+public interface DirtyMarkingVariable {
+
+    boolean isDirty();
+
+    /**
+     * Called when the value has been deserialized or serialized, after which {@link #isDirty()} should return false until the value is changed.
+     */
+    void clearDirty();
+
+}
@@ -21,6 +21,9 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.util.IoUtil;
@@ -36,8 +39,18 @@ public class SerializableType extends ByteArrayType {
 
     public static final String TYPE_NAME = "serializable";
 
+    /** First bytes of a value written by a {@link SerializableVariableSerializer}. Java serialization streams always start with 0xACED, so these can't be mistaken for each other. */
+    protected static final byte[] SERIALIZER_HEADER_MAGIC = new byte[] { 'F', 'S' };
+    protected static final int SERIALIZER_HEADER_VERSION = 1;
+
     protected boolean trackDeserializedObjects;
 
+    /** The serializer used to write values. When null, values are written with Java serialization. */
+    protected SerializableVariableSerializer serializer;
+
+    /** The serializers that can read values, by name. */
+    protected Map<String, SerializableVariableSerializer> serializers = new HashMap<String, SerializableVariableSerializer>();
+
     public String getTypeName() {
         return TYPE_NAME;
     }
@@ -61,6 +74,7 @@ public class SerializableType extends ByteArrayType {
 
             Object deserializedObject = deserialize(bytes, valueFields);
             valueFields.setCachedValue(deserializedObject);
+            clearDirty(deserializedObject);
 
             if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity) {
                 Context.getCommandContext().addCloseListener(new VerifyDeserializedObjectCommandContextCloseListener(
@@ -75,6 +89,7 @@ public class SerializableType extends ByteArrayType {
     public void setValue(Object value, ValueFields valueFields) {
         byte[] bytes = serialize(value, valueFields);
         valueFields.setCachedValue(value);
+        clearDirty(value);
 
         super.setValue(bytes, valueFields);
 
@@ -90,6 +105,16 @@ public class SerializableType extends ByteArrayType {
             return null;
         }
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if (serializer != null) {
+            try {
+                writeSerializerHeader(serializer, baos);
+                serializer.serialize(value, baos);
+            } catch (Exception e) {
+                throw new FlowableException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "' with serializer '" + serializer.getName() + "'", e);
+            }
+            return baos.toByteArray();
+        }
+
         ObjectOutputStream oos = null;
         try {
             oos = createObjectOutputStream(baos);
@@ -103,6 +128,10 @@ public class SerializableType extends ByteArrayType {
     }
 
     public Object deserialize(byte[] bytes, ValueFields valueFields) {
+        if (hasSerializerHeader(bytes)) {
+            return deserializeWithSerializer(bytes, valueFields);
+        }
+
         ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
         try {
             ObjectInputStream ois = createObjectInputStream(bais);
@@ -116,6 +145,50 @@ public class SerializableType extends ByteArrayType {
         }
     }
 
+    protected Object deserializeWithSerializer(byte[] bytes, ValueFields valueFields) {
+        int nameLength = bytes[SERIALIZER_HEADER_MAGIC.length + 1] & 0xFF;
+        int nameOffset = SERIALIZER_HEADER_MAGIC.length + 2;
+        String serializerName = new String(bytes, nameOffset, nameLength, StandardCharsets.US_ASCII);
+        int serializerVersion = bytes[nameOffset + nameLength] & 0xFF;
+
+        SerializableVariableSerializer valueSerializer = serializers.get(serializerName);
+        if (valueSerializer == null) {
+            throw new FlowableException("No serializer '" + serializerName + "' registered to deserialize object in variable '" + valueFields.getName() + "'");
+        }
+
+        int payloadOffset = nameOffset + nameLength + 1;
+        ByteArrayInputStream bais = new ByteArrayInputStream(bytes, payloadOffset, bytes.length - payloadOffset);
+        try {
+            return valueSerializer.deserialize(bais, serializerVersion);
+        } catch (Exception e) {
+            throw new FlowableException("Couldn't deserialize object in variable '" + valueFields.getName() + "' with serializer '" + serializerName + "'", e);
+        } finally {
+            IoUtil.closeSilently(bais);
+        }
+    }
+
+    protected void writeSerializerHeader(SerializableVariableSerializer serializer, OutputStream os) throws IOException {
+        byte[] name = serializer.getName().getBytes(StandardCharsets.US_ASCII);
+        os.write(SERIALIZER_HEADER_MAGIC);
+        os.write(SERIALIZER_HEADER_VERSION);
+        os.write(name.length);
+        os.write(name);
+        os.write(serializer.getVersion());
+    }
+
+    protected boolean hasSerializerHeader(byte[] bytes) {
+        return bytes.length > SERIALIZER_HEADER_MAGIC.length + 2
+                && bytes[0] == SERIALIZER_HEADER_MAGIC[0]
+                && bytes[1] == SERIALIZER_HEADER_MAGIC[1]
+                && bytes[2] == SERIALIZER_HEADER_VERSION;
+    }
+
+    protected void clearDirty(Object value) {
+        if (value instanceof DirtyMarkingVariable) {
+            ((DirtyMarkingVariable) value).clearDirty();
+        }
+    }
+
     public boolean isAbleToStore(Object value) {
         // TODO don't we need null support here?
         return value instanceof Serializable;
@@ -132,4 +205,29 @@ public class SerializableType extends ByteArrayType {
     protected ObjectOutputStream createObjectOutputStream(OutputStream os) throws IOException {
         return new ObjectOutputStream(os);
     }
+
+    public SerializableVariableSerializer getSerializer() {
+        return serializer;
+    }
+
+    /**
+     * Sets the serializer used to write values, which is also registered to read them. Null restores Java serialization. Values written before are still read with the serializer that wrote them.
+     */
+    public void setSerializer(SerializableVariableSerializer serializer) {
+        this.serializer = serializer;
+        if (serializer != null) {
+            addSerializer(serializer);
+        }
+    }
+
+    public Map<String, SerializableVariableSerializer> getSerializers() {
+        return serializers;
+    }
+
+    public void addSerializer(SerializableVariableSerializer serializer) {
+        if (serializer.getName().length() > 255) {
+            throw new FlowableException("Serializer name '" + serializer.getName() + "' is longer than 255 characters");
+        }
+        serializers.put(serializer.getName(), serializer);
+    }
 }
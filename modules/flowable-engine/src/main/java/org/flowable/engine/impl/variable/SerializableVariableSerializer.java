@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Serializes the values of the {@link SerializableType}, as an alternative for the default Java serialization.
+ * 
+ * The bytes written by a serializer are prefixed by the {@link SerializableType} with a header holding the {@link #getName()} and {@link #getVersion()} of the serializer, so values can always be
+ * read back with the serializer that wrote them, even when another serializer is configured later on. Values without a header are read with Java serialization.
+ */
+public interface SerializableVariableSerializer {
+
+    /**
+     * @return the name of the serializer, stored in the header of every value. At most 255 ASCII characters.
+     */
+    String getName();
+
+    /**
+     * @return the version of the format written by this serializer, stored in the header of every value. Between 0 and 255.
+     */
+    int getVersion();
+
+    void serialize(Object value, OutputStream outputStream) throws Exception;
+
+    /**
+     * @param version
+     *            the version of the serializer that wrote the value
+     */
+    Object deserialize(InputStream inputStream, int version) throws Exception;
+
+}
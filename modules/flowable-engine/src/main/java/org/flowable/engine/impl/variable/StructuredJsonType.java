@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+import org.flowable.engine.common.api.FlowableException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores {@link JsonNode} variables of any size as bytes, encoded with the given {@link ObjectMapper}.
+ * 
+ * Compared to the {@link JsonType} and {@link LongJsonType}:
+ * 
+ * - the value is serialized only once when it is set, as the type doesn't need the serialized length to decide whether it can store the value.
+ * 
+ * - the parsed tree is cached on the variable instance, so it is parsed at most once per command. Changes made to the cached tree are written back when the command ends (when tracking is enabled,
+ * see {@link SerializableType}).
+ * 
+ * - any Jackson data format can be used, by passing an {@link ObjectMapper} created with the {@link com.fasterxml.jackson.core.JsonFactory} of that format. For example the binary Smile format
+ * (jackson-dataformat-smile) gives a smaller and faster to parse encoding than text.
+ */
+public class StructuredJsonType extends SerializableType {
+
+    public static final String TYPE_NAME = "structuredJson";
+
+    protected ObjectMapper objectMapper;
+
+    public StructuredJsonType(ObjectMapper objectMapper, boolean trackDeserializedObjects) {
+        super(trackDeserializedObjects);
+        this.objectMapper = objectMapper;
+    }
+
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    public boolean isAbleToStore(Object value) {
+        if (value == null) {
+            return true;
+        }
+        return value instanceof JsonNode;
+    }
+
+    public byte[] serialize(Object value, ValueFields valueFields) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new FlowableException("Error serializing json variable " + valueFields.getName(), e);
+        }
+    }
+
+    public Object deserialize(byte[] bytes, ValueFields valueFields) {
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (Exception e) {
+            throw new FlowableException("Error reading json variable " + valueFields.getName(), e);
+        }
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+}
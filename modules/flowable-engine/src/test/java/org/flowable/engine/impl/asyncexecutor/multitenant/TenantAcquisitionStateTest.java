@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor.multitenant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TenantAcquisitionStateTest {
+
+    @Test
+    public void testMinWaitTimeAppliedWhenFullPageAcquired() {
+        TenantAcquisitionState tenantState = new TenantAcquisitionState("tenant");
+
+        tenantState.asyncJobsAcquired(1000L, 10, 10, 100L, 10000L);
+        assertFalse(tenantState.isAsyncJobAcquisitionDue(1099L));
+        assertTrue(tenantState.isAsyncJobAcquisitionDue(1100L));
+
+        tenantState.timerJobsAcquired(1000L, 10, 10, 100L, 10000L);
+        assertFalse(tenantState.isTimerJobAcquisitionDue(1099L));
+        assertTrue(tenantState.isTimerJobAcquisitionDue(1100L));
+    }
+
+    @Test
+    public void testWaitTimeAdaptsToAcquiredJobs() {
+        TenantAcquisitionState tenantState = new TenantAcquisitionState("tenant");
+
+        assertEquals(100L, tenantState.calculateWaitTime(0L, 0, 10, 100L, 10000L));
+        assertEquals(800L, tenantState.calculateWaitTime(400L, 0, 10, 100L, 10000L));
+        assertEquals(10000L, tenantState.calculateWaitTime(8000L, 0, 10, 100L, 10000L));
+        assertEquals(200L, tenantState.calculateWaitTime(400L, 5, 10, 100L, 10000L));
+        assertEquals(100L, tenantState.calculateWaitTime(150L, 5, 10, 100L, 10000L));
+        assertEquals(100L, tenantState.calculateWaitTime(8000L, 10, 10, 100L, 10000L));
+    }
+
+}
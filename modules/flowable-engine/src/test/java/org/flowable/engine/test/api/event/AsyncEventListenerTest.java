@@ -0,0 +1,213 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.delegate.event.impl.FlowableEventDispatcherImpl;
+import org.flowable.engine.impl.event.async.AsyncEventListenerExecutor;
+import org.flowable.engine.impl.event.async.AsyncEventListenerMetrics;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+/**
+ * Test for event listeners that are notified asynchronously, after the transaction that produced the events is committed.
+ */
+public class AsyncEventListenerTest extends PluggableFlowableTestCase {
+
+    protected AsyncEventListenerExecutor asyncEventListenerExecutor;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        asyncEventListenerExecutor = new AsyncEventListenerExecutor(processEngineConfiguration.getEventDispatcher());
+        asyncEventListenerExecutor.setPollTimeoutInMillis(50L);
+        asyncEventListenerExecutor.setRetryWaitTimeInMillis(0L);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        asyncEventListenerExecutor.shutdown();
+        processEngineConfiguration.getEventDispatcher().removeEventListener(asyncEventListenerExecutor);
+
+        super.tearDown();
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml" })
+    public void testEventsDeliveredAfterCommit() throws Exception {
+        RecordingEventListener listener = new RecordingEventListener(0);
+        asyncEventListenerExecutor.addEventListener(listener, FlowableEngineEventType.TASK_CREATED, FlowableEngineEventType.TASK_COMPLETED);
+        asyncEventListenerExecutor.start();
+
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        Task task = taskService.createTaskQuery().singleResult();
+        taskService.complete(task.getId());
+
+        waitForDelivery(listener, 2);
+        assertEquals(FlowableEngineEventType.TASK_CREATED, listener.getEventsReceived().get(0).getType());
+        assertEquals(FlowableEngineEventType.TASK_COMPLETED, listener.getEventsReceived().get(1).getType());
+
+        // The listener is called on the delivery thread, not on the thread that produced the events
+        for (Thread deliveryThread : listener.getThreads()) {
+            assertNotSame(Thread.currentThread(), deliveryThread);
+        }
+
+        AsyncEventListenerMetrics metrics = asyncEventListenerExecutor.getRegistration(listener).getMetrics();
+        assertEquals(2, metrics.getDeliveredCount());
+        assertEquals(0, metrics.getPendingCount());
+        assertEquals(0, metrics.getFailedCount());
+    }
+
+    public void testEventsOfRolledBackTransactionNotDelivered() throws Exception {
+        RecordingEventListener listener = new RecordingEventListener(0);
+        asyncEventListenerExecutor.addEventListener(listener, FlowableEngineEventType.CUSTOM);
+        asyncEventListenerExecutor.start();
+
+        try {
+            managementService.executeCommand(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+                    throw new FlowableException("rollback");
+                }
+            });
+            fail("Exception expected");
+        } catch (FlowableException e) {
+            assertEquals("rollback", e.getMessage());
+        }
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                commandContext.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+                return null;
+            }
+        });
+
+        waitForDelivery(listener, 1);
+        Thread.sleep(200L);
+        assertEquals(1, listener.getEventsReceived().size());
+        assertEquals(1, asyncEventListenerExecutor.getRegistration(listener).getMetrics().getQueuedCount());
+    }
+
+    public void testFailingListenerRetried() throws Exception {
+        RecordingEventListener listener = new RecordingEventListener(2);
+        asyncEventListenerExecutor.addEventListener(listener, FlowableEngineEventType.CUSTOM);
+        asyncEventListenerExecutor.start();
+
+        processEngineConfiguration.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+
+        waitForDelivery(listener, 1);
+        AsyncEventListenerMetrics metrics = asyncEventListenerExecutor.getRegistration(listener).getMetrics();
+        assertEquals(1, metrics.getDeliveredCount());
+        assertEquals(2, metrics.getRetryCount());
+        assertEquals(0, metrics.getFailedCount());
+    }
+
+    public void testCallerDeliversWhenQueueIsFull() throws Exception {
+        RecordingEventListener listener = new RecordingEventListener(0);
+        asyncEventListenerExecutor.addEventListener(listener, FlowableEngineEventType.CUSTOM);
+
+        // Not started: nothing takes the events from the queue
+        processEngineConfiguration.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+
+        assertEquals(1, listener.getEventsReceived().size());
+        assertSame(Thread.currentThread(), listener.getThreads().get(0));
+        assertEquals(1, asyncEventListenerExecutor.getRegistration(listener).getMetrics().getCallerDeliveredCount());
+    }
+
+    public void testExecutorUnregisteredWhenLastListenerRemoved() {
+        FlowableEventDispatcherImpl eventDispatcher = new FlowableEventDispatcherImpl();
+        AsyncEventListenerExecutor executor = new AsyncEventListenerExecutor(eventDispatcher);
+        RecordingEventListener taskCreatedListener = new RecordingEventListener(0);
+        RecordingEventListener taskCompletedListener = new RecordingEventListener(0);
+        RecordingEventListener globalListener = new RecordingEventListener(0);
+
+        executor.addEventListener(taskCreatedListener, FlowableEngineEventType.TASK_CREATED);
+        executor.addEventListener(taskCompletedListener, FlowableEngineEventType.TASK_COMPLETED);
+        executor.addEventListener(globalListener);
+        assertTrue(eventDispatcher.hasListeners(FlowableEngineEventType.CUSTOM));
+
+        // Only the types of the typed listeners remain
+        executor.removeEventListener(globalListener);
+        assertFalse(eventDispatcher.hasListeners(FlowableEngineEventType.CUSTOM));
+        assertTrue(eventDispatcher.hasListeners(FlowableEngineEventType.TASK_CREATED));
+        assertTrue(eventDispatcher.hasListeners(FlowableEngineEventType.TASK_COMPLETED));
+
+        executor.removeEventListener(taskCompletedListener);
+        assertTrue(eventDispatcher.hasListeners(FlowableEngineEventType.TASK_CREATED));
+        assertFalse(eventDispatcher.hasListeners(FlowableEngineEventType.TASK_COMPLETED));
+
+        executor.removeEventListener(taskCreatedListener);
+        assertFalse(eventDispatcher.hasListeners(FlowableEngineEventType.TASK_CREATED));
+        assertFalse(eventDispatcher.hasListeners(FlowableEngineEventType.TASK_COMPLETED));
+        assertTrue(executor.getRegistrations().isEmpty());
+    }
+
+    protected void waitForDelivery(RecordingEventListener listener, int expectedEventCount) throws InterruptedException {
+        long maxWaitTime = System.currentTimeMillis() + 10000L;
+        while (listener.getEventsReceived().size() < expectedEventCount && System.currentTimeMillis() < maxWaitTime) {
+            Thread.sleep(20L);
+        }
+        assertEquals(expectedEventCount, listener.getEventsReceived().size());
+    }
+
+    /**
+     * Records the events and threads it is called with. Fails the given number of times before accepting an event.
+     */
+    public static class RecordingEventListener implements FlowableEventListener {
+
+        protected List<FlowableEvent> eventsReceived = new CopyOnWriteArrayList<FlowableEvent>();
+        protected List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+        protected int failuresLeft;
+
+        public RecordingEventListener(int failures) {
+            this.failuresLeft = failures;
+        }
+
+        @Override
+        public void onEvent(FlowableEvent event) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new RuntimeException("listener failure");
+            }
+            eventsReceived.add(event);
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public boolean isFailOnException() {
+            return true;
+        }
+
+        public List<FlowableEvent> getEventsReceived() {
+            return eventsReceived;
+        }
+
+        public List<Thread> getThreads() {
+            return threads;
+        }
+    }
+}
@@ -22,11 +22,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.event.EventLogEntry;
+import org.flowable.engine.impl.event.logger.AsyncEventLogEntryWriter;
 import org.flowable.engine.impl.event.logger.EventLogger;
+import org.flowable.engine.impl.event.logger.EventLoggerListener;
 import org.flowable.engine.impl.event.logger.handler.Fields;
 import org.flowable.engine.impl.identity.Authentication;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
@@ -562,4 +565,102 @@ public class DatabaseEventLoggerTest extends PluggableFlowableTestCase {
 
     }
 
+    public void testAsyncStandaloneTaskEvents() throws JsonParseException, JsonMappingException, IOException {
+        runtimeService.removeEventListener(databaseEventLogger);
+
+        AsyncEventLogEntryWriter asyncEventLogEntryWriter = new AsyncEventLogEntryWriter();
+        asyncEventLogEntryWriter.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        asyncEventLogEntryWriter.start();
+
+        final AtomicInteger eventsAddedCount = new AtomicInteger();
+        EventLogger asyncEventLogger = new EventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper());
+        asyncEventLogger.setAsyncEventLogEntryWriter(asyncEventLogEntryWriter);
+        asyncEventLogger.addEventLoggerListener(new EventLoggerListener() {
+
+            @Override
+            public void eventsAdded(EventLogger databaseEventLogger) {
+                eventsAddedCount.incrementAndGet();
+            }
+        });
+        runtimeService.addEventListener(asyncEventLogger);
+
+        Task task = null;
+        try {
+            task = taskService.newTask();
+            task.setAssignee("kermit");
+            task.setTenantId("myTenant");
+            taskService.saveTask(task);
+
+        } finally {
+            runtimeService.removeEventListener(asyncEventLogger);
+
+            // Writes the entries that are still queued
+            asyncEventLogEntryWriter.shutdown();
+        }
+
+        assertEquals(2, asyncEventLogEntryWriter.getWrittenCount());
+        assertEquals(0, asyncEventLogEntryWriter.getDroppedCount());
+        assertTrue(eventsAddedCount.get() > 0);
+
+        List<EventLogEntry> events = managementService.getEventLogEntries(null, null);
+        assertEquals(2, events.size());
+        assertEquals("TASK_ASSIGNED", events.get(0).getType());
+        assertEquals("TASK_CREATED", events.get(1).getType());
+
+        for (EventLogEntry eventLogEntry : events) {
+            Map<String, Object> data = objectMapper.readValue(eventLogEntry.getData(), new TypeReference<HashMap<String, Object>>() {
+            });
+            assertEquals("myTenant", data.get(Fields.TENANT_ID));
+        }
+
+        // Cleanup
+        runtimeService.addEventListener(databaseEventLogger);
+        taskService.deleteTask(task.getId(), true);
+        for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+            managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+        }
+    }
+
+    public void testAsyncEventsDroppedWhenBufferIsFull() {
+        runtimeService.removeEventListener(databaseEventLogger);
+
+        // A writer that doesn't take anything from its buffer
+        AsyncEventLogEntryWriter asyncEventLogEntryWriter = new AsyncEventLogEntryWriter() {
+
+            @Override
+            protected void processQueuedItems() {
+            }
+        };
+        asyncEventLogEntryWriter.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        asyncEventLogEntryWriter.setQueueSize(1);
+        asyncEventLogEntryWriter.start();
+
+        EventLogger asyncEventLogger = new EventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper());
+        asyncEventLogger.setAsyncEventLogEntryWriter(asyncEventLogEntryWriter);
+        runtimeService.addEventListener(asyncEventLogger);
+
+        Task task = null;
+        try {
+            task = taskService.newTask();
+            task.setAssignee("kermit");
+            taskService.saveTask(task);
+
+        } finally {
+            runtimeService.removeEventListener(asyncEventLogger);
+            asyncEventLogEntryWriter.shutdown();
+        }
+
+        // The command isn't blocked by the full buffer: the entry that doesn't fit is dropped
+        assertEquals(1, asyncEventLogEntryWriter.getQueuedEntryCount());
+        assertEquals(1, asyncEventLogEntryWriter.getDroppedCount());
+        assertEquals(0, managementService.getEventLogEntries(null, null).size());
+
+        // Cleanup
+        runtimeService.addEventListener(databaseEventLogger);
+        taskService.deleteTask(task.getId(), true);
+        for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+            managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+        }
+    }
+
 }
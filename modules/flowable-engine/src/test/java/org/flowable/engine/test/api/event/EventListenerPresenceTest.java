@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.event;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventDispatcherImpl;
+import org.flowable.engine.delegate.event.impl.FlowableEventSupport;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.test.Deployment;
+
+/**
+ * Test for the check callers do before creating an event, to find out if any listener would be notified of it.
+ */
+public class EventListenerPresenceTest extends PluggableFlowableTestCase {
+
+    public void testNoListeners() {
+        FlowableEventDispatcherImpl dispatcher = new FlowableEventDispatcherImpl();
+        for (FlowableEngineEventType type : FlowableEngineEventType.values()) {
+            assertFalse(dispatcher.hasListeners(type));
+        }
+    }
+
+    public void testTypedListener() {
+        FlowableEventDispatcherImpl dispatcher = new FlowableEventDispatcherImpl();
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+
+        dispatcher.addEventListener(listener, FlowableEngineEventType.TASK_CREATED, FlowableEngineEventType.TASK_COMPLETED);
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.TASK_CREATED));
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.TASK_COMPLETED));
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.TASK_ASSIGNED));
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+
+        dispatcher.setEnabled(false);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.TASK_CREATED));
+        dispatcher.setEnabled(true);
+
+        dispatcher.removeEventListener(listener);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.TASK_CREATED));
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.TASK_COMPLETED));
+    }
+
+    public void testGlobalListener() {
+        FlowableEventDispatcherImpl dispatcher = new FlowableEventDispatcherImpl();
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+
+        dispatcher.addEventListener(listener);
+        for (FlowableEngineEventType type : FlowableEngineEventType.values()) {
+            assertTrue(dispatcher.hasListeners(type));
+        }
+
+        dispatcher.removeEventListener(listener);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+    }
+
+    public void testProcessDefinitionListener() {
+        FlowableEventDispatcherImpl dispatcher = new FlowableEventDispatcherImpl();
+        FlowableEventSupport processDefinitionEventSupport = new FlowableEventSupport();
+        processDefinitionEventSupport.setProcessDefinitionDispatcher(dispatcher);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ACTIVITY_STARTED));
+
+        // Listeners added to the process definition after it was parsed are picked up as well
+        processDefinitionEventSupport.addEventListener(new TestFlowableEventListener(), FlowableEngineEventType.ACTIVITY_STARTED);
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ACTIVITY_STARTED));
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ACTIVITY_COMPLETED));
+
+        TestFlowableEventListener globalListener = new TestFlowableEventListener();
+        processDefinitionEventSupport.addEventListener(globalListener);
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ACTIVITY_COMPLETED));
+
+        // Removed listeners are forgotten again
+        processDefinitionEventSupport.removeEventListener(globalListener);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ACTIVITY_COMPLETED));
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ACTIVITY_STARTED));
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml" })
+    public void testParsedProcessDefinitionListener() {
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess").singleResult();
+        BpmnModel bpmnModel = repositoryService.getBpmnModel(processDefinition.getId());
+
+        FlowableEventSupport eventSupport = (FlowableEventSupport) bpmnModel.getEventSupport();
+        assertSame(processEngineConfiguration.getEventDispatcher(), eventSupport.getProcessDefinitionDispatcher());
+
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+        eventSupport.addEventListener(listener, FlowableEngineEventType.TASK_CREATED);
+        try {
+            assertTrue(processEngineConfiguration.getEventDispatcher().hasListeners(FlowableEngineEventType.TASK_CREATED));
+
+            runtimeService.startProcessInstanceByKey("oneTaskProcess");
+            assertEquals(1, listener.getEventsReceived().size());
+            assertEquals(FlowableEngineEventType.TASK_CREATED, listener.getEventsReceived().get(0).getType());
+
+        } finally {
+            // The engine is shared with the other tests
+            eventSupport.removeEventListener(listener);
+        }
+    }
+}
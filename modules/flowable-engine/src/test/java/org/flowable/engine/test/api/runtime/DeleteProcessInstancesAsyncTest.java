@@ -0,0 +1,155 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.jobexecutor.DeleteProcessInstancesJobHandler;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.api.event.TestFlowableEventListener;
+
+public class DeleteProcessInstancesAsyncTest extends PluggableFlowableTestCase {
+
+    @Deployment(resources = "org/flowable/engine/test/api/runtime/DeleteProcessInstancesAsyncTest.bpmn20.xml")
+    public void testDeleteProcessInstancesAsync() {
+        List<String> processInstanceIds = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> variables = new HashMap<String, Object>();
+            variables.put("name", "instance " + i);
+            variables.put("serializable", new DummySerializable());
+            String processInstanceId = runtimeService.startProcessInstanceByKey("deleteProcess", variables).getId();
+            processInstanceIds.add(processInstanceId);
+
+            Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            taskService.setVariableLocal(task.getId(), "localSerializable", new DummySerializable());
+            runtimeService.addParticipantUser(processInstanceId, "fozzie");
+        }
+        String remainingProcessInstanceId = processInstanceIds.remove(4);
+
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+        runtimeService.addEventListener(listener, FlowableEngineEventType.PROCESS_CANCELLED);
+        int originalBatchSize = processEngineConfiguration.getProcessInstanceDeletionBatchSize();
+        try {
+            processEngineConfiguration.setProcessInstanceDeletionBatchSize(3);
+            assertEquals(2, runtimeService.deleteProcessInstancesAsync(processInstanceIds, "bulk delete"));
+
+            // Nothing is deleted until the jobs are executed
+            assertEquals(5, runtimeService.createProcessInstanceQuery().count());
+            List<Job> jobs = managementService.createJobQuery().list();
+            assertEquals(2, jobs.size());
+            for (Job job : jobs) {
+                managementService.executeJob(job.getId());
+            }
+
+            assertEquals(4, listener.getEventsReceived().size());
+
+        } finally {
+            runtimeService.removeEventListener(listener);
+            processEngineConfiguration.setProcessInstanceDeletionBatchSize(originalBatchSize);
+        }
+
+        ProcessInstance remainingProcessInstance = runtimeService.createProcessInstanceQuery().singleResult();
+        assertEquals(remainingProcessInstanceId, remainingProcessInstance.getId());
+        assertEquals(remainingProcessInstanceId, taskService.createTaskQuery().singleResult().getProcessInstanceId());
+        assertEquals(remainingProcessInstanceId, managementService.createTimerJobQuery().singleResult().getProcessInstanceId());
+        assertEquals(1, runtimeService.createExecutionQuery().messageEventSubscriptionName("cancelMessage").count());
+        assertEquals(2, runtimeService.getIdentityLinksForProcessInstance(remainingProcessInstanceId).size());
+        assertEquals(0, managementService.createJobQuery().count());
+        assertTrue(runtimeService.getVariable(remainingProcessInstanceId, "serializable") instanceof DummySerializable);
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+            for (String processInstanceId : processInstanceIds) {
+                HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+                assertNotNull(historicProcessInstance.getEndTime());
+                assertEquals("bulk delete", historicProcessInstance.getDeleteReason());
+                assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).unfinished().count());
+            }
+            assertNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(remainingProcessInstanceId).singleResult().getEndTime());
+        }
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+            assertEquals(4, historyService.createHistoricTaskInstanceQuery().finished().count());
+            assertEquals(1, historyService.createHistoricTaskInstanceQuery().unfinished().count());
+        }
+
+        runtimeService.deleteProcessInstance(remainingProcessInstanceId, null);
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/runtime/callActivity.bpmn20.xml", "org/flowable/engine/test/api/runtime/calledActivity.bpmn20.xml" })
+    public void testDeleteProcessInstancesAsyncWithSubProcessInstances() {
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("callActivity");
+        }
+        assertEquals(6, runtimeService.createProcessInstanceQuery().count());
+        assertEquals(3, taskService.createTaskQuery().count());
+
+        // The query matches the root and the sub process instances, which can end up in different batches
+        assertEquals(1, runtimeService.deleteProcessInstancesAsync(runtimeService.createProcessInstanceQuery(), null));
+        for (Job job : managementService.createJobQuery().list()) {
+            managementService.executeJob(job.getId());
+        }
+
+        assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+        assertEquals(0, runtimeService.createExecutionQuery().count());
+        assertEquals(0, taskService.createTaskQuery().count());
+        assertEquals(0, managementService.createJobQuery().count());
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+            assertEquals(0, historyService.createHistoricProcessInstanceQuery().unfinished().count());
+            assertEquals(0, historyService.createHistoricActivityInstanceQuery().unfinished().count());
+        }
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml")
+    public void testDeleteProcessInstancesAsyncSkipsDeletedProcessInstances() {
+        List<String> processInstanceIds = new ArrayList<String>();
+        for (int i = 0; i < 3; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        processInstanceIds.add("unexisting");
+
+        assertEquals(1, runtimeService.deleteProcessInstancesAsync(processInstanceIds, "bulk delete"));
+        runtimeService.deleteProcessInstance(processInstanceIds.get(0), null);
+
+        Job job = managementService.createJobQuery().singleResult();
+        assertEquals(DeleteProcessInstancesJobHandler.TYPE, job.getJobHandlerType());
+        managementService.executeJob(job.getId());
+
+        assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+    public void testDeleteProcessInstancesAsyncInvalidArguments() {
+        try {
+            runtimeService.deleteProcessInstancesAsync((List<String>) null, null);
+            fail("ActivitiException expected");
+        } catch (FlowableIllegalArgumentException ae) {
+            assertTextPresent("processInstanceIds is null", ae.getMessage());
+        }
+
+        assertEquals(0, runtimeService.deleteProcessInstancesAsync(new ArrayList<String>(), null));
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+}
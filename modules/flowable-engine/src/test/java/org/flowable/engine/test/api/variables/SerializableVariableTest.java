@@ -12,13 +12,24 @@
  */
 package org.flowable.engine.test.api.variables;
 
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.variable.CompactSerializableVariableSerializer;
+import org.flowable.engine.impl.variable.DirtyMarkingVariable;
+import org.flowable.engine.impl.variable.SerializableType;
+import org.flowable.engine.impl.variable.SerializableVariableSerializer;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.Task;
 import org.flowable.engine.test.Deployment;
@@ -43,6 +54,123 @@ public class SerializableVariableTest extends PluggableFlowableTestCase {
         assertEquals(2, testSerializableVariable.getNumber());
     }
 
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testCompactSerializer() {
+        SerializableType serializableType = getSerializableType();
+
+        // Written with Java serialization, before the serializer is configured
+        Map<String, Object> vars = new HashMap<String, Object>();
+        vars.put("myVar", new TestSerializableVariable(1));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+        assertFalse(hasSerializerHeader(getVariableBytes(processInstance.getId(), "myVar")));
+
+        serializableType.setSerializer(new CompactSerializableVariableSerializer());
+        try {
+            ArrayList<Object> list = new ArrayList<Object>();
+            list.add("a");
+            list.add(1L);
+            list.add(new Date(1000L));
+            list.add(null);
+            HashMap<String, Object> map = new HashMap<String, Object>();
+            map.put("list", list);
+            map.put("number", 3.5d);
+            map.put("custom", new TestSerializableVariable(5));
+            runtimeService.setVariable(processInstance.getId(), "myMap", map);
+            assertTrue(hasSerializerHeader(getVariableBytes(processInstance.getId(), "myMap")));
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> storedMap = (Map<String, Object>) runtimeService.getVariable(processInstance.getId(), "myMap");
+            assertEquals(list, storedMap.get("list"));
+            assertEquals(3.5d, storedMap.get("number"));
+            assertEquals(5, ((TestSerializableVariable) storedMap.get("custom")).getNumber());
+
+            // The existing Java serialized value is still read, and written with the serializer when changed
+            Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+            taskService.complete(task.getId());
+            assertEquals(2, ((TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar")).getNumber());
+            assertTrue(hasSerializerHeader(getVariableBytes(processInstance.getId(), "myVar")));
+
+        } finally {
+            serializableType.setSerializer(null);
+        }
+
+        // Still readable after going back to Java serialization
+        assertEquals(2, ((TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar")).getNumber());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testDirtyMarkingVariableOnlySerializedWhenChanged() {
+        SerializableType serializableType = getSerializableType();
+        CountingSerializer countingSerializer = new CountingSerializer();
+        serializableType.setSerializer(countingSerializer);
+        try {
+            Map<String, Object> vars = new HashMap<String, Object>();
+            vars.put("myVar", new DirtyMarkingTestVariable(1));
+            vars.put("otherVar", new TestSerializableVariable(1));
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+
+            // Set once, and once more at the end of the command for the value that doesn't mark itself dirty
+            assertEquals(1, countingSerializer.getSerializeCount(DirtyMarkingTestVariable.class));
+            assertEquals(2, countingSerializer.getSerializeCount(TestSerializableVariable.class));
+
+            // Reading the values: only the value that doesn't mark itself dirty is serialized again to detect changes
+            for (int i = 0; i < 10; i++) {
+                runtimeService.getVariable(processInstance.getId(), "myVar");
+                runtimeService.getVariable(processInstance.getId(), "otherVar");
+            }
+            assertEquals(1, countingSerializer.getSerializeCount(DirtyMarkingTestVariable.class));
+            assertEquals(12, countingSerializer.getSerializeCount(TestSerializableVariable.class));
+
+            // The delegate changes the value, which marks it dirty
+            Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+            taskService.complete(task.getId());
+            assertEquals(2, countingSerializer.getSerializeCount(DirtyMarkingTestVariable.class));
+            assertEquals(2, ((TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar")).getNumber());
+
+        } finally {
+            serializableType.setSerializer(null);
+        }
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testUnchangedValueNotUpdatedWhenSerializedDifferently() {
+        SerializableType serializableType = getSerializableType();
+
+        Map<String, Object> vars = new HashMap<String, Object>();
+        vars.put("myVar", new TestSerializableVariable(1));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+        byte[] originalBytes = getVariableBytes(processInstance.getId(), "myVar");
+
+        // The value is serialized with other bytes now, but reading it doesn't change it
+        serializableType.setSerializer(new CompactSerializableVariableSerializer());
+        try {
+            assertEquals(1, ((TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar")).getNumber());
+            assertTrue(Arrays.equals(originalBytes, getVariableBytes(processInstance.getId(), "myVar")));
+
+        } finally {
+            serializableType.setSerializer(null);
+        }
+    }
+
+    protected SerializableType getSerializableType() {
+        return (SerializableType) processEngineConfiguration.getVariableTypes().getVariableType(SerializableType.TYPE_NAME);
+    }
+
+    protected byte[] getVariableBytes(final String executionId, final String variableName) {
+        return managementService.executeCommand(new Command<byte[]>() {
+
+            @Override
+            public byte[] execute(CommandContext commandContext) {
+                return commandContext.getVariableInstanceEntityManager().findVariableInstanceByExecutionAndName(executionId, variableName).getBytes();
+            }
+
+        });
+    }
+
+    protected boolean hasSerializerHeader(byte[] bytes) {
+        return bytes[0] == 'F' && bytes[1] == 'S';
+    }
+
     public static class TestUpdateSerializableVariableDelegate implements JavaDelegate {
 
         public void execute(DelegateExecution execution) {
@@ -71,4 +199,56 @@ public class SerializableVariableTest extends PluggableFlowableTestCase {
 
     }
 
+    public static class DirtyMarkingTestVariable extends TestSerializableVariable implements DirtyMarkingVariable {
+
+        private static final long serialVersionUID = 1L;
+        private transient boolean dirty;
+
+        public DirtyMarkingTestVariable(int number) {
+            super(number);
+        }
+
+        @Override
+        public void setNumber(int number) {
+            super.setNumber(number);
+            dirty = true;
+        }
+
+        public boolean isDirty() {
+            return dirty;
+        }
+
+        public void clearDirty() {
+            dirty = false;
+        }
+
+    }
+
+    /**
+     * Counts the serializations per class of value, to compare the change detection of values that do and don't mark themselves dirty.
+     */
+    public static class CountingSerializer extends CompactSerializableVariableSerializer {
+
+        protected Map<Class<?>, AtomicInteger> serializeCounts = new HashMap<Class<?>, AtomicInteger>();
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public void serialize(Object value, OutputStream outputStream) throws Exception {
+            if (!serializeCounts.containsKey(value.getClass())) {
+                serializeCounts.put(value.getClass(), new AtomicInteger());
+            }
+            serializeCounts.get(value.getClass()).incrementAndGet();
+            super.serialize(value, outputStream);
+        }
+
+        public int getSerializeCount(Class<?> valueClass) {
+            return serializeCounts.containsKey(valueClass) ? serializeCounts.get(valueClass).get() : 0;
+        }
+
+    }
+
 }
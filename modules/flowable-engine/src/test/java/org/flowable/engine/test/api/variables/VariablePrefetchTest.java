@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.VariablePrefetchUtil;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+
+public class VariablePrefetchTest extends PluggableFlowableTestCase {
+
+    protected boolean oldVariablePrefetchingValue;
+    protected String deploymentId;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        oldVariablePrefetchingValue = processEngineConfiguration.getPerformanceSettings().isEnableVariablePrefetching();
+        processEngineConfiguration.getPerformanceSettings().setEnableVariablePrefetching(true);
+        deploymentId = repositoryService.createDeployment()
+                .addClasspathResource("org/flowable/engine/test/api/variables/VariablePrefetchTest.bpmn20.xml")
+                .deploy()
+                .getId();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        repositoryService.deleteDeployment(deploymentId, true);
+        processEngineConfiguration.getPerformanceSettings().setEnableVariablePrefetching(oldVariablePrefetchingValue);
+        super.tearDown();
+    }
+
+    public void testVariableReferencesAnalyzedOnDeploy() {
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+        ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinition.getId());
+        Map<String, Set<String>> variableNames = cacheEntry.getVariableNamesByFlowNodeId();
+
+        assertEquals(2, variableNames.size());
+        assertEquals(1, variableNames.get("reviewTask").size());
+        assertTrue(variableNames.get("reviewTask").contains("reviewer"));
+        assertEquals(1, variableNames.get("amountGateway").size());
+        assertTrue(variableNames.get("amountGateway").contains("amount"));
+    }
+
+    public void testVariablesPrefetchedForExecutionTree() {
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("reviewer", "kermit");
+        variables.put("amount", 20);
+        final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("variablePrefetch", variables);
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("kermit", task.getAssignee());
+
+        final Execution taskExecution = runtimeService.createExecutionQuery().executionId(task.getExecutionId()).singleResult();
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                ExecutionEntityImpl execution = (ExecutionEntityImpl) commandContext.getExecutionEntityManager().findById(taskExecution.getId());
+                VariablePrefetchUtil.prefetchVariables(commandContext, execution);
+
+                ExecutionEntityImpl current = execution;
+                while (current != null) {
+                    assertTrue(current.isVariableInstancesInitialized());
+                    current = current.getParent();
+                }
+                assertEquals(20, execution.getVariable("amount"));
+                return null;
+            }
+        });
+
+        taskService.complete(task.getId());
+        task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("highAmountTask", task.getTaskDefinitionKey());
+
+        taskService.complete(task.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+}
@@ -0,0 +1,194 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.mail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.mail.Authenticator;
+import javax.mail.PasswordAuthentication;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.delegate.event.FlowableEntityEvent;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.impl.mail.AsyncMailSender;
+import org.flowable.engine.impl.mail.QueuedMail;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.api.event.TestFlowableEventListener;
+import org.subethamail.wiser.Wiser;
+import org.subethamail.wiser.WiserMessage;
+
+public class AsyncEmailServiceTaskTest extends EmailTestCase {
+
+    protected AsyncMailSender asyncMailSender;
+    protected TestFlowableEventListener listener;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        asyncMailSender = new AsyncMailSender();
+        asyncMailSender.setEventDispatcher(processEngineConfiguration.getEventDispatcher());
+        asyncMailSender.setRetryWaitTimeInMillis(100L);
+        asyncMailSender.setMaxRetries(5);
+        asyncMailSender.setPollTimeoutInMillis(100L);
+        asyncMailSender.setThreadPoolSize(1);
+        asyncMailSender.start();
+        processEngineConfiguration.setAsyncMailSender(asyncMailSender);
+        processEngineConfiguration.setAsyncMailEnabled(true);
+
+        listener = new TestFlowableEventListener();
+        runtimeService.addEventListener(listener, FlowableEngineEventType.MAIL_SENT, FlowableEngineEventType.MAIL_FAILED);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        runtimeService.removeEventListener(listener);
+        processEngineConfiguration.setAsyncMailEnabled(false);
+        processEngineConfiguration.setAsyncMailSender(null);
+        asyncMailSender.shutdown();
+
+        super.tearDown();
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/mail/EmailServiceTaskTest.testSimpleTextMail.bpmn20.xml")
+    public void testMailSentAfterCommit() throws Exception {
+        List<String> processInstanceIds = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            String processInstanceId = runtimeService.startProcessInstanceByKey("simpleTextOnly").getId();
+            assertProcessEnded(processInstanceId);
+            processInstanceIds.add(processInstanceId);
+        }
+
+        waitForMessages(5);
+        for (WiserMessage message : wiser.getMessages()) {
+            EmailServiceTaskTest.assertEmailSend(message, false, "Hello Kermit!", "This a text only e-mail.", "flowable@localhost", Collections.singletonList("kermit@activiti.org"), null);
+        }
+
+        waitForEvents(5);
+        for (int i = 0; i < 5; i++) {
+            FlowableEntityEvent event = (FlowableEntityEvent) listener.getEventsReceived().get(i);
+            assertEquals(FlowableEngineEventType.MAIL_SENT, event.getType());
+            QueuedMail mail = (QueuedMail) event.getEntity();
+            assertEquals("sendMail", mail.getActivityId());
+            assertTrue(processInstanceIds.contains(mail.getProcessInstanceId()));
+        }
+        assertEquals(5, asyncMailSender.getSentCount());
+    }
+
+    @Deployment
+    public void testMailNotSentOnRollback() throws Exception {
+        try {
+            runtimeService.startProcessInstanceByKey("mailAndFailure");
+            fail("Exception expected");
+        } catch (FlowableException e) {
+            // expected
+        }
+
+        Thread.sleep(500L);
+        assertEquals(0, wiser.getMessages().size());
+        assertEquals(0, asyncMailSender.getSentCount());
+        assertEquals(0, asyncMailSender.getQueuedMailCount());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/mail/EmailServiceTaskTest.testSimpleTextMail.bpmn20.xml")
+    public void testMailRetriedWhenServerIsDown() throws Exception {
+        wiser.stop();
+        Thread.sleep(250L);
+
+        String processInstanceId = runtimeService.startProcessInstanceByKey("simpleTextOnly").getId();
+        assertProcessEnded(processInstanceId);
+        Thread.sleep(200L);
+
+        wiser = new Wiser();
+        wiser.setPort(5025);
+        wiser.start();
+
+        waitForMessages(1);
+        waitForEvents(1);
+        assertEquals(FlowableEngineEventType.MAIL_SENT, listener.getEventsReceived().get(0).getType());
+        QueuedMail mail = (QueuedMail) ((FlowableEntityEvent) listener.getEventsReceived().get(0)).getEntity();
+        assertTrue(mail.getAttempts() > 0);
+        assertEquals(0, asyncMailSender.getFailedCount());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/mail/EmailServiceTaskTest.testSimpleTextMail.bpmn20.xml")
+    public void testMailFailedEventAfterRetries() throws Exception {
+        wiser.stop();
+        asyncMailSender.setMaxRetries(1);
+
+        String processInstanceId = runtimeService.startProcessInstanceByKey("simpleTextOnly").getId();
+        assertProcessEnded(processInstanceId);
+
+        waitForEvents(1);
+        assertEquals(FlowableEngineEventType.MAIL_FAILED, listener.getEventsReceived().get(0).getType());
+        QueuedMail mail = (QueuedMail) ((FlowableEntityEvent) listener.getEventsReceived().get(0)).getEntity();
+        assertEquals(2, mail.getAttempts());
+        assertEquals(1, asyncMailSender.getFailedCount());
+
+        wiser = new Wiser();
+        wiser.setPort(5025);
+        wiser.start();
+    }
+
+    public void testMailsOfOtherTenantOrUserUseOtherConnection() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("mail.smtp.host", "localhost");
+        properties.setProperty("mail.smtp.port", "5025");
+
+        QueuedMail kermitMail = createQueuedMail(properties, "kermit", "acme");
+        assertEquals(kermitMail.getServerKey(), createQueuedMail(properties, "kermit", "acme").getServerKey());
+        assertFalse(kermitMail.getServerKey().equals(createQueuedMail(properties, "fozzie", "acme").getServerKey()));
+        assertFalse(kermitMail.getServerKey().equals(createQueuedMail(properties, "kermit", "other").getServerKey()));
+        assertFalse(kermitMail.getServerKey().equals(createQueuedMail(properties, null, "acme").getServerKey()));
+    }
+
+    protected QueuedMail createQueuedMail(Properties properties, final String userName, String tenantId) {
+        Authenticator authenticator = null;
+        if (userName != null) {
+            authenticator = new Authenticator() {
+
+                @Override
+                protected PasswordAuthentication getPasswordAuthentication() {
+                    return new PasswordAuthentication(userName, "secret");
+                }
+            };
+        }
+
+        Session session = Session.getInstance(properties, authenticator);
+        QueuedMail mail = new QueuedMail(new MimeMessage(session), session);
+        mail.setTenantId(tenantId);
+        return mail;
+    }
+
+    protected void waitForMessages(int expectedMessageCount) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (wiser.getMessages().size() < expectedMessageCount && System.currentTimeMillis() - start < 10000L) {
+            Thread.sleep(50L);
+        }
+        assertEquals(expectedMessageCount, wiser.getMessages().size());
+    }
+
+    protected void waitForEvents(int expectedEventCount) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (listener.getEventsReceived().size() < expectedEventCount && System.currentTimeMillis() - start < 10000L) {
+            Thread.sleep(50L);
+        }
+        assertEquals(expectedEventCount, listener.getEventsReceived().size());
+    }
+
+}
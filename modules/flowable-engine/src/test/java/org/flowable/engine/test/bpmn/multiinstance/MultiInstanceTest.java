@@ -231,6 +231,88 @@ public class MultiInstanceTest extends PluggableFlowableTestCase {
         assertProcessEnded(procId);
     }
 
+    @Deployment
+    public void testParallelUserTasksInBatches() {
+        List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie", "bubba");
+        String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksInBatches", CollectionUtil.singletonMap("assigneeList", assigneeList)).getId();
+
+        // Only the first batch is created in the start transaction, the next batch is created by an async job
+        List<Task> tasks = taskService.createTaskQuery().orderByTaskAssignee().asc().list();
+        assertEquals(2, tasks.size());
+        assertEquals("gonzo", tasks.get(0).getAssignee());
+        assertEquals("kermit", tasks.get(1).getAssignee());
+        assertEquals(1, managementService.createJobQuery().count());
+
+        Job job = managementService.createJobQuery().singleResult();
+        managementService.executeJob(job.getId());
+        assertEquals(4, taskService.createTaskQuery().count());
+
+        job = managementService.createJobQuery().singleResult();
+        managementService.executeJob(job.getId());
+        assertEquals(5, taskService.createTaskQuery().count());
+        assertEquals(0, managementService.createJobQuery().count());
+
+        tasks = taskService.createTaskQuery().orderByTaskAssignee().asc().list();
+        assertEquals("bubba", tasks.get(0).getAssignee());
+        assertEquals("fozzie", tasks.get(1).getAssignee());
+        assertEquals("gonzo", tasks.get(2).getAssignee());
+        assertEquals("kermit", tasks.get(3).getAssignee());
+        assertEquals("mispiggy", tasks.get(4).getAssignee());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Execution execution = runtimeService.createExecutionQuery().executionId(tasks.get(i).getExecutionId()).singleResult();
+            assertEquals(5, runtimeService.getVariable(execution.getId(), "nrOfInstances"));
+            assertEquals(i, runtimeService.getVariable(execution.getId(), "nrOfCompletedInstances"));
+            assertEquals(5 - i, runtimeService.getVariable(execution.getId(), "nrOfActiveInstances"));
+            taskService.complete(tasks.get(i).getId());
+        }
+        assertProcessEnded(procId);
+    }
+
+    @Deployment
+    public void testParallelUserTasksInBatchesCompletionCondition() {
+        String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksInBatchesCompletionCondition").getId();
+        List<Task> tasks = taskService.createTaskQuery().list();
+        assertEquals(2, tasks.size());
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+
+        Job job = managementService.createJobQuery().singleResult();
+        managementService.executeJob(job.getId());
+        tasks = taskService.createTaskQuery().list();
+        assertEquals(2, tasks.size());
+        assertEquals(1, managementService.createJobQuery().count());
+
+        // Completing 3 of the 6 instances triggers the completion condition, the last batch is not created anymore
+        taskService.complete(tasks.get(0).getId());
+        assertEquals(0, managementService.createJobQuery().count());
+
+        Task taskAfter = taskService.createTaskQuery().singleResult();
+        assertEquals("taskAfter", taskAfter.getTaskDefinitionKey());
+        taskService.complete(taskAfter.getId());
+        assertProcessEnded(procId);
+    }
+
+    @Deployment
+    public void testParallelManualTasksInBatches() {
+        String procId = runtimeService.startProcessInstanceByKey("miParallelManualTasksInBatches").getId();
+        assertEquals(0, taskService.createTaskQuery().count());
+        assertEquals(1, managementService.createJobQuery().count());
+
+        waitForJobExecutorToProcessAllJobs(10000L, 200L);
+
+        Task taskAfter = taskService.createTaskQuery().singleResult();
+        assertEquals("taskAfter", taskAfter.getTaskDefinitionKey());
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+            assertEquals(10, historyService.createHistoricActivityInstanceQuery().processInstanceId(procId).activityId("miTasks").count());
+        }
+
+        taskService.complete(taskAfter.getId());
+        assertProcessEnded(procId);
+    }
+
     @Deployment
     public void testParallelUserTasksBasedOnCollection() {
         List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie", "bubba");
@@ -0,0 +1,146 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.cache;
+
+import org.flowable.engine.common.api.FlowableObjectNotFoundException;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.task.Task;
+
+/**
+ * Runs processes with the latest definition index enabled, which is off in the default test configuration.
+ */
+public class LatestDefinitionIndexTest extends ResourceFlowableTestCase {
+
+    protected static final String ORIGINAL_PROCESS = "org/flowable/engine/test/cache/originalProcess.bpmn20.xml";
+    protected static final String REVISED_PROCESS = "org/flowable/engine/test/cache/revisedProcess.bpmn20.xml";
+
+    public LatestDefinitionIndexTest() {
+        super("org/flowable/engine/test/cache/latest-definition-index.flowable.cfg.xml");
+    }
+
+    public void testStartProcessInstanceByKeyAfterNewVersionIsDeployed() {
+        LatestDefinitionIndex latestDefinitionIndex = processEngineConfiguration.getLatestDefinitionIndex();
+        assertNotNull(latestDefinitionIndex);
+
+        String originalDeploymentId = repositoryService.createDeployment().addClasspathResource(ORIGINAL_PROCESS).deploy().getId();
+        String revisedDeploymentId = null;
+        try {
+            startProcessInstanceAndAssertTaskName("original task");
+            assertEquals(1, latestDefinitionIndex.size());
+            startProcessInstanceAndAssertTaskName("original task");
+
+            revisedDeploymentId = repositoryService.createDeployment().addClasspathResource(REVISED_PROCESS).deploy().getId();
+            assertEquals(0, latestDefinitionIndex.size());
+            startProcessInstanceAndAssertTaskName("revised task");
+            assertEquals(1, latestDefinitionIndex.size());
+
+            // Deleting the latest version makes the previous version the latest again
+            repositoryService.deleteDeployment(revisedDeploymentId, true);
+            revisedDeploymentId = null;
+            assertEquals(0, latestDefinitionIndex.size());
+            startProcessInstanceAndAssertTaskName("original task");
+
+        } finally {
+            if (revisedDeploymentId != null) {
+                repositoryService.deleteDeployment(revisedDeploymentId, true);
+            }
+            repositoryService.deleteDeployment(originalDeploymentId, true);
+        }
+    }
+
+    public void testStartProcessInstanceByKeyAndTenantId() {
+        String originalDeploymentId = repositoryService.createDeployment().addClasspathResource(ORIGINAL_PROCESS).tenantId("acme").deploy().getId();
+        String revisedDeploymentId = repositoryService.createDeployment().addClasspathResource(REVISED_PROCESS).deploy().getId();
+        try {
+            for (int i = 0; i < 2; i++) {
+                runtimeService.startProcessInstanceByKey("oneTaskProcess");
+                runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "acme");
+            }
+            assertEquals(2, taskService.createTaskQuery().taskName("revised task").taskWithoutTenantId().count());
+            assertEquals(2, taskService.createTaskQuery().taskName("original task").taskTenantId("acme").count());
+
+            // Moving the deployment to another tenant changes the latest version of both tenants
+            repositoryService.changeDeploymentTenantId(originalDeploymentId, "other");
+            ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().deploymentId(originalDeploymentId).singleResult();
+            assertEquals(processDefinition.getId(), runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "other").getProcessDefinitionId());
+
+            try {
+                runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "acme");
+                fail("Exception expected");
+            } catch (FlowableObjectNotFoundException e) {
+                assertTextPresent("no processes deployed with key 'oneTaskProcess' for tenant identifier 'acme'", e.getMessage());
+            }
+
+        } finally {
+            repositoryService.deleteDeployment(originalDeploymentId, true);
+            repositoryService.deleteDeployment(revisedDeploymentId, true);
+        }
+    }
+
+    public void testIndexNotUsedForEvictedProcessDefinition() {
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(ORIGINAL_PROCESS).deploy().getId();
+        try {
+            startProcessInstanceAndAssertTaskName("original task");
+
+            processEngineConfiguration.getProcessDefinitionCache().clear();
+            startProcessInstanceAndAssertTaskName("original task");
+
+            // Clearing the index, e.g. because another node of the cluster has deployed, falls back to the query
+            processEngineConfiguration.getLatestDefinitionIndex().clear();
+            assertEquals(0, processEngineConfiguration.getLatestDefinitionIndex().size());
+            startProcessInstanceAndAssertTaskName("original task");
+            assertEquals(1, processEngineConfiguration.getLatestDefinitionIndex().size());
+
+        } finally {
+            repositoryService.deleteDeployment(deploymentId, true);
+        }
+    }
+
+    public void testOutdatedEntryExpires() throws Exception {
+        LatestDefinitionIndex latestDefinitionIndex = processEngineConfiguration.getLatestDefinitionIndex();
+        long originalTimeToLive = latestDefinitionIndex.getTimeToLive();
+        assertEquals(LatestDefinitionIndex.DEFAULT_TIME_TO_LIVE, originalTimeToLive);
+
+        String originalDeploymentId = repositoryService.createDeployment().addClasspathResource(ORIGINAL_PROCESS).deploy().getId();
+        String revisedDeploymentId = null;
+        latestDefinitionIndex.setTimeToLive(200L);
+        try {
+            startProcessInstanceAndAssertTaskName("original task");
+            String originalProcessDefinitionId = repositoryService.createProcessDefinitionQuery().deploymentId(originalDeploymentId).singleResult().getId();
+            revisedDeploymentId = repositoryService.createDeployment().addClasspathResource(REVISED_PROCESS).deploy().getId();
+
+            // A transaction reading a snapshot from before the new deployment indexes the previous version
+            latestDefinitionIndex.putLatestDefinitionId("oneTaskProcess", null, null, originalProcessDefinitionId, latestDefinitionIndex.getStamp());
+            startProcessInstanceAndAssertTaskName("original task");
+
+            Thread.sleep(300L);
+            startProcessInstanceAndAssertTaskName("revised task");
+
+        } finally {
+            latestDefinitionIndex.setTimeToLive(originalTimeToLive);
+            if (revisedDeploymentId != null) {
+                repositoryService.deleteDeployment(revisedDeploymentId, true);
+            }
+            repositoryService.deleteDeployment(originalDeploymentId, true);
+        }
+    }
+
+    protected void startProcessInstanceAndAssertTaskName(String expectedTaskName) {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals(expectedTaskName, task.getName());
+    }
+
+}
@@ -58,6 +58,7 @@ public class RetryInterceptorTest {
 
     @Test
     public void testRetryInterceptor() {
+        counter.set(0);
 
         try {
             processEngine.getManagementService().executeCommand(new CommandThrowingOptimisticLockingException());
@@ -69,6 +70,50 @@ public class RetryInterceptorTest {
         Assert.assertEquals(retryInterceptor.getNumOfRetries() + 1, counter.get()); // +1, we retry 3 times, so one extra for the regular execution
     }
 
+    @Test
+    public void testCommandTypeNumOfRetries() {
+        counter.set(0);
+        retryInterceptor.addCommandTypeNumOfRetries(CommandThrowingOptimisticLockingException.class, 1);
+
+        try {
+            processEngine.getManagementService().executeCommand(new CommandThrowingOptimisticLockingException());
+            Assert.fail("FlowableException expected.");
+        } catch (FlowableException e) {
+            Assert.assertTrue(e.getMessage().contains("1 retries failed"));
+        }
+
+        Assert.assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testWaitTime() {
+        WaitTimeRetryInterceptor interceptor = new WaitTimeRetryInterceptor();
+        interceptor.setWaitTimeInMs(50);
+        interceptor.setWaitIncreaseFactor(5);
+        interceptor.setMaxWaitTimeInMs(1000);
+
+        Assert.assertEquals(50, interceptor.getWaitTime(1, 50));
+        Assert.assertEquals(250, interceptor.getWaitTime(2, 50));
+        Assert.assertEquals(1000, interceptor.getWaitTime(3, 250));
+
+        interceptor.setDecorrelatedJitter(true);
+        long waitTime = 50;
+        for (int retry = 1; retry <= 20; retry++) {
+            long previousWaitTime = waitTime;
+            waitTime = interceptor.getWaitTime(retry, previousWaitTime);
+            Assert.assertTrue(waitTime >= 50);
+            Assert.assertTrue(waitTime <= Math.min(1000, previousWaitTime * 3));
+        }
+    }
+
+    protected static class WaitTimeRetryInterceptor extends RetryInterceptor {
+
+        @Override
+        public long getWaitTime(int retry, long previousWaitTime) {
+            return super.getWaitTime(retry, previousWaitTime);
+        }
+    }
+
     public static AtomicInteger counter = new AtomicInteger();
 
     protected class CommandThrowingOptimisticLockingException implements Command<Void> {
@@ -21,7 +21,9 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.ExecutorPerTenantAsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.multitenant.SharedAcquisitionAsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.SharedExecutorServiceAsyncExecutor;
 import org.flowable.engine.impl.cfg.multitenant.MultiSchemaMultiTenantProcessEngineConfiguration;
 import org.flowable.engine.repository.Deployment;
@@ -72,6 +74,14 @@ public class MultiTenantProcessEngineTest {
     }
 
     private void setupProcessEngine(boolean sharedExecutor) {
+        if (sharedExecutor) {
+            setupProcessEngine(new SharedExecutorServiceAsyncExecutor(tenantInfoHolder));
+        } else {
+            setupProcessEngine(new ExecutorPerTenantAsyncExecutor(tenantInfoHolder));
+        }
+    }
+
+    private void setupProcessEngine(AsyncExecutor asyncExecutor) {
         config = new MultiSchemaMultiTenantProcessEngineConfiguration(tenantInfoHolder);
 
         config.setDatabaseType(MultiSchemaMultiTenantProcessEngineConfiguration.DATABASE_TYPE_H2);
@@ -80,11 +90,7 @@ public class MultiTenantProcessEngineTest {
         config.setAsyncExecutorActivate(true);
         config.setDisableIdmEngine(true);
 
-        if (sharedExecutor) {
-            config.setAsyncExecutor(new SharedExecutorServiceAsyncExecutor(tenantInfoHolder));
-        } else {
-            config.setAsyncExecutor(new ExecutorPerTenantAsyncExecutor(tenantInfoHolder));
-        }
+        config.setAsyncExecutor(asyncExecutor);
 
         config.registerTenant("alfresco", createDataSource("jdbc:h2:mem:activiti-mt-alfresco;DB_CLOSE_DELAY=1000", "sa", ""));
         config.registerTenant("acme", createDataSource("jdbc:h2:mem:activiti-mt-acme;DB_CLOSE_DELAY=1000", "sa", ""));
@@ -105,6 +111,20 @@ public class MultiTenantProcessEngineTest {
         runProcessInstanceTest();
     }
 
+    @Test
+    public void testStartProcessInstancesWithSharedAcquisitionAsyncExecutor() throws Exception {
+        SharedAcquisitionAsyncExecutor asyncExecutor = new SharedAcquisitionAsyncExecutor(tenantInfoHolder);
+        asyncExecutor.setMaxConcurrentJobsPerTenant(2);
+        setupProcessEngine(asyncExecutor);
+        runProcessInstanceTest();
+
+        // One acquisition loop serves all tenants, including the one registered after boot
+        Assert.assertEquals(4, asyncExecutor.getTenantIds().size());
+        for (String tenantId : asyncExecutor.getTenantIds()) {
+            Assert.assertEquals(0, asyncExecutor.getTenantAcquisitionState(tenantId).getExecutingJobCount());
+        }
+    }
+
     protected void runProcessInstanceTest() throws InterruptedException {
         // Generate data
         startProcessInstances("joram");
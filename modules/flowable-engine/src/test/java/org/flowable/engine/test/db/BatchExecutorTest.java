@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.api.management.StatementMetrics;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+/**
+ * Runs processes with the MyBatis BATCH executor and the statement metrics enabled.
+ */
+public class BatchExecutorTest extends ResourceFlowableTestCase {
+
+    public BatchExecutorTest() {
+        super("org/flowable/engine/test/db/batch-executor.flowable.cfg.xml");
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testProcessWithBatchExecutor() {
+        assertEquals(ExecutorType.BATCH, processEngineConfiguration.getDbSqlSessionFactory().getExecutorType());
+
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("a", "a");
+        variables.put("b", 1);
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+        runtimeService.setVariable(processInstance.getId(), "a", "changed");
+        assertEquals("changed", runtimeService.getVariable(processInstance.getId(), "a"));
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().finished().count());
+        assertEquals(2, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count());
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testOptimisticLockingWithBatchExecutor() {
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        Task task1 = taskService.createTaskQuery().singleResult();
+        Task task2 = taskService.createTaskQuery().singleResult();
+
+        task1.setDescription("test description one");
+        taskService.saveTask(task1);
+
+        try {
+            task2.setDescription("test description two");
+            taskService.saveTask(task2);
+
+            fail("Expecting exception");
+        } catch (FlowableOptimisticLockingException e) {
+            // Expected exception
+        }
+
+        assertEquals("test description one", taskService.createTaskQuery().singleResult().getDescription());
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testStatementMetrics() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        managementService.resetStatementMetrics();
+        assertTrue(managementService.getStatementMetrics().isEmpty());
+
+        for (int i = 0; i < 3; i++) {
+            Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+            task.setDescription("description " + i);
+            taskService.saveTask(task);
+        }
+
+        Map<String, StatementMetrics> statementMetrics = managementService.getStatementMetrics();
+
+        StatementMetrics updateTaskMetrics = statementMetrics.get("org.flowable.engine.impl.persistence.entity.TaskEntityImpl.updateTask");
+        assertNotNull(updateTaskMetrics);
+        assertEquals(3, updateTaskMetrics.getExecutionCount());
+        assertEquals(3, updateTaskMetrics.getRowCount());
+        assertTrue(updateTaskMetrics.getTotalTimeInNanos() > 0);
+
+        StatementMetrics selectTaskMetrics = statementMetrics.get("org.flowable.engine.impl.persistence.entity.TaskEntityImpl.selectTaskByQueryCriteria");
+        assertNotNull(selectTaskMetrics);
+        assertEquals(3, selectTaskMetrics.getExecutionCount());
+        assertEquals(3, selectTaskMetrics.getRowCount());
+    }
+
+}
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.TaskEntity;
+import org.flowable.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+
+public class DirtyTrackingEntityTest extends PluggableFlowableTestCase {
+
+    public void testUnchangedEntitiesAreNotUpdated() {
+        deployOneTaskTestProcess();
+        final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.setVariable(processInstance.getId(), "myVar", "test");
+        final Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+        final int[] revisions = getRevisions(processInstance.getId(), task.getId());
+
+        // Setting the same values again must not cause an update
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+                execution.setName(execution.getName());
+                execution.setActive(execution.isActive());
+
+                TaskEntity taskEntity = commandContext.getTaskEntityManager().findById(task.getId());
+                taskEntity.setAssignee(taskEntity.getAssignee());
+                taskEntity.setPriority(taskEntity.getPriority());
+
+                VariableInstanceEntity variable = commandContext.getVariableInstanceEntityManager().findVariableInstanceByExecutionAndName(processInstance.getId(), "myVar");
+                variable.setTextValue("test");
+                return null;
+            }
+        });
+
+        int[] unchangedRevisions = getRevisions(processInstance.getId(), task.getId());
+        assertEquals(revisions[0], unchangedRevisions[0]);
+        assertEquals(revisions[1], unchangedRevisions[1]);
+        assertEquals(revisions[2], unchangedRevisions[2]);
+
+        // Changed values are flushed
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+                execution.setName("changed");
+
+                TaskEntity taskEntity = commandContext.getTaskEntityManager().findById(task.getId());
+                taskEntity.setPriority(taskEntity.getPriority() + 1);
+
+                VariableInstanceEntity variable = commandContext.getVariableInstanceEntityManager().findVariableInstanceByExecutionAndName(processInstance.getId(), "myVar");
+                variable.setTextValue("changed");
+                return null;
+            }
+        });
+
+        int[] changedRevisions = getRevisions(processInstance.getId(), task.getId());
+        assertEquals(revisions[0] + 1, changedRevisions[0]);
+        assertEquals(revisions[1] + 1, changedRevisions[1]);
+        assertEquals(revisions[2] + 1, changedRevisions[2]);
+
+        assertEquals("changed", runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getName());
+        assertEquals("changed", runtimeService.getVariable(processInstance.getId(), "myVar"));
+        assertEquals(task.getPriority() + 1, taskService.createTaskQuery().taskId(task.getId()).singleResult().getPriority());
+    }
+
+    protected int[] getRevisions(final String processInstanceId, final String taskId) {
+        return managementService.executeCommand(new Command<int[]>() {
+
+            @Override
+            public int[] execute(CommandContext commandContext) {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstanceId);
+                TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+                VariableInstanceEntity variable = commandContext.getVariableInstanceEntityManager().findVariableInstanceByExecutionAndName(processInstanceId, "myVar");
+                return new int[] { execution.getRevision(), task.getRevision(), variable.getRevision() };
+            }
+        });
+    }
+
+}
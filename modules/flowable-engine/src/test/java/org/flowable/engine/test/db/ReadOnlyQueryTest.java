@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.List;
+
+import org.flowable.engine.common.impl.interceptor.CommandConfig;
+import org.flowable.engine.impl.TaskQueryImpl;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.TaskEntity;
+import org.flowable.engine.impl.persistence.entity.TaskEntityImpl;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.task.Task;
+
+public class ReadOnlyQueryTest extends PluggableFlowableTestCase {
+
+    public void testReadOnlyQueryResultsAreNotCached() {
+        deployOneTaskTestProcess();
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                List<Task> tasks = new TaskQueryImpl(commandContext).readOnly().list();
+                assertEquals(2, tasks.size());
+                for (Task task : tasks) {
+                    assertNull(commandContext.getEntityCache().findInCache(TaskEntityImpl.class, task.getId()));
+
+                    // Changes to detached entities are not flushed
+                    ((TaskEntity) task).setName("changed");
+                }
+
+                tasks = new TaskQueryImpl(commandContext).list();
+                assertEquals(2, tasks.size());
+                for (Task task : tasks) {
+                    assertNotNull(commandContext.getEntityCache().findInCache(TaskEntityImpl.class, task.getId()));
+                }
+                return null;
+            }
+        });
+
+        assertEquals(0, taskService.createTaskQuery().taskName("changed").count());
+    }
+
+    public void testReadOnlyQueryReturnsCachedEntity() {
+        deployOneTaskTestProcess();
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        final String taskId = taskService.createTaskQuery().singleResult().getId();
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+                task.setName("changed");
+
+                Task readOnlyTask = new TaskQueryImpl(commandContext).taskId(taskId).readOnly().singleResult();
+                assertSame(task, readOnlyTask);
+                return null;
+            }
+        });
+
+        assertEquals("changed", taskService.createTaskQuery().taskId(taskId).singleResult().getName());
+    }
+
+    public void testReadOnlyCommandConfig() {
+        deployOneTaskTestProcess();
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        managementService.executeCommand(new CommandConfig().readOnly(), new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                assertTrue(commandContext.isReadOnly());
+                Task task = new TaskQueryImpl(commandContext).singleResult();
+                assertNotNull(task);
+                assertNull(commandContext.getEntityCache().findInCache(TaskEntityImpl.class, task.getId()));
+                return null;
+            }
+        });
+    }
+
+}
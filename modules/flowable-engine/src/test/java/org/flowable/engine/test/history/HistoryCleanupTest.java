@@ -0,0 +1,232 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.engine.test.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.interceptor.CommandConfig;
+import org.flowable.engine.impl.cmd.ScheduleHistoryCleanupJobCmd;
+import org.flowable.engine.impl.history.HistoryCleanupMetrics;
+import org.flowable.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.history.HistoryRetentionPolicy;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.jobexecutor.HistoryCleanupJobHandler;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class HistoryCleanupTest extends PluggableFlowableTestCase {
+
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getClock().reset();
+        super.tearDown();
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/history/oneTaskProcess.bpmn20.xml" })
+    public void testDeleteHistoricProcessInstancesEndedBefore() {
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+            Date start = new Date();
+            processEngineConfiguration.getClock().setCurrentTime(start);
+            List<String> endedProcessInstanceIds = new ArrayList<String>();
+            for (int i = 0; i < 3; i++) {
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.<String, Object> singletonMap("var", "value" + i));
+                Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+                taskService.addComment(task.getId(), processInstance.getId(), "comment " + i);
+                taskService.setVariableLocal(task.getId(), "localVar", i);
+                taskService.complete(task.getId());
+                endedProcessInstanceIds.add(processInstance.getId());
+            }
+            ProcessInstance runningProcessInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+            assertEquals(4, historyService.createHistoricProcessInstanceQuery().count());
+
+            // Nothing ended before the start
+            assertEquals(0, historyService.deleteHistoricProcessInstancesEndedBefore(start, null, null, 10));
+
+            Date later = new Date(start.getTime() + ONE_DAY);
+            assertEquals(0, historyService.deleteHistoricProcessInstancesEndedBefore(later, "otherProcess", null, 10));
+            assertEquals(2, historyService.deleteHistoricProcessInstancesEndedBefore(later, "oneTaskProcess", null, 2));
+            assertEquals(1, historyService.deleteHistoricProcessInstancesEndedBefore(later, "oneTaskProcess", null, 2));
+            assertEquals(0, historyService.deleteHistoricProcessInstancesEndedBefore(later, "oneTaskProcess", null, 2));
+
+            // Only the historic data of the running process instance is left
+            assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+            assertEquals(runningProcessInstance.getId(), historyService.createHistoricProcessInstanceQuery().singleResult().getId());
+            assertEquals(historyService.createHistoricActivityInstanceQuery().processInstanceId(runningProcessInstance.getId()).count(),
+                    historyService.createHistoricActivityInstanceQuery().count());
+            assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+            if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+                assertEquals(1, historyService.createHistoricTaskInstanceQuery().count());
+                assertEquals(0, historyService.createHistoricDetailQuery().count());
+                for (String processInstanceId : endedProcessInstanceIds) {
+                    assertEquals(0, taskService.getProcessInstanceComments(processInstanceId).size());
+                    assertEquals(0, historyService.getHistoricIdentityLinksForProcessInstance(processInstanceId).size());
+                }
+            }
+
+            runtimeService.deleteProcessInstance(runningProcessInstance.getId(), "testing");
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/history/HistoricProcessInstanceTest.testDeleteHistoricProcessInstanceWithCallActivity.bpmn20.xml",
+            "org/flowable/engine/test/history/HistoricProcessInstanceTest.testDeleteHistoricProcessInstanceWithCallActivity-subprocess.bpmn20.xml" })
+    public void testDeleteHistoricProcessInstancesEndedBeforeWithCallActivity() {
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("callSimpleSubProcess");
+            runtimeService.deleteProcessInstance(processInstance.getId(), "testing");
+            assertEquals(2, historyService.createHistoricProcessInstanceQuery().count());
+
+            // Only the parent is counted, the child process instance is deleted together with it
+            Date later = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + ONE_DAY);
+            assertEquals(1, historyService.deleteHistoricProcessInstancesEndedBefore(later, null, null, 10));
+            assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+            assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+        }
+    }
+
+    public void testDeleteHistoricProcessInstancesEndedBeforeInvalidArguments() {
+        try {
+            historyService.deleteHistoricProcessInstancesEndedBefore(null, null, null, 10);
+            fail();
+        } catch (FlowableIllegalArgumentException e) {
+            // expected
+        }
+
+        try {
+            historyService.deleteHistoricProcessInstancesEndedBefore(new Date(), null, null, 1001);
+            fail();
+        } catch (FlowableIllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/history/oneTaskProcess.bpmn20.xml" })
+    public void testHistoryCleanupJob() {
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+            List<HistoryRetentionPolicy> originalPolicies = processEngineConfiguration.getHistoryRetentionPolicies();
+            int originalBatchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+            boolean originalEnableHistoryCleanup = processEngineConfiguration.isEnableHistoryCleanup();
+            processEngineConfiguration.setEnableHistoryCleanup(true);
+            HistoryRetentionPolicy policy = new HistoryRetentionPolicy("oneTaskProcess", null, 30);
+            processEngineConfiguration.setHistoryRetentionPolicies(Collections.singletonList(policy));
+            processEngineConfiguration.setHistoryCleanupBatchSize(2);
+            HistoryCleanupMetrics metrics = processEngineConfiguration.getHistoryCleanupMetrics();
+            metrics.reset();
+
+            try {
+                Date start = new Date();
+                processEngineConfiguration.getClock().setCurrentTime(start);
+                for (int i = 0; i < 3; i++) {
+                    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+                    taskService.complete(taskService.createTaskQuery().list().get(0).getId());
+                }
+
+                managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+                managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+                assertEquals(1, managementService.createTimerJobQuery().count());
+
+                // Retention period not passed yet: nothing is deleted and the next run is scheduled after the interval
+                Job job = executeHistoryCleanupJob();
+                assertEquals(3, historyService.createHistoricProcessInstanceQuery().count());
+                assertEquals(processEngineConfiguration.getClock().getCurrentTime().getTime() + processEngineConfiguration.getHistoryCleanupIntervalInMillis(),
+                        job.getDuedate().getTime());
+
+                // A full batch is deleted, the next run comes after the batch pause
+                processEngineConfiguration.getClock().setCurrentTime(new Date(start.getTime() + 31 * ONE_DAY));
+                job = executeHistoryCleanupJob();
+                assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+                assertEquals(processEngineConfiguration.getClock().getCurrentTime().getTime() + processEngineConfiguration.getHistoryCleanupBatchPauseInMillis(),
+                        job.getDuedate().getTime());
+
+                job = executeHistoryCleanupJob();
+                assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+                assertEquals(3, metrics.getRunCount());
+                assertEquals(3, metrics.getDeletedProcessInstanceCount());
+                assertEquals(Long.valueOf(3), metrics.getDeletedProcessInstanceCountPerPolicy().get(policy.toString()));
+
+                managementService.deleteTimerJob(job.getId());
+
+            } finally {
+                processEngineConfiguration.setHistoryRetentionPolicies(originalPolicies);
+                processEngineConfiguration.setHistoryCleanupBatchSize(originalBatchSize);
+                processEngineConfiguration.setEnableHistoryCleanup(originalEnableHistoryCleanup);
+                metrics.reset();
+            }
+        }
+    }
+
+    public void testHistoryCleanupJobNotRescheduledWhenDisabled() {
+        boolean originalEnableHistoryCleanup = processEngineConfiguration.isEnableHistoryCleanup();
+        processEngineConfiguration.setEnableHistoryCleanup(true);
+        try {
+            managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+            assertEquals(1, managementService.createTimerJobQuery().count());
+
+            processEngineConfiguration.setEnableHistoryCleanup(false);
+            assertNull(executeHistoryCleanupJob());
+            assertEquals(0, managementService.createJobQuery().count());
+
+        } finally {
+            processEngineConfiguration.setEnableHistoryCleanup(originalEnableHistoryCleanup);
+        }
+    }
+
+    public void testHistoryCleanupJobScheduledOnceByConcurrentEngines() {
+        // Creates the lock property
+        managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+        managementService.deleteTimerJob(managementService.createTimerJobQuery().singleResult().getId());
+
+        try {
+            managementService.executeCommand(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    new ScheduleHistoryCleanupJobCmd().execute(commandContext);
+
+                    // Another engine schedules the job before this transaction is committed
+                    processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), new ScheduleHistoryCleanupJobCmd());
+                    return null;
+                }
+            });
+            fail("Expected exception");
+        } catch (FlowableOptimisticLockingException e) {
+            // expected
+        }
+
+        Job job = managementService.createTimerJobQuery().singleResult();
+        assertEquals(HistoryCleanupJobHandler.TYPE, job.getJobHandlerType());
+        managementService.deleteTimerJob(job.getId());
+    }
+
+    protected Job executeHistoryCleanupJob() {
+        Job timerJob = managementService.createTimerJobQuery().singleResult();
+        assertEquals(HistoryCleanupJobHandler.TYPE, timerJob.getJobHandlerType());
+        Job job = managementService.moveTimerToExecutableJob(timerJob.getId());
+        managementService.executeJob(job.getId());
+        return managementService.createTimerJobQuery().singleResult();
+    }
+
+}
@@ -0,0 +1,201 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.asyncexecutor.ContendedJobQueue;
+import org.flowable.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.persistence.entity.JobEntityImpl;
+import org.flowable.engine.runtime.Job;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ContendedJobQueue} of the {@link DefaultAsyncJobExecutor}.
+ */
+public class ContendedJobQueueTest {
+
+    protected List<Job> executedJobs = new ArrayList<Job>();
+    protected List<Job> unacquiredJobs = new ArrayList<Job>();
+    protected ContendedJobQueue contendedJobQueue;
+
+    protected ProcessEngine processEngine;
+
+    @Before
+    public void createContendedJobQueue() {
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor() {
+
+            @Override
+            protected boolean executeAsyncJob(Job job, Runnable runnable) {
+                executedJobs.add(job);
+                return true;
+            }
+
+            @Override
+            protected void unacquireJob(Job job) {
+                unacquiredJobs.add(job);
+            }
+        };
+        contendedJobQueue = new ContendedJobQueue(asyncExecutor);
+    }
+
+    @After
+    public void cleanup() {
+        if (processEngine != null) {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    @Test
+    public void testJobWaitsForRunningJobsOfSameProcessInstance() {
+        Job job1 = createJob("job1", "processInstance1");
+        Job job2 = createJob("job2", "processInstance1");
+        Job job3 = createJob("job3", "processInstance1");
+        Job otherJob = createJob("otherJob", "processInstance2");
+
+        contendedJobQueue.jobStarted(job1);
+        contendedJobQueue.jobStarted(job2);
+        contendedJobQueue.jobStarted(job3);
+        contendedJobQueue.jobStarted(otherJob);
+
+        // job1 and job2 conflict while job3 is still running
+        contendedJobQueue.jobEnded(job1, createRunnable(job1));
+        contendedJobQueue.jobEnded(job2, createRunnable(job2));
+        contendedJobQueue.jobEnded(otherJob, null);
+        Assert.assertTrue(executedJobs.isEmpty());
+        Assert.assertEquals(2, contendedJobQueue.getWaitingJobCount());
+
+        // Only the first waiting job is released when job3 has finished
+        contendedJobQueue.jobEnded(job3, null);
+        Assert.assertEquals(1, executedJobs.size());
+        Assert.assertSame(job1, executedJobs.get(0));
+
+        // The next one is released when job1 has been executed again
+        contendedJobQueue.jobStarted(job1);
+        contendedJobQueue.jobEnded(job1, null);
+        Assert.assertEquals(2, executedJobs.size());
+        Assert.assertSame(job2, executedJobs.get(1));
+        Assert.assertEquals(0, contendedJobQueue.getWaitingJobCount());
+    }
+
+    @Test
+    public void testJobExecutedAgainWhenNoOtherJobIsRunning() {
+        Job job = createJob("job", "processInstance");
+
+        contendedJobQueue.jobStarted(job);
+        contendedJobQueue.jobEnded(job, createRunnable(job));
+
+        Assert.assertEquals(1, executedJobs.size());
+        Assert.assertSame(job, executedJobs.get(0));
+        Assert.assertEquals(0, contendedJobQueue.getWaitingJobCount());
+    }
+
+    @Test
+    public void testCanRequeue() {
+        contendedJobQueue.setMaxRequeues(2);
+        Job job = createJob("job", "processInstance");
+
+        Assert.assertTrue(contendedJobQueue.canRequeue(job, 0));
+        Assert.assertTrue(contendedJobQueue.canRequeue(job, 1));
+        Assert.assertFalse(contendedJobQueue.canRequeue(job, 2));
+        Assert.assertFalse(contendedJobQueue.canRequeue(createJob("jobWithoutProcessInstance", null), 0));
+
+        contendedJobQueue.shutdown();
+        Assert.assertFalse(contendedJobQueue.canRequeue(job, 0));
+    }
+
+    @Test
+    public void testWaitingJobsUnacquiredOnShutdown() {
+        Job job1 = createJob("job1", "processInstance");
+        Job job2 = createJob("job2", "processInstance");
+
+        contendedJobQueue.jobStarted(job1);
+        contendedJobQueue.jobStarted(job2);
+        contendedJobQueue.jobEnded(job1, createRunnable(job1));
+
+        contendedJobQueue.shutdown();
+        Assert.assertEquals(1, unacquiredJobs.size());
+        Assert.assertSame(job1, unacquiredJobs.get(0));
+
+        // A job that conflicts after the shutdown is unacquired as well
+        contendedJobQueue.jobEnded(job2, createRunnable(job2));
+        Assert.assertEquals(2, unacquiredJobs.size());
+        Assert.assertTrue(executedJobs.isEmpty());
+    }
+
+    @Test
+    public void testParallelJoinWithoutFailedJobs() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-ContendedJobQueueTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(true);
+
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+        asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(100);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(10);
+        asyncExecutor.setCorePoolSize(5);
+        asyncExecutor.setContendedJobRequeueEnabled(true);
+        asyncExecutor.setContendedJobMaxRequeues(10);
+        processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+
+        processEngine = processEngineConfiguration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/engine/test/jobexecutor/ContendedJobQueueTest.bpmn20.xml")
+                .deploy();
+
+        int nrOfProcessInstances = 5;
+        for (int i = 0; i < nrOfProcessInstances; i++) {
+            processEngine.getRuntimeService().startProcessInstanceByKey("contendedJoin");
+        }
+
+        long endTime = System.currentTimeMillis() + 20000L;
+        while (processEngine.getTaskService().createTaskQuery().taskName("Task after join").count() < nrOfProcessInstances) {
+            if (System.currentTimeMillis() > endTime) {
+                Assert.fail("Expected " + nrOfProcessInstances + " tasks after the join");
+            }
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // The jobs that conflicted on the join were executed again without being handled as failed jobs
+        Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+        Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+        Assert.assertEquals(0, processEngine.getManagementService().createDeadLetterJobQuery().count());
+    }
+
+    protected Job createJob(String id, String processInstanceId) {
+        JobEntityImpl job = new JobEntityImpl();
+        job.setId(id);
+        job.setProcessInstanceId(processInstanceId);
+        return job;
+    }
+
+    protected ExecuteAsyncRunnable createRunnable(Job job) {
+        return new ExecuteAsyncRunnable(job, null);
+    }
+
+}
@@ -0,0 +1,223 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.engine.impl.asyncexecutor.TimerJobWheel;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the {@link TimerJobWheel} of the {@link DefaultAsyncJobExecutor}.
+ */
+public class TimerJobWheelTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerJobWheelTest.class);
+
+    protected ProcessEngine processEngine;
+    protected CountingAsyncExecutor asyncExecutor;
+
+    @After
+    public void cleanup() {
+        if (processEngine != null) {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    @Test
+    public void testTimersFiredByWheel() {
+        createProcessEngine(true);
+
+        int nrOfProcessInstances = 20;
+        for (int i = 0; i < nrOfProcessInstances; i++) {
+            processEngine.getRuntimeService().startProcessInstanceByKey("timerJobWheel");
+        }
+
+        // The timers are due within the horizon, so they are locked when created
+        for (Job timerJob : processEngine.getManagementService().createTimerJobQuery().list()) {
+            Assert.assertEquals(asyncExecutor.getLockOwner(), getLockOwner(timerJob));
+        }
+
+        waitForTaskCount("Task after timer", nrOfProcessInstances, 10000L);
+
+        TimerJobWheel timerJobWheel = asyncExecutor.getTimerJobWheel();
+        Assert.assertEquals(nrOfProcessInstances, timerJobWheel.getFiredTimerJobCount());
+        Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+        Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+
+        // The timers were executed directly, not through an async job
+        Assert.assertEquals(0, asyncExecutor.getCounter().get());
+
+        logger.info("Fired {} timers, average lateness {} ms, max lateness {} ms", timerJobWheel.getFiredTimerJobCount(),
+                timerJobWheel.getTotalLatenessInMillis() / timerJobWheel.getFiredTimerJobCount(), timerJobWheel.getMaxLatenessInMillis());
+        Assert.assertTrue(timerJobWheel.getMaxLatenessInMillis() < 2000L);
+    }
+
+    @Test
+    public void testTimerDeletedBeforeDue() throws Exception {
+        createProcessEngine(true);
+
+        ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("timerJobWheel");
+        Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        processEngine.getTaskService().complete(task.getId());
+        Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+
+        // The timer is still fired by the wheel, but it doesn't exist anymore
+        waitForFiredTimerJobCount(1, 10000L);
+        Assert.assertEquals(0, processEngine.getTaskService().createTaskQuery().count());
+        Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+        Assert.assertEquals(0, processEngine.getHistoryService().createHistoricTaskInstanceQuery().taskName("Task after timer").count());
+    }
+
+    @Test
+    public void testTimersAcquiredIntoWheel() {
+        createProcessEngine(false);
+
+        int nrOfProcessInstances = 5;
+        for (int i = 0; i < nrOfProcessInstances; i++) {
+            processEngine.getRuntimeService().startProcessInstanceByKey("timerJobWheel");
+        }
+
+        // Timers created while the async executor is not active are not locked
+        for (Job timerJob : processEngine.getManagementService().createTimerJobQuery().list()) {
+            Assert.assertNull(getLockOwner(timerJob));
+        }
+
+        asyncExecutor.start();
+        waitForTaskCount("Task after timer", nrOfProcessInstances, 10000L);
+
+        Assert.assertEquals(nrOfProcessInstances, asyncExecutor.getTimerJobWheel().getFiredTimerJobCount());
+        Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+        Assert.assertEquals(0, asyncExecutor.getCounter().get());
+    }
+
+    @Test
+    public void testTimerWithExpiredLockAcquiredAgain() {
+        createProcessEngine(false, false);
+
+        ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("timerJobWheel");
+        final Job timerJob = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+
+        // A node that locked the timer, e.g. into its wheel, went down before the timer was fired
+        final Date lockExpirationTime = new Date(processEngine.getProcessEngineConfiguration().getClock().getCurrentTime().getTime() - 1000L);
+        processEngine.getManagementService().executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                TimerJobEntity timerJobEntity = commandContext.getTimerJobEntityManager().findById(timerJob.getId());
+                timerJobEntity.setLockOwner("crashedNode");
+                timerJobEntity.setLockExpirationTime(lockExpirationTime);
+                return null;
+            }
+        });
+
+        asyncExecutor.start();
+        waitForTaskCount("Task after timer", 1, 10000L);
+        Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+    }
+
+    // Helpers ////////////////////////////////////////////////////////
+
+    protected void createProcessEngine(boolean activateAsyncExecutor) {
+        createProcessEngine(activateAsyncExecutor, true);
+    }
+
+    protected void createProcessEngine(boolean activateAsyncExecutor, boolean timerJobWheelEnabled) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-TimerJobWheelTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorActivate(activateAsyncExecutor);
+
+        asyncExecutor = new CountingAsyncExecutor();
+        asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(100);
+        asyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(100);
+        asyncExecutor.setTimerJobWheelEnabled(timerJobWheelEnabled);
+        asyncExecutor.setTimerJobWheelTickDurationInMillis(10);
+        processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+
+        processEngine = processEngineConfiguration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/engine/test/jobexecutor/TimerJobWheelTest.bpmn20.xml")
+                .deploy();
+    }
+
+    protected String getLockOwner(Job timerJob) {
+        return ((TimerJobEntity) timerJob).getLockOwner();
+    }
+
+    protected void waitForTaskCount(String taskName, long expectedCount, long maxWaitTime) {
+        long endTime = System.currentTimeMillis() + maxWaitTime;
+        while (processEngine.getTaskService().createTaskQuery().taskName(taskName).count() < expectedCount) {
+            if (System.currentTimeMillis() > endTime) {
+                Assert.fail("Expected " + expectedCount + " tasks '" + taskName + "' within " + maxWaitTime + " ms");
+            }
+            sleep(50L);
+        }
+    }
+
+    protected void waitForFiredTimerJobCount(long expectedCount, long maxWaitTime) {
+        long endTime = System.currentTimeMillis() + maxWaitTime;
+        while (asyncExecutor.getTimerJobWheel().getFiredTimerJobCount() < expectedCount) {
+            if (System.currentTimeMillis() > endTime) {
+                Assert.fail("Expected " + expectedCount + " fired timers within " + maxWaitTime + " ms");
+            }
+            sleep(50L);
+        }
+
+        // Give the fired timer some time to be executed
+        sleep(500L);
+    }
+
+    protected void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class CountingAsyncExecutor extends DefaultAsyncJobExecutor {
+
+        private AtomicInteger counter = new AtomicInteger(0);
+
+        @Override
+        public boolean executeAsyncJob(Job job) {
+            counter.incrementAndGet();
+            return super.executeAsyncJob(job);
+        }
+
+        public AtomicInteger getCounter() {
+            return counter;
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.json;
+
+import org.flowable.engine.common.impl.util.CollectionUtil;
+import org.flowable.engine.history.HistoricVariableInstance;
+import org.flowable.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.interceptor.Command;
+import org.flowable.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.variable.StructuredJsonType;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class StructuredJsonTypeTest extends ResourceFlowableTestCase {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    public StructuredJsonTypeTest() {
+        super("org/flowable/engine/test/json/StructuredJsonTypeTest.flowable.cfg.xml");
+    }
+
+    @Deployment
+    public void testJsonExpression() {
+        ObjectNode payload = createPayload(1000);
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("structuredJsonProcess", CollectionUtil.singletonMap("payload", payload));
+
+        assertEquals("kermit", runtimeService.getVariable(processInstance.getId(), "customerName"));
+        assertEquals(StructuredJsonType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "payload").getTypeName());
+
+        ObjectNode value = (ObjectNode) runtimeService.getVariable(processInstance.getId(), "payload");
+        assertEquals(payload, value);
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+            HistoricVariableInstance historicVariableInstance = historyService.createHistoricVariableInstanceQuery()
+                    .processInstanceId(processInstance.getId()).variableName("payload").singleResult();
+            assertEquals(payload, historicVariableInstance.getValue());
+        }
+
+        runtimeService.removeVariable(processInstance.getId(), "payload");
+        assertNull(runtimeService.getVariable(processInstance.getId(), "payload"));
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/json/StructuredJsonTypeTest.testJsonExpression.bpmn20.xml")
+    public void testChangesToCachedTreeAreStored() {
+        final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("structuredJsonProcess", CollectionUtil.singletonMap("payload", createPayload(10)));
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+
+                // The tree is parsed once and cached for the rest of the command
+                ObjectNode payload = (ObjectNode) execution.getVariable("payload");
+                assertSame(payload, execution.getVariable("payload"));
+
+                ((ObjectNode) payload.get("customer")).put("name", "gonzo");
+                return null;
+            }
+        });
+
+        ObjectNode value = (ObjectNode) runtimeService.getVariable(processInstance.getId(), "payload");
+        assertEquals("gonzo", value.get("customer").get("name").asText());
+    }
+
+    protected ObjectNode createPayload(int nrOfItems) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        ObjectNode customer = payload.putObject("customer");
+        customer.put("id", 123);
+        customer.put("name", "kermit");
+
+        ArrayNode items = payload.putArray("items");
+        for (int i = 0; i < nrOfItems; i++) {
+            ObjectNode item = items.addObject();
+            item.put("index", i);
+            item.put("description", "Item number " + i);
+        }
+        return payload;
+    }
+
+}
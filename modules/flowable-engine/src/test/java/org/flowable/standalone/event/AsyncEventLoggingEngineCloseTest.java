@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.event;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.TaskService;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.event.logger.AsyncEventLogEntryWriter;
+import org.flowable.engine.task.Task;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test to verify the event log entries that are still queued when the engine is closed are written before the schema is dropped.
+ */
+public class AsyncEventLoggingEngineCloseTest {
+
+    @Test
+    public void testQueuedEntriesWrittenOnClose() {
+
+        // A writer that only starts writing once it's being shut down, so all entries are still queued when the engine is closed
+        AsyncEventLogEntryWriter asyncEventLogEntryWriter = new AsyncEventLogEntryWriter() {
+
+            @Override
+            protected void processQueuedItems() {
+                while (active) {
+                    try {
+                        Thread.sleep(10L);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                super.processQueuedItems();
+            }
+        };
+
+        ProcessEngine processEngine = new StandaloneInMemProcessEngineConfiguration()
+                .setEngineName(this.getClass().getName())
+                .setJdbcUrl("jdbc:h2:mem:flowable-async-event-logging-close")
+                .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+                .setEnableDatabaseEventLogging(true)
+                .setAsyncDatabaseEventLogging(true)
+                .setAsyncEventLogEntryWriter(asyncEventLogEntryWriter)
+                .buildProcessEngine();
+
+        TaskService taskService = processEngine.getTaskService();
+        Task task = taskService.newTask();
+        task.setAssignee("kermit");
+        taskService.saveTask(task);
+        taskService.complete(task.getId());
+
+        int queuedEntryCount = asyncEventLogEntryWriter.getQueuedEntryCount();
+        Assert.assertTrue(queuedEntryCount > 0);
+
+        processEngine.close();
+
+        Assert.assertFalse(asyncEventLogEntryWriter.isActive());
+        Assert.assertEquals(0, asyncEventLogEntryWriter.getQueuedEntryCount());
+        Assert.assertEquals(0, asyncEventLogEntryWriter.getFailedCount());
+        Assert.assertEquals(queuedEntryCount, asyncEventLogEntryWriter.getWrittenCount());
+    }
+
+}
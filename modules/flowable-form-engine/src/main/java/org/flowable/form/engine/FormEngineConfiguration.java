@@ -32,6 +32,7 @@ import org.flowable.engine.common.impl.cfg.BeansConfigurationHelper;
 import org.flowable.engine.common.impl.cfg.TransactionContextFactory;
 import org.flowable.engine.common.impl.interceptor.CommandConfig;
 import org.flowable.engine.common.impl.interceptor.SessionFactory;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
 import org.flowable.engine.common.runtime.Clock;
 import org.flowable.form.api.FormManagementService;
 import org.flowable.form.api.FormRepositoryService;
@@ -170,6 +171,17 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration {
     protected int formDefinitionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<FormDefinitionCacheEntry> formDefinitionCache;
 
+    /**
+     * When enabled, the id of the latest form definition version per key, tenant and parent deployment is kept in memory, so getting a form model by key doesn't need to query the latest version.
+     *
+     * The index is only guaranteed to be current with the READ COMMITTED isolation level on a single node. With REPEATABLE READ, a transaction that started before a deployment was committed can
+     * still find and index the previous version, and deployments done by other engines sharing the same database are not seen by the index. The entries therefore expire after
+     * latestDefinitionIndexTimeToLive milliseconds, which bounds how long such an outdated version is used. A zero or negative time to live is only safe with READ COMMITTED on a single node.
+     */
+    protected boolean enableLatestDefinitionIndex;
+    protected long latestDefinitionIndexTimeToLive = LatestDefinitionIndex.DEFAULT_TIME_TO_LIVE;
+    protected LatestDefinitionIndex latestDefinitionIndex;
+
     public static FormEngineConfiguration createFormEngineConfigurationFromResourceDefault() {
         return createFormEngineConfigurationFromResource("flowable.form.cfg.xml", "formEngineConfiguration");
     }
@@ -460,8 +472,13 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration {
             }
         }
 
+        if (latestDefinitionIndex == null && enableLatestDefinitionIndex) {
+            latestDefinitionIndex = new LatestDefinitionIndex(latestDefinitionIndexTimeToLive);
+        }
+
         deploymentManager = new DeploymentManager(formDefinitionCache, this);
         deploymentManager.setDeployers(deployers);
+        deploymentManager.setLatestDefinitionIndex(latestDefinitionIndex);
         deploymentManager.setDeploymentEntityManager(deploymentEntityManager);
         deploymentManager.setFormDefinitionEntityManager(formDefinitionEntityManager);
     }
@@ -746,6 +763,33 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isEnableLatestDefinitionIndex() {
+        return enableLatestDefinitionIndex;
+    }
+
+    public FormEngineConfiguration setEnableLatestDefinitionIndex(boolean enableLatestDefinitionIndex) {
+        this.enableLatestDefinitionIndex = enableLatestDefinitionIndex;
+        return this;
+    }
+
+    public long getLatestDefinitionIndexTimeToLive() {
+        return latestDefinitionIndexTimeToLive;
+    }
+
+    public FormEngineConfiguration setLatestDefinitionIndexTimeToLive(long latestDefinitionIndexTimeToLive) {
+        this.latestDefinitionIndexTimeToLive = latestDefinitionIndexTimeToLive;
+        return this;
+    }
+
+    public LatestDefinitionIndex getLatestDefinitionIndex() {
+        return latestDefinitionIndex;
+    }
+
+    public FormEngineConfiguration setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+        this.latestDefinitionIndex = latestDefinitionIndex;
+        return this;
+    }
+
     public FormDeploymentDataManager getDeploymentDataManager() {
         return deploymentDataManager;
     }
@@ -51,6 +51,9 @@ public class SetDeploymentTenantIdCmd implements Command<Void>, Serializable {
             throw new FlowableObjectNotFoundException("Could not find deployment with id " + deploymentId);
         }
 
+        // The latest form definitions per tenant change
+        commandContext.getFormEngineConfiguration().getDeploymentManager().startLatestDefinitionIndexChange();
+
         deployment.setTenantId(newTenantId);
 
         commandContext.getFormDefinitionEntityManager().updateFormDefinitionTenantIdForDeployment(deploymentId, newTenantId);
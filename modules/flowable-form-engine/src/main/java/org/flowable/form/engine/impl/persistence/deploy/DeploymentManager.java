@@ -16,9 +16,16 @@ import java.util.List;
 
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex;
+import org.flowable.engine.common.impl.persistence.deploy.LatestDefinitionIndex.DeploymentChange;
 import org.flowable.form.api.FormDefinition;
 import org.flowable.form.engine.FormEngineConfiguration;
 import org.flowable.form.engine.impl.FormDefinitionQueryImpl;
+import org.flowable.form.engine.impl.cfg.TransactionContext;
+import org.flowable.form.engine.impl.cfg.TransactionListener;
+import org.flowable.form.engine.impl.context.Context;
+import org.flowable.form.engine.impl.interceptor.CommandContext;
 import org.flowable.form.engine.impl.persistence.entity.FormDefinitionEntity;
 import org.flowable.form.engine.impl.persistence.entity.FormDefinitionEntityManager;
 import org.flowable.form.engine.impl.persistence.entity.FormDeploymentEntity;
@@ -33,6 +40,7 @@ public class DeploymentManager {
 
     protected FormEngineConfiguration engineConfig;
     protected DeploymentCache<FormDefinitionCacheEntry> formCache;
+    protected LatestDefinitionIndex latestDefinitionIndex;
 
     protected List<Deployer> deployers;
     protected FormDefinitionEntityManager formDefinitionEntityManager;
@@ -44,6 +52,10 @@ public class DeploymentManager {
     }
 
     public void deploy(FormDeploymentEntity deployment) {
+        if (deployment.isNew()) {
+            startLatestDefinitionIndexChange();
+        }
+
         for (Deployer deployer : deployers) {
             deployer.deploy(deployment);
         }
@@ -69,26 +81,46 @@ public class DeploymentManager {
     }
 
     public FormDefinitionEntity findDeployedLatestFormDefinitionByKey(String formDefinitionKey) {
+        FormDefinitionEntity indexedFormDefinition = findIndexedLatestFormDefinition(formDefinitionKey, null, null);
+        if (indexedFormDefinition != null) {
+            return indexedFormDefinition;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         FormDefinitionEntity formDefinition = formDefinitionEntityManager.findLatestFormDefinitionByKey(formDefinitionKey);
 
         if (formDefinition == null) {
             throw new FlowableObjectNotFoundException("no form definitions deployed with key '" + formDefinitionKey + "'");
         }
         formDefinition = resolveFormDefinition(formDefinition).getFormDefinitionEntity();
+        indexLatestFormDefinition(formDefinitionKey, null, null, formDefinition, indexStamp);
         return formDefinition;
     }
 
     public FormDefinitionEntity findDeployedLatestFormDefinitionByKeyAndTenantId(String formDefinitionKey, String tenantId) {
+        FormDefinitionEntity indexedFormDefinition = findIndexedLatestFormDefinition(formDefinitionKey, tenantId, null);
+        if (indexedFormDefinition != null) {
+            return indexedFormDefinition;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         FormDefinitionEntity formDefinition = formDefinitionEntityManager.findLatestFormDefinitionByKeyAndTenantId(formDefinitionKey, tenantId);
 
         if (formDefinition == null) {
             throw new FlowableObjectNotFoundException("no form definitions deployed with key '" + formDefinitionKey + "' for tenant identifier '" + tenantId + "'");
         }
         formDefinition = resolveFormDefinition(formDefinition).getFormDefinitionEntity();
+        indexLatestFormDefinition(formDefinitionKey, tenantId, null, formDefinition, indexStamp);
         return formDefinition;
     }
 
     public FormDefinitionEntity findDeployedLatestFormDefinitionByKeyAndParentDeploymentId(String formDefinitionKey, String parentDeploymentId) {
+        FormDefinitionEntity indexedFormDefinition = findIndexedLatestFormDefinition(formDefinitionKey, null, parentDeploymentId);
+        if (indexedFormDefinition != null) {
+            return indexedFormDefinition;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         FormDefinitionEntity formDefinition = formDefinitionEntityManager.findLatestFormDefinitionByKeyAndParentDeploymentId(formDefinitionKey, parentDeploymentId);
 
         if (formDefinition == null) {
@@ -96,10 +128,17 @@ public class DeploymentManager {
                     "' for parent deployment id '" + parentDeploymentId + "'");
         }
         formDefinition = resolveFormDefinition(formDefinition).getFormDefinitionEntity();
+        indexLatestFormDefinition(formDefinitionKey, null, parentDeploymentId, formDefinition, indexStamp);
         return formDefinition;
     }
 
     public FormDefinitionEntity findDeployedLatestFormDefinitionByKeyParentDeploymentIdAndTenantId(String formDefinitionKey, String parentDeploymentId, String tenantId) {
+        FormDefinitionEntity indexedFormDefinition = findIndexedLatestFormDefinition(formDefinitionKey, tenantId, parentDeploymentId);
+        if (indexedFormDefinition != null) {
+            return indexedFormDefinition;
+        }
+
+        long indexStamp = latestDefinitionIndex != null ? latestDefinitionIndex.getStamp() : 0L;
         FormDefinitionEntity formDefinition = formDefinitionEntityManager.findLatestFormDefinitionByKeyParentDeploymentIdAndTenantId(formDefinitionKey, parentDeploymentId, tenantId);
 
         if (formDefinition == null) {
@@ -107,9 +146,60 @@ public class DeploymentManager {
                     "' for parent deployment id '" + parentDeploymentId + "' and tenant identifier '" + tenantId + "'");
         }
         formDefinition = resolveFormDefinition(formDefinition).getFormDefinitionEntity();
+        indexLatestFormDefinition(formDefinitionKey, tenantId, parentDeploymentId, formDefinition, indexStamp);
         return formDefinition;
     }
 
+    /**
+     * Returns the latest form definition from the {@link LatestDefinitionIndex}, or null if the 'latest version' query needs to be executed. Only form definitions that are still in the form cache
+     * are returned this way.
+     */
+    protected FormDefinitionEntity findIndexedLatestFormDefinition(String formDefinitionKey, String tenantId, String parentDeploymentId) {
+        if (latestDefinitionIndex == null) {
+            return null;
+        }
+
+        String formDefinitionId = latestDefinitionIndex.getLatestDefinitionId(formDefinitionKey, tenantId, parentDeploymentId);
+        if (formDefinitionId != null) {
+            FormDefinitionCacheEntry cacheEntry = formCache.get(formDefinitionId);
+            if (cacheEntry != null) {
+                return cacheEntry.getFormDefinitionEntity();
+            }
+        }
+        return null;
+    }
+
+    protected void indexLatestFormDefinition(String formDefinitionKey, String tenantId, String parentDeploymentId, FormDefinitionEntity formDefinition, long indexStamp) {
+        if (latestDefinitionIndex != null) {
+            latestDefinitionIndex.putLatestDefinitionId(formDefinitionKey, tenantId, parentDeploymentId, formDefinition.getId(), indexStamp);
+        }
+    }
+
+    /**
+     * Disables the {@link LatestDefinitionIndex} until the current transaction has been committed or rolled back. Needs to be called by any command that deploys or deletes form definitions, or
+     * changes their key, version or tenant id.
+     */
+    public void startLatestDefinitionIndexChange() {
+        if (latestDefinitionIndex == null) {
+            return;
+        }
+
+        final DeploymentChange deploymentChange = latestDefinitionIndex.startDeploymentChange();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            TransactionListener endDeploymentChangeListener = new TransactionListener() {
+                public void execute(CommandContext commandContext) {
+                    deploymentChange.end();
+                }
+            };
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, endDeploymentChangeListener);
+            transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, endDeploymentChangeListener);
+
+        } else {
+            Context.getCommandContext().addCloseListener(deploymentChange);
+        }
+    }
+
     public FormDefinitionEntity findDeployedFormDefinitionByKeyAndVersionAndTenantId(String formDefinitionKey, int formVersion, String tenantId) {
         FormDefinitionEntity formDefinition = formDefinitionEntityManager.findFormDefinitionByKeyAndVersionAndTenantId(formDefinitionKey, formVersion, tenantId);
 
@@ -155,6 +245,8 @@ public class DeploymentManager {
             throw new FlowableObjectNotFoundException("Could not find a deployment with id '" + deploymentId + "'.");
         }
 
+        startLatestDefinitionIndexChange();
+
         // Remove any process definition from the cache
         List<FormDefinition> forms = new FormDefinitionQueryImpl().deploymentId(deploymentId).list();
 
@@ -182,6 +274,14 @@ public class DeploymentManager {
         this.formCache = formCache;
     }
 
+    public LatestDefinitionIndex getLatestDefinitionIndex() {
+        return latestDefinitionIndex;
+    }
+
+    public void setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+        this.latestDefinitionIndex = latestDefinitionIndex;
+    }
+
     public FormDefinitionEntityManager getFormDefinitionEntityManager() {
         return formDefinitionEntityManager;
     }
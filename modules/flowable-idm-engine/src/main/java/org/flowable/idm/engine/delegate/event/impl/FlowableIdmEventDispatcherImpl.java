@@ -54,6 +54,11 @@ public class FlowableIdmEventDispatcherImpl implements FlowableEventDispatcher {
         eventSupport.removeEventListener(listenerToRemove);
     }
 
+    @Override
+    public boolean hasListeners(FlowableEventType type) {
+        return enabled && eventSupport.hasListeners(type);
+    }
+
     @Override
     public void dispatchEvent(FlowableEvent event) {
         if (enabled) {
@@ -74,6 +74,14 @@ public class FlowableIdmEventSupport {
         }
     }
 
+    public boolean hasListeners(FlowableEventType type) {
+        if (!eventListeners.isEmpty()) {
+            return true;
+        }
+        List<FlowableEventListener> typed = typedListeners.get(type);
+        return typed != null && !typed.isEmpty();
+    }
+
     public void dispatchEvent(FlowableEvent event) {
         if (event == null) {
             throw new FlowableIllegalArgumentException("Event cannot be null.");
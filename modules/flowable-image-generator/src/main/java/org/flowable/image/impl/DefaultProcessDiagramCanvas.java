@@ -132,6 +132,8 @@ public class DefaultProcessDiagramCanvas {
     protected static BufferedImage MESSAGE_CATCH_IMAGE;
     protected static BufferedImage SIGNAL_CATCH_IMAGE;
     protected static BufferedImage SIGNAL_THROW_IMAGE;
+    protected static boolean iconsInitialized;
+    protected static ClassLoader iconsClassLoader;
 
     protected int canvasWidth = -1;
     protected int canvasHeight = -1;
@@ -194,6 +196,16 @@ public class DefaultProcessDiagramCanvas {
         initialize(imageType);
     }
 
+    /**
+     * Creates a canvas with a copy of the given image, so more can be drawn on top of an already rendered diagram without changing it.
+     */
+    public DefaultProcessDiagramCanvas(BufferedImage image, int minX, int minY, String imageType,
+            String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader) {
+
+        this(image.getWidth(), image.getHeight(), minX, minY, imageType, activityFontName, labelFontName, annotationFontName, customClassLoader);
+        g.drawImage(image, 0, 0, null);
+    }
+
     public void initialize(String imageType) {
         if ("png".equalsIgnoreCase(imageType)) {
             this.processDiagram = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_ARGB);
@@ -217,6 +229,17 @@ public class DefaultProcessDiagramCanvas {
         LABEL_FONT = new Font(labelFontName, Font.ITALIC, 10);
         ANNOTATION_FONT = new Font(annotationFontName, Font.PLAIN, FONT_SIZE);
 
+        initIcons(customClassLoader);
+    }
+
+    /**
+     * Loads the icons drawn on the canvas. Reading the icons is more expensive than drawing most diagrams, so they are only read again when another class loader is used.
+     */
+    protected static synchronized void initIcons(ClassLoader customClassLoader) {
+        if (iconsInitialized && iconsClassLoader == customClassLoader) {
+            return;
+        }
+
         try {
             USERTASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/flowable/icons/userTask.png", customClassLoader));
             SCRIPTTASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/flowable/icons/scriptTask.png", customClassLoader));
@@ -242,6 +265,9 @@ public class DefaultProcessDiagramCanvas {
         } catch (IOException e) {
             LOGGER.warn("Could not load image for process diagram creation: {}", e.getMessage());
         }
+
+        iconsInitialized = true;
+        iconsClassLoader = customClassLoader;
     }
 
     /**
@@ -300,6 +326,21 @@ public class DefaultProcessDiagramCanvas {
         closed = true;
     }
 
+    /**
+     * @return the image the canvas draws on, including the white space that is cropped by {@link #generateBufferedImage(String)}.
+     */
+    public BufferedImage getProcessDiagram() {
+        return processDiagram;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
     public void drawNoneStartEvent(GraphicInfo graphicInfo) {
         drawStartEvent(graphicInfo, null, 1.0);
     }
@@ -20,6 +20,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.flowable.bpmn.model.Activity;
 import org.flowable.bpmn.model.AdhocSubProcess;
@@ -79,6 +81,15 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     protected Map<Class<? extends BaseElement>, ActivityDrawInstruction> activityDrawInstructions = new HashMap<Class<? extends BaseElement>, ActivityDrawInstruction>();
     protected Map<Class<? extends BaseElement>, ArtifactDrawInstruction> artifactDrawInstructions = new HashMap<Class<? extends BaseElement>, ArtifactDrawInstruction>();
 
+    protected static final String SVG_IMAGE_TYPE = "svg";
+
+    /**
+     * Diagrams without highlights per model instance and custom class loader. Models are cached by the engine (e.g. in the process definition cache), the diagram is dropped when the model or the
+     * class loader isn't used anymore.
+     */
+    protected boolean diagramCacheEnabled = true;
+    protected Map<BpmnModel, Map<ClassLoader, Map<String, CachedProcessDiagram>>> diagramCache = new WeakHashMap<BpmnModel, Map<ClassLoader, Map<String, CachedProcessDiagram>>>();
+
     public DefaultProcessDiagramGenerator() {
         this(1.0);
     }
@@ -414,10 +425,45 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     public InputStream generateDiagram(BpmnModel bpmnModel, String imageType, List<String> highLightedActivities, List<String> highLightedFlows,
             String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
 
+        if (SVG_IMAGE_TYPE.equalsIgnoreCase(imageType)) {
+            return generateSvgDiagram(bpmnModel, highLightedActivities, highLightedFlows, activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+        }
+
         return generateProcessDiagram(bpmnModel, imageType, highLightedActivities, highLightedFlows,
                 activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor).generateImage(imageType);
     }
 
+    /**
+     * Generates an SVG document with the diagram as embedded PNG image and a shape for every activity and sequence flow, identified by the id of the element. The shapes of the highlighted elements
+     * have the class <code>highlighted</code>, clients can highlight other elements themselves by changing the classes of the shapes.
+     */
+    protected InputStream generateSvgDiagram(BpmnModel bpmnModel, List<String> highLightedActivities, List<String> highLightedFlows,
+            String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
+
+        DefaultProcessDiagramCanvas processDiagramCanvas = generateProcessDiagram(bpmnModel, "png", Collections.<String>emptyList(), Collections.<String>emptyList(),
+                activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+        try {
+            SvgProcessDiagramWriter svgWriter = new SvgProcessDiagramWriter(processDiagramCanvas.getProcessDiagram());
+            for (FlowNode flowNode : gatherAllFlowNodes(bpmnModel)) {
+                GraphicInfo graphicInfo = bpmnModel.getGraphicInfo(flowNode.getId());
+                if (graphicInfo != null && activityDrawInstructions.containsKey(flowNode.getClass()) && !isPartOfCollapsedSubProcess(flowNode, bpmnModel)) {
+                    svgWriter.addActivity(flowNode.getId(), graphicInfo, highLightedActivities.contains(flowNode.getId()));
+                }
+
+                for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+                    List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
+                    if (graphicInfoList != null && graphicInfoList.size() > 0 && !isPartOfCollapsedSubProcess(flowNode, bpmnModel)) {
+                        svgWriter.addSequenceFlow(sequenceFlow.getId(), graphicInfoList, highLightedFlows.contains(sequenceFlow.getId()));
+                    }
+                }
+            }
+            return svgWriter.generateSvg();
+
+        } finally {
+            processDiagramCanvas.close();
+        }
+    }
+
     public InputStream generateDiagram(BpmnModel bpmnModel, String imageType, List<String> highLightedActivities, List<String> highLightedFlows) {
         return generateDiagram(bpmnModel, imageType, highLightedActivities, highLightedFlows, null, null, null, null, 1.0);
     }
@@ -488,6 +534,23 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
 
         prepareBpmnModel(bpmnModel);
 
+        if (!diagramCacheEnabled) {
+            return drawProcessDiagram(bpmnModel, imageType, highLightedActivities, highLightedFlows,
+                    activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+        }
+
+        // The diagram without highlights is only drawn once, the highlights are drawn on a copy of it
+        CachedProcessDiagram diagram = getCachedProcessDiagram(bpmnModel, imageType, activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+        DefaultProcessDiagramCanvas processDiagramCanvas = new DefaultProcessDiagramCanvas(diagram.getImage(), diagram.getMinX(), diagram.getMinY(),
+                imageType, activityFontName, labelFontName, annotationFontName, customClassLoader);
+        drawHighLights(processDiagramCanvas, bpmnModel, highLightedActivities, highLightedFlows, scaleFactor);
+        return processDiagramCanvas;
+    }
+
+    protected DefaultProcessDiagramCanvas drawProcessDiagram(BpmnModel bpmnModel, String imageType,
+            List<String> highLightedActivities, List<String> highLightedFlows,
+            String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
+
         DefaultProcessDiagramCanvas processDiagramCanvas = initProcessDiagramCanvas(bpmnModel, imageType, activityFontName, labelFontName, annotationFontName, customClassLoader);
 
         // Draw pool shape, if process is participant in collaboration
@@ -648,64 +711,135 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
 
         // Outgoing transitions of activity
         for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
-            boolean highLighted = (highLightedFlows.contains(sequenceFlow.getId()));
-            String defaultFlow = null;
-            if (flowNode instanceof Activity) {
-                defaultFlow = ((Activity) flowNode).getDefaultFlow();
-            } else if (flowNode instanceof Gateway) {
-                defaultFlow = ((Gateway) flowNode).getDefaultFlow();
-            }
+            drawSequenceFlow(processDiagramCanvas, bpmnModel, flowNode, sequenceFlow, highLightedFlows.contains(sequenceFlow.getId()), scaleFactor);
+        }
 
-            boolean isDefault = false;
-            if (defaultFlow != null && defaultFlow.equalsIgnoreCase(sequenceFlow.getId())) {
-                isDefault = true;
+        // Nested elements
+        if (flowNode instanceof FlowElementsContainer) {
+            for (FlowElement nestedFlowElement : ((FlowElementsContainer) flowNode).getFlowElements()) {
+                if (nestedFlowElement instanceof FlowNode && !isPartOfCollapsedSubProcess(nestedFlowElement, bpmnModel)) {
+                    drawActivity(processDiagramCanvas, bpmnModel, (FlowNode) nestedFlowElement,
+                            highLightedActivities, highLightedFlows, scaleFactor);
+                }
             }
-            boolean drawConditionalIndicator = sequenceFlow.getConditionExpression() != null && !(flowNode instanceof Gateway);
-
-            String sourceRef = sequenceFlow.getSourceRef();
-            String targetRef = sequenceFlow.getTargetRef();
-            FlowElement sourceElement = bpmnModel.getFlowElement(sourceRef);
-            FlowElement targetElement = bpmnModel.getFlowElement(targetRef);
-            List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
-            if (graphicInfoList != null && graphicInfoList.size() > 0) {
-                graphicInfoList = connectionPerfectionizer(processDiagramCanvas, bpmnModel, sourceElement, targetElement, graphicInfoList);
-                int xPoints[] = new int[graphicInfoList.size()];
-                int yPoints[] = new int[graphicInfoList.size()];
+        }
+    }
 
-                for (int i = 1; i < graphicInfoList.size(); i++) {
-                    GraphicInfo graphicInfo = graphicInfoList.get(i);
-                    GraphicInfo previousGraphicInfo = graphicInfoList.get(i - 1);
+    protected void drawSequenceFlow(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel,
+            FlowNode flowNode, SequenceFlow sequenceFlow, boolean highLighted, double scaleFactor) {
 
-                    if (i == 1) {
-                        xPoints[0] = (int) previousGraphicInfo.getX();
-                        yPoints[0] = (int) previousGraphicInfo.getY();
-                    }
-                    xPoints[i] = (int) graphicInfo.getX();
-                    yPoints[i] = (int) graphicInfo.getY();
+        String defaultFlow = null;
+        if (flowNode instanceof Activity) {
+            defaultFlow = ((Activity) flowNode).getDefaultFlow();
+        } else if (flowNode instanceof Gateway) {
+            defaultFlow = ((Gateway) flowNode).getDefaultFlow();
+        }
 
+        boolean isDefault = false;
+        if (defaultFlow != null && defaultFlow.equalsIgnoreCase(sequenceFlow.getId())) {
+            isDefault = true;
+        }
+        boolean drawConditionalIndicator = sequenceFlow.getConditionExpression() != null && !(flowNode instanceof Gateway);
+
+        String sourceRef = sequenceFlow.getSourceRef();
+        String targetRef = sequenceFlow.getTargetRef();
+        FlowElement sourceElement = bpmnModel.getFlowElement(sourceRef);
+        FlowElement targetElement = bpmnModel.getFlowElement(targetRef);
+        List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
+        if (graphicInfoList != null && graphicInfoList.size() > 0) {
+            graphicInfoList = connectionPerfectionizer(processDiagramCanvas, bpmnModel, sourceElement, targetElement, graphicInfoList);
+            int xPoints[] = new int[graphicInfoList.size()];
+            int yPoints[] = new int[graphicInfoList.size()];
+
+            for (int i = 1; i < graphicInfoList.size(); i++) {
+                GraphicInfo graphicInfo = graphicInfoList.get(i);
+                GraphicInfo previousGraphicInfo = graphicInfoList.get(i - 1);
+
+                if (i == 1) {
+                    xPoints[0] = (int) previousGraphicInfo.getX();
+                    yPoints[0] = (int) previousGraphicInfo.getY();
                 }
+                xPoints[i] = (int) graphicInfo.getX();
+                yPoints[i] = (int) graphicInfo.getY();
 
-                processDiagramCanvas.drawSequenceflow(xPoints, yPoints, drawConditionalIndicator, isDefault, highLighted, scaleFactor);
+            }
 
-                // Draw sequenceflow label
-                GraphicInfo labelGraphicInfo = bpmnModel.getLabelGraphicInfo(sequenceFlow.getId());
-                if (labelGraphicInfo != null) {
-                    processDiagramCanvas.drawLabel(sequenceFlow.getName(), labelGraphicInfo, false);
-                }
+            processDiagramCanvas.drawSequenceflow(xPoints, yPoints, drawConditionalIndicator, isDefault, highLighted, scaleFactor);
+
+            // Draw sequenceflow label
+            GraphicInfo labelGraphicInfo = bpmnModel.getLabelGraphicInfo(sequenceFlow.getId());
+            if (labelGraphicInfo != null) {
+                processDiagramCanvas.drawLabel(sequenceFlow.getName(), labelGraphicInfo, false);
             }
         }
+    }
 
-        // Nested elements
-        if (flowNode instanceof FlowElementsContainer) {
-            for (FlowElement nestedFlowElement : ((FlowElementsContainer) flowNode).getFlowElements()) {
-                if (nestedFlowElement instanceof FlowNode && !isPartOfCollapsedSubProcess(nestedFlowElement, bpmnModel)) {
-                    drawActivity(processDiagramCanvas, bpmnModel, (FlowNode) nestedFlowElement,
-                            highLightedActivities, highLightedFlows, scaleFactor);
+    /**
+     * Draws the highlights on top of a diagram drawn without highlights.
+     */
+    protected void drawHighLights(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel,
+            List<String> highLightedActivities, List<String> highLightedFlows, double scaleFactor) {
+
+        for (String activityId : highLightedActivities) {
+            FlowElement flowElement = bpmnModel.getFlowElement(activityId);
+            GraphicInfo graphicInfo = bpmnModel.getGraphicInfo(activityId);
+            if (flowElement instanceof FlowNode && graphicInfo != null && activityDrawInstructions.containsKey(flowElement.getClass())
+                    && !isPartOfCollapsedSubProcess(flowElement, bpmnModel)) {
+                drawHighLight(processDiagramCanvas, graphicInfo);
+            }
+        }
+
+        for (String flowId : highLightedFlows) {
+            FlowElement flowElement = bpmnModel.getFlowElement(flowId);
+            if (flowElement instanceof SequenceFlow) {
+                SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+                FlowElement sourceElement = bpmnModel.getFlowElement(sequenceFlow.getSourceRef());
+                if (sourceElement instanceof FlowNode && !isPartOfCollapsedSubProcess(sourceElement, bpmnModel)) {
+                    drawSequenceFlow(processDiagramCanvas, bpmnModel, (FlowNode) sourceElement, sequenceFlow, true, scaleFactor);
                 }
             }
         }
     }
 
+    protected CachedProcessDiagram getCachedProcessDiagram(BpmnModel bpmnModel, String imageType,
+            String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
+
+        Map<String, CachedProcessDiagram> modelDiagrams;
+        synchronized (diagramCache) {
+            Map<ClassLoader, Map<String, CachedProcessDiagram>> classLoaderDiagrams = diagramCache.get(bpmnModel);
+            if (classLoaderDiagrams == null) {
+                classLoaderDiagrams = new WeakHashMap<ClassLoader, Map<String, CachedProcessDiagram>>();
+                diagramCache.put(bpmnModel, classLoaderDiagrams);
+            }
+
+            modelDiagrams = classLoaderDiagrams.get(customClassLoader);
+            if (modelDiagrams == null) {
+                modelDiagrams = new ConcurrentHashMap<String, CachedProcessDiagram>();
+                classLoaderDiagrams.put(customClassLoader, modelDiagrams);
+            }
+        }
+
+        String key = imageType.toLowerCase() + "|" + activityFontName + "|" + labelFontName + "|" + annotationFontName + "|" + scaleFactor;
+        CachedProcessDiagram diagram = modelDiagrams.get(key);
+        if (diagram == null) {
+            DefaultProcessDiagramCanvas processDiagramCanvas = drawProcessDiagram(bpmnModel, imageType, Collections.<String>emptyList(), Collections.<String>emptyList(),
+                    activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+            processDiagramCanvas.close();
+            diagram = new CachedProcessDiagram(processDiagramCanvas.getProcessDiagram(), processDiagramCanvas.getMinX(), processDiagramCanvas.getMinY());
+            modelDiagrams.put(key, diagram);
+        }
+        return diagram;
+    }
+
+    /**
+     * Removes the cached diagrams of the given model, needed when the model is changed after a diagram was generated for it.
+     */
+    public void clearDiagramCache(BpmnModel bpmnModel) {
+        synchronized (diagramCache) {
+            diagramCache.remove(bpmnModel);
+        }
+    }
+
     /**
      * This method makes coordinates of connection flow better.
      * 
@@ -1014,6 +1148,14 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
         this.artifactDrawInstructions = artifactDrawInstructions;
     }
 
+    public boolean isDiagramCacheEnabled() {
+        return diagramCacheEnabled;
+    }
+
+    public void setDiagramCacheEnabled(boolean diagramCacheEnabled) {
+        this.diagramCacheEnabled = diagramCacheEnabled;
+    }
+
     protected interface ActivityDrawInstruction {
         void draw(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel, FlowNode flowNode);
     }
@@ -1021,4 +1163,29 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     protected interface ArtifactDrawInstruction {
         void draw(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel, Artifact artifact);
     }
+
+    protected static class CachedProcessDiagram {
+
+        protected final BufferedImage image;
+        protected final int minX;
+        protected final int minY;
+
+        public CachedProcessDiagram(BufferedImage image, int minX, int minY) {
+            this.image = image;
+            this.minX = minX;
+            this.minY = minY;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public int getMinX() {
+            return minX;
+        }
+
+        public int getMinY() {
+            return minY;
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.image.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.flowable.bpmn.model.GraphicInfo;
+import org.flowable.image.exception.FlowableImageException;
+
+/**
+ * Writes a process diagram as SVG document: the diagram itself is embedded as PNG image, the activities and sequence flows are added as transparent shapes with the id of the element, so clients
+ * can highlight them with CSS or scripts without requesting a new image.
+ */
+public class SvgProcessDiagramWriter {
+
+    protected static final Charset UTF_8 = Charset.forName("UTF-8");
+    protected static final char[] BASE64_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    protected static final String STYLE = ".activity { fill: none; stroke: none; } "
+            + ".sequence-flow { fill: none; stroke: none; } "
+            + ".activity.highlighted { stroke: red; stroke-width: 3; } "
+            + ".sequence-flow.highlighted { stroke: red; stroke-width: 1.3; }";
+
+    protected final BufferedImage image;
+    protected final StringBuilder shapes = new StringBuilder();
+
+    public SvgProcessDiagramWriter(BufferedImage image) {
+        this.image = image;
+    }
+
+    public void addActivity(String id, GraphicInfo graphicInfo, boolean highLighted) {
+        shapes.append("  <rect id=\"").append(escape(id)).append("\" class=\"").append(styleClass("activity", highLighted))
+                .append("\" x=\"").append((int) graphicInfo.getX())
+                .append("\" y=\"").append((int) graphicInfo.getY())
+                .append("\" width=\"").append((int) graphicInfo.getWidth())
+                .append("\" height=\"").append((int) graphicInfo.getHeight())
+                .append("\" rx=\"10\" ry=\"10\"/>\n");
+    }
+
+    public void addSequenceFlow(String id, List<GraphicInfo> graphicInfoList, boolean highLighted) {
+        shapes.append("  <polyline id=\"").append(escape(id)).append("\" class=\"").append(styleClass("sequence-flow", highLighted)).append("\" points=\"");
+        for (int i = 0; i < graphicInfoList.size(); i++) {
+            GraphicInfo graphicInfo = graphicInfoList.get(i);
+            if (i > 0) {
+                shapes.append(' ');
+            }
+            shapes.append((int) graphicInfo.getX()).append(',').append((int) graphicInfo.getY());
+        }
+        shapes.append("\"/>\n");
+    }
+
+    public InputStream generateSvg() {
+        StringBuilder svg = new StringBuilder();
+        svg.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"").append(image.getWidth())
+                .append("\" height=\"").append(image.getHeight())
+                .append("\" viewBox=\"0 0 ").append(image.getWidth()).append(' ').append(image.getHeight()).append("\">\n")
+                .append("  <style type=\"text/css\">").append(STYLE).append("</style>\n")
+                .append("  <image x=\"0\" y=\"0\" width=\"").append(image.getWidth()).append("\" height=\"").append(image.getHeight())
+                .append("\" xlink:href=\"data:image/png;base64,").append(encodeBase64(writePng())).append("\"/>\n")
+                .append(shapes)
+                .append("</svg>\n");
+        return new ByteArrayInputStream(svg.toString().getBytes(UTF_8));
+    }
+
+    protected byte[] writePng() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new FlowableImageException("Error while generating process image", e);
+        }
+        return out.toByteArray();
+    }
+
+    protected String styleClass(String styleClass, boolean highLighted) {
+        return highLighted ? styleClass + " highlighted" : styleClass;
+    }
+
+    protected String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '&':
+                escaped.append("&amp;");
+                break;
+            case '<':
+                escaped.append("&lt;");
+                break;
+            case '>':
+                escaped.append("&gt;");
+                break;
+            case '"':
+                escaped.append("&quot;");
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    protected static String encodeBase64(byte[] bytes) {
+        StringBuilder encoded = new StringBuilder((bytes.length + 2) / 3 * 4);
+        for (int i = 0; i < bytes.length; i += 3) {
+            int remaining = bytes.length - i;
+            int block = (bytes[i] & 0xff) << 16;
+            if (remaining > 1) {
+                block |= (bytes[i + 1] & 0xff) << 8;
+            }
+            if (remaining > 2) {
+                block |= bytes[i + 2] & 0xff;
+            }
+
+            encoded.append(BASE64_CHARACTERS[(block >> 18) & 0x3f]);
+            encoded.append(BASE64_CHARACTERS[(block >> 12) & 0x3f]);
+            encoded.append(remaining > 1 ? BASE64_CHARACTERS[(block >> 6) & 0x3f] : '=');
+            encoded.append(remaining > 2 ? BASE64_CHARACTERS[block & 0x3f] : '=');
+        }
+        return encoded.toString();
+    }
+
+}
@@ -0,0 +1,244 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.image.impl;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.EndEvent;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.GraphicInfo;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.bpmn.model.UserTask;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefaultProcessDiagramGeneratorTest {
+
+    protected static final List<String> NO_HIGHLIGHTS = Collections.emptyList();
+
+    @Test
+    public void testHighlightedDiagramMatchesUncachedDiagram() {
+        BpmnModel bpmnModel = createBpmnModel();
+        List<String> highLightedActivities = Arrays.asList("firstTask");
+        List<String> highLightedFlows = Arrays.asList("flow1");
+
+        DefaultProcessDiagramGenerator cachingGenerator = new DefaultProcessDiagramGenerator();
+        DefaultProcessDiagramGenerator uncachedGenerator = new DefaultProcessDiagramGenerator();
+        uncachedGenerator.setDiagramCacheEnabled(false);
+
+        // The first call fills the cache, the second one draws the highlights on the cached diagram
+        cachingGenerator.generateImage(bpmnModel, "png", NO_HIGHLIGHTS, NO_HIGHLIGHTS, 1.0);
+        BufferedImage cachedImage = cachingGenerator.generateImage(bpmnModel, "png", highLightedActivities, highLightedFlows, 1.0);
+        BufferedImage uncachedImage = uncachedGenerator.generateImage(bpmnModel, "png", highLightedActivities, highLightedFlows, 1.0);
+
+        assertSameHighLights(uncachedImage, cachedImage);
+    }
+
+    @Test
+    public void testCachedDiagramNotChangedByHighlights() {
+        BpmnModel bpmnModel = createBpmnModel();
+        DefaultProcessDiagramGenerator generator = new DefaultProcessDiagramGenerator();
+
+        BufferedImage image = generator.generateImage(bpmnModel, "png", NO_HIGHLIGHTS, NO_HIGHLIGHTS, 1.0);
+        BufferedImage cachedImage = generator.getCachedProcessDiagram(bpmnModel, "png", null, null, null, null, 1.0).getImage();
+        BufferedImage cachedImageCopy = copy(cachedImage);
+
+        generator.generateImage(bpmnModel, "png", Arrays.asList("firstTask", "secondTask"), Arrays.asList("flow1", "flow2", "flow3"), 1.0);
+
+        Assert.assertSame(cachedImage, generator.getCachedProcessDiagram(bpmnModel, "png", null, null, null, null, 1.0).getImage());
+        assertSameImage(cachedImageCopy, cachedImage);
+        assertSameImage(image, generator.generateImage(bpmnModel, "png", NO_HIGHLIGHTS, NO_HIGHLIGHTS, 1.0));
+    }
+
+    @Test
+    public void testDiagramCachedPerClassLoader() {
+        BpmnModel bpmnModel = createBpmnModel();
+        DefaultProcessDiagramGenerator generator = new DefaultProcessDiagramGenerator();
+        ClassLoader customClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+        DefaultProcessDiagramGenerator.CachedProcessDiagram diagram = generator.getCachedProcessDiagram(bpmnModel, "png", null, null, null, null, 1.0);
+        DefaultProcessDiagramGenerator.CachedProcessDiagram customClassLoaderDiagram = generator.getCachedProcessDiagram(bpmnModel, "png", null, null, null, customClassLoader, 1.0);
+
+        Assert.assertNotSame(diagram, customClassLoaderDiagram);
+        Assert.assertSame(diagram, generator.getCachedProcessDiagram(bpmnModel, "png", null, null, null, null, 1.0));
+        Assert.assertSame(customClassLoaderDiagram, generator.getCachedProcessDiagram(bpmnModel, "png", null, null, null, customClassLoader, 1.0));
+    }
+
+    @Test
+    public void testSvgDiagramHasShapeForEveryActivityAndSequenceFlow() throws IOException {
+        BpmnModel bpmnModel = createBpmnModel();
+        DefaultProcessDiagramGenerator generator = new DefaultProcessDiagramGenerator();
+
+        String svg = read(generator.generateDiagram(bpmnModel, "svg", Arrays.asList("secondTask"), Arrays.asList("flow2")));
+
+        Assert.assertTrue(svg.startsWith("<?xml"));
+        Assert.assertEquals(4, count(svg, "<rect "));
+        Assert.assertEquals(3, count(svg, "<polyline "));
+        for (String id : Arrays.asList("start", "firstTask", "secondTask", "end")) {
+            Assert.assertEquals(1, count(svg, "<rect id=\"" + id + "\""));
+        }
+        for (String id : Arrays.asList("flow1", "flow2", "flow3")) {
+            Assert.assertEquals(1, count(svg, "<polyline id=\"" + id + "\""));
+        }
+
+        Assert.assertEquals(1, count(svg, "<rect id=\"secondTask\" class=\"activity highlighted\""));
+        Assert.assertEquals(1, count(svg, "<polyline id=\"flow2\" class=\"sequence-flow highlighted\""));
+        Assert.assertEquals(2, count(svg, " highlighted\""));
+    }
+
+    // Helpers ////////////////////////////////////////////////////////
+
+    /**
+     * start -> firstTask -> secondTask -> end
+     */
+    protected BpmnModel createBpmnModel() {
+        BpmnModel bpmnModel = new BpmnModel();
+        Process process = new Process();
+        process.setId("process");
+        bpmnModel.addProcess(process);
+
+        List<FlowNode> flowNodes = new ArrayList<FlowNode>();
+        flowNodes.add(createFlowNode(new StartEvent(), "start", null));
+        flowNodes.add(createFlowNode(new UserTask(), "firstTask", "First task"));
+        flowNodes.add(createFlowNode(new UserTask(), "secondTask", "Second task"));
+        flowNodes.add(createFlowNode(new EndEvent(), "end", null));
+
+        int x = 20;
+        for (FlowNode flowNode : flowNodes) {
+            process.addFlowElement(flowNode);
+            boolean event = flowNode instanceof StartEvent || flowNode instanceof EndEvent;
+            GraphicInfo graphicInfo = createGraphicInfo(x, event ? 85 : 70, event ? 30 : 100, event ? 30 : 60);
+            bpmnModel.addGraphicInfo(flowNode.getId(), graphicInfo);
+            x += graphicInfo.getWidth() + 50;
+        }
+
+        for (int i = 1; i < flowNodes.size(); i++) {
+            FlowNode source = flowNodes.get(i - 1);
+            FlowNode target = flowNodes.get(i);
+            SequenceFlow sequenceFlow = new SequenceFlow(source.getId(), target.getId());
+            sequenceFlow.setId("flow" + i);
+            sequenceFlow.setSourceFlowElement(source);
+            sequenceFlow.setTargetFlowElement(target);
+            source.getOutgoingFlows().add(sequenceFlow);
+            target.getIncomingFlows().add(sequenceFlow);
+            process.addFlowElement(sequenceFlow);
+
+            GraphicInfo sourceGraphicInfo = bpmnModel.getGraphicInfo(source.getId());
+            GraphicInfo targetGraphicInfo = bpmnModel.getGraphicInfo(target.getId());
+            List<GraphicInfo> waypoints = new ArrayList<GraphicInfo>();
+            waypoints.add(createGraphicInfo(sourceGraphicInfo.getX() + sourceGraphicInfo.getWidth(), 100, 0, 0));
+            waypoints.add(createGraphicInfo(targetGraphicInfo.getX(), 100, 0, 0));
+            bpmnModel.addFlowGraphicInfoList(sequenceFlow.getId(), waypoints);
+        }
+
+        return bpmnModel;
+    }
+
+    protected FlowNode createFlowNode(FlowNode flowNode, String id, String name) {
+        flowNode.setId(id);
+        flowNode.setName(name);
+        return flowNode;
+    }
+
+    protected GraphicInfo createGraphicInfo(double x, double y, double width, double height) {
+        GraphicInfo graphicInfo = new GraphicInfo();
+        graphicInfo.setX(x);
+        graphicInfo.setY(y);
+        graphicInfo.setWidth(width);
+        graphicInfo.setHeight(height);
+        return graphicInfo;
+    }
+
+    protected void assertSameImage(BufferedImage expected, BufferedImage actual) {
+        Assert.assertEquals(expected.getWidth(), actual.getWidth());
+        Assert.assertEquals(expected.getHeight(), actual.getHeight());
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    Assert.fail("Images differ at pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    /**
+     * The highlights of a cached diagram are drawn on top of the diagram without highlights, so a few anti-aliased edge pixels, and pixels
+     * where the uncached drawing puts another element on top of a highlight, can differ. Everything else has to be identical.
+     */
+    protected void assertSameHighLights(BufferedImage expected, BufferedImage actual) {
+        Assert.assertEquals(expected.getWidth(), actual.getWidth());
+        Assert.assertEquals(expected.getHeight(), actual.getHeight());
+        int highLightedPixels = 0;
+        int differentPixels = 0;
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                if (isHighLightColor(expected.getRGB(x, y))) {
+                    highLightedPixels++;
+                }
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differentPixels++;
+                    if (!isHighLightColor(actual.getRGB(x, y))) {
+                        Assert.fail("Images differ at pixel " + x + "," + y);
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(highLightedPixels > 0);
+        Assert.assertTrue(differentPixels + " of " + highLightedPixels + " highlighted pixels differ", differentPixels * 20 < highLightedPixels);
+    }
+
+    protected boolean isHighLightColor(int rgb) {
+        Color color = new Color(rgb, true);
+        return color.getAlpha() > 0 && color.getRed() - color.getGreen() > 64 && color.getRed() - color.getBlue() > 64;
+    }
+
+    protected BufferedImage copy(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+        copy.setData(image.getData());
+        return copy;
+    }
+
+    protected String read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), "UTF-8");
+    }
+
+    protected int count(String value, String part) {
+        int count = 0;
+        int index = value.indexOf(part);
+        while (index != -1) {
+            count++;
+            index = value.indexOf(part, index + part.length());
+        }
+        return count;
+    }
+
+}
@@ -13,13 +13,13 @@
 
 package org.flowable.rest.service.api.runtime.process;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.IOUtils;
@@ -36,6 +36,8 @@ import org.flowable.rest.service.api.engine.variable.RestVariable;
 import org.flowable.rest.service.api.engine.variable.RestVariable.RestVariableScope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
@@ -60,35 +62,46 @@ public class BaseExecutionVariableResource {
         isSerializableVariableAllowed = env.getProperty("rest.variables.allow.serializable", Boolean.class, true);
     }
 
-    protected byte[] getVariableDataByteArray(Execution execution, String variableName, String scope,
-            HttpServletResponse response) {
-
+    /**
+     * Writes the binary data of the variable directly to the response, instead of returning a copy of it to the message converters.
+     * 
+     * Binary variables get an ETag based on their content: when the client already has the current content (If-None-Match), only a 304 status is returned. Serializable variables are serialized
+     * straight into the response stream and have no ETag, as that would require an intermediate copy of the serialized value.
+     */
+    protected void writeVariableData(Execution execution, String variableName, String scope, HttpServletRequest request, HttpServletResponse response) {
         try {
-            byte[] result = null;
-
             RestVariable variable = getVariableFromRequest(execution, variableName, scope, true);
             if (RestResponseFactory.BYTE_ARRAY_VARIABLE_TYPE.equals(variable.getType())) {
-                result = (byte[]) variable.getValue();
+                byte[] bytes = (byte[]) variable.getValue();
+                if (new ServletWebRequest(request, response).checkNotModified(createETag(bytes))) {
+                    return;
+                }
+
                 response.setContentType("application/octet-stream");
+                if (bytes != null) {
+                    response.setContentLength(bytes.length);
+                    response.getOutputStream().write(bytes);
+                }
 
             } else if (RestResponseFactory.SERIALIZABLE_VARIABLE_TYPE.equals(variable.getType())) {
-                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                ObjectOutputStream outputStream = new ObjectOutputStream(buffer);
-                outputStream.writeObject(variable.getValue());
-                outputStream.close();
-                result = buffer.toByteArray();
                 response.setContentType("application/x-java-serialized-object");
+                ObjectOutputStream outputStream = new ObjectOutputStream(response.getOutputStream());
+                outputStream.writeObject(variable.getValue());
+                outputStream.flush();
 
             } else {
                 throw new FlowableObjectNotFoundException("The variable does not have a binary data stream.", null);
             }
-            return result;
 
         } catch (IOException ioe) {
             throw new FlowableException("Error getting variable " + variableName, ioe);
         }
     }
 
+    protected String createETag(byte[] bytes) {
+        return "\"" + DigestUtils.md5DigestAsHex(bytes != null ? bytes : new byte[0]) + "\"";
+    }
+
     protected RestVariable setBinaryVariable(MultipartHttpServletRequest request, Execution execution, int responseVariableType, boolean isNew) {
 
         // Validate input and set defaults
@@ -31,14 +31,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Frederik Heremans
@@ -53,35 +61,83 @@ public class ProcessInstanceDiagramResource extends BaseProcessInstanceResource
     @Autowired
     protected ProcessEngineConfiguration processEngineConfiguration;
 
+    protected int diagramCacheSize = 100;
+
+    /**
+     * Rendered diagrams, by process definition and active activities. The diagram of a process instance only changes when its active activities change, so the same image can be served to all
+     * instances in the same state. The least recently used diagrams are removed when there are more than {@link #diagramCacheSize}.
+     */
+    protected Map<String, byte[]> diagramCache = Collections.synchronizedMap(new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > diagramCacheSize;
+        }
+    });
+
     @ApiOperation(value = "Get diagram for a process instance", tags = { "Process Instances" })
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Indicates the process instance was found and the diagram was returned."),
+            @ApiResponse(code = 304, message = "Indicates the diagram did not change since it was last retrieved (If-None-Match)."),
             @ApiResponse(code = 400, message = "Indicates the requested process instance was not found but the process doesn’t contain any graphical information (BPMN:DI) and no diagram can be created."),
             @ApiResponse(code = 404, message = "Indicates the requested process instance was not found.")
     })
     @RequestMapping(value = "/runtime/process-instances/{processInstanceId}/diagram", method = RequestMethod.GET)
-    public ResponseEntity<byte[]> getProcessInstanceDiagram(@ApiParam(name = "processInstanceId") @PathVariable String processInstanceId, HttpServletResponse response) {
+    public ResponseEntity<byte[]> getProcessInstanceDiagram(@ApiParam(name = "processInstanceId") @PathVariable String processInstanceId, HttpServletRequest request, HttpServletResponse response) {
         ProcessInstance processInstance = getProcessInstanceFromRequest(processInstanceId);
 
         ProcessDefinition pde = repositoryService.getProcessDefinition(processInstance.getProcessDefinitionId());
 
         if (pde != null && pde.hasGraphicalNotation()) {
-            BpmnModel bpmnModel = repositoryService.getBpmnModel(pde.getId());
-            ProcessDiagramGenerator diagramGenerator = processEngineConfiguration.getProcessDiagramGenerator();
-            InputStream resource = diagramGenerator.generateDiagram(bpmnModel, "png", runtimeService.getActiveActivityIds(processInstance.getId()), Collections.<String>emptyList(),
-                    processEngineConfiguration.getActivityFontName(), processEngineConfiguration.getLabelFontName(),
-                    processEngineConfiguration.getAnnotationFontName(), processEngineConfiguration.getClassLoader(), 1.0);
+            List<String> activeActivityIds = new ArrayList<String>(runtimeService.getActiveActivityIds(processInstance.getId()));
+            Collections.sort(activeActivityIds);
+
+            String diagramKey = createDiagramKey(pde.getId(), activeActivityIds);
+            String eTag = "\"" + DigestUtils.md5DigestAsHex(diagramKey.getBytes(StandardCharsets.UTF_8)) + "\"";
+            if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+                return null;
+            }
+
+            byte[] diagram = diagramCache.get(diagramKey);
+            if (diagram == null) {
+                diagram = generateDiagram(pde, activeActivityIds);
+                diagramCache.put(diagramKey, diagram);
+            }
 
             HttpHeaders responseHeaders = new HttpHeaders();
             responseHeaders.set("Content-Type", "image/png");
-            try {
-                return new ResponseEntity<byte[]>(IOUtils.toByteArray(resource), responseHeaders, HttpStatus.OK);
-            } catch (Exception e) {
-                throw new FlowableIllegalArgumentException("Error exporting diagram", e);
-            }
+            responseHeaders.setETag(eTag);
+            responseHeaders.setContentLength(diagram.length);
+            return new ResponseEntity<byte[]>(diagram, responseHeaders, HttpStatus.OK);
 
         } else {
             throw new FlowableIllegalArgumentException("Process instance with id '" + processInstance.getId() + "' has no graphical notation defined.");
         }
     }
+
+    protected String createDiagramKey(String processDefinitionId, List<String> activeActivityIds) {
+        StringBuilder diagramKey = new StringBuilder(processDefinitionId);
+        for (String activeActivityId : activeActivityIds) {
+            diagramKey.append('|').append(activeActivityId);
+        }
+        return diagramKey.toString();
+    }
+
+    protected byte[] generateDiagram(ProcessDefinition processDefinition, List<String> activeActivityIds) {
+        BpmnModel bpmnModel = repositoryService.getBpmnModel(processDefinition.getId());
+        ProcessDiagramGenerator diagramGenerator = processEngineConfiguration.getProcessDiagramGenerator();
+        InputStream resource = diagramGenerator.generateDiagram(bpmnModel, "png", activeActivityIds, Collections.<String>emptyList(),
+                processEngineConfiguration.getActivityFontName(), processEngineConfiguration.getLabelFontName(),
+                processEngineConfiguration.getAnnotationFontName(), processEngineConfiguration.getClassLoader(), 1.0);
+
+        try {
+            return IOUtils.toByteArray(resource);
+        } catch (Exception e) {
+            throw new FlowableIllegalArgumentException("Error exporting diagram", e);
+        } finally {
+            IOUtils.closeQuietly(resource);
+        }
+    }
 }
@@ -37,6 +37,23 @@ public class ProcessInstanceDiagramResourceTest extends BaseSpringRestTestCase {
         closeResponse(response);
     }
 
+    @Deployment(resources = { "org/flowable/rest/service/api/runtime/ProcessInstanceDiagramResourceTest.testGetProcessDiagram.bpmn20.xml" })
+    public void testGetProcessDiagramNotModified() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("simpleProcess");
+        ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("simpleProcess");
+
+        CloseableHttpResponse response = executeRequest(new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_PROCESS_INSTANCE_DIAGRAM, processInstance.getId())),
+                HttpStatus.SC_OK);
+        String eTag = response.getFirstHeader("ETag").getValue();
+        assertNotNull(eTag);
+        closeResponse(response);
+
+        // Same process definition and active activities: the other process instance has the same diagram
+        HttpGet httpGet = new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_PROCESS_INSTANCE_DIAGRAM, otherProcessInstance.getId()));
+        httpGet.setHeader("If-None-Match", eTag);
+        closeResponse(executeRequest(httpGet, HttpStatus.SC_NOT_MODIFIED));
+    }
+
     @Deployment
     public void testGetProcessDiagramWithoutDiagram() throws Exception {
         ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
@@ -91,6 +91,31 @@ public class ProcessInstanceVariableResourceTest extends BaseSpringRestTestCase
         assertEquals("application/octet-stream", response.getEntity().getContentType().getValue());
     }
 
+    /**
+     * Test getting unchanged process instance variable data. GET runtime/process-instances/{processInstanceId}/variables/{variableName}/data
+     */
+    @Deployment(resources = { "org/flowable/rest/service/api/runtime/ProcessInstanceVariableResourceTest.testProcess.bpmn20.xml" })
+    public void testGetProcessInstanceVariableDataNotModified() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.setVariableLocal(processInstance.getId(), "var", "This is a binary piece of text".getBytes());
+
+        String url = SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_PROCESS_INSTANCE_VARIABLE_DATA, processInstance.getId(), "var");
+        CloseableHttpResponse response = executeRequest(new HttpGet(url), HttpStatus.SC_OK);
+        String eTag = response.getFirstHeader("ETag").getValue();
+        closeResponse(response);
+
+        HttpGet httpGet = new HttpGet(url);
+        httpGet.setHeader("If-None-Match", eTag);
+        closeResponse(executeRequest(httpGet, HttpStatus.SC_NOT_MODIFIED));
+
+        // After changing the variable, the new content is returned
+        runtimeService.setVariableLocal(processInstance.getId(), "var", "This is another binary piece of text".getBytes());
+        response = executeRequest(httpGet, HttpStatus.SC_OK);
+        assertEquals("This is another binary piece of text", IOUtils.toString(response.getEntity().getContent()));
+        assertFalse(eTag.equals(response.getFirstHeader("ETag").getValue()));
+        closeResponse(response);
+    }
+
     /**
      * Test getting a process instance variable data. GET runtime/process-instances/{processInstanceId}/variables/{variableName}
      */
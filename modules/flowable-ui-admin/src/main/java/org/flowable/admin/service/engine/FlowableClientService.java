@@ -15,7 +15,12 @@ package org.flowable.admin.service.engine;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.IOUtils;
@@ -30,8 +35,12 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.HttpHostConnectException;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContextBuilder;
 import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
@@ -39,6 +48,8 @@ import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 import org.flowable.admin.domain.ServerConfig;
 import org.flowable.admin.service.AttachmentResponseInfo;
 import org.flowable.admin.service.ResponseInfo;
@@ -46,11 +57,17 @@ import org.flowable.admin.service.engine.exception.FlowableServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
 
 /**
  * Service for invoking Flowable REST services.
@@ -71,34 +88,114 @@ public class FlowableClientService {
     @Autowired
     protected ObjectMapper objectMapper;
 
-    public CloseableHttpClient getHttpClient(ServerConfig serverConfig) {
-        return getHttpClient(serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()));
+    @Autowired
+    protected Environment env;
+
+    // All clients share the same pool of (keep-alive) connections
+    protected PoolingHttpClientConnectionManager connectionManager;
+
+    // Caching the clients per server config and credentials, to avoid decrypting the password for every call
+    protected Cache<String, CloseableHttpClient> httpClientCache;
+
+    @PostConstruct
+    protected void initHttpClients() {
+        Integer maxConnections = env.getProperty("rest.client.max-connections", Integer.class, 100);
+        Integer maxConnectionsPerRoute = env.getProperty("rest.client.max-connections-per-route", Integer.class, 20);
+        Long connectionTimeToLive = env.getProperty("rest.client.connection-ttl", Long.class, 300l);
+
+        connectionManager = new PoolingHttpClientConnectionManager(createSocketFactoryRegistry(), null, null, null, connectionTimeToLive, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        Long clientMaxSize = env.getProperty("cache.rest-clients.max.size", Long.class, 100l);
+        Long clientMaxAge = env.getProperty("cache.rest-clients.max.age", Long.class, 3600l);
+        httpClientCache = CacheBuilder.newBuilder().maximumSize(clientMaxSize).expireAfterAccess(clientMaxAge, TimeUnit.SECONDS).recordStats().build();
     }
 
-    public CloseableHttpClient getHttpClient(String userName, String password) {
+    @PreDestroy
+    protected void closeHttpClients() {
+        httpClientCache.invalidateAll();
+        connectionManager.shutdown();
+    }
 
-        CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-        credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(userName, password));
+    protected Registry<ConnectionSocketFactory> createSocketFactoryRegistry() {
+        RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory());
 
-        SSLConnectionSocketFactory sslsf = null;
         try {
             SSLContextBuilder builder = new SSLContextBuilder();
             builder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
-            sslsf = new SSLConnectionSocketFactory(builder.build(), SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+            registryBuilder.register("https", new SSLConnectionSocketFactory(builder.build(), SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER));
         } catch (Exception e) {
             log.warn("Could not configure HTTP client to use SSL", e);
+            registryBuilder.register("https", SSLConnectionSocketFactory.getSocketFactory());
         }
 
-        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
-        httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+        return registryBuilder.build();
+    }
+
+    /**
+     * Returns the shared client for the given server config. The returned client must not be closed.
+     */
+    public CloseableHttpClient getHttpClient(final ServerConfig serverConfig) {
+        // The hash of the encrypted password is part of the key: the password is only decrypted when the client is created
+        String cacheKey = serverConfig.getId() + ":" + serverConfig.getUserName() + ":" + hashPassword(serverConfig.getPassword());
+        return getHttpClient(cacheKey, new Callable<CloseableHttpClient>() {
+
+            public CloseableHttpClient call() throws Exception {
+                return createHttpClient(serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()));
+            }
+        });
+    }
 
-        if (sslsf != null) {
-            httpClientBuilder.setSSLSocketFactory(sslsf);
+    /**
+     * Returns the shared client for the given credentials. The returned client must not be closed.
+     */
+    public CloseableHttpClient getHttpClient(final String userName, final String password) {
+        return getHttpClient("credentials:" + userName + ":" + hashPassword(password), new Callable<CloseableHttpClient>() {
+
+            public CloseableHttpClient call() throws Exception {
+                return createHttpClient(userName, password);
+            }
+        });
+    }
+
+    protected CloseableHttpClient getHttpClient(String cacheKey, Callable<CloseableHttpClient> clientCreator) {
+        try {
+            return httpClientCache.get(cacheKey, clientCreator);
+        } catch (ExecutionException e) {
+            throw new FlowableServiceException("Could not create http client", e.getCause());
         }
+    }
+
+    /**
+     * Only a hash of the password is kept in the cache keys, so the cache doesn't hold the (decrypted) passwords.
+     */
+    protected String hashPassword(String password) {
+        if (password == null) {
+            return null;
+        }
+        return Hashing.sha256().hashString(password, Charsets.UTF_8).toString();
+    }
+
+    protected CloseableHttpClient createHttpClient(String userName, String password) {
+        CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(userName, password));
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
+        httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+        httpClientBuilder.setConnectionManager(connectionManager);
+        httpClientBuilder.setConnectionManagerShared(true);
+        httpClientBuilder.disableCookieManagement();
 
         return httpClientBuilder.build();
     }
 
+    public CacheStats getHttpClientCacheStats() {
+        return httpClientCache.stats();
+    }
+
     /**
      * Execute the given request. Will return the parsed JSON present in the response-body, in case the status code is 200 - OK. In case the response returns a different status-code, an
      * {@link FlowableServiceException} is thrown with the error message received from the client, if possible.
@@ -108,7 +205,7 @@ public class FlowableClientService {
     }
 
     public JsonNode executeRequest(HttpUriRequest request, ServerConfig serverConfig, int expectedStatusCode) {
-        return executeRequest(request, serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()), expectedStatusCode);
+        return executeRequest(request, getHttpClient(serverConfig), expectedStatusCode);
     }
 
     public JsonNode executeRequest(HttpUriRequest request, String userName, String password) {
@@ -120,9 +217,12 @@ public class FlowableClientService {
      * {@link FlowableServiceException} is thrown with the error message received from the client, if possible.
      */
     public JsonNode executeRequest(HttpUriRequest request, String userName, String password, int expectedStatusCode) {
+        return executeRequest(request, getHttpClient(userName, password), expectedStatusCode);
+    }
+
+    protected JsonNode executeRequest(HttpUriRequest request, CloseableHttpClient client, int expectedStatusCode) {
 
         FlowableServiceException exception = null;
-        CloseableHttpClient client = getHttpClient(userName, password);
         try {
             try (CloseableHttpResponse response = client.execute(request)) {
                 InputStream responseContent = response.getEntity().getContent();
@@ -149,12 +249,6 @@ public class FlowableClientService {
         } catch (Exception e) {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
@@ -169,13 +263,16 @@ public class FlowableClientService {
     }
 
     public JsonNode executeDownloadRequest(HttpUriRequest request, HttpServletResponse httpResponse, ServerConfig serverConfig, int expectedStatusCode) {
-        return executeDownloadRequest(request, httpResponse, serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()), expectedStatusCode);
+        return executeDownloadRequest(request, httpResponse, getHttpClient(serverConfig), expectedStatusCode);
     }
 
     public JsonNode executeDownloadRequest(HttpUriRequest request, HttpServletResponse httpResponse, String userName, String password, int expectedStatusCode) {
+        return executeDownloadRequest(request, httpResponse, getHttpClient(userName, password), expectedStatusCode);
+    }
+
+    protected JsonNode executeDownloadRequest(HttpUriRequest request, HttpServletResponse httpResponse, CloseableHttpClient client, int expectedStatusCode) {
 
         FlowableServiceException exception = null;
-        CloseableHttpClient client = getHttpClient(userName, password);
         try {
             try (CloseableHttpResponse response = client.execute(request)) {
                 boolean success = response.getStatusLine() != null && response.getStatusLine().getStatusCode() == expectedStatusCode;
@@ -201,12 +298,6 @@ public class FlowableClientService {
         } catch (Exception e) {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
@@ -221,7 +312,7 @@ public class FlowableClientService {
     }
 
     public AttachmentResponseInfo executeDownloadRequest(HttpUriRequest request, ServerConfig serverConfig, Integer... expectedStatusCodes) {
-        return executeDownloadRequest(request, serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()), expectedStatusCodes);
+        return executeDownloadRequest(request, getHttpClient(serverConfig), expectedStatusCodes);
     }
 
     public AttachmentResponseInfo executeDownloadRequest(HttpUriRequest request, String userName, String password) {
@@ -229,8 +320,11 @@ public class FlowableClientService {
     }
 
     public AttachmentResponseInfo executeDownloadRequest(HttpUriRequest request, String userName, String password, Integer... expectedStatusCodes) {
+        return executeDownloadRequest(request, getHttpClient(userName, password), expectedStatusCodes);
+    }
+
+    protected AttachmentResponseInfo executeDownloadRequest(HttpUriRequest request, CloseableHttpClient client, Integer... expectedStatusCodes) {
         FlowableServiceException exception = null;
-        CloseableHttpClient client = getHttpClient(userName, password);
         try {
             try (CloseableHttpResponse response = client.execute(request)) {
                 int statusCode = -1;
@@ -257,12 +351,6 @@ public class FlowableClientService {
         } catch (Exception e) {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
@@ -277,13 +365,16 @@ public class FlowableClientService {
     }
 
     public ResponseInfo execute(HttpUriRequest request, ServerConfig serverConfig, int... expectedStatusCodes) {
-        return execute(request, serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()), expectedStatusCodes);
+        return execute(request, getHttpClient(serverConfig), expectedStatusCodes);
     }
 
     public ResponseInfo execute(HttpUriRequest request, String userName, String password, int... expectedStatusCodes) {
+        return execute(request, getHttpClient(userName, password), expectedStatusCodes);
+    }
+
+    protected ResponseInfo execute(HttpUriRequest request, CloseableHttpClient client, int... expectedStatusCodes) {
 
         FlowableServiceException exception = null;
-        CloseableHttpClient client = getHttpClient(userName, password);
         try {
             try (CloseableHttpResponse response = client.execute(request)) {
                 JsonNode bodyNode = readJsonContent(response.getEntity().getContent());
@@ -307,12 +398,6 @@ public class FlowableClientService {
         } catch (Exception e) {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
@@ -323,13 +408,16 @@ public class FlowableClientService {
     }
 
     public void execute(HttpUriRequest request, HttpServletResponse httpResponse, ServerConfig serverConfig) {
-        execute(request, httpResponse, serverConfig.getUserName(), serverConfigService.decrypt(serverConfig.getPassword()));
+        execute(request, httpResponse, getHttpClient(serverConfig));
     }
 
     public void execute(HttpUriRequest request, HttpServletResponse httpResponse, String userName, String password) {
+        execute(request, httpResponse, getHttpClient(userName, password));
+    }
+
+    protected void execute(HttpUriRequest request, HttpServletResponse httpResponse, CloseableHttpClient client) {
 
         FlowableServiceException exception = null;
-        CloseableHttpClient client = getHttpClient(userName, password);
         try {
             try (CloseableHttpResponse response = client.execute(request)) {
                 if (response.getStatusLine() != null && response.getStatusLine().getStatusCode() != HttpStatus.SC_UNAUTHORIZED) {
@@ -348,12 +436,6 @@ public class FlowableClientService {
         } catch (Exception e) {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
@@ -367,8 +449,8 @@ public class FlowableClientService {
         FlowableServiceException exception = null;
         String result = null;
         CloseableHttpClient client = getHttpClient(serverConfig);
-        try {
-            CloseableHttpResponse response = client.execute(request);
+        // Closing the response releases the connection back to the pool
+        try (CloseableHttpResponse response = client.execute(request)) {
             boolean success = response.getStatusLine() != null && response.getStatusLine().getStatusCode() == expectedStatusCode;
             if (success) {
                 result = IOUtils.toString(response.getEntity().getContent());
@@ -385,9 +467,6 @@ public class FlowableClientService {
                 } catch (Exception e) {
                     log.warn("Error consuming response from uri {}", request.getURI(), e);
                     exception = wrapException(e, request);
-
-                } finally {
-                    response.close();
                 }
                 exception = new FlowableServiceException(errorMessage);
             }
@@ -395,13 +474,6 @@ public class FlowableClientService {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
 
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                // No need to throw upwards, as this may hide exceptions/valid result
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
@@ -431,11 +503,15 @@ public class FlowableClientService {
         FlowableServiceException exception = null;
 
         CloseableHttpClient client = getHttpClient(serverConfig);
-        try {
-            CloseableHttpResponse response = client.execute(request);
+        // Closing the response releases the connection back to the pool
+        try (CloseableHttpResponse response = client.execute(request)) {
             boolean success = response.getStatusLine() != null && response.getStatusLine().getStatusCode() == expectedStatusCode;
 
-            if (!success) {
+            if (success) {
+                // Consuming the body allows the connection to be kept alive
+                EntityUtils.consumeQuietly(response.getEntity());
+
+            } else {
                 String errorMessage = null;
                 try {
                     if (response.getEntity() != null && response.getEntity().getContentLength() != 0) {
@@ -449,8 +525,6 @@ public class FlowableClientService {
                 } catch (Exception e) {
                     log.warn("Error consuming response from uri {}", request.getURI(), e);
                     exception = wrapException(e, request);
-                } finally {
-                    response.close();
                 }
                 exception = new FlowableServiceException(errorMessage);
             }
@@ -458,13 +532,6 @@ public class FlowableClientService {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = wrapException(e, request);
 
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                // No need to throw upwards, as this may hide exceptions/valid result
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
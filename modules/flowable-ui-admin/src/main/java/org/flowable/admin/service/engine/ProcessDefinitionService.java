@@ -15,7 +15,9 @@ package org.flowable.admin.service.engine;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamReader;
 
@@ -33,11 +35,15 @@ import org.flowable.bpmn.model.BpmnModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 
 /**
  * Service for invoking Flowable REST services.
@@ -53,6 +59,20 @@ public class ProcessDefinitionService {
     @Autowired
     protected ObjectMapper objectMapper;
 
+    @Autowired
+    protected Environment env;
+
+    // Caching the process definitions for a short time, as the same definition is typically fetched
+    // for every instance, job or task that is shown
+    protected Cache<String, JsonNode> processDefinitionCache;
+
+    @PostConstruct
+    protected void initProcessDefinitionCache() {
+        Long maxSize = env.getProperty("cache.process-definitions.max.size", Long.class, 1024l);
+        Long maxAge = env.getProperty("cache.process-definitions.max.age", Long.class, 30l);
+        processDefinitionCache = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(maxAge, TimeUnit.SECONDS).recordStats().build();
+    }
+
     public JsonNode listProcesDefinitions(ServerConfig serverConfig,
             Map<String, String[]> parameterMap, boolean latest) {
 
@@ -72,8 +92,19 @@ public class ProcessDefinitionService {
     }
 
     public JsonNode getProcessDefinition(ServerConfig serverConfig, String definitionId) {
-        HttpGet get = new HttpGet(clientUtil.getServerUrl(serverConfig, "repository/process-definitions/" + definitionId));
-        return clientUtil.executeRequest(get, serverConfig);
+        String cacheKey = getProcessDefinitionCacheKey(serverConfig, definitionId);
+        JsonNode processDefinitionNode = processDefinitionCache.getIfPresent(cacheKey);
+        if (processDefinitionNode == null) {
+            HttpGet get = new HttpGet(clientUtil.getServerUrl(serverConfig, "repository/process-definitions/" + definitionId));
+            processDefinitionNode = clientUtil.executeRequest(get, serverConfig);
+            if (processDefinitionNode == null) {
+                return null;
+            }
+            processDefinitionCache.put(cacheKey, processDefinitionNode);
+        }
+
+        // Callers are free to change the returned node
+        return processDefinitionNode.deepCopy();
     }
 
     public JsonNode updateProcessDefinitionCategory(ServerConfig serverConfig, String definitionId, String category) {
@@ -85,7 +116,12 @@ public class ProcessDefinitionService {
         HttpPut put = clientUtil.createPut(builder, serverConfig);
         put.setEntity(clientUtil.createStringEntity(updateCall));
 
-        return clientUtil.executeRequest(put, serverConfig);
+        try {
+            return clientUtil.executeRequest(put, serverConfig);
+        } finally {
+            // Only invalidated once the update is done, so a concurrent lookup can't cache the old category again
+            processDefinitionCache.invalidate(getProcessDefinitionCacheKey(serverConfig, definitionId));
+        }
     }
 
     public BpmnModel getProcessDefinitionModel(ServerConfig serverConfig, String definitionId) {
@@ -93,6 +129,14 @@ public class ProcessDefinitionService {
         return executeRequestForXML(get, serverConfig, HttpStatus.SC_OK);
     }
 
+    public CacheStats getProcessDefinitionCacheStats() {
+        return processDefinitionCache.stats();
+    }
+
+    protected String getProcessDefinitionCacheKey(ServerConfig serverConfig, String definitionId) {
+        return serverConfig.getId() + ":" + definitionId;
+    }
+
     protected BpmnModel executeRequestForXML(HttpUriRequest request, ServerConfig serverConfig, int expectedStatusCode) {
 
         FlowableServiceException exception = null;
@@ -119,13 +163,6 @@ public class ProcessDefinitionService {
         } catch (Exception e) {
             log.error("Error executing request to uri {}", request.getURI(), e);
             exception = clientUtil.wrapException(e, request);
-
-        } finally {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing http client instance", e);
-            }
         }
 
         if (exception != null) {
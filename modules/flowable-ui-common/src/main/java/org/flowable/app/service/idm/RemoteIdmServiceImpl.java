@@ -17,19 +17,25 @@ import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.HttpHeaders;
-import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContextBuilder;
 import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.flowable.app.model.common.RemoteGroup;
 import org.flowable.app.model.common.RemoteToken;
 import org.flowable.app.model.common.RemoteUser;
@@ -42,6 +48,9 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 
 @Service
 public class RemoteIdmServiceImpl implements RemoteIdmService {
@@ -62,11 +71,61 @@ public class RemoteIdmServiceImpl implements RemoteIdmService {
     protected String adminUser;
     protected String adminPassword;
 
+    // Shared client, keeping the connections to the IDM app alive between calls
+    protected CloseableHttpClient httpClient;
+
+    // Caching the users fetched by id, as the same users are typically requested over and over again
+    protected Cache<String, RemoteUser> userCache;
+
     @PostConstruct
     protected void init() {
         url = environment.getRequiredProperty(PROPERTY_URL);
         adminUser = environment.getRequiredProperty(PROPERTY_ADMIN_USER);
         adminPassword = environment.getRequiredProperty(PROPERTY_ADMIN_PASSWORD);
+
+        initHttpClient();
+        initUserCache();
+    }
+
+    protected void initHttpClient() {
+        RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory());
+        try {
+            SSLContextBuilder builder = new SSLContextBuilder();
+            builder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
+            registryBuilder.register("https", new SSLConnectionSocketFactory(builder.build(), SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER));
+        } catch (Exception e) {
+            logger.warn("Could not configure SSL for http client", e);
+            registryBuilder.register("https", SSLConnectionSocketFactory.getSocketFactory());
+        }
+
+        Integer maxConnections = environment.getProperty("idm.app.client.max-connections", Integer.class, 50);
+        Long connectionTimeToLive = environment.getProperty("idm.app.client.connection-ttl", Long.class, 300l);
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(registryBuilder.build(), null, null, null,
+                connectionTimeToLive, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        // all calls go to the same IDM app
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        // no cookies, every call is authenticated with the credentials passed to it
+        httpClient = HttpClientBuilder.create().setConnectionManager(connectionManager).disableCookieManagement().build();
+    }
+
+    protected void initUserCache() {
+        Long userMaxSize = environment.getProperty("cache.remote-users.max.size", Long.class, 2048l);
+        Long userMaxAge = environment.getProperty("cache.remote-users.max.age", Long.class, 30l);
+        userCache = CacheBuilder.newBuilder().maximumSize(userMaxSize).expireAfterWrite(userMaxAge, TimeUnit.SECONDS).recordStats().build();
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Exception while closing http client", e);
+        }
     }
 
     @Override
@@ -93,11 +152,15 @@ public class RemoteIdmServiceImpl implements RemoteIdmService {
 
     @Override
     public RemoteUser getUser(String userId) {
-        JsonNode json = callRemoteIdmService(url + "/api/idm/users/" + encode(userId), adminUser, adminPassword);
-        if (json != null) {
-            return parseUserInfo(json);
+        RemoteUser user = userCache.getIfPresent(userId);
+        if (user == null) {
+            JsonNode json = callRemoteIdmService(url + "/api/idm/users/" + encode(userId), adminUser, adminPassword);
+            if (json != null) {
+                user = parseUserInfo(json);
+                userCache.put(userId, user);
+            }
         }
-        return null;
+        return user;
     }
 
     @Override
@@ -132,38 +195,21 @@ public class RemoteIdmServiceImpl implements RemoteIdmService {
         httpGet.setHeader(HttpHeaders.AUTHORIZATION, "Basic " + new String(
                 Base64.encodeBase64((username + ":" + password).getBytes(Charset.forName("UTF-8")))));
 
-        HttpClientBuilder clientBuilder = HttpClientBuilder.create();
-        SSLConnectionSocketFactory sslsf = null;
-        try {
-            SSLContextBuilder builder = new SSLContextBuilder();
-            builder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
-            sslsf = new SSLConnectionSocketFactory(builder.build(), SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
-            clientBuilder.setSSLSocketFactory(sslsf);
-        } catch (Exception e) {
-            logger.warn("Could not configure SSL for http client", e);
-        }
-
-        CloseableHttpClient client = clientBuilder.build();
-
-        try {
-            HttpResponse response = client.execute(httpGet);
+        // Closing the response releases the connection back to the pool
+        try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
             if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
                 return objectMapper.readTree(response.getEntity().getContent());
             }
         } catch (Exception e) {
             logger.warn("Exception while getting token", e);
-        } finally {
-            if (client != null) {
-                try {
-                    client.close();
-                } catch (IOException e) {
-                    logger.warn("Exception while closing http client", e);
-                }
-            }
         }
         return null;
     }
 
+    public CacheStats getUserCacheStats() {
+        return userCache.stats();
+    }
+
     protected List<RemoteUser> parseUsersInfo(JsonNode json) {
         List<RemoteUser> result = new ArrayList<RemoteUser>();
         if (json != null && json.isArray()) {